@@ -0,0 +1,124 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading the archive of completed games, replaying their scorecards and verifying them
+ * with all available processors.
+ * The games are played with random rerolls and categories.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArchiveBenchmark {
+    private static final String[] PLAYER_NAMES = {"player1", "player2"};
+
+    @Param({"10000"})
+    public int numberOfGames;
+
+    private ArchivedGame[] games;
+    private Path directory;
+    private Path writtenPath;
+    private Path archivePath;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(1);
+        games = new ArchivedGame[numberOfGames];
+        for (int i = 0; i < numberOfGames; i++) {
+            GameRecorder recorder = new GameRecorder(i + 1);
+            GameSession session = new GameSession(i + 1, PLAYER_NAMES, random.split(), recorder);
+            do {
+                session.roll();
+                int numberOfRerolls = random.nextInt(Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS + 1);
+                for (int j = 0; j < numberOfRerolls; j++) {
+                    session.keep(random.nextInt(DiceState.ALL_DICE_MASK + 1));
+                }
+                YahtzeeGameImpl game = session.getGame();
+                int[] availableCategories = game.getPlayers()[game.getCurrentPlayerNumber()].getAvailableCategories();
+                session.fill(availableCategories[random.nextInt(availableCategories.length)]);
+            } while (!session.passTurn());
+            games[i] = recorder.toArchivedGame();
+        }
+
+        directory = Files.createTempDirectory("archive-benchmark");
+        writtenPath = directory.resolve("written.archive");
+        archivePath = directory.resolve("games.archive");
+        try (ArchiveWriter writer = ArchiveWriter.create(archivePath)) {
+            for (ArchivedGame game : games) {
+                writer.write(game);
+            }
+        }
+        System.out.printf("%n%.1f bytes per game%n", (double) Files.size(archivePath) / numberOfGames);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(writtenPath);
+        Files.deleteIfExists(archivePath);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        try (ArchiveWriter writer = ArchiveWriter.create(writtenPath)) {
+            for (ArchivedGame game : games) {
+                writer.write(game);
+            }
+            return writer.getNumberOfGames();
+        }
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        long sum = 0;
+        try (ArchiveReader reader = ArchiveReader.open(archivePath)) {
+            for (ArchivedGame game = reader.read(); game != null; game = reader.read()) {
+                sum += game.getTurn(game.getNumberOfTurns() - 1);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readAndReplay() throws IOException {
+        long sum = 0;
+        try (ArchiveReader reader = ArchiveReader.open(archivePath)) {
+            for (ArchivedGame game = reader.read(); game != null; game = reader.read()) {
+                for (Player player : game.replayPlayers()) {
+                    sum += player.getTotalScore();
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long verify() throws IOException {
+        return new ArchiveVerifier().verify(archivePath, violation -> {
+            throw new IllegalStateException(violation.toString());
+        }).getNumberOfGames();
+    }
+}
@@ -0,0 +1,68 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static yahtzee.ScoreTable.NUMBER_OF_ORDERED_ROLLS;
+
+/**
+ * Measures scoring a category of all 7776 rolls, with the dice and with the packed dice.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CategoryBenchmark {
+    @Param({"0", "5", "6", "7", "8", "9", "10", "11", "12"})
+    public int categoryNumber;
+
+    private Die[][] allDice;
+    private int[] allDiceStates;
+
+    @Setup
+    public void setup() {
+        allDice = new Die[NUMBER_OF_ORDERED_ROLLS][];
+        allDiceStates = new int[NUMBER_OF_ORDERED_ROLLS];
+        for (int roll = 0; roll < NUMBER_OF_ORDERED_ROLLS; roll++) {
+            allDiceStates[roll] = DiceState.ofOrderedRoll(roll);
+            allDice[roll] = new Die[Die.TOTAL_NUMBER_OF_DICE];
+            for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                allDice[roll][i] = new Die();
+            }
+            DiceState.toDice(allDiceStates[roll], allDice[roll]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ORDERED_ROLLS)
+    public void scoreDice(Blackhole blackhole) {
+        for (Die[] dice : allDice) {
+            blackhole.consume(Category.score(categoryNumber, dice));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ORDERED_ROLLS)
+    public void scoreDiceState(Blackhole blackhole) {
+        for (int diceState : allDiceStates) {
+            blackhole.consume(Category.score(categoryNumber, diceState));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rolling the dice of concurrent games, each game in a thread.
+ * It compares a generator per game with one generator shared by all games, which is what Math.random() does.
+ * Run it with -t to choose the number of threads.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentRollBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedGenerator {
+        final Random random = new Random();
+    }
+
+    @State(Scope.Thread)
+    public static class Game {
+        @Param({"perGame", "shared"})
+        public String generator;
+
+        YahtzeeGameImpl game;
+
+        @Setup
+        public void setup(SharedGenerator sharedGenerator) {
+            game = generator.equals("shared") ? new YahtzeeGameImpl(sharedGenerator.random) : new YahtzeeGameImpl();
+            game.makeGame(new String[]{"benchmark1", "benchmark2"});
+        }
+    }
+
+    @Benchmark
+    public int rollDice(Game game) {
+        game.game.rollDice();
+        return game.game.getDiceState();
+    }
+}
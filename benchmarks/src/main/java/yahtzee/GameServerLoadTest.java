@@ -0,0 +1,158 @@
+package yahtzee;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * Measures the game server with many idle connections and a few active players.
+ * It opens the idle connections, which each hold a connection thread of the server, and then the active players
+ * play games with one request at a time and measure the latency of each request. Run it with virtual and with
+ * platform threads to compare them, e.g.
+ * java -cp target/benchmarks.jar yahtzee.GameServerLoadTest virtual 100000 64 10
+ * The client and the server run in the same process, so each connection needs two file descriptors.
+ *
+ * @author Yoochul Kim
+ */
+public class GameServerLoadTest {
+    // The latencies are counted in microseconds up to 1 s.
+    private static final int MAXIMUM_LATENCY_MICROS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: java yahtzee.GameServerLoadTest virtual|platform <idle connections> "
+                    + "<active players> <seconds>");
+            System.exit(1);
+        }
+        boolean virtual = args[0].equals("virtual");
+        int numberOfIdleConnections = Integer.parseInt(args[1]);
+        int numberOfActivePlayers = Integer.parseInt(args[2]);
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(args[3]));
+
+        try (GameSessionManager manager = new GameSessionManager();
+             GameServer server = new GameServer(manager,
+                     virtual ? GameServer.virtualThreadFactory() : GameServer.platformThreadFactory())) {
+            server.start(0);
+
+            long start = System.nanoTime();
+            List<Socket> idleConnections = new ArrayList<>();
+            try {
+                for (int i = 0; i < numberOfIdleConnections; i++) {
+                    idleConnections.add(new Socket(InetAddress.getLoopbackAddress(), server.getPort()));
+                }
+            } catch (IOException e) {
+                System.out.println("Opening a connection failed: " + e.getMessage());
+            }
+            // The server may close a connection if it cannot create its thread.
+            while (server.getNumberOfConnections() < idleConnections.size()
+                    && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30)) {
+                Thread.sleep(10);
+            }
+            System.out.printf("%s threads: %d idle connections served in %.1f s, %d live threads, %d MB heap%n",
+                    virtual ? "virtual" : "platform", server.getNumberOfConnections(),
+                    (System.nanoTime() - start) / 1e9, ManagementFactory.getThreadMXBean().getThreadCount(),
+                    usedHeapMegabytes());
+
+            long[] latencyCounts = new long[MAXIMUM_LATENCY_MICROS + 1];
+            List<Thread> players = new ArrayList<>();
+            long end = System.nanoTime() + durationNanos;
+            for (int i = 0; i < numberOfActivePlayers; i++) {
+                Thread player = new Thread(() -> play(server.getPort(), end, latencyCounts));
+                players.add(player);
+                player.start();
+            }
+            for (Thread player : players) {
+                player.join();
+            }
+
+            printLatencies(latencyCounts, durationNanos);
+            for (Socket connection : idleConnections) {
+                connection.close();
+            }
+        }
+    }
+
+    private static void play(int port, long end, long[] latencyCounts) {
+        long[] counts = new long[latencyCounts.length];
+        try (Socket connection = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            connection.setTcpNoDelay(true);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), US_ASCII));
+            Writer writer = new OutputStreamWriter(connection.getOutputStream(), US_ASCII);
+
+            while (System.nanoTime() < end) {
+                String gameId = request(reader, writer, "MAKE player1 player2", counts).substring("OK ".length());
+                for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+                    for (int playerNumber = 0; playerNumber < 2; playerNumber++) {
+                        request(reader, writer, "ROLL " + gameId, counts);
+                        request(reader, writer, "KEEP " + gameId + " 0 1", counts);
+                        request(reader, writer, "FILL " + gameId + " " + round, counts);
+                        request(reader, writer, "PASS " + gameId, counts);
+                    }
+                }
+                request(reader, writer, "REMOVE " + gameId, counts);
+            }
+        } catch (IOException e) {
+            System.out.println("A player failed: " + e.getMessage());
+        }
+
+        synchronized (latencyCounts) {
+            for (int i = 0; i < counts.length; i++) {
+                latencyCounts[i] += counts[i];
+            }
+        }
+    }
+
+    private static String request(BufferedReader reader, Writer writer, String request, long[] counts)
+            throws IOException {
+        long start = System.nanoTime();
+        writer.write(request);
+        writer.write('\n');
+        writer.flush();
+        String response = reader.readLine();
+        counts[(int) Math.min((System.nanoTime() - start) / 1000, MAXIMUM_LATENCY_MICROS)]++;
+        if (response == null || response.startsWith("ERROR")) {
+            throw new IOException("Unexpected response to " + request + ": " + response);
+        }
+        return response;
+    }
+
+    private static void printLatencies(long[] latencyCounts, long durationNanos) {
+        long numberOfRequests = 0;
+        for (long count : latencyCounts) {
+            numberOfRequests += count;
+        }
+        System.out.printf("%d requests, %.0f requests/s%n", numberOfRequests, numberOfRequests * 1e9 / durationNanos);
+        if (numberOfRequests == 0) {
+            return;
+        }
+
+        double[] quantiles = {0.5, 0.9, 0.99, 0.999, 1};
+        String[] names = {"p50", "p90", "p99", "p99.9", "max"};
+        long cumulativeCount = 0;
+        int q = 0;
+        for (int micros = 0; micros < latencyCounts.length && q < quantiles.length; micros++) {
+            cumulativeCount += latencyCounts[micros];
+            while (q < quantiles.length && cumulativeCount >= Math.ceil(quantiles[q] * numberOfRequests)) {
+                System.out.printf("%s: %d us%n", names[q], micros);
+                q++;
+            }
+        }
+    }
+
+    private static long usedHeapMegabytes() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+    }
+}
@@ -0,0 +1,78 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * Measures playing games through the session manager with each number of shards.
+ * Each invocation creates many games and sends all their commands without waiting, so the throughput
+ * should grow with the number of shards up to the number of cores.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSessionManagerBenchmark {
+    private static final int GAMES_PER_INVOCATION = 256;
+    private static final String[] PLAYER_NAMES = {"benchmark1", "benchmark2"};
+
+    @Param({"1", "2", "4", "8"})
+    public int numberOfShards;
+
+    private GameSessionManager manager;
+
+    @Setup
+    public void setup() {
+        manager = new GameSessionManager(numberOfShards, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES_PER_INVOCATION)
+    public void playGames() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[GAMES_PER_INVOCATION];
+        for (int i = 0; i < GAMES_PER_INVOCATION; i++) {
+            futures[i] = manager.createGame(PLAYER_NAMES);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        for (int i = 0; i < GAMES_PER_INVOCATION; i++) {
+            long gameId = (Long) futures[i].join();
+            // Each player fills the category of the round number, so no command waits for a result.
+            for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+                for (int playerNumber = 0; playerNumber < PLAYER_NAMES.length; playerNumber++) {
+                    manager.roll(gameId);
+                    manager.keep(gameId, 0b00011);
+                    manager.fill(gameId, round);
+                    manager.passTurn(gameId);
+                }
+            }
+            futures[i] = manager.removeGame(gameId);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
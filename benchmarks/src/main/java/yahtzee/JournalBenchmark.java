@@ -0,0 +1,88 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures journaling the records of a turn, i.e. roll, two keeps, fill and pass, by the durability.
+ * With FSYNC each thread waits until its turn has been forced to the disk, so the threads share the fsyncs.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+    private static final AtomicLong NEXT_GAME_ID = new AtomicLong(1);
+
+    @Param({"WRITE", "PERIODIC_FSYNC", "FSYNC"})
+    public GameJournal.Durability durability;
+
+    private Path directory;
+    private GameJournal journal;
+
+    @State(Scope.Thread)
+    public static class Game {
+        private GameEventListener listener;
+
+        @Setup
+        public void setup(JournalBenchmark benchmark) {
+            listener = benchmark.journal.listenerOf(NEXT_GAME_ID.getAndIncrement());
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = GameJournal.open(directory, durability);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void journalTurn(Game game) {
+        GameEventListener listener = game.listener;
+        listener.diceRolled(0, 0x1234);
+        listener.diceRolled(0b00011, 0x2345);
+        listener.diceRetryCountIncreased();
+        listener.diceRolled(0b00111, 0x3456);
+        listener.diceRetryCountIncreased();
+        listener.categoryFilled(0, 11, 20);
+        listener.diceRetryCountReset();
+        listener.turnPassed();
+        if (durability == GameJournal.Durability.FSYNC) {
+            journal.whenDurable(journal.getLastLsn()).join();
+        }
+    }
+}
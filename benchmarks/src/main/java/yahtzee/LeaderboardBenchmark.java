@@ -0,0 +1,88 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures submitting scores to a global leaderboard of millions of players and querying it from all threads.
+ * The scores are the sums of random category scores, so most players share the scores in the middle.
+ * Run it with -t to choose the number of threads.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(Threads.MAX)
+public class LeaderboardBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Board {
+        @Param({"1000000"})
+        public int numberOfPlayers;
+
+        final Leaderboard leaderboard = new Leaderboard();
+        String[] playerNames;
+
+        @Setup
+        public void setup() {
+            SplittableRandom random = new SplittableRandom(1);
+            playerNames = new String[numberOfPlayers];
+            for (int i = 0; i < numberOfPlayers; i++) {
+                playerNames[i] = "benchmark" + i;
+                leaderboard.submit(playerNames[i], randomScore(random));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public boolean submit(Board board, Client client) {
+        String playerName = board.playerNames[client.random.nextInt(board.playerNames.length)];
+        return board.leaderboard.submit(playerName, randomScore(client.random));
+    }
+
+    @Benchmark
+    public int getRank(Board board, Client client) {
+        return board.leaderboard.getRank(board.playerNames[client.random.nextInt(board.playerNames.length)]);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> getTop100(Board board) {
+        return board.leaderboard.getTopEntries(100);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Entry> getEntriesAround(Board board, Client client) {
+        return board.leaderboard.getEntriesAround(client.random.nextInt(board.numberOfPlayers), 5);
+    }
+
+    private static int randomScore(SplittableRandom random) {
+        int score = 0;
+        for (int i = 0; i < Category.NUMBER_OF_CATEGORIES; i++) {
+            score += random.nextInt(YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME
+                    / Category.NUMBER_OF_CATEGORIES + 1);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,94 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * Measures scoring the rolls of a player whose score sheet is partially filled.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+    private static final int NUMBER_OF_ROLLS = 1024;
+
+    @Param({"0", "6", "12"})
+    public int numberOfFilledCategories;
+
+    private Player player;
+    private Die[][] rolledDice;
+    private int[] rolledDiceStates;
+    private final int[] scores = new int[NUMBER_OF_CATEGORIES];
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        player = new Player("benchmark");
+        // Fill random categories, as the filled categories of players differ.
+        while (Integer.bitCount(player.getFilledCategoriesMask()) < numberOfFilledCategories) {
+            int categoryNumber = random.nextInt(NUMBER_OF_CATEGORIES);
+            if (player.canChooseThisCategory(categoryNumber)) {
+                player.fillCategory(categoryNumber, 0);
+            }
+        }
+
+        rolledDice = new Die[NUMBER_OF_ROLLS][];
+        rolledDiceStates = new int[NUMBER_OF_ROLLS];
+        for (int i = 0; i < NUMBER_OF_ROLLS; i++) {
+            rolledDiceStates[i] = DiceState.roll(DiceState.NOT_ROLLED, 0, random);
+            rolledDice[i] = new Die[Die.TOTAL_NUMBER_OF_DICE];
+            for (int j = 0; j < Die.TOTAL_NUMBER_OF_DICE; j++) {
+                rolledDice[i][j] = new Die();
+            }
+            DiceState.toDice(rolledDiceStates[i], rolledDice[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ROLLS)
+    public void calculateCategoryScore(Blackhole blackhole) {
+        int[] availableCategories = player.getAvailableCategories();
+        for (Die[] dice : rolledDice) {
+            for (int categoryNumber : availableCategories) {
+                blackhole.consume(player.calculateCategoryScore(categoryNumber, dice));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ROLLS)
+    public void getScoresOfAvailableCombinations(Blackhole blackhole) {
+        for (Die[] dice : rolledDice) {
+            blackhole.consume(player.getScoresOfAvailableCombinations(dice));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ROLLS)
+    public void getScoresOfAvailableCombinationsWithoutAllocation(Blackhole blackhole) {
+        for (int diceState : rolledDiceStates) {
+            blackhole.consume(player.getScoresOfAvailableCombinations(diceState, scores));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * Measures playing a game over the text protocol of GameServer and over the binary protocol of BinaryGameServer.
+ * All requests of a game are sent at once with pipelining, and then all responses are read.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProtocolBenchmark {
+    private static final int NUMBER_OF_TURNS = NUMBER_OF_CATEGORIES * 2;
+
+    @Param({"text", "binary"})
+    public String protocol;
+
+    private GameSessionManager manager;
+    private AutoCloseable server;
+
+    private Socket textSocket;
+    private BufferedReader textReader;
+    private Writer textWriter;
+
+    private BinaryGameClient binaryClient;
+
+    @Setup
+    public void setup() throws IOException {
+        manager = new GameSessionManager(2, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 1);
+        if (protocol.equals("text")) {
+            GameServer textServer = new GameServer(manager, GameServer.platformThreadFactory());
+            textServer.start(0);
+            server = textServer;
+            textSocket = new Socket(InetAddress.getLoopbackAddress(), textServer.getPort());
+            textSocket.setTcpNoDelay(true);
+            textReader = new BufferedReader(new InputStreamReader(textSocket.getInputStream(), US_ASCII));
+            textWriter = new BufferedWriter(new OutputStreamWriter(textSocket.getOutputStream(), US_ASCII));
+        } else {
+            BinaryGameServer binaryServer = new BinaryGameServer(manager, 0);
+            server = binaryServer;
+            binaryClient = new BinaryGameClient(binaryServer.getPort());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (textSocket != null) {
+            textSocket.close();
+        }
+        if (binaryClient != null) {
+            binaryClient.close();
+        }
+        server.close();
+        manager.close();
+    }
+
+    @Benchmark
+    public int playGame() throws IOException {
+        return protocol.equals("text") ? playTextGame() : playBinaryGame();
+    }
+
+    private int playTextGame() throws IOException {
+        textWriter.write("MAKE player1 player2\n");
+        textWriter.flush();
+        String gameId = textReader.readLine().substring("OK ".length());
+
+        // Each player fills the category of the round number, so no request waits for a response.
+        for (int turn = 0; turn < NUMBER_OF_TURNS; turn++) {
+            int round = turn / 2;
+            textWriter.write("ROLL " + gameId + "\nKEEP " + gameId + " 0 1\nFILL " + gameId + " " + round
+                    + "\nPASS " + gameId + "\n");
+        }
+        textWriter.write("REMOVE " + gameId + "\n");
+        textWriter.flush();
+
+        int total = 0;
+        for (int i = 0; i < NUMBER_OF_TURNS * 4 + 1; i++) {
+            total += textReader.readLine().length();
+        }
+        return total;
+    }
+
+    private int playBinaryGame() throws IOException {
+        binaryClient.sendMakeGame("player1", "player2");
+        binaryClient.flush();
+        long gameId = binaryClient.readGameId();
+
+        for (int turn = 0; turn < NUMBER_OF_TURNS; turn++) {
+            binaryClient.sendRollDice(gameId);
+            binaryClient.sendRollDice(gameId, 0b00011);
+            binaryClient.sendFillCategory(gameId, turn / 2);
+            binaryClient.sendPassTurn(gameId);
+        }
+        binaryClient.sendRemoveGame(gameId);
+        binaryClient.flush();
+
+        int total = 0;
+        for (int turn = 0; turn < NUMBER_OF_TURNS; turn++) {
+            total += binaryClient.readFaces();
+            total += binaryClient.readFaces();
+            total += binaryClient.readScore();
+            binaryClient.readBoolean();
+        }
+        binaryClient.readBoolean();
+        return total;
+    }
+}
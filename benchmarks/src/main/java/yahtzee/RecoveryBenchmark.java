@@ -0,0 +1,105 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures recovering the in-flight games after a restart from the snapshot and the journal after it.
+ * Each game has played some turns before the snapshot and some turns after it.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+    private static final String[] PLAYER_NAMES = {"player1", "player2"};
+
+    @Param({"100000"})
+    public int numberOfGames;
+
+    @Param({"6"})
+    public int turnsBeforeSnapshot;
+
+    @Param({"2"})
+    public int turnsAfterSnapshot;
+
+    private Path directory;
+    private Path journalDirectory;
+    private Path snapshotPath;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("recovery-benchmark");
+        journalDirectory = directory.resolve("journal");
+        snapshotPath = directory.resolve("games.snapshot");
+        try (GameJournal journal = GameJournal.open(journalDirectory, GameJournal.Durability.WRITE);
+             GameSessionManager manager = new GameSessionManager(4, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 1,
+                     journal)) {
+            for (int gameId = 1; gameId <= numberOfGames; gameId++) {
+                manager.createGame(PLAYER_NAMES);
+                playTurns(manager, gameId, 0, turnsBeforeSnapshot);
+            }
+            manager.countGames().join();
+            manager.writeSnapshot(snapshotPath);
+            for (int gameId = 1; gameId <= numberOfGames; gameId++) {
+                playTurns(manager, gameId, turnsBeforeSnapshot, turnsAfterSnapshot);
+            }
+            manager.countGames().join();
+        }
+    }
+
+    // Each player fills the category of the round number, so no command waits for the previous ones.
+    private static void playTurns(GameSessionManager manager, long gameId, int firstTurn, int numberOfTurns) {
+        CompletableFuture<Boolean> lastTurn = null;
+        for (int turn = firstTurn; turn < firstTurn + numberOfTurns; turn++) {
+            manager.roll(gameId);
+            manager.keep(gameId, 0b00011);
+            manager.fill(gameId, turn / PLAYER_NAMES.length);
+            lastTurn = manager.passTurn(gameId);
+        }
+        // The queues of the shards are bounded, so the commands are not sent faster than they run.
+        if (lastTurn != null && gameId % 1000 == 0) {
+            lastTurn.join();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        try (GameJournal journal = GameJournal.open(journalDirectory, GameJournal.Durability.WRITE);
+             GameSessionManager manager = new GameSessionManager(4, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 1,
+                     journal)) {
+            return manager.recover(snapshotPath);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rolling the dice of a game with each number of kept dice, with and without FairnessMonitor.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RollBenchmark {
+    // The kept die numbers, e.g. 024 keeps the first, third and fifth dice.
+    @Param({"", "2", "024", "0134"})
+    public String keptDice;
+
+    @Param({"false", "true"})
+    public boolean fastRollMode;
+
+    @Param({"false", "true"})
+    public boolean observed;
+
+    private YahtzeeGameImpl game;
+    private int[] keptDiceNumbers;
+    private int keptDiceMask;
+
+    @Setup
+    public void setup() {
+        game = new YahtzeeGameImpl(1);
+        game.makeGame(new String[]{"benchmark1", "benchmark2"});
+        game.setFastRollMode(fastRollMode);
+        if (observed) {
+            game.setRollObserver(new FairnessMonitor(1, null).observerOf(0, 1));
+        }
+        game.rollDice();
+
+        keptDiceNumbers = keptDice.chars().map(c -> c - '0').toArray();
+        keptDiceMask = DiceState.toKeptDiceMask(keptDiceNumbers);
+    }
+
+    @Benchmark
+    public int rollDice() {
+        game.rollDice();
+        return game.getDiceState();
+    }
+
+    @Benchmark
+    public int rollCertainDice() {
+        game.rollCertainDice(keptDiceNumbers);
+        return game.getDiceState();
+    }
+
+    @Benchmark
+    public int rollDiceWithMask() {
+        game.rollDice(keptDiceMask);
+        return game.getDiceState();
+    }
+}
@@ -0,0 +1,57 @@
+package yahtzee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * Measures finding the winners of a game with each number of players.
+ *
+ * @author Yoochul Kim
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WinnersBenchmark {
+    @Param({"2", "10", "100", "1000", "10000"})
+    public int numberOfPlayers;
+
+    private YahtzeeGameImpl game;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        String[] playerNames = new String[numberOfPlayers];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            playerNames[i] = "benchmark" + i;
+        }
+
+        game = new YahtzeeGameImpl(1);
+        game.makeGame(playerNames);
+        // The scores are like finished games.
+        for (Player player : game.getPlayers()) {
+            player.setTotalScore(random.nextInt(MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1));
+        }
+    }
+
+    @Benchmark
+    public Player[] getWinners() {
+        return game.getWinners();
+    }
+}
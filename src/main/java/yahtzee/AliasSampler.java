@@ -0,0 +1,150 @@
+package yahtzee;
+
+import java.util.random.RandomGenerator;
+
+import static yahtzee.RerollTable.NUMBER_OF_KEPT_HANDS;
+
+/**
+ * The outcomes of rerolls drawn from Walker alias tables are implemented here.
+ * The outcomes of a kept hand are n buckets of the alias table, each bucket holding the weight of
+ * 6^k rolls split between the outcome and its alias, where k is the number of rerolled dice.
+ * The weights are the exact counts of RerollTable, so uniform draws of a bucket and a roll in it
+ * give a hand with exactly the probability of rerolling the dice.
+ *
+ * @author Yoochul Kim
+ */
+public final class AliasSampler {
+    // An outcome i of RerollTable is drawn if the roll in bucket i is below ALIAS_THRESHOLDS[i],
+    // otherwise the outcome ALIAS_OUTCOMES[i] is drawn.
+    private static final int[] ALIAS_THRESHOLDS = new int[RerollTable.getNumberOfOutcomes()];
+    private static final short[] ALIAS_OUTCOMES = new short[RerollTable.getNumberOfOutcomes()];
+
+    private static final long LOW_BITS_MASK = 0xFFFFFFFFL;
+
+    static {
+        int[] weights = new int[ScoreTable.NUMBER_OF_HANDS];
+        int[] smallBuckets = new int[ScoreTable.NUMBER_OF_HANDS];
+        int[] largeBuckets = new int[ScoreTable.NUMBER_OF_HANDS];
+
+        for (int keptHand = 0; keptHand < NUMBER_OF_KEPT_HANDS; keptHand++) {
+            int start = RerollTable.getOutcomeStart(keptHand);
+            int numberOfOutcomes = RerollTable.getOutcomeStart(keptHand + 1) - start;
+            int capacity = RerollTable.getNumberOfRolls(keptHand);
+
+            int numberOfSmallBuckets = 0;
+            int numberOfLargeBuckets = 0;
+            for (int i = 0; i < numberOfOutcomes; i++) {
+                weights[i] = RerollTable.getOutcomeCount(start + i) * numberOfOutcomes;
+                if (weights[i] < capacity) {
+                    smallBuckets[numberOfSmallBuckets++] = i;
+                } else {
+                    largeBuckets[numberOfLargeBuckets++] = i;
+                }
+            }
+
+            // Each small bucket is filled up with the weight of a large bucket, which may become small.
+            while (numberOfSmallBuckets > 0 && numberOfLargeBuckets > 0) {
+                int small = smallBuckets[--numberOfSmallBuckets];
+                int large = largeBuckets[numberOfLargeBuckets - 1];
+                ALIAS_THRESHOLDS[start + small] = weights[small];
+                ALIAS_OUTCOMES[start + small] = (short) (start + large);
+
+                weights[large] -= capacity - weights[small];
+                if (weights[large] < capacity) {
+                    numberOfLargeBuckets--;
+                    smallBuckets[numberOfSmallBuckets++] = large;
+                }
+            }
+            // The weights are exact, so the rest of the buckets are full.
+            while (numberOfLargeBuckets > 0) {
+                int large = largeBuckets[--numberOfLargeBuckets];
+                ALIAS_THRESHOLDS[start + large] = capacity;
+                ALIAS_OUTCOMES[start + large] = (short) (start + large);
+            }
+        }
+    }
+
+    private AliasSampler() {
+    }
+
+    /**
+     * Draw the hand after rerolling the dice that are not kept.
+     *
+     * @param keptHand        the kept hand index of RerollTable.
+     * @param randomGenerator the random generator.
+     * @return the drawn hand index.
+     */
+    public static int sample(int keptHand, RandomGenerator randomGenerator) {
+        return RerollTable.getOutcomeHand(sampleOutcome(keptHand, randomGenerator));
+    }
+
+    /**
+     * Draw the outcome of rerolling the dice that are not kept.
+     *
+     * @param keptHand        the kept hand index of RerollTable.
+     * @param randomGenerator the random generator.
+     * @return the drawn outcome index of RerollTable.
+     */
+    public static int sampleOutcome(int keptHand, RandomGenerator randomGenerator) {
+        int start = RerollTable.getOutcomeStart(keptHand);
+        int numberOfOutcomes = RerollTable.getOutcomeStart(keptHand + 1) - start;
+        if (numberOfOutcomes == 1) {
+            return start;
+        }
+
+        int capacity = RerollTable.getNumberOfRolls(keptHand);
+        while (true) {
+            // The halves of a 64-bit draw are scaled to a bucket and a roll in it by multiplying.
+            long bits = randomGenerator.nextLong();
+            long bucketProduct = (bits >>> Integer.SIZE) * numberOfOutcomes;
+            long rollProduct = (bits & LOW_BITS_MASK) * capacity;
+            if (isUnbiased(bucketProduct, numberOfOutcomes) && isUnbiased(rollProduct, capacity)) {
+                int bucket = start + (int) (bucketProduct >>> Integer.SIZE);
+                int roll = (int) (rollProduct >>> Integer.SIZE);
+                return roll < ALIAS_THRESHOLDS[bucket] ? bucket : ALIAS_OUTCOMES[bucket];
+            }
+        }
+    }
+
+    // A 32-bit draw multiplied by the bound is rejected if its low bits are among the 2^32 mod bound values
+    // that would make the high bits biased (Lemire's method), which is checked only when the low bits are small.
+    private static boolean isUnbiased(long product, int bound) {
+        long lowBits = product & LOW_BITS_MASK;
+        return lowBits >= bound || lowBits >= (LOW_BITS_MASK + 1) % bound;
+    }
+
+    /**
+     * Roll the dice that are not kept by drawing the next hand, i.e. DiceState.roll() without rolling each die.
+     * The kept dice stay at their positions, and the rerolled faces are put on the other dice in ascending order.
+     *
+     * @param state           the dice state, the kept dice are ignored if it is NOT_ROLLED.
+     * @param keptDiceMask    bit dieNumber is set if the die is kept.
+     * @param randomGenerator the random generator.
+     * @return the rolled dice state.
+     */
+    public static int roll(int state, int keptDiceMask, RandomGenerator randomGenerator) {
+        if (!DiceState.isRolled(state)) {
+            keptDiceMask = 0;
+        }
+
+        keptDiceMask &= DiceState.ALL_DICE_MASK;
+        if (keptDiceMask == DiceState.ALL_DICE_MASK) {
+            return state;
+        }
+
+        int keptHand = keptDiceMask == 0
+                ? RerollTable.EMPTY_KEPT_HAND : RerollTable.keptHandOfDiceState(state, keptDiceMask);
+        int outcome = sampleOutcome(keptHand, randomGenerator);
+        return DiceState.withRolledFaces(state, keptDiceMask,
+                RerollTable.getOutcomeRolledFaces(outcome), RerollTable.getOutcomeHand(outcome));
+    }
+
+    // The threshold and the alias of an outcome, for the tests.
+    static int getAliasThreshold(int outcome) {
+        return ALIAS_THRESHOLDS[outcome];
+    }
+
+    static int getAliasOutcome(int outcome) {
+        return ALIAS_OUTCOMES[outcome];
+    }
+}
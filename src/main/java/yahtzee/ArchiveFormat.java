@@ -0,0 +1,188 @@
+package yahtzee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The file format of the archive of completed games is defined here.
+ * The file is magic number and format version, followed by blocks, all big-endian. A block is number of games,
+ * uncompressed size, compressed size and CRC32 of the uncompressed games, each a 4-byte int, followed by the
+ * games compressed by Deflater, so a block is read and checked without the others. The last block has no game
+ * and no bytes, so a truncated file is found. A game in a block is the difference of its game ID from the
+ * previous game of the block as a zigzag varint, the number of players as a varint, the names as varint lengths
+ * and UTF-8, and the turns packed by ArchivedGame as little-endian bytes, each followed by its filled score as a
+ * zigzag varint.
+ *
+ * @author Yoochul Kim
+ */
+public final class ArchiveFormat {
+    /**
+     * "YZAR" in ASCII.
+     */
+    public static final int MAGIC_NUMBER = 0x595A4152;
+    /**
+     * Version of the file format.
+     */
+    public static final int FORMAT_VERSION = 2;
+    /**
+     * Size of the header of the file in bytes.
+     */
+    public static final int HEADER_SIZE = 2 * Integer.BYTES;
+    /**
+     * Size of the header of a block in bytes.
+     */
+    public static final int BLOCK_HEADER_SIZE = 4 * Integer.BYTES;
+    /**
+     * The largest uncompressed size of a block that is read, so a corrupted size does not exhaust the memory.
+     */
+    public static final int MAXIMUM_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAXIMUM_VARINT_SIZE = 10;
+
+    private ArchiveFormat() {
+    }
+
+    /**
+     * Get the largest number of bytes of a game in a block.
+     *
+     * @param names         the UTF-8 names of the players.
+     * @param numberOfTurns the number of turns.
+     * @return the number of bytes.
+     */
+    static int getMaximumGameSize(byte[][] names, int numberOfTurns) {
+        int size = 2 * MAXIMUM_VARINT_SIZE;
+        for (byte[] name : names) {
+            size += MAXIMUM_VARINT_SIZE + name.length;
+        }
+        return size + numberOfTurns * (ArchivedGame.TURN_SIZE + ArchivedGame.REROLL_SIZE * Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS
+                + MAXIMUM_VARINT_SIZE);
+    }
+
+    static byte[][] encodeNames(String[] playerNames) {
+        byte[][] names = new byte[playerNames.length][];
+        for (int i = 0; i < playerNames.length; i++) {
+            names[i] = playerNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * Put a game into a block.
+     *
+     * @param block          the block, which must have getMaximumGameSize() bytes remaining.
+     * @param game           the game.
+     * @param names          the UTF-8 names of the players.
+     * @param previousGameId the game ID of the previous game of the block, or 0 for the first game.
+     */
+    static void putGame(ByteBuffer block, ArchivedGame game, byte[][] names, long previousGameId) {
+        long difference = game.getGameId() - previousGameId;
+        putVarLong(block, difference << 1 ^ difference >> 63);
+        putVarLong(block, names.length);
+        for (byte[] name : names) {
+            putVarLong(block, name.length);
+            block.put(name);
+        }
+        for (int turnNumber = 0; turnNumber < game.getNumberOfTurns(); turnNumber++) {
+            long turn = game.getTurn(turnNumber);
+            for (int i = 0; i < ArchivedGame.getTurnSize(turn); i++) {
+                block.put((byte) (turn >>> Byte.SIZE * i));
+            }
+            int score = game.getScore(turnNumber);
+            putVarLong(block, Integer.toUnsignedLong(score << 1 ^ score >> 31));
+        }
+    }
+
+    /**
+     * Get the next game of a block.
+     *
+     * @param block          the block.
+     * @param previousGameId the game ID of the previous game of the block, or 0 for the first game.
+     * @return the game.
+     * @throws IllegalArgumentException          if the game is not encoded right.
+     * @throws java.nio.BufferUnderflowException if the block ends in the game.
+     */
+    static ArchivedGame getGame(ByteBuffer block, long previousGameId) {
+        long gameId = getGameId(block, previousGameId);
+        String[] playerNames = getPlayerNames(block);
+        long[] turns = new long[playerNames.length * Category.NUMBER_OF_CATEGORIES];
+        int[] scores = new int[turns.length];
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            turns[turnNumber] = getTurn(block);
+            scores[turnNumber] = getScore(block);
+        }
+        return new ArchivedGame(gameId, playerNames, turns, scores);
+    }
+
+    static long getGameId(ByteBuffer block, long previousGameId) {
+        long zigzag = getVarLong(block);
+        return previousGameId + (zigzag >>> 1 ^ -(zigzag & 1));
+    }
+
+    static String[] getPlayerNames(ByteBuffer block) {
+        long numberOfPlayers = getVarLong(block);
+        // Every player has at least the length of the name and thirteen turns.
+        if (numberOfPlayers < 0 || numberOfPlayers > block.remaining()) {
+            throw new IllegalArgumentException("wrong number of players");
+        }
+        String[] playerNames = new String[(int) numberOfPlayers];
+        for (int i = 0; i < playerNames.length; i++) {
+            long length = getVarLong(block);
+            if (length < 0 || length > block.remaining()) {
+                throw new IllegalArgumentException("wrong length of a name");
+            }
+            playerNames[i] = new String(block.array(), block.arrayOffset() + block.position(), (int) length,
+                    StandardCharsets.UTF_8);
+            block.position(block.position() + (int) length);
+        }
+        return playerNames;
+    }
+
+    /**
+     * Get the next packed turn of a block without checking it. A turn with more rerolls than a long holds is
+     * skipped to its end, and only its first bytes are returned.
+     */
+    static long getTurn(ByteBuffer block) {
+        long turn = Byte.toUnsignedLong(block.get());
+        int turnSize = ArchivedGame.getTurnSize(turn);
+        for (int i = 1; i < turnSize; i++) {
+            long b = Byte.toUnsignedLong(block.get());
+            if (i < Long.BYTES) {
+                turn |= b << Byte.SIZE * i;
+            }
+        }
+        return turn;
+    }
+
+    /**
+     * Get the filled score after a turn of a block.
+     *
+     * @throws IllegalArgumentException if the score is not an int.
+     */
+    static int getScore(ByteBuffer block) {
+        long zigzag = getVarLong(block);
+        if (zigzag >>> Integer.SIZE != 0) {
+            throw new IllegalArgumentException("wrong score");
+        }
+        return (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+    }
+
+    private static void putVarLong(ByteBuffer block, long value) {
+        while ((value & ~0x7fL) != 0) {
+            block.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        block.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer block) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = block.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("wrong varint");
+    }
+}
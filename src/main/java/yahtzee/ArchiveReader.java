@@ -0,0 +1,235 @@
+package yahtzee;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The streaming reader of the archive of completed games is implemented here.
+ * The blocks are read and checked one by one, and the games of a block are decoded one by one,
+ * so only one block is kept in memory. It is not thread-safe.
+ *
+ * @author Yoochul Kim
+ * @see ArchiveFormat
+ */
+public class ArchiveReader implements AutoCloseable {
+    private final DataInputStream input;
+    private final BlockInflater blockInflater = new BlockInflater();
+    private final CompressedBlock compressedBlock = new CompressedBlock();
+
+    private ByteBuffer block = ByteBuffer.allocate(0);
+    private int remainingGamesInBlock;
+    private long previousGameId;
+    private long numberOfBlocks;
+    private boolean hasEnded;
+
+    /**
+     * Open an archive file.
+     *
+     * @param path the path of the file.
+     * @return the reader of the file.
+     * @throws IOException if the file cannot be read or is not an archive of this version.
+     */
+    public static ArchiveReader open(Path path) throws IOException {
+        InputStream input = Files.newInputStream(path);
+        try {
+            return new ArchiveReader(input);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Initialize a reader, and read the header of the archive.
+     *
+     * @param input the stream of the archive, which is closed by close().
+     * @throws IOException if the header cannot be read or is not of an archive of this version.
+     */
+    public ArchiveReader(InputStream input) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+        try {
+            if (this.input.readInt() != ArchiveFormat.MAGIC_NUMBER) {
+                throw new IOException("It is not an archive.");
+            }
+            int formatVersion = this.input.readInt();
+            if (formatVersion != ArchiveFormat.FORMAT_VERSION) {
+                throw new IOException("The archive has format version " + formatVersion + ", not "
+                        + ArchiveFormat.FORMAT_VERSION);
+            }
+        } catch (EOFException e) {
+            throw new IOException("It is not an archive.", e);
+        }
+    }
+
+    /**
+     * Get the number of blocks read so far.
+     *
+     * @return the number of blocks with games.
+     */
+    public long getNumberOfBlocks() {
+        return numberOfBlocks;
+    }
+
+    /**
+     * Read the next game.
+     *
+     * @return the game, or null at the end of the archive.
+     * @throws IOException if the archive cannot be read, is truncated or is corrupted.
+     */
+    public ArchivedGame read() throws IOException {
+        while (remainingGamesInBlock == 0) {
+            if (!readCompressedBlock(compressedBlock)) {
+                return null;
+            }
+            block = blockInflater.inflate(compressedBlock);
+            remainingGamesInBlock = compressedBlock.numberOfGames;
+            previousGameId = 0;
+        }
+        ArchivedGame game;
+        try {
+            game = ArchiveFormat.getGame(block, previousGameId);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Block " + numberOfBlocks + " has a corrupted game.", e);
+        }
+        previousGameId = game.getGameId();
+        remainingGamesInBlock--;
+        if (remainingGamesInBlock == 0 && block.hasRemaining()) {
+            throw new IOException("Block " + numberOfBlocks + " has bytes after the last game.");
+        }
+        return game;
+    }
+
+    /**
+     * Read the next block without uncompressing it, so it can be uncompressed by another thread.
+     *
+     * @param compressedBlock the block to be filled.
+     * @return false at the end of the archive.
+     * @throws IOException if the archive cannot be read, is truncated or the header of the block is corrupted.
+     */
+    boolean readCompressedBlock(CompressedBlock compressedBlock) throws IOException {
+        if (hasEnded) {
+            return false;
+        }
+        int numberOfGames;
+        int uncompressedSize;
+        int compressedSize;
+        int checksum;
+        try {
+            numberOfGames = input.readInt();
+            uncompressedSize = input.readInt();
+            compressedSize = input.readInt();
+            checksum = input.readInt();
+        } catch (EOFException e) {
+            throw new IOException("The archive is truncated after block " + numberOfBlocks + ".", e);
+        }
+        if (numberOfGames == 0) {
+            if (uncompressedSize != 0 || compressedSize != 0 || checksum != 0) {
+                throw new IOException("The end of the archive is corrupted.");
+            }
+            hasEnded = true;
+            return false;
+        }
+        long blockNumber = numberOfBlocks + 1;
+        if (numberOfGames < 0 || uncompressedSize < numberOfGames || uncompressedSize > ArchiveFormat.MAXIMUM_BLOCK_SIZE
+                || compressedSize < 0 || compressedSize > ArchiveFormat.MAXIMUM_BLOCK_SIZE) {
+            throw new IOException("The header of block " + blockNumber + " is corrupted.");
+        }
+
+        if (compressedBlock.bytes.length < compressedSize) {
+            compressedBlock.bytes = new byte[compressedSize];
+        }
+        try {
+            input.readFully(compressedBlock.bytes, 0, compressedSize);
+        } catch (EOFException e) {
+            throw new IOException("The archive is truncated in block " + blockNumber + ".", e);
+        }
+        compressedBlock.blockNumber = blockNumber;
+        compressedBlock.numberOfGames = numberOfGames;
+        compressedBlock.uncompressedSize = uncompressedSize;
+        compressedBlock.compressedSize = compressedSize;
+        compressedBlock.checksum = checksum;
+        numberOfBlocks = blockNumber;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        blockInflater.close();
+        input.close();
+    }
+
+    /**
+     * A block as it is in the file.
+     */
+    static final class CompressedBlock {
+        private byte[] bytes = new byte[0];
+        private long blockNumber;
+        private int numberOfGames;
+        private int uncompressedSize;
+        private int compressedSize;
+        private int checksum;
+
+        long getBlockNumber() {
+            return blockNumber;
+        }
+
+        int getNumberOfGames() {
+            return numberOfGames;
+        }
+    }
+
+    /**
+     * The uncompressing and checking of blocks, which keeps the buffer of the last block.
+     */
+    static final class BlockInflater implements AutoCloseable {
+        private final Inflater inflater = new Inflater();
+        private final CRC32 checksum = new CRC32();
+        private byte[] uncompressedBlock = new byte[0];
+
+        /**
+         * Uncompress a block and check it.
+         *
+         * @param compressedBlock the block.
+         * @return the games of the block, valid until the next block is uncompressed.
+         * @throws IOException if the block cannot be uncompressed or is corrupted.
+         */
+        ByteBuffer inflate(CompressedBlock compressedBlock) throws IOException {
+            long blockNumber = compressedBlock.blockNumber;
+            int uncompressedSize = compressedBlock.uncompressedSize;
+            if (uncompressedBlock.length < uncompressedSize) {
+                uncompressedBlock = new byte[uncompressedSize];
+            }
+            inflater.reset();
+            inflater.setInput(compressedBlock.bytes, 0, compressedBlock.compressedSize);
+            try {
+                int size = inflater.inflate(uncompressedBlock, 0, uncompressedSize);
+                if (size != uncompressedSize || !inflater.finished()) {
+                    throw new IOException("Block " + blockNumber + " has a wrong size.");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Block " + blockNumber + " cannot be uncompressed.", e);
+            }
+            checksum.reset();
+            checksum.update(uncompressedBlock, 0, uncompressedSize);
+            if ((int) checksum.getValue() != compressedBlock.checksum) {
+                throw new IOException("Block " + blockNumber + " is corrupted.");
+            }
+            return ByteBuffer.wrap(uncompressedBlock, 0, uncompressedSize);
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * The audit of the archive of completed games is implemented here.
+ * The blocks of an archive are read in order by the calling thread, and uncompressed and replayed by worker
+ * threads, so the games are checked in parallel. A game is legal if it has enough players, every turn has at
+ * most NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS rerolls, the kept dice of a reroll have the faces of the previous roll,
+ * every recorded score is the score of Player.calculateCategoryScore() of the final dice, and no player fills a
+ * category twice by Player.fillCategory().
+ * The violations are reported in the order of the archive while the next blocks are checked.
+ *
+ * @author Yoochul Kim
+ */
+public class ArchiveVerifier {
+    private final int numberOfThreads;
+
+    /**
+     * Initialize a verifier that uses all available processors.
+     */
+    public ArchiveVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initialize a verifier.
+     *
+     * @param numberOfThreads the number of worker threads.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public ArchiveVerifier(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("wrong number of threads");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Check all games of an archive.
+     *
+     * @param path              the path of the archive.
+     * @param violationConsumer receives the violations in the order of the archive on the calling thread.
+     * @return the numbers of the checked games and the violations.
+     * @throws IOException if the archive cannot be read, is truncated or the header of a block is corrupted.
+     *                     A corrupted block is reported as a violation, and the next blocks are checked.
+     */
+    public Report verify(Path path, Consumer<Violation> violationConsumer) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        Queue<ArchiveReader.BlockInflater> blockInflaters = new ConcurrentLinkedQueue<>();
+        // Enough blocks are in flight to keep all workers busy while the oldest block is reported.
+        int maximumNumberOfPendingBlocks = 4 * numberOfThreads;
+        Deque<Future<BlockResult>> pendingBlocks = new ArrayDeque<>();
+        Report report = new Report();
+        try (ArchiveReader reader = ArchiveReader.open(path)) {
+            while (true) {
+                ArchiveReader.CompressedBlock compressedBlock = new ArchiveReader.CompressedBlock();
+                if (!reader.readCompressedBlock(compressedBlock)) {
+                    break;
+                }
+                pendingBlocks.add(executor.submit(() -> verifyBlock(compressedBlock, blockInflaters)));
+                if (pendingBlocks.size() == maximumNumberOfPendingBlocks) {
+                    report.add(pendingBlocks.remove().get(), violationConsumer);
+                }
+            }
+            while (!pendingBlocks.isEmpty()) {
+                report.add(pendingBlocks.remove().get(), violationConsumer);
+            }
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The verification was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The verification failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (ArchiveReader.BlockInflater blockInflater : blockInflaters) {
+                blockInflater.close();
+            }
+        }
+    }
+
+    // Runs on a worker thread, which borrows an inflater so that the buffers are reused.
+    private static BlockResult verifyBlock(ArchiveReader.CompressedBlock compressedBlock,
+                                           Queue<ArchiveReader.BlockInflater> blockInflaters) {
+        ArchiveReader.BlockInflater blockInflater = blockInflaters.poll();
+        if (blockInflater == null) {
+            blockInflater = new ArchiveReader.BlockInflater();
+        }
+        try {
+            return verifyBlock(compressedBlock, blockInflater);
+        } finally {
+            blockInflaters.add(blockInflater);
+        }
+    }
+
+    private static BlockResult verifyBlock(ArchiveReader.CompressedBlock compressedBlock,
+                                           ArchiveReader.BlockInflater blockInflater) {
+        long blockNumber = compressedBlock.getBlockNumber();
+        BlockResult result = new BlockResult(compressedBlock.getNumberOfGames());
+        ByteBuffer block;
+        try {
+            block = blockInflater.inflate(compressedBlock);
+        } catch (IOException e) {
+            result.add(new Violation(Violation.Type.CORRUPTED_BLOCK, blockNumber, -1, -1, e.getMessage()));
+            return result;
+        }
+
+        long gameId = 0;
+        for (int gameNumber = 0; gameNumber < compressedBlock.getNumberOfGames(); gameNumber++) {
+            try {
+                gameId = ArchiveFormat.getGameId(block, gameId);
+                verifyGame(block, blockNumber, gameId, result);
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                // The next games cannot be found in the rest of the block.
+                result.add(new Violation(Violation.Type.CORRUPTED_BLOCK, blockNumber, -1, -1,
+                        "Game " + (gameNumber + 1) + " of the block cannot be decoded."));
+                return result;
+            }
+        }
+        if (block.hasRemaining()) {
+            result.add(new Violation(Violation.Type.CORRUPTED_BLOCK, blockNumber, -1, -1,
+                    "The block has bytes after the last game."));
+        }
+        return result;
+    }
+
+    private static void verifyGame(ByteBuffer block, long blockNumber, long gameId, BlockResult result) {
+        String[] playerNames = ArchiveFormat.getPlayerNames(block);
+        int numberOfViolations = result.violations.size();
+        if (playerNames.length <= YahtzeeGameImpl.MINIMUM_NUMBER_OF_PLAYERS) {
+            result.add(new Violation(Violation.Type.TOO_FEW_PLAYERS, blockNumber, gameId, -1,
+                    playerNames.length + " players"));
+        }
+        Player[] players = new Player[playerNames.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(playerNames[i]);
+        }
+
+        for (int turnNumber = 0; turnNumber < players.length * NUMBER_OF_CATEGORIES; turnNumber++) {
+            long turn = ArchiveFormat.getTurn(block);
+            int score = ArchiveFormat.getScore(block);
+            int numberOfRerolls = ArchivedGame.getNumberOfRerolls(turn);
+            if (numberOfRerolls > NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+                result.add(new Violation(Violation.Type.TOO_MANY_REROLLS, blockNumber, gameId, turnNumber,
+                        numberOfRerolls + " rerolls"));
+                continue;
+            }
+            try {
+                ArchivedGame.checkTurn(turn);
+            } catch (IllegalArgumentException e) {
+                result.add(new Violation(Violation.Type.INVALID_TURN, blockNumber, gameId, turnNumber, e.getMessage()));
+                continue;
+            }
+
+            for (int rollNumber = 1; rollNumber <= numberOfRerolls; rollNumber++) {
+                int keptDiceMask = ArchivedGame.getKeptDiceMask(turn, rollNumber);
+                int previousDiceState = ArchivedGame.getDiceState(turn, rollNumber - 1);
+                int diceState = ArchivedGame.getDiceState(turn, rollNumber);
+                for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                    if ((keptDiceMask & 1 << dieNumber) != 0
+                            && DiceState.getFace(previousDiceState, dieNumber) != DiceState.getFace(diceState, dieNumber)) {
+                        result.add(new Violation(Violation.Type.KEPT_DIE_CHANGED, blockNumber, gameId, turnNumber,
+                                "die " + dieNumber + " of roll " + rollNumber));
+                        break;
+                    }
+                }
+            }
+
+            Player player = players[turnNumber % players.length];
+            int categoryNumber = ArchivedGame.getCategoryNumber(turn);
+            int expectedScore = player.calculateCategoryScore(categoryNumber, ArchivedGame.getFinalDiceState(turn));
+            if (score != expectedScore) {
+                result.add(new Violation(Violation.Type.SCORE_MISMATCH, blockNumber, gameId, turnNumber,
+                        "score " + score + " of category " + categoryNumber + ", but the dice score " + expectedScore));
+            }
+            try {
+                player.fillCategory(categoryNumber, score);
+            } catch (IllegalArgumentException e) {
+                result.add(new Violation(Violation.Type.CATEGORY_FILLED_TWICE, blockNumber, gameId, turnNumber,
+                        "category " + categoryNumber + " of " + player.getName()));
+            }
+        }
+        if (result.violations.size() > numberOfViolations) {
+            result.numberOfIllegalGames++;
+        }
+    }
+
+    /**
+     * A rule that an archived game breaks.
+     */
+    public static final class Violation {
+        public enum Type {
+            CORRUPTED_BLOCK,
+            TOO_FEW_PLAYERS,
+            INVALID_TURN,
+            TOO_MANY_REROLLS,
+            KEPT_DIE_CHANGED,
+            CATEGORY_FILLED_TWICE,
+            SCORE_MISMATCH
+        }
+
+        private final Type type;
+        private final long blockNumber;
+        private final long gameId;
+        private final int turnNumber;
+        private final String detail;
+
+        Violation(Type type, long blockNumber, long gameId, int turnNumber, String detail) {
+            this.type = type;
+            this.blockNumber = blockNumber;
+            this.gameId = gameId;
+            this.turnNumber = turnNumber;
+            this.detail = detail;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public long getBlockNumber() {
+            return blockNumber;
+        }
+
+        /**
+         * Get the game ID.
+         *
+         * @return the game ID, or -1 if the game of a corrupted block is not known.
+         */
+        public long getGameId() {
+            return gameId;
+        }
+
+        /**
+         * Get the turn number.
+         *
+         * @return the turn number, where the player of the turn is turnNumber % number of players, or -1 if
+         * the violation is not of a turn.
+         */
+        public int getTurnNumber() {
+            return turnNumber;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return "block " + blockNumber + (gameId < 0 ? "" : " game " + gameId)
+                    + (turnNumber < 0 ? "" : " turn " + turnNumber) + ": " + type + " (" + detail + ")";
+        }
+    }
+
+    /**
+     * The numbers of the checked games and the violations of an archive.
+     */
+    public static final class Report {
+        private long numberOfBlocks;
+        private long numberOfGames;
+        private long numberOfIllegalGames;
+        private long numberOfViolations;
+
+        private void add(BlockResult result, Consumer<Violation> violationConsumer) {
+            numberOfBlocks++;
+            numberOfGames += result.numberOfGames;
+            numberOfIllegalGames += result.numberOfIllegalGames;
+            numberOfViolations += result.violations.size();
+            for (Violation violation : result.violations) {
+                violationConsumer.accept(violation);
+            }
+        }
+
+        public long getNumberOfBlocks() {
+            return numberOfBlocks;
+        }
+
+        public long getNumberOfGames() {
+            return numberOfGames;
+        }
+
+        /**
+         * Get the number of games that break a rule. The games of corrupted blocks are not counted.
+         *
+         * @return the number of illegal games.
+         */
+        public long getNumberOfIllegalGames() {
+            return numberOfIllegalGames;
+        }
+
+        public long getNumberOfViolations() {
+            return numberOfViolations;
+        }
+
+        @Override
+        public String toString() {
+            return numberOfGames + " games in " + numberOfBlocks + " blocks, " + numberOfIllegalGames
+                    + " illegal games, " + numberOfViolations + " violations";
+        }
+    }
+
+    static final class BlockResult {
+        private final int numberOfGames;
+        private final List<Violation> violations = new ArrayList<>();
+        private long numberOfIllegalGames;
+
+        BlockResult(int numberOfGames) {
+            this.numberOfGames = numberOfGames;
+        }
+
+        private void add(Violation violation) {
+            violations.add(violation);
+        }
+    }
+
+    /**
+     * Verify archives from the command line, e.g.
+     * java -cp target/classes yahtzee.ArchiveVerifier games.archive
+     *
+     * @param args the paths of the archives.
+     * @throws IOException if an archive cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java yahtzee.ArchiveVerifier <archive file>...");
+            System.exit(1);
+        }
+
+        ArchiveVerifier verifier = new ArchiveVerifier();
+        long numberOfViolations = 0;
+        for (String arg : args) {
+            long start = System.nanoTime();
+            Report report = verifier.verify(Paths.get(arg), violation -> System.out.println(arg + ": " + violation));
+            System.out.printf("%s: %s in %.3f s%n", arg, report, (System.nanoTime() - start) / 1e9);
+            numberOfViolations += report.getNumberOfViolations();
+        }
+        System.exit(numberOfViolations == 0 ? 0 : 2);
+    }
+}
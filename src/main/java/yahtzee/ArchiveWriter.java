@@ -0,0 +1,203 @@
+package yahtzee;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The streaming writer of the archive of completed games is implemented here.
+ * The games are encoded into a block in memory, and the block is compressed and written when it reaches the
+ * block size, so only one block is kept in memory. It is not thread-safe.
+ *
+ * @author Yoochul Kim
+ * @see ArchiveFormat
+ */
+public class ArchiveWriter implements AutoCloseable {
+    /**
+     * The default uncompressed size of a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final DataOutputStream output;
+    private final int blockSize;
+    private final Deflater deflater = new Deflater();
+    private final CRC32 checksum = new CRC32();
+
+    private ByteBuffer block;
+    private byte[] compressedBlock;
+    private int numberOfGamesInBlock;
+    private long previousGameId;
+
+    private long numberOfGames;
+    private long numberOfBlocks;
+    private boolean closed;
+
+    /**
+     * Create an archive file, which is replaced if it exists.
+     *
+     * @param path the path of the file.
+     * @return the writer of the file.
+     * @throws IOException if the file cannot be created.
+     */
+    public static ArchiveWriter create(Path path) throws IOException {
+        return new ArchiveWriter(Files.newOutputStream(path), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Initialize a writer, and write the header of the archive.
+     *
+     * @param output    the stream of the archive, which is closed by close().
+     * @param blockSize the uncompressed size of a block, which is exceeded only by a block of one game.
+     * @throws IOException              if the header cannot be written.
+     * @throws IllegalArgumentException if the block size is not positive or larger than the maximum.
+     */
+    public ArchiveWriter(OutputStream output, int blockSize) throws IOException {
+        if (blockSize < 1 || blockSize > ArchiveFormat.MAXIMUM_BLOCK_SIZE) {
+            throw new IllegalArgumentException("wrong block size");
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        this.blockSize = blockSize;
+        block = ByteBuffer.allocate(blockSize);
+        compressedBlock = new byte[blockSize];
+        this.output.writeInt(ArchiveFormat.MAGIC_NUMBER);
+        this.output.writeInt(ArchiveFormat.FORMAT_VERSION);
+    }
+
+    public long getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    public long getNumberOfBlocks() {
+        return numberOfBlocks;
+    }
+
+    /**
+     * Append a game.
+     *
+     * @param game the game.
+     * @throws IOException           if a block cannot be written.
+     * @throws IllegalStateException if the writer has been closed.
+     */
+    public void write(ArchivedGame game) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The archive has been closed.");
+        }
+        byte[][] names = ArchiveFormat.encodeNames(game.getPlayerNames());
+        int maximumGameSize = ArchiveFormat.getMaximumGameSize(names, game.getNumberOfTurns());
+        if (numberOfGamesInBlock > 0 && block.position() + maximumGameSize > blockSize) {
+            writeBlock();
+        }
+        if (block.remaining() < maximumGameSize) {
+            block = ByteBuffer.wrap(Arrays.copyOf(block.array(), block.position() + maximumGameSize))
+                    .position(block.position());
+        }
+        ArchiveFormat.putGame(block, game, names, previousGameId);
+        previousGameId = game.getGameId();
+        numberOfGamesInBlock++;
+        numberOfGames++;
+    }
+
+    /**
+     * Append the finished games of a journal in the order they finished. The games made before the first LSN
+     * are skipped, as their turns are not complete.
+     *
+     * @param journalDirectory the directory of the journal.
+     * @param fromLsn          the first LSN to read.
+     * @return the number of appended games.
+     * @throws IOException if the journal cannot be read or a block cannot be written.
+     */
+    public long writeFinishedGames(Path journalDirectory, long fromLsn) throws IOException {
+        long numberOfGamesBefore = numberOfGames;
+        Map<Long, GameRecorder> recorders = new HashMap<>();
+        try {
+            GameJournal.read(journalDirectory, fromLsn, record -> {
+                long gameId = record.getGameId();
+                if (record.getType() == JournalRecord.Type.GAME_MADE) {
+                    recorders.put(gameId, new GameRecorder(gameId));
+                } else if (record.getType() == JournalRecord.Type.GAME_REMOVED) {
+                    recorders.remove(gameId);
+                    return;
+                }
+                GameRecorder recorder = recorders.get(gameId);
+                if (recorder == null) {
+                    return;
+                }
+                record.replayTo(recorder);
+                if (recorder.hasFinished()) {
+                    recorders.remove(gameId);
+                    try {
+                        write(recorder.toArchivedGame());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return numberOfGames - numberOfGamesBefore;
+    }
+
+    private void writeBlock() throws IOException {
+        int uncompressedSize = block.position();
+        checksum.reset();
+        checksum.update(block.array(), 0, uncompressedSize);
+
+        deflater.reset();
+        deflater.setInput(block.array(), 0, uncompressedSize);
+        deflater.finish();
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+            if (compressedSize == compressedBlock.length) {
+                compressedBlock = Arrays.copyOf(compressedBlock, compressedBlock.length * 2);
+            }
+            compressedSize += deflater.deflate(compressedBlock, compressedSize, compressedBlock.length - compressedSize);
+        }
+
+        output.writeInt(numberOfGamesInBlock);
+        output.writeInt(uncompressedSize);
+        output.writeInt(compressedSize);
+        output.writeInt((int) checksum.getValue());
+        output.write(compressedBlock, 0, compressedSize);
+
+        // A large block of one game is not kept.
+        block = block.capacity() > blockSize ? ByteBuffer.allocate(blockSize) : block.clear();
+        numberOfGamesInBlock = 0;
+        previousGameId = 0;
+        numberOfBlocks++;
+    }
+
+    /**
+     * Write the last block and the end of the archive, and close the stream.
+     *
+     * @throws IOException if the archive cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (numberOfGamesInBlock > 0) {
+                writeBlock();
+            }
+            for (int i = 0; i < ArchiveFormat.BLOCK_HEADER_SIZE / Integer.BYTES; i++) {
+                output.writeInt(0);
+            }
+        } finally {
+            deflater.end();
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package yahtzee;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * A completed game kept in the archive is implemented here.
+ * A game is its players' names and its turns in the order they were played, and each turn is packed into
+ * the lowest bits of a long: the number of rerolls (2 bits), the chosen category (4 bits), the ordered roll of
+ * DiceState after the first roll (13 bits) and, for each reroll, the kept dice mask (5 bits) and the ordered roll
+ * after the reroll (13 bits). So a turn is 3, 5 or 7 bytes. The score with which the category was filled is kept
+ * beside the turn, as YahtzeeGame.fillCategory() accepts any score, so the scorecards are replayed as they were
+ * played and ArchiveVerifier compares the scores with the dice.
+ *
+ * @author Yoochul Kim
+ */
+public class ArchivedGame {
+    /**
+     * The number of bytes of a turn without reroll. Each reroll adds REROLL_SIZE bytes.
+     */
+    public static final int TURN_SIZE = 3;
+    /**
+     * The number of bytes added to a turn by a reroll.
+     */
+    public static final int REROLL_SIZE = 2;
+
+    private static final int REROLLS_BITS = 2;
+    private static final int CATEGORY_SHIFT = REROLLS_BITS;
+    private static final int CATEGORY_BITS = 4;
+    private static final int FIRST_ROLL_SHIFT = CATEGORY_SHIFT + CATEGORY_BITS;
+    private static final int ORDERED_ROLL_BITS = 13;
+    private static final int MASK_BITS = Die.TOTAL_NUMBER_OF_DICE;
+    private static final int REROLL_BITS = MASK_BITS + ORDERED_ROLL_BITS;
+    private static final int FIRST_REROLL_SHIFT = FIRST_ROLL_SHIFT + ORDERED_ROLL_BITS;
+    private static final int NUMBER_OF_ORDERED_ROLLS = 7776;
+
+    private final long gameId;
+    private final String[] playerNames;
+    private final long[] turns;
+    private final int[] scores;
+
+    /**
+     * Initialize a completed game.
+     *
+     * @param gameId      the game ID.
+     * @param playerNames all players' names.
+     * @param turns       the packed turns, 13 for each player in the order they were played.
+     * @param scores      the filled score of each turn.
+     * @throws IllegalArgumentException if the number of players or turns is wrong, or a turn is not packed right.
+     */
+    public ArchivedGame(long gameId, String[] playerNames, long[] turns, int[] scores) {
+        if (playerNames.length <= YahtzeeGameImpl.MINIMUM_NUMBER_OF_PLAYERS) {
+            throw new IllegalArgumentException("Number of player is not enough to play the game.");
+        }
+        if (turns.length != playerNames.length * NUMBER_OF_CATEGORIES) {
+            throw new IllegalArgumentException("A completed game has " + NUMBER_OF_CATEGORIES + " turns for each player.");
+        }
+        if (scores.length != turns.length) {
+            throw new IllegalArgumentException("Each turn has a score.");
+        }
+        for (long turn : turns) {
+            checkTurn(turn);
+        }
+        this.gameId = gameId;
+        this.playerNames = playerNames.clone();
+        this.turns = turns.clone();
+        this.scores = scores.clone();
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public String[] getPlayerNames() {
+        return playerNames.clone();
+    }
+
+    public int getNumberOfPlayers() {
+        return playerNames.length;
+    }
+
+    public int getNumberOfTurns() {
+        return turns.length;
+    }
+
+    /**
+     * Get a packed turn.
+     *
+     * @param turnNumber the turn number, where the player of the turn is turnNumber % getNumberOfPlayers().
+     * @return the packed turn.
+     */
+    public long getTurn(int turnNumber) {
+        return turns[turnNumber];
+    }
+
+    /**
+     * Get the score with which the category of a turn was filled.
+     *
+     * @param turnNumber the turn number.
+     * @return the score.
+     */
+    public int getScore(int turnNumber) {
+        return scores[turnNumber];
+    }
+
+    /**
+     * Replay the game, i.e. fill the categories of new players by Player.fillCategory() with the filled scores
+     * of the turns, and set their total scores as YahtzeeGame.calculateScores() does.
+     *
+     * @return the players with the scorecards at the end of the game.
+     * @throws IllegalArgumentException if a player chose a category twice.
+     */
+    public Player[] replayPlayers() {
+        Player[] players = new Player[playerNames.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(playerNames[i]);
+        }
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            Player player = players[turnNumber % players.length];
+            player.fillCategory(getCategoryNumber(turns[turnNumber]), scores[turnNumber]);
+        }
+        for (Player player : players) {
+            player.setTotalScore(player.getRunningTotalScore());
+        }
+        return players;
+    }
+
+    /**
+     * Pack the first roll of a turn.
+     *
+     * @param diceState the dice state after the first roll.
+     * @return the packed turn without reroll, whose category is set by withCategory().
+     */
+    public static long startTurn(int diceState) {
+        return (long) DiceState.toOrderedRoll(diceState) << FIRST_ROLL_SHIFT;
+    }
+
+    /**
+     * Add a reroll to a packed turn.
+     *
+     * @param turn         the packed turn.
+     * @param keptDiceMask bit dieNumber is set if the die was kept.
+     * @param diceState    the dice state after the reroll.
+     * @return the packed turn with the reroll.
+     * @throws IllegalStateException if the turn has used all retries.
+     */
+    public static long addReroll(long turn, int keptDiceMask, int diceState) {
+        int numberOfRerolls = getNumberOfRerolls(turn);
+        if (numberOfRerolls >= NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+            throw new IllegalStateException("No retry is left.");
+        }
+        long reroll = keptDiceMask & DiceState.ALL_DICE_MASK
+                | (long) DiceState.toOrderedRoll(diceState) << MASK_BITS;
+        return turn + 1 | reroll << FIRST_REROLL_SHIFT + REROLL_BITS * numberOfRerolls;
+    }
+
+    /**
+     * Set the chosen category of a packed turn.
+     *
+     * @param turn           the packed turn.
+     * @param categoryNumber the category number.
+     * @return the packed turn with the category.
+     */
+    public static long withCategory(long turn, int categoryNumber) {
+        if (categoryNumber < 0 || categoryNumber >= NUMBER_OF_CATEGORIES) {
+            throw new IllegalArgumentException("wrong category number");
+        }
+        return turn & ~((1L << CATEGORY_BITS) - 1 << CATEGORY_SHIFT) | (long) categoryNumber << CATEGORY_SHIFT;
+    }
+
+    public static int getNumberOfRerolls(long turn) {
+        return (int) turn & (1 << REROLLS_BITS) - 1;
+    }
+
+    public static int getCategoryNumber(long turn) {
+        return (int) (turn >>> CATEGORY_SHIFT) & (1 << CATEGORY_BITS) - 1;
+    }
+
+    /**
+     * Get the dice after a roll of a packed turn.
+     *
+     * @param turn       the packed turn.
+     * @param rollNumber 0 for the first roll, or 1 and 2 for the rerolls.
+     * @return the dice state.
+     */
+    public static int getDiceState(long turn, int rollNumber) {
+        int shift = rollNumber == 0 ? FIRST_ROLL_SHIFT : FIRST_REROLL_SHIFT + REROLL_BITS * (rollNumber - 1) + MASK_BITS;
+        return DiceState.ofOrderedRoll((int) (turn >>> shift) & (1 << ORDERED_ROLL_BITS) - 1);
+    }
+
+    /**
+     * Get the kept dice mask of a reroll of a packed turn.
+     *
+     * @param turn       the packed turn.
+     * @param rollNumber 1 or 2 for the rerolls.
+     * @return bit dieNumber is set if the die was kept.
+     */
+    public static int getKeptDiceMask(long turn, int rollNumber) {
+        return (int) (turn >>> FIRST_REROLL_SHIFT + REROLL_BITS * (rollNumber - 1)) & DiceState.ALL_DICE_MASK;
+    }
+
+    /**
+     * Get the dice with which the category was chosen.
+     *
+     * @param turn the packed turn.
+     * @return the dice state after the last roll of the turn.
+     */
+    public static int getFinalDiceState(long turn) {
+        return getDiceState(turn, getNumberOfRerolls(turn));
+    }
+
+    /**
+     * Get the number of bytes of a packed turn in the archive.
+     *
+     * @param turn the packed turn.
+     * @return 3, 5 or 7.
+     */
+    public static int getTurnSize(long turn) {
+        return TURN_SIZE + REROLL_SIZE * getNumberOfRerolls(turn);
+    }
+
+    /**
+     * Check that a packed turn can be replayed.
+     *
+     * @param turn the packed turn.
+     * @throws IllegalArgumentException if a field is out of its range or there are bits after the last reroll.
+     */
+    public static void checkTurn(long turn) {
+        int numberOfRerolls = getNumberOfRerolls(turn);
+        if (numberOfRerolls > NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+            throw new IllegalArgumentException("wrong number of rerolls");
+        }
+        if (getCategoryNumber(turn) >= NUMBER_OF_CATEGORIES) {
+            throw new IllegalArgumentException("wrong category number");
+        }
+        if (turn >>> FIRST_REROLL_SHIFT + REROLL_BITS * numberOfRerolls != 0) {
+            throw new IllegalArgumentException("wrong bits after the last reroll");
+        }
+        for (int rollNumber = 0; rollNumber <= numberOfRerolls; rollNumber++) {
+            int shift = rollNumber == 0 ? FIRST_ROLL_SHIFT : FIRST_REROLL_SHIFT + REROLL_BITS * (rollNumber - 1) + MASK_BITS;
+            if (((int) (turn >>> shift) & (1 << ORDERED_ROLL_BITS) - 1) >= NUMBER_OF_ORDERED_ROLLS) {
+                throw new IllegalArgumentException("wrong dice of roll " + rollNumber);
+            }
+        }
+    }
+}
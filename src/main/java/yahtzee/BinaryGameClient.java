@@ -0,0 +1,249 @@
+package yahtzee;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static yahtzee.BinaryProtocol.ERROR;
+import static yahtzee.BinaryProtocol.FILL;
+import static yahtzee.BinaryProtocol.KEEP;
+import static yahtzee.BinaryProtocol.LENGTH_SIZE;
+import static yahtzee.BinaryProtocol.MAKE;
+import static yahtzee.BinaryProtocol.MAXIMUM_FRAME_SIZE;
+import static yahtzee.BinaryProtocol.PASS;
+import static yahtzee.BinaryProtocol.REMOVE;
+import static yahtzee.BinaryProtocol.ROLL;
+import static yahtzee.BinaryProtocol.WINNERS;
+
+/**
+ * A blocking client of BinaryGameServer is implemented here.
+ * The request methods only put the requests into the output buffer, so any number of requests can be sent at
+ * once with flush(), and then their responses are read one by one in the same order with the read methods.
+ * It is not thread-safe.
+ *
+ * @author Yoochul Kim
+ */
+public class BinaryGameClient implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // It is in the read mode.
+    private final ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+
+    /**
+     * Connect to a server on the loopback address.
+     *
+     * @param port the port of the server.
+     * @throws IOException if the server cannot be connected.
+     */
+    public BinaryGameClient(int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Put a request of YahtzeeGame.makeGame(), which is answered by readGameId().
+     *
+     * @param playerNames all players' names.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendMakeGame(String... playerNames) throws IOException {
+        int start = startRequest(MAKE);
+        output.put((byte) playerNames.length);
+        for (String playerName : playerNames) {
+            BinaryProtocol.putString(output, playerName);
+        }
+        BinaryProtocol.endFrame(output, start);
+    }
+
+    /**
+     * Put a request of rolling all five dice at the start of the turn, which is answered by readFaces().
+     *
+     * @param gameId the game ID.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendRollDice(long gameId) throws IOException {
+        BinaryProtocol.endFrame(output, startRequest(ROLL, gameId));
+    }
+
+    /**
+     * Put a request of rolling the dice which are not kept, which is answered by readFaces().
+     *
+     * @param gameId       the game ID.
+     * @param keptDiceMask bit dieNumber is set if the player does not want to roll the die.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendRollDice(long gameId, int keptDiceMask) throws IOException {
+        int start = startRequest(KEEP, gameId);
+        output.put((byte) keptDiceMask);
+        BinaryProtocol.endFrame(output, start);
+    }
+
+    /**
+     * Put a request of filling a category with the current dice, which is answered by readScore().
+     *
+     * @param gameId         the game ID.
+     * @param categoryNumber the category number.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendFillCategory(long gameId, int categoryNumber) throws IOException {
+        int start = startRequest(FILL, gameId);
+        output.put((byte) categoryNumber);
+        BinaryProtocol.endFrame(output, start);
+    }
+
+    /**
+     * Put a request of passing the turn, which is answered by readBoolean().
+     *
+     * @param gameId the game ID.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendPassTurn(long gameId) throws IOException {
+        BinaryProtocol.endFrame(output, startRequest(PASS, gameId));
+    }
+
+    /**
+     * Put a request of YahtzeeGame.getWinners(), which is answered by readWinnerNames().
+     *
+     * @param gameId the game ID.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendGetWinners(long gameId) throws IOException {
+        BinaryProtocol.endFrame(output, startRequest(WINNERS, gameId));
+    }
+
+    /**
+     * Put a request of removing a game, which is answered by readBoolean().
+     *
+     * @param gameId the game ID.
+     * @throws IOException if the output buffer is full and cannot be sent.
+     */
+    public void sendRemoveGame(long gameId) throws IOException {
+        BinaryProtocol.endFrame(output, startRequest(REMOVE, gameId));
+    }
+
+    private int startRequest(byte operation, long gameId) throws IOException {
+        int start = startRequest(operation);
+        output.putLong(gameId);
+        return start;
+    }
+
+    private int startRequest(byte operation) throws IOException {
+        // A request is not split between two writes, but a large batch is written in parts.
+        if (output.remaining() < MAXIMUM_FRAME_SIZE) {
+            flush();
+        }
+        int start = BinaryProtocol.startFrame(output);
+        output.put(operation);
+        return start;
+    }
+
+    /**
+     * Send all requests in the output buffer.
+     *
+     * @throws IOException if the connection is broken.
+     */
+    public void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * Read the response of sendMakeGame().
+     *
+     * @return the game ID.
+     * @throws IOException           if the connection is broken.
+     * @throws IllegalStateException if the server answered with an error.
+     */
+    public long readGameId() throws IOException {
+        readResponse();
+        return input.getLong();
+    }
+
+    /**
+     * Read the response of sendRollDice().
+     *
+     * @return the five faces packed like DiceState.getFaces(), e.g. for DiceState.getFace().
+     * @throws IOException           if the connection is broken.
+     * @throws IllegalStateException if the server answered with an error.
+     */
+    public int readFaces() throws IOException {
+        readResponse();
+        return Short.toUnsignedInt(input.getShort());
+    }
+
+    /**
+     * Read the response of sendFillCategory().
+     *
+     * @return the score of the category.
+     * @throws IOException           if the connection is broken.
+     * @throws IllegalStateException if the server answered with an error.
+     */
+    public int readScore() throws IOException {
+        readResponse();
+        return Short.toUnsignedInt(input.getShort());
+    }
+
+    /**
+     * Read the response of sendPassTurn() or sendRemoveGame().
+     *
+     * @return true if the game has finished or has been removed.
+     * @throws IOException           if the connection is broken.
+     * @throws IllegalStateException if the server answered with an error.
+     */
+    public boolean readBoolean() throws IOException {
+        readResponse();
+        return input.get() != 0;
+    }
+
+    /**
+     * Read the response of sendGetWinners().
+     *
+     * @return the names of the winners.
+     * @throws IOException           if the connection is broken.
+     * @throws IllegalStateException if the server answered with an error.
+     */
+    public String[] readWinnerNames() throws IOException {
+        readResponse();
+        String[] winnerNames = new String[Byte.toUnsignedInt(input.get())];
+        for (int i = 0; i < winnerNames.length; i++) {
+            winnerNames[i] = BinaryProtocol.getString(input);
+        }
+        return winnerNames;
+    }
+
+    // Read the next response, and leave the input at the value after the status.
+    private void readResponse() throws IOException {
+        int length;
+        while ((length = BinaryProtocol.completeFrameLength(input)) < 0) {
+            input.compact();
+            int numberOfBytes = channel.read(input);
+            input.flip();
+            if (numberOfBytes < 0) {
+                throw new EOFException("The server closed the connection.");
+            }
+        }
+
+        int end = input.position() + LENGTH_SIZE + length;
+        input.position(input.position() + LENGTH_SIZE);
+        byte status = input.get();
+        if (status == ERROR) {
+            String message = BinaryProtocol.getString(input);
+            input.position(end);
+            throw new IllegalStateException(message);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,431 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static yahtzee.BinaryProtocol.ERROR;
+import static yahtzee.BinaryProtocol.FILL;
+import static yahtzee.BinaryProtocol.KEEP;
+import static yahtzee.BinaryProtocol.LENGTH_SIZE;
+import static yahtzee.BinaryProtocol.MAKE;
+import static yahtzee.BinaryProtocol.MAXIMUM_FRAME_SIZE;
+import static yahtzee.BinaryProtocol.OK;
+import static yahtzee.BinaryProtocol.PASS;
+import static yahtzee.BinaryProtocol.REMOVE;
+import static yahtzee.BinaryProtocol.ROLL;
+import static yahtzee.BinaryProtocol.WINNERS;
+
+/**
+ * The non-blocking game server of BinaryProtocol is implemented here.
+ * One selector thread reads the requests of all connections and sends them to GameSessionManager without waiting
+ * for their results, so a client can pipeline many requests, and the shards of the manager run them in parallel.
+ * When the results come back, the selector thread puts each response into a direct buffer from its pool and sends
+ * the responses that are ready in the request order with one gathering write. The buffers are reused, so serving
+ * a request does not allocate any buffer. A connection stops being read while it has too many requests waiting,
+ * so a client that does not read its responses cannot make the server queue without limit.
+ *
+ * @author Yoochul Kim
+ */
+public class BinaryGameServer implements AutoCloseable {
+    /**
+     * The number of requests of a connection that can wait for their responses.
+     */
+    public static final int MAXIMUM_PIPELINED_REQUESTS = 256;
+
+    // The number of responses written by a gathering write at most.
+    private static final int MAXIMUM_BUFFERS_PER_WRITE = 64;
+
+    private final GameSessionManager manager;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread selectorThread;
+
+    // The results of the manager, which are handed over to the selector thread.
+    private final Queue<PendingResponse> completedResponses = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean hasWakeUpBeenRequested = new AtomicBoolean();
+
+    // The fields below are used only by the selector thread.
+    private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+    private final ByteBuffer[] gatheredBuffers = new ByteBuffer[MAXIMUM_BUFFERS_PER_WRITE];
+    private final List<Connection> connectionsToFlush = new ArrayList<>();
+
+    private volatile boolean isRunning = true;
+
+    /**
+     * Start a server on the loopback address.
+     *
+     * @param manager the manager of the games, which is not closed with the server.
+     * @param port    the port, or 0 for any free port.
+     * @throws IOException if the port cannot be used.
+     */
+    public BinaryGameServer(GameSessionManager manager, int port) throws IOException {
+        this.manager = manager;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        selectorThread = new Thread(this::run, "binary-game-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Get the port of the server.
+     *
+     * @return the local port that accepts connections.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Stop the server and close all connections.
+     */
+    @Override
+    public void close() {
+        isRunning = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (isRunning) {
+                selector.select();
+                hasWakeUpBeenRequested.set(false);
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isWritable()) {
+                            flush(connection);
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            read(connection);
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+
+                writeCompletedResponses();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The selector cannot be used any more, so the server stops.
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // The selector is closed anyway.
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel, acquireBuffer());
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    private void read(Connection connection) {
+        try {
+            if (connection.channel.read(connection.input) < 0) {
+                close(connection);
+                return;
+            }
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+        handleRequests(connection);
+    }
+
+    private void handleRequests(Connection connection) {
+        ByteBuffer input = connection.input;
+        input.flip();
+        try {
+            int length;
+            while (connection.pendingResponses.size() < MAXIMUM_PIPELINED_REQUESTS
+                    && (length = BinaryProtocol.completeFrameLength(input)) >= 0) {
+                // The body is read in place between the position and the limit.
+                int limit = input.limit();
+                int end = input.position() + LENGTH_SIZE + length;
+                input.position(input.position() + LENGTH_SIZE).limit(end);
+                handleRequest(connection, input);
+                input.limit(limit).position(end);
+            }
+        } catch (IllegalArgumentException e) {
+            // The client sent a frame that is too large, so the frames cannot be found any more.
+            close(connection);
+            return;
+        }
+        input.compact();
+
+        // The requests left in the input are read when the responses have been sent.
+        boolean canRead = connection.pendingResponses.size() < MAXIMUM_PIPELINED_REQUESTS;
+        setInterest(connection, SelectionKey.OP_READ, canRead);
+    }
+
+    private void handleRequest(Connection connection, ByteBuffer body) {
+        PendingResponse response = new PendingResponse(connection);
+        connection.pendingResponses.add(response);
+
+        CompletableFuture<?> result;
+        try {
+            response.operation = body.get();
+            result = execute(response.operation, body);
+        } catch (BufferUnderflowException e) {
+            result = CompletableFuture.failedFuture(new IllegalArgumentException("The request is too short."));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, exception) -> {
+            response.value = value;
+            response.exception = exception;
+            completedResponses.add(response);
+            if (hasWakeUpBeenRequested.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        });
+    }
+
+    private CompletableFuture<?> execute(byte operation, ByteBuffer body) {
+        if (operation == MAKE) {
+            String[] playerNames = new String[Byte.toUnsignedInt(body.get())];
+            for (int i = 0; i < playerNames.length; i++) {
+                playerNames[i] = BinaryProtocol.getString(body);
+            }
+            return manager.createGame(playerNames);
+        }
+
+        long gameId = body.getLong();
+        switch (operation) {
+            case ROLL:
+                return manager.roll(gameId);
+            case KEEP:
+                return manager.keep(gameId, Byte.toUnsignedInt(body.get()));
+            case FILL:
+                return manager.fill(gameId, Byte.toUnsignedInt(body.get()));
+            case PASS:
+                return manager.passTurn(gameId);
+            case WINNERS:
+                return manager.execute(gameId, GameSession::getWinnerNames);
+            case REMOVE:
+                return manager.removeGame(gameId);
+            default:
+                throw new IllegalArgumentException("unknown operation " + operation);
+        }
+    }
+
+    private void writeCompletedResponses() {
+        PendingResponse response;
+        while ((response = completedResponses.poll()) != null) {
+            Connection connection = response.connection;
+            if (connection.isClosed) {
+                continue;
+            }
+            response.buffer = encode(response, acquireBuffer());
+            if (!connection.needsFlush) {
+                connection.needsFlush = true;
+                connectionsToFlush.add(connection);
+            }
+        }
+
+        for (Connection connection : connectionsToFlush) {
+            connection.needsFlush = false;
+            if (!connection.isClosed) {
+                flush(connection);
+            }
+        }
+        connectionsToFlush.clear();
+    }
+
+    private static ByteBuffer encode(PendingResponse response, ByteBuffer buffer) {
+        int start = BinaryProtocol.startFrame(buffer);
+        if (response.exception != null) {
+            Throwable cause = response.exception instanceof CompletionException
+                    ? response.exception.getCause() : response.exception;
+            buffer.put(ERROR);
+            BinaryProtocol.putString(buffer, String.valueOf(cause.getMessage()));
+        } else {
+            buffer.put(OK);
+            Object value = response.value;
+            switch (response.operation) {
+                case MAKE:
+                    buffer.putLong((Long) value);
+                    break;
+                case ROLL:
+                case KEEP:
+                    buffer.putShort((short) DiceState.getFaces((Integer) value));
+                    break;
+                case FILL:
+                    buffer.putShort((short) (int) (Integer) value);
+                    break;
+                case PASS:
+                case REMOVE:
+                    buffer.put((byte) ((Boolean) value ? 1 : 0));
+                    break;
+                case WINNERS:
+                    String[] winnerNames = (String[]) value;
+                    buffer.put((byte) winnerNames.length);
+                    for (String winnerName : winnerNames) {
+                        BinaryProtocol.putString(buffer, winnerName);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unknown operation " + response.operation);
+            }
+        }
+        BinaryProtocol.endFrame(buffer, start);
+        return buffer.flip();
+    }
+
+    // Write the responses that are ready in the request order.
+    private void flush(Connection connection) {
+        ArrayDeque<PendingResponse> pendingResponses = connection.pendingResponses;
+        try {
+            while (true) {
+                int numberOfBuffers = 0;
+                for (PendingResponse response : pendingResponses) {
+                    if (response.buffer == null || numberOfBuffers == MAXIMUM_BUFFERS_PER_WRITE) {
+                        break;
+                    }
+                    gatheredBuffers[numberOfBuffers++] = response.buffer;
+                }
+                if (numberOfBuffers == 0) {
+                    break;
+                }
+
+                connection.channel.write(gatheredBuffers, 0, numberOfBuffers);
+                while (!pendingResponses.isEmpty() && pendingResponses.peek().buffer != null
+                        && !pendingResponses.peek().buffer.hasRemaining()) {
+                    releaseBuffer(pendingResponses.poll().buffer);
+                }
+                if (!pendingResponses.isEmpty() && pendingResponses.peek().buffer != null) {
+                    // The socket is full, so the rest is written when it becomes writable.
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            close(connection);
+            return;
+        } finally {
+            Arrays.fill(gatheredBuffers, null);
+        }
+
+        boolean hasUnwrittenResponse = !pendingResponses.isEmpty() && pendingResponses.peek().buffer != null;
+        setInterest(connection, SelectionKey.OP_WRITE, hasUnwrittenResponse);
+        if ((connection.key.interestOps() & SelectionKey.OP_READ) == 0
+                && pendingResponses.size() < MAXIMUM_PIPELINED_REQUESTS) {
+            // The reading was stopped by too many requests, so the requests left in the input are handled.
+            handleRequests(connection);
+        }
+    }
+
+    private static void setInterest(Connection connection, int operation, boolean isInterested) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        int interestOps = connection.key.interestOps();
+        int newInterestOps = isInterested ? interestOps | operation : interestOps & ~operation;
+        if (newInterestOps != interestOps) {
+            connection.key.interestOps(newInterestOps);
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection.isClosed) {
+            return;
+        }
+        connection.isClosed = true;
+        closeQuietly(connection.key);
+        releaseBuffer(connection.input);
+        for (PendingResponse response : connection.pendingResponses) {
+            if (response.buffer != null) {
+                releaseBuffer(response.buffer);
+            }
+        }
+        connection.pendingResponses.clear();
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The channel is closed anyway.
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(MAXIMUM_FRAME_SIZE);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        freeBuffers.push(buffer.clear());
+    }
+
+    private static class Connection {
+        final SocketChannel channel;
+        // It is in the write mode between reads.
+        final ByteBuffer input;
+        final ArrayDeque<PendingResponse> pendingResponses = new ArrayDeque<>();
+        SelectionKey key;
+        boolean needsFlush;
+        boolean isClosed;
+
+        Connection(SocketChannel channel, ByteBuffer input) {
+            this.channel = channel;
+            this.input = input;
+        }
+    }
+
+    // A request waiting for its response, which is written by a shard thread before it is queued.
+    private static class PendingResponse {
+        final Connection connection;
+        byte operation;
+        Object value;
+        Throwable exception;
+        ByteBuffer buffer;
+
+        PendingResponse(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package yahtzee;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * The binary protocol of BinaryGameServer and BinaryGameClient is implemented here.
+ * Each request and response is a frame of an unsigned 16-bit big-endian length and the body of that length.
+ * <pre>
+ * request body                                response body if the status is OK
+ * MAKE    numberOfPlayers (name)...          gameId
+ * ROLL    gameId                             faces
+ * KEEP    gameId keptDiceMask(u8)            faces
+ * FILL    gameId categoryNumber(u8)          score(u16)
+ * PASS    gameId                             hasFinished(u8)
+ * WINNERS gameId                             numberOfWinners(u8) (name)...
+ * REMOVE  gameId                             hasRemoved(u8)
+ * </pre>
+ * A request body starts with its operation code (u8) and a response body with its status (u8). A game ID is
+ * a signed 64-bit integer, faces are the five faces packed like DiceState.getFaces() in an unsigned 16-bit
+ * integer, and a name or an error message is its length (u8) and its ASCII characters. The body of an ERROR
+ * response is the error message. The responses of a connection are sent in the order of its requests, so a ROLL
+ * request is answered in 5 bytes.
+ *
+ * @author Yoochul Kim
+ */
+public final class BinaryProtocol {
+    public static final byte MAKE = 1;
+    public static final byte ROLL = 2;
+    public static final byte KEEP = 3;
+    public static final byte FILL = 4;
+    public static final byte PASS = 5;
+    public static final byte WINNERS = 6;
+    public static final byte REMOVE = 7;
+
+    public static final byte OK = 0;
+    public static final byte ERROR = 1;
+
+    /**
+     * The size of the length of a frame.
+     */
+    public static final int LENGTH_SIZE = Short.BYTES;
+    /**
+     * The largest frame including its length, so a frame always fits in a buffer of this size.
+     */
+    public static final int MAXIMUM_FRAME_SIZE = 4096;
+
+    // The longest name or message, which is limited by its u8 length.
+    private static final int MAXIMUM_STRING_LENGTH = 255;
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Put a name or a message, which is cut at 255 characters.
+     *
+     * @param buffer the buffer.
+     * @param string the ASCII string.
+     */
+    public static void putString(ByteBuffer buffer, String string) {
+        byte[] bytes = string.getBytes(US_ASCII);
+        int length = Math.min(bytes.length, MAXIMUM_STRING_LENGTH);
+        buffer.put((byte) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    /**
+     * Get a name or a message.
+     *
+     * @param buffer the buffer.
+     * @return the string.
+     * @throws java.nio.BufferUnderflowException if the buffer ends in the string.
+     */
+    public static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(bytes);
+        return new String(bytes, US_ASCII);
+    }
+
+    /**
+     * Start a frame, of which length is set by endFrame().
+     *
+     * @param buffer the buffer.
+     * @return the position of the frame.
+     */
+    static int startFrame(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putShort((short) 0);
+        return start;
+    }
+
+    /**
+     * Set the length of a frame that has been put since startFrame().
+     *
+     * @param buffer the buffer.
+     * @param start  the position of the frame.
+     */
+    static void endFrame(ByteBuffer buffer, int start) {
+        buffer.putShort(start, (short) (buffer.position() - start - LENGTH_SIZE));
+    }
+
+    /**
+     * Get the length of the frame at the position if the whole frame is in the buffer.
+     *
+     * @param buffer the buffer in the read mode.
+     * @return the length of the body, or -1 if the frame has not been received entirely.
+     * @throws IllegalArgumentException if the frame is larger than MAXIMUM_FRAME_SIZE.
+     */
+    static int completeFrameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_SIZE) {
+            return -1;
+        }
+        int length = Short.toUnsignedInt(buffer.getShort(buffer.position()));
+        if (LENGTH_SIZE + length > MAXIMUM_FRAME_SIZE) {
+            throw new IllegalArgumentException("The frame is too large: " + length);
+        }
+        return buffer.remaining() < LENGTH_SIZE + length ? -1 : length;
+    }
+}
@@ -49,6 +49,10 @@ public class Category {
      * Total number of categories.
      */
     public static final int NUMBER_OF_CATEGORIES = 13;
+    /**
+     * Bit mask of all categories, bit categoryNumber is set for each category.
+     */
+    public static final int ALL_CATEGORIES_MASK = (1 << NUMBER_OF_CATEGORIES) - 1;
     /**
      * Start and end of the categories.
      */
@@ -82,6 +86,89 @@ public class Category {
      */
     public static final int UPPER_SECTION_BONUS = 35;
 
+    // The available categories of each filled categories mask, which are shared by all players.
+    private static final int[][] AVAILABLE_CATEGORIES = new int[ALL_CATEGORIES_MASK + 1][];
+
+    static {
+        for (int filledCategoriesMask = 0; filledCategoriesMask <= ALL_CATEGORIES_MASK; filledCategoriesMask++) {
+            int[] availableCategories = new int[NUMBER_OF_CATEGORIES - Integer.bitCount(filledCategoriesMask)];
+            int index = 0;
+            for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+                if ((filledCategoriesMask & 1 << i) == 0) {
+                    availableCategories[index++] = i;
+                }
+            }
+            AVAILABLE_CATEGORIES[filledCategoriesMask] = availableCategories;
+        }
+    }
+
+    /**
+     * Get the available category numbers in ascending order.
+     * The array is shared, so it must not be modified.
+     *
+     * @param filledCategoriesMask bit mask of filled categories, bit categoryNumber is set if the category is filled.
+     * @return the available category numbers.
+     */
+    public static int[] getAvailableCategories(int filledCategoriesMask) {
+        return AVAILABLE_CATEGORIES[filledCategoriesMask];
+    }
+
+    /**
+     * Calculate the score of a certain category with the category methods.
+     * ScoreTable is built with this method, so use ScoreTable.score() for the rolled dice.
+     *
+     * @param categoryNumber the certain number of category. e.g, Aces = 0, Twos = 1, ... .
+     * @param dice           the 5 dice with each value.
+     * @return the score of a certain category.
+     */
+    public static int score(int categoryNumber, Die[] dice) {
+        int result = 0;
+
+        switch (Type.valueOf(categoryNumber)) {
+            case ACE:
+                result = aces(dice);
+                break;
+            case TWOS:
+                result = twos(dice);
+                break;
+            case THREES:
+                result = threes(dice);
+                break;
+            case FOURS:
+                result = fours(dice);
+                break;
+            case FIVES:
+                result = fives(dice);
+                break;
+            case SIXES:
+                result = sixes(dice);
+                break;
+            case THREE_OF_A_KIND:
+                result = threeOfAKind(dice);
+                break;
+            case FOUR_OF_A_KIND:
+                result = fourOfAKind(dice);
+                break;
+            case FULL_HOUSE:
+                result = fullHouse(dice);
+                break;
+            case SMALL_STRAIGHT:
+                result = smallStraight(dice);
+                break;
+            case LARGE_STRAIGHT:
+                result = largeStraight(dice);
+                break;
+            case CHANCE:
+                result = chance(dice);
+                break;
+            case YAHTZEE:
+                result = yahtzee(dice);
+                break;
+        }
+
+        return result;
+    }
+
     /**
      * Get the added value of aces.
      *
@@ -385,12 +472,159 @@ public class Category {
 
         return result;
     }
-}
 
+    /**
+     * Get the score of a certain category of the packed dice.
+     *
+     * @param categoryNumber the certain number of category. e.g, Aces = 0, Twos = 1, ... .
+     * @param diceState      the rolled dice packed by DiceState.
+     * @return the score of a certain category.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int score(int categoryNumber, int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), categoryNumber);
+    }
 
+    /**
+     * Get the added value of aces of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of aces.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int aces(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.ACE.value);
+    }
 
+    /**
+     * Get the added value of twos of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of twos.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int twos(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.TWOS.value);
+    }
 
+    /**
+     * Get the added value of threes of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of threes.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int threes(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.THREES.value);
+    }
 
+    /**
+     * Get the added value of fours of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of fours.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int fours(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.FOURS.value);
+    }
 
+    /**
+     * Get the added value of fives of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of fives.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int fives(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.FIVES.value);
+    }
+
+    /**
+     * Get the added value of sixes of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of sixes.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int sixes(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.SIXES.value);
+    }
+
+    /**
+     * Get the total added value of dice if the packed dice are three of a kind.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the total added value of dice if it is three of a kind.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int threeOfAKind(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.THREE_OF_A_KIND.value);
+    }
+
+    /**
+     * Get the total added value of dice if the packed dice are four of a kind.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the total added value of dice if it is four of a kind.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int fourOfAKind(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.FOUR_OF_A_KIND.value);
+    }
+
+    /**
+     * Get the Full House score (25) if the packed dice are full house.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the Full House score (25) if it is full house.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int fullHouse(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.FULL_HOUSE.value);
+    }
 
+    /**
+     * Get the Small Straight score (30) if the packed dice are small straight.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the Small Straight score (30) if it is small straight.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int smallStraight(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.SMALL_STRAIGHT.value);
+    }
+
+    /**
+     * Get the Large Straight score (40) if the packed dice are large straight.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the Large Straight score (40) if it is large straight.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int largeStraight(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.LARGE_STRAIGHT.value);
+    }
 
+    /**
+     * Get the added value of all dice of the packed dice.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the added value of all dice.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int chance(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.CHANCE.value);
+    }
+
+    /**
+     * Get the Yahtzee score (50) if the packed dice are yahtzee.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the Yahtzee score (50) if it is yahtzee.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int yahtzee(int diceState) {
+        return ScoreTable.score(DiceState.getRolledHand(diceState), Type.YAHTZEE.value);
+    }
+}
@@ -0,0 +1,338 @@
+package yahtzee;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The five dice packed into one int are implemented here.
+ * Bits 0-14 hold the faces of the dice (3 bits for each die, the first die at the lowest bits)
+ * and bits 15-22 hold the sorted hand index of ScoreTable, so scoring needs no sorting or counting.
+ *
+ * @author Yoochul Kim
+ */
+public final class DiceState {
+    /**
+     * The dice state before the dice are rolled for the first time.
+     */
+    public static final int NOT_ROLLED = 0;
+    /**
+     * Number of bits for a face of a die.
+     */
+    public static final int BITS_PER_FACE = 3;
+    /**
+     * Position of the hand index in the state.
+     */
+    public static final int HAND_SHIFT = BITS_PER_FACE * Die.TOTAL_NUMBER_OF_DICE;
+
+    /**
+     * Keep mask of all five dice.
+     */
+    public static final int ALL_DICE_MASK = (1 << Die.TOTAL_NUMBER_OF_DICE) - 1;
+
+    private static final int FACE_MASK = (1 << BITS_PER_FACE) - 1;
+    private static final int FACES_MASK = (1 << HAND_SHIFT) - 1;
+
+    // A 64-bit random draw is split into four draws of 13 bits, as 6^5 = 7776 <= 2^13.
+    private static final int BITS_PER_DRAW = 13;
+    private static final int DRAWS_PER_LONG = Long.SIZE / BITS_PER_DRAW;
+    private static final int DRAW_MASK = (1 << BITS_PER_DRAW) - 1;
+
+    // POWERS_OF_SIX[k] is the number of ordered rolls of k dice,
+    // and DRAW_LIMITS[k] is the largest multiple of it that is not larger than 2^13.
+    private static final int[] POWERS_OF_SIX = new int[Die.TOTAL_NUMBER_OF_DICE + 1];
+    private static final int[] DRAW_LIMITS = new int[Die.TOTAL_NUMBER_OF_DICE + 1];
+
+    // The dice state of each ordered roll.
+    private static final int[] STATE_OF_ORDERED_ROLL = new int[ScoreTable.NUMBER_OF_ORDERED_ROLLS];
+
+    // The ordered roll of the rolled dice of each keep mask, where the kept dice are 1.
+    // SPREAD_ROLLS[SPREAD_OFFSETS[keptDiceMask] + drawnValue] places the drawn faces on the dice that are not kept.
+    private static final short[] SPREAD_ROLLS;
+    private static final int[] SPREAD_OFFSETS = new int[ALL_DICE_MASK + 1];
+
+    static {
+        POWERS_OF_SIX[0] = 1;
+        for (int k = 1; k <= Die.TOTAL_NUMBER_OF_DICE; k++) {
+            POWERS_OF_SIX[k] = POWERS_OF_SIX[k - 1] * ScoreTable.NUMBER_OF_FACES;
+        }
+        for (int k = 0; k <= Die.TOTAL_NUMBER_OF_DICE; k++) {
+            DRAW_LIMITS[k] = (DRAW_MASK + 1) - (DRAW_MASK + 1) % POWERS_OF_SIX[k];
+        }
+
+        for (int orderedRoll = 0; orderedRoll < ScoreTable.NUMBER_OF_ORDERED_ROLLS; orderedRoll++) {
+            int faces = 0;
+            int rest = orderedRoll;
+            for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                faces |= (rest % ScoreTable.NUMBER_OF_FACES + Die.MIN_DIE_VALUE) << (BITS_PER_FACE * i);
+                rest /= ScoreTable.NUMBER_OF_FACES;
+            }
+            STATE_OF_ORDERED_ROLL[orderedRoll] = ScoreTable.handIndexOfOrderedRoll(orderedRoll) << HAND_SHIFT | faces;
+        }
+
+        // Rolling all dice needs no spreading, so it is not in the table.
+        int size = 0;
+        for (int keptDiceMask = 1; keptDiceMask <= ALL_DICE_MASK; keptDiceMask++) {
+            SPREAD_OFFSETS[keptDiceMask] = size;
+            size += POWERS_OF_SIX[Die.TOTAL_NUMBER_OF_DICE - Integer.bitCount(keptDiceMask)];
+        }
+        SPREAD_ROLLS = new short[size];
+        for (int keptDiceMask = 1; keptDiceMask <= ALL_DICE_MASK; keptDiceMask++) {
+            int numberOfRolledDice = Die.TOTAL_NUMBER_OF_DICE - Integer.bitCount(keptDiceMask);
+            for (int drawnValue = 0; drawnValue < POWERS_OF_SIX[numberOfRolledDice]; drawnValue++) {
+                int orderedRoll = 0;
+                int rest = drawnValue;
+                for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                    if ((keptDiceMask & 1 << i) == 0) {
+                        orderedRoll += rest % ScoreTable.NUMBER_OF_FACES * POWERS_OF_SIX[i];
+                        rest /= ScoreTable.NUMBER_OF_FACES;
+                    }
+                }
+                SPREAD_ROLLS[SPREAD_OFFSETS[keptDiceMask] + drawnValue] = (short) orderedRoll;
+            }
+        }
+    }
+
+    private DiceState() {
+    }
+
+    /**
+     * Pack the faces of five dice.
+     *
+     * @param faces the five faces between 1 and 6.
+     * @return the dice state.
+     * @throws IllegalArgumentException if there are not five faces between 1 and 6.
+     */
+    public static int of(int[] faces) {
+        if (faces.length != Die.TOTAL_NUMBER_OF_DICE) {
+            throw new IllegalArgumentException("There must be " + Die.TOTAL_NUMBER_OF_DICE + " dice");
+        }
+
+        int orderedRoll = 0;
+        for (int i = Die.TOTAL_NUMBER_OF_DICE - 1; i >= 0; i--) {
+            checkFace(faces[i]);
+            orderedRoll = orderedRoll * ScoreTable.NUMBER_OF_FACES + faces[i] - Die.MIN_DIE_VALUE;
+        }
+
+        return ofOrderedRoll(orderedRoll);
+    }
+
+    /**
+     * Pack the values of the dice (Adapter for Die[] callers).
+     *
+     * @param dice the 5 dice with each value.
+     * @return the dice state.
+     * @throws IllegalArgumentException if any die has not been rolled.
+     */
+    public static int of(Die[] dice) {
+        int orderedRoll = 0;
+        for (int i = Die.TOTAL_NUMBER_OF_DICE - 1; i >= 0; i--) {
+            int face = dice[i].getValue();
+            checkFace(face);
+            orderedRoll = orderedRoll * ScoreTable.NUMBER_OF_FACES + face - Die.MIN_DIE_VALUE;
+        }
+
+        return ofOrderedRoll(orderedRoll);
+    }
+
+    /**
+     * Pack an ordered roll.
+     *
+     * @param orderedRoll sum of (face - 1) * 6^position of the five dice, between 0 and 7775.
+     * @return the dice state.
+     */
+    public static int ofOrderedRoll(int orderedRoll) {
+        return STATE_OF_ORDERED_ROLL[orderedRoll];
+    }
+
+    /**
+     * Put rolled faces on the dice that are not kept.
+     *
+     * @param state        the dice state.
+     * @param keptDiceMask bit dieNumber is set if the die is kept.
+     * @param rolledFaces  the faces of the dice that are not kept, 3 bits for each face from the lowest bits,
+     *                     which are put on the dice in the order of die numbers.
+     * @param hand         the hand index of ScoreTable of the kept and rolled faces.
+     * @return the dice state.
+     */
+    public static int withRolledFaces(int state, int keptDiceMask, int rolledFaces, int hand) {
+        int faces = 0;
+        for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+            // The masks have no branch, as the kept dice are random in simulations.
+            int isKept = -(keptDiceMask >>> i & 1);
+            int face = getFace(state, i) & isKept | rolledFaces & FACE_MASK & ~isKept;
+            faces |= face << BITS_PER_FACE * i;
+            rolledFaces >>>= BITS_PER_FACE & ~isKept;
+        }
+        return hand << HAND_SHIFT | faces;
+    }
+
+    /**
+     * Get the ordered roll of the dice state.
+     *
+     * @param state the dice state.
+     * @return sum of (face - 1) * 6^position of the five dice.
+     */
+    public static int toOrderedRoll(int state) {
+        int orderedRoll = 0;
+        for (int i = Die.TOTAL_NUMBER_OF_DICE - 1; i >= 0; i--) {
+            orderedRoll = orderedRoll * ScoreTable.NUMBER_OF_FACES + getFace(state, i) - Die.MIN_DIE_VALUE;
+        }
+        return orderedRoll;
+    }
+
+    /**
+     * Get the face of a die.
+     *
+     * @param state     the dice state.
+     * @param dieNumber the die number between 0 and 4.
+     * @return the face of the die.
+     */
+    public static int getFace(int state, int dieNumber) {
+        return state >>> (BITS_PER_FACE * dieNumber) & FACE_MASK;
+    }
+
+    /**
+     * Get the sorted hand index of ScoreTable.
+     *
+     * @param state the dice state.
+     * @return the hand index between 0 and 251.
+     */
+    public static int getHand(int state) {
+        return state >>> HAND_SHIFT;
+    }
+
+    /**
+     * Get the sorted hand index of ScoreTable of rolled dice. The hand index of NOT_ROLLED is 0, which would be
+     * scored as 1-1-1-1-1, so it is rejected.
+     *
+     * @param state the dice state.
+     * @return the hand index between 0 and 251.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public static int getRolledHand(int state) {
+        if (!isRolled(state)) {
+            throw new IllegalStateException("The dice have not been rolled.");
+        }
+        return getHand(state);
+    }
+
+    /**
+     * Get the faces of all dice without the hand index.
+     *
+     * @param state the dice state.
+     * @return the 15 bits of the faces.
+     */
+    public static int getFaces(int state) {
+        return state & FACES_MASK;
+    }
+
+    /**
+     * Check if the dice have been rolled.
+     *
+     * @param state the dice state.
+     * @return true if the dice have been rolled.
+     */
+    public static boolean isRolled(int state) {
+        return state != NOT_ROLLED;
+    }
+
+    /**
+     * Copy the faces to the dice (Adapter for Die[] callers).
+     *
+     * @param state the dice state.
+     * @param dice  the 5 dice to be set.
+     */
+    public static void toDice(int state, Die[] dice) {
+        for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+            dice[i].setValue(getFace(state, i));
+        }
+    }
+
+    /**
+     * Get the faces of the dice.
+     *
+     * @param state the dice state.
+     * @return the five faces.
+     */
+    public static int[] toFaces(int state) {
+        int[] faces = new int[Die.TOTAL_NUMBER_OF_DICE];
+        for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+            faces[i] = getFace(state, i);
+        }
+        return faces;
+    }
+
+    /**
+     * Roll the dice that are not kept. All rerolled faces come from one 64-bit draw of the generator
+     * (rarely more, as a 13-bit part of the draw that would bias the faces is rejected and the next part is used).
+     *
+     * @param state           the dice state, the kept dice are ignored if it is NOT_ROLLED.
+     * @param keptDiceMask    bit dieNumber is set if the die is kept.
+     * @param randomGenerator the random generator.
+     * @return the rolled dice state.
+     */
+    public static int roll(int state, int keptDiceMask, RandomGenerator randomGenerator) {
+        if (!isRolled(state)) {
+            keptDiceMask = 0;
+        }
+
+        keptDiceMask &= ALL_DICE_MASK;
+        int numberOfRolledDice = Die.TOTAL_NUMBER_OF_DICE - Integer.bitCount(keptDiceMask);
+        if (numberOfRolledDice == 0) {
+            return state;
+        }
+
+        int drawnValue = draw(numberOfRolledDice, randomGenerator);
+        if (numberOfRolledDice == Die.TOTAL_NUMBER_OF_DICE) {
+            return STATE_OF_ORDERED_ROLL[drawnValue];
+        }
+
+        int keptOrderedRoll = 0;
+        for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+            if ((keptDiceMask & 1 << i) != 0) {
+                keptOrderedRoll += (getFace(state, i) - Die.MIN_DIE_VALUE) * POWERS_OF_SIX[i];
+            }
+        }
+
+        return STATE_OF_ORDERED_ROLL[keptOrderedRoll + SPREAD_ROLLS[SPREAD_OFFSETS[keptDiceMask] + drawnValue]];
+    }
+
+    // Draw an ordered roll of the dice uniformly, i.e. a number between 0 and 6^numberOfDice - 1.
+    private static int draw(int numberOfDice, RandomGenerator randomGenerator) {
+        int limit = DRAW_LIMITS[numberOfDice];
+
+        while (true) {
+            long bits = randomGenerator.nextLong();
+            for (int i = 0; i < DRAWS_PER_LONG; i++) {
+                int value = (int) bits & DRAW_MASK;
+                if (value < limit) {
+                    return value % POWERS_OF_SIX[numberOfDice];
+                }
+                bits >>>= BITS_PER_DRAW;
+            }
+        }
+    }
+
+    /**
+     * Get the keep mask of the die numbers.
+     *
+     * @param keptDice the die numbers between 0 and 4.
+     * @return the keep mask, bit dieNumber is set if the die is kept.
+     * @throws IllegalArgumentException when a die number is wrong.
+     */
+    public static int toKeptDiceMask(int[] keptDice) {
+        int keptDiceMask = 0;
+        for (int keptDie : keptDice) {
+            if (keptDie < Die.FIRST_DIE_NUMBER_IN_THE_ARRAY || Die.FIFTH_DIE_NUMBER_IN_THE_ARRAY < keptDie) {
+                throw new IllegalArgumentException("wrong dice selection");
+            }
+            keptDiceMask |= 1 << keptDie;
+        }
+        return keptDiceMask;
+    }
+
+    private static void checkFace(int face) {
+        if (face < Die.MIN_DIE_VALUE || Die.MAX_DIE_VALUE < face) {
+            throw new IllegalArgumentException("wrong die value: " + face);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package yahtzee;
 
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The dice features are implemented here.
@@ -57,12 +59,52 @@ public class Die {
     // the die value.
     private int value;
 
+    // the generator for rolling, null if the generator of the current thread is used.
+    private final RandomGenerator randomGenerator;
+
+    /**
+     * Initialize a die that rolls with the random generator of the current thread.
+     */
+    public Die() {
+        this(null);
+    }
+
+    /**
+     * Initialize a die that rolls with the specified random generator,
+     * e.g. the SplittableRandom of a game which is created with a seed to replay the game.
+     *
+     * @param randomGenerator the random generator, or null to use the generator of the current thread.
+     */
+    public Die(RandomGenerator randomGenerator) {
+        this.randomGenerator = randomGenerator;
+    }
+
     /**
      * Roll the die to create an integer value between
      * 1 and 6, and store it.
      */
     public void roll() {
-        value = (int) (Math.random() * 6 + 1);
+        value = randomGenerator == null ? randomValue() : randomValue(randomGenerator);
+    }
+
+    /**
+     * Create an integer value between 1 and 6 without a die
+     * with the random generator of the current thread.
+     *
+     * @return the random die value.
+     */
+    public static int randomValue() {
+        return randomValue(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Create an integer value between 1 and 6 without a die.
+     *
+     * @param randomGenerator the random generator.
+     * @return the random die value.
+     */
+    public static int randomValue(RandomGenerator randomGenerator) {
+        return randomGenerator.nextInt(MIN_DIE_VALUE, MAX_DIE_VALUE + 1);
     }
 
     /**
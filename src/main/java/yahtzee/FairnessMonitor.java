@@ -0,0 +1,617 @@
+package yahtzee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static yahtzee.ScoreTable.NUMBER_OF_FACES;
+import static yahtzee.ScoreTable.NUMBER_OF_HANDS;
+
+/**
+ * The monitor of the fairness of the dice is implemented here.
+ * The rolls of each game are observed by a RollObserver of the game, which counts the faces of the rolled dice
+ * (the kept dice are not counted again), the hands of the rolls of all five dice, and the pairs of rolled
+ * neighbouring dice and how many of them change between low (1 to 3) and high (4 to 6) faces. For fair dice such
+ * changes are independent with probability 1/2. The pairs of the rolls of RollObserver.handRolled(), i.e. of the
+ * fast roll mode, are not counted as their order is not random.
+ * The counts of a game are written only by the thread that rolls it and published every few turns and when it is
+ * removed, so a roll costs a few table lookups and plain additions, and the counts lag behind the game by at most a
+ * few turns. A node, e.g. a shard of GameSessionManager, sums the counts of its games and the counts of its
+ * removed games, which are kept with LongAdder, when it is read, so the games of many threads never contend.
+ * check() tests the counts of the last windowLength checks of each node and of all nodes together, i.e. the
+ * chi-square tests of the faces and the hands and the runs test of the changes, and raises an alert for each
+ * test of which p-value is below the significance level. It is run periodically by scheduleChecks().
+ *
+ * @author Yoochul Kim
+ */
+public class FairnessMonitor implements AutoCloseable {
+    /**
+     * The default significance level, which is small as the tests are repeated for every check and every node.
+     */
+    public static final double DEFAULT_SIGNIFICANCE_LEVEL = 1e-6;
+    /**
+     * The default number of checks in the window.
+     */
+    public static final int DEFAULT_WINDOW_LENGTH = 60;
+
+    // The counters of a node are the faces, the hands, the pairs of neighbouring dice and their changes.
+    private static final int HANDS_OFFSET = NUMBER_OF_FACES;
+    private static final int PAIRS_INDEX = HANDS_OFFSET + NUMBER_OF_HANDS;
+    private static final int CHANGES_INDEX = PAIRS_INDEX + 1;
+    private static final int NUMBER_OF_COUNTERS = CHANGES_INDEX + 1;
+
+    // The chi-square and the normal approximations need enough samples.
+    private static final int MINIMUM_EXPECTED_COUNT = 5;
+    private static final int MINIMUM_NUMBER_OF_PAIRS = 100;
+    // The number of rolls of a game of which counts are published at once, i.e. 8 turns of 3 rolls.
+    private static final int FLUSH_INTERVAL = 24;
+    // The pending counts of the faces are packed into a long, which holds the dice of FLUSH_INTERVAL rolls.
+    private static final int PENDING_FACE_COUNT_BITS = 10;
+    private static final int PENDING_FACE_COUNT_MASK = (1 << PENDING_FACE_COUNT_BITS) - 1;
+
+    // The packed counts of the faces of each hand, and of the rolled dice of the faces of the first two dice and
+    // of the last three dice, where a face of 0 is a kept die.
+    private static final long[] HAND_FACE_COUNTS = new long[NUMBER_OF_HANDS];
+    private static final int FIRST_DICE_BITS = DiceState.BITS_PER_FACE * 2;
+    private static final long[] FIRST_DICE_FACE_COUNTS = new long[1 << FIRST_DICE_BITS];
+    private static final long[] LAST_DICE_FACE_COUNTS = new long[1 << DiceState.HAND_SHIFT - FIRST_DICE_BITS];
+    // The faces of the rolled dice of each keep mask, and bit 2 of the face of each die of which pair with the next
+    // die is rolled, as the faces 4 to 6 are the faces of which bit 2 is set.
+    private static final int[] ROLLED_FACES_MASKS = new int[DiceState.ALL_DICE_MASK + 1];
+    private static final int[] ROLLED_PAIR_MASKS = new int[DiceState.ALL_DICE_MASK + 1];
+    private static final int HIGH_FACE_BIT = 2;
+    private static final int HIGH_FACE_BITS_MASK = 0b100100100100100;
+
+    private static final double[] HAND_PROBABILITIES = new double[NUMBER_OF_HANDS];
+    private static final double MINIMUM_HAND_PROBABILITY = 1.0 / ScoreTable.NUMBER_OF_ORDERED_ROLLS;
+
+    static {
+        int[] factorials = {1, 1, 2, 6, 24, 120};
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            int[] counts = new int[NUMBER_OF_FACES];
+            for (int position = 0; position < Die.TOTAL_NUMBER_OF_DICE; position++) {
+                counts[ScoreTable.getHandFace(hand, position) - 1]++;
+            }
+            int numberOfOrderedRolls = factorials[Die.TOTAL_NUMBER_OF_DICE];
+            for (int count : counts) {
+                numberOfOrderedRolls /= factorials[count];
+            }
+            HAND_PROBABILITIES[hand] = (double) numberOfOrderedRolls / ScoreTable.NUMBER_OF_ORDERED_ROLLS;
+            for (int face = 1; face <= NUMBER_OF_FACES; face++) {
+                HAND_FACE_COUNTS[hand] += (long) counts[face - 1] << PENDING_FACE_COUNT_BITS * (face - 1);
+            }
+        }
+        // The faces of the first two dice are the faces of the last three dice of which last face is 0.
+        for (int faces = 0; faces < LAST_DICE_FACE_COUNTS.length; faces++) {
+            for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE - 2; i++) {
+                int face = faces >>> DiceState.BITS_PER_FACE * i & (1 << DiceState.BITS_PER_FACE) - 1;
+                if (face >= 1 && face <= NUMBER_OF_FACES) {
+                    LAST_DICE_FACE_COUNTS[faces] += 1L << PENDING_FACE_COUNT_BITS * (face - 1);
+                }
+            }
+        }
+        System.arraycopy(LAST_DICE_FACE_COUNTS, 0, FIRST_DICE_FACE_COUNTS, 0, FIRST_DICE_FACE_COUNTS.length);
+        for (int keptDiceMask = 0; keptDiceMask <= DiceState.ALL_DICE_MASK; keptDiceMask++) {
+            for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                if ((keptDiceMask & 1 << dieNumber) == 0) {
+                    ROLLED_FACES_MASKS[keptDiceMask] |= (1 << DiceState.BITS_PER_FACE) - 1
+                            << DiceState.BITS_PER_FACE * dieNumber;
+                    if (dieNumber + 1 < Die.TOTAL_NUMBER_OF_DICE && (keptDiceMask & 1 << dieNumber + 1) == 0) {
+                        ROLLED_PAIR_MASKS[keptDiceMask] |= 1 << DiceState.BITS_PER_FACE * dieNumber + HIGH_FACE_BIT;
+                    }
+                }
+            }
+        }
+    }
+
+    private final Node[] nodes;
+    private final ConcurrentHashMap<Long, GameCounters> games = new ConcurrentHashMap<>();
+    private final int windowLength;
+    private final double significanceLevel;
+    private final Consumer<Alert> alertConsumer;
+
+    private ScheduledThreadPoolExecutor checkScheduler;
+
+    /**
+     * Initialize a monitor with the default window and significance level.
+     *
+     * @param numberOfNodes the number of nodes.
+     * @param alertConsumer receives the alerts on the thread of check().
+     */
+    public FairnessMonitor(int numberOfNodes, Consumer<Alert> alertConsumer) {
+        this(numberOfNodes, DEFAULT_WINDOW_LENGTH, DEFAULT_SIGNIFICANCE_LEVEL, alertConsumer);
+    }
+
+    /**
+     * Initialize a monitor.
+     *
+     * @param numberOfNodes     the number of nodes.
+     * @param windowLength      the number of the last checks of which rolls are tested.
+     * @param significanceLevel an alert is raised if the p-value of a test is below it.
+     * @param alertConsumer     receives the alerts on the thread of check().
+     * @throws IllegalArgumentException if a number is out of its range.
+     */
+    public FairnessMonitor(int numberOfNodes, int windowLength, double significanceLevel,
+                           Consumer<Alert> alertConsumer) {
+        if (numberOfNodes < 1) {
+            throw new IllegalArgumentException("wrong number of nodes");
+        }
+        if (windowLength < 1) {
+            throw new IllegalArgumentException("wrong window length");
+        }
+        if (!(significanceLevel > 0 && significanceLevel < 1)) {
+            throw new IllegalArgumentException("wrong significance level");
+        }
+        nodes = new Node[numberOfNodes];
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodes[i] = new Node(windowLength);
+        }
+        this.windowLength = windowLength;
+        this.significanceLevel = significanceLevel;
+        this.alertConsumer = alertConsumer;
+    }
+
+    public int getNumberOfNodes() {
+        return nodes.length;
+    }
+
+    /**
+     * Get the observer of the rolls of a game, which is set by YahtzeeGameImpl.setRollObserver().
+     *
+     * @param nodeNumber the node of the game.
+     * @param gameId     the game ID.
+     * @return the observer that counts the rolls for the game, its node and all nodes.
+     * @throws IllegalArgumentException if there is no such node.
+     */
+    public RollObserver observerOf(int nodeNumber, long gameId) {
+        if (nodeNumber < 0 || nodeNumber >= nodes.length) {
+            throw new IllegalArgumentException("wrong node number");
+        }
+        GameCounters gameCounters = new GameCounters(nodes[nodeNumber]);
+        nodes[nodeNumber].games.add(gameCounters);
+        GameCounters replacedCounters = games.put(gameId, gameCounters);
+        if (replacedCounters != null) {
+            replacedCounters.node.remove(replacedCounters);
+        }
+        return gameCounters;
+    }
+
+    /**
+     * Stop keeping the counts of a game, and add its last rolls to its node. The counts of its node are kept.
+     * It must be called on the thread that rolls the game, or after the game stops rolling.
+     *
+     * @param gameId the game ID.
+     */
+    public void removeGame(long gameId) {
+        GameCounters gameCounters = games.remove(gameId);
+        if (gameCounters != null) {
+            gameCounters.flush();
+            gameCounters.node.remove(gameCounters);
+        }
+    }
+
+    /**
+     * Get the number of rolled dice of each face of a game, without its last few turns.
+     *
+     * @param gameId the game ID.
+     * @return the counts of faces 1 to 6, or null if the game is not observed.
+     */
+    public long[] getGameFaceCounts(long gameId) {
+        GameCounters gameCounters = games.get(gameId);
+        if (gameCounters == null) {
+            return null;
+        }
+        long[] faceCounts = new long[NUMBER_OF_FACES];
+        for (int i = 0; i < NUMBER_OF_FACES; i++) {
+            faceCounts[i] = gameCounters.counts.get(i);
+        }
+        return faceCounts;
+    }
+
+    /**
+     * Get the number of rolled dice of each face of a node since it was started, without the last few turns of
+     * each game.
+     *
+     * @param nodeNumber the node.
+     * @return the counts of faces 1 to 6.
+     */
+    public long[] getNodeFaceCounts(int nodeNumber) {
+        return nodes[nodeNumber].sum(0, NUMBER_OF_FACES);
+    }
+
+    /**
+     * Get the number of rolled dice of each face of all nodes since they were started.
+     *
+     * @return the counts of faces 1 to 6.
+     */
+    public long[] getFaceCounts() {
+        long[] faceCounts = new long[NUMBER_OF_FACES];
+        for (Node node : nodes) {
+            long[] nodeFaceCounts = node.sum(0, NUMBER_OF_FACES);
+            for (int i = 0; i < NUMBER_OF_FACES; i++) {
+                faceCounts[i] += nodeFaceCounts[i];
+            }
+        }
+        return faceCounts;
+    }
+
+    /**
+     * Get the number of the rolls of all five dice of each hand of all nodes since they were started.
+     *
+     * @return the counts of the hands in the order of ScoreTable.
+     */
+    public long[] getHandCounts() {
+        long[] handCounts = new long[NUMBER_OF_HANDS];
+        for (Node node : nodes) {
+            long[] nodeHandCounts = node.sum(HANDS_OFFSET, NUMBER_OF_HANDS);
+            for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+                handCounts[i] += nodeHandCounts[i];
+            }
+        }
+        return handCounts;
+    }
+
+    /**
+     * Test the rolls since the check windowLength checks ago, or since the start if there have not been as many
+     * checks, of each node and of all nodes, and pass the alerts to the alert consumer. All nodes are not tested
+     * again if there is only one node.
+     *
+     * @return the alerts.
+     */
+    public synchronized List<Alert> check() {
+        List<Alert> alerts = new ArrayList<>();
+        long[] allCounts = new long[NUMBER_OF_COUNTERS];
+        for (int nodeNumber = 0; nodeNumber < nodes.length; nodeNumber++) {
+            long[] windowCounts = nodes[nodeNumber].slideWindow();
+            for (int i = 0; i < NUMBER_OF_COUNTERS; i++) {
+                allCounts[i] += windowCounts[i];
+            }
+            test(nodeNumber, windowCounts, alerts);
+        }
+        if (nodes.length > 1) {
+            test(Alert.ALL_NODES, allCounts, alerts);
+        }
+
+        if (alertConsumer != null) {
+            for (Alert alert : alerts) {
+                alertConsumer.accept(alert);
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * Run check() periodically on a daemon thread.
+     *
+     * @param period the period between the checks, so the window is period * windowLength long.
+     * @param unit   the unit of the period.
+     * @return the future to cancel the checks.
+     */
+    public synchronized ScheduledFuture<?> scheduleChecks(long period, TimeUnit unit) {
+        if (checkScheduler == null) {
+            checkScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "fairness-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return checkScheduler.scheduleWithFixedDelay(this::check, period, period, unit);
+    }
+
+    public int getWindowLength() {
+        return windowLength;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (checkScheduler != null) {
+            checkScheduler.shutdownNow();
+        }
+    }
+
+    private void test(int nodeNumber, long[] counts, List<Alert> alerts) {
+        long numberOfDice = 0;
+        for (int i = 0; i < NUMBER_OF_FACES; i++) {
+            numberOfDice += counts[i];
+        }
+        if (numberOfDice >= MINIMUM_EXPECTED_COUNT * NUMBER_OF_FACES) {
+            double chiSquare = 0;
+            for (int i = 0; i < NUMBER_OF_FACES; i++) {
+                double expectedCount = (double) numberOfDice / NUMBER_OF_FACES;
+                chiSquare += (counts[i] - expectedCount) * (counts[i] - expectedCount) / expectedCount;
+            }
+            addAlert(alerts, nodeNumber, Alert.Type.FACES, numberOfDice, chiSquare, NUMBER_OF_FACES - 1);
+        }
+
+        long numberOfRolls = 0;
+        for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+            numberOfRolls += counts[HANDS_OFFSET + i];
+        }
+        if (numberOfRolls * MINIMUM_HAND_PROBABILITY >= MINIMUM_EXPECTED_COUNT) {
+            double chiSquare = 0;
+            for (int i = 0; i < NUMBER_OF_HANDS; i++) {
+                double expectedCount = numberOfRolls * HAND_PROBABILITIES[i];
+                double difference = counts[HANDS_OFFSET + i] - expectedCount;
+                chiSquare += difference * difference / expectedCount;
+            }
+            addAlert(alerts, nodeNumber, Alert.Type.HANDS, numberOfRolls, chiSquare, NUMBER_OF_HANDS - 1);
+        }
+
+        long numberOfPairs = counts[PAIRS_INDEX];
+        if (numberOfPairs >= MINIMUM_NUMBER_OF_PAIRS) {
+            // The number of changes is binomial with probability 1/2, so z squared has one degree of freedom.
+            double z = (counts[CHANGES_INDEX] - numberOfPairs / 2.0) / Math.sqrt(numberOfPairs / 4.0);
+            addAlert(alerts, nodeNumber, Alert.Type.RUNS, numberOfPairs, z * z, 1);
+        }
+    }
+
+    private void addAlert(List<Alert> alerts, int nodeNumber, Alert.Type type, long numberOfSamples, double chiSquare,
+                          int degreesOfFreedom) {
+        double pValue = upperTailProbability(chiSquare, degreesOfFreedom);
+        if (pValue < significanceLevel) {
+            alerts.add(new Alert(nodeNumber, type, numberOfSamples, chiSquare, pValue));
+        }
+    }
+
+    /**
+     * Get the probability that a chi-square variable is at least the value.
+     *
+     * @param chiSquare        the value.
+     * @param degreesOfFreedom the degrees of freedom.
+     * @return the p-value.
+     */
+    static double upperTailProbability(double chiSquare, int degreesOfFreedom) {
+        return regularizedUpperGamma(degreesOfFreedom / 2.0, chiSquare / 2);
+    }
+
+    // Q(a, x) by the series of P(a, x) below a + 1 and by the continued fraction above it.
+    private static double regularizedUpperGamma(double a, double x) {
+        if (x <= 0) {
+            return 1;
+        }
+        double logPrefactor = -x + a * Math.log(x) - logGamma(a);
+        if (x < a + 1) {
+            double term = 1 / a;
+            double sum = term;
+            for (int n = 1; n < 1000 && Math.abs(term) > Math.abs(sum) * 1e-15; n++) {
+                term *= x / (a + n);
+                sum += term;
+            }
+            return Math.max(0, 1 - sum * Math.exp(logPrefactor));
+        }
+
+        // The modified Lentz method.
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double fraction = d;
+        for (int i = 1; i < 1000; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = b + an / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            fraction *= delta;
+            if (Math.abs(delta - 1) < 1e-15) {
+                break;
+            }
+        }
+        return Math.exp(logPrefactor) * fraction;
+    }
+
+    // The Lanczos approximation.
+    private static double logGamma(double x) {
+        double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091, -1.231739572450155,
+                0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * A test of which p-value was below the significance level.
+     */
+    public static final class Alert {
+        /**
+         * The node number of the tests of all nodes.
+         */
+        public static final int ALL_NODES = -1;
+
+        public enum Type {
+            FACES,
+            HANDS,
+            RUNS
+        }
+
+        private final int nodeNumber;
+        private final Type type;
+        private final long numberOfSamples;
+        private final double statistic;
+        private final double pValue;
+
+        Alert(int nodeNumber, Type type, long numberOfSamples, double statistic, double pValue) {
+            this.nodeNumber = nodeNumber;
+            this.type = type;
+            this.numberOfSamples = numberOfSamples;
+            this.statistic = statistic;
+            this.pValue = pValue;
+        }
+
+        /**
+         * Get the node of the rolls.
+         *
+         * @return the node number, or ALL_NODES.
+         */
+        public int getNodeNumber() {
+            return nodeNumber;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Get the number of the samples of the test.
+         *
+         * @return the number of dice for FACES, rolls of all five dice for HANDS, or pairs of dice for RUNS.
+         */
+        public long getNumberOfSamples() {
+            return numberOfSamples;
+        }
+
+        /**
+         * Get the chi-square statistic, which is the square of the z-score for RUNS.
+         *
+         * @return the statistic.
+         */
+        public double getStatistic() {
+            return statistic;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        @Override
+        public String toString() {
+            return (nodeNumber == ALL_NODES ? "all nodes" : "node " + nodeNumber) + ": " + type + " of "
+                    + numberOfSamples + " samples, statistic " + String.format("%.2f", statistic) + ", p-value "
+                    + String.format("%.3g", pValue);
+        }
+    }
+
+    // The observed games of a node, the counts of its removed games, and the counts at the last checks for the
+    // window.
+    private static final class Node {
+        private final Set<GameCounters> games = ConcurrentHashMap.newKeySet();
+        private final LongAdder[] removedCounts = new LongAdder[NUMBER_OF_COUNTERS];
+        private final long[][] checkedCounts;
+        private int nextCheck;
+
+        Node(int windowLength) {
+            for (int i = 0; i < NUMBER_OF_COUNTERS; i++) {
+                removedCounts[i] = new LongAdder();
+            }
+            checkedCounts = new long[windowLength][NUMBER_OF_COUNTERS];
+        }
+
+        // Keep the published counts of a game that is removed. The game is removed before its counts are added, so
+        // it is never summed twice, but a concurrent sum may miss it.
+        void remove(GameCounters gameCounters) {
+            if (games.remove(gameCounters)) {
+                for (int i = 0; i < NUMBER_OF_COUNTERS; i++) {
+                    long count = gameCounters.counts.get(i);
+                    if (count > 0) {
+                        removedCounts[i].add(count);
+                    }
+                }
+            }
+        }
+
+        long[] sum(int offset, int length) {
+            long[] sums = new long[length];
+            for (int i = 0; i < length; i++) {
+                sums[i] = removedCounts[offset + i].sum();
+            }
+            for (GameCounters gameCounters : games) {
+                for (int i = 0; i < length; i++) {
+                    sums[i] += gameCounters.counts.get(offset + i);
+                }
+            }
+            return sums;
+        }
+
+        // The counts since the oldest check of the window, which is replaced by the current counts.
+        long[] slideWindow() {
+            long[] counts = sum(0, NUMBER_OF_COUNTERS);
+            long[] oldestCounts = checkedCounts[nextCheck];
+            long[] windowCounts = new long[NUMBER_OF_COUNTERS];
+            for (int i = 0; i < NUMBER_OF_COUNTERS; i++) {
+                windowCounts[i] = counts[i] - oldestCounts[i];
+            }
+            checkedCounts[nextCheck] = counts;
+            nextCheck = (nextCheck + 1) % checkedCounts.length;
+            return windowCounts;
+        }
+    }
+
+    // The counters of a game, which is rolled by one thread at a time like YahtzeeGameImpl. The counts are written
+    // by the rolling thread only, so a lazy set is enough to publish them. The hand of a roll is published at once,
+    // and the other counts are kept here by a few table lookups and plain additions and published only every
+    // FLUSH_INTERVAL rolls.
+    private static final class GameCounters implements RollObserver {
+        private final Node node;
+        // The counts in the order of the counters of a node.
+        private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_COUNTERS);
+        // The count of each face in PENDING_FACE_COUNT_BITS bits.
+        private long pendingFaceCounts;
+        private int numberOfPendingRolls;
+        private int numberOfPendingPairs;
+        private int numberOfPendingChanges;
+
+        GameCounters(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void diceRolled(int keptDiceMask, int diceState) {
+            countFaces(keptDiceMask, diceState);
+            int rolledPairMask = ROLLED_PAIR_MASKS[keptDiceMask & DiceState.ALL_DICE_MASK];
+            int highFaceBits = diceState & HIGH_FACE_BITS_MASK;
+            numberOfPendingPairs += Integer.bitCount(rolledPairMask);
+            numberOfPendingChanges += Integer.bitCount((highFaceBits ^ highFaceBits >>> DiceState.BITS_PER_FACE)
+                    & rolledPairMask);
+        }
+
+        @Override
+        public void handRolled(int keptDiceMask, int diceState) {
+            countFaces(keptDiceMask, diceState);
+        }
+
+        // Count the roll, its hand if all dice are rolled, and the faces of the rolled dice.
+        private void countFaces(int keptDiceMask, int diceState) {
+            if (numberOfPendingRolls == FLUSH_INTERVAL) {
+                flush();
+            }
+            numberOfPendingRolls++;
+            if (keptDiceMask == 0) {
+                int hand = DiceState.getHand(diceState);
+                counts.lazySet(HANDS_OFFSET + hand, counts.get(HANDS_OFFSET + hand) + 1);
+                pendingFaceCounts += HAND_FACE_COUNTS[hand];
+            } else {
+                int rolledFaces = diceState & ROLLED_FACES_MASKS[keptDiceMask & DiceState.ALL_DICE_MASK];
+                pendingFaceCounts += FIRST_DICE_FACE_COUNTS[rolledFaces & FIRST_DICE_FACE_COUNTS.length - 1]
+                        + LAST_DICE_FACE_COUNTS[rolledFaces >>> FIRST_DICE_BITS];
+            }
+        }
+
+        // Publish the pending counts.
+        void flush() {
+            for (int i = 0; i < NUMBER_OF_FACES; i++) {
+                int count = (int) (pendingFaceCounts >>> PENDING_FACE_COUNT_BITS * i) & PENDING_FACE_COUNT_MASK;
+                counts.lazySet(i, counts.get(i) + count);
+            }
+            counts.lazySet(PAIRS_INDEX, counts.get(PAIRS_INDEX) + numberOfPendingPairs);
+            counts.lazySet(CHANGES_INDEX, counts.get(CHANGES_INDEX) + numberOfPendingChanges);
+            pendingFaceCounts = 0;
+            numberOfPendingRolls = 0;
+            numberOfPendingPairs = 0;
+            numberOfPendingChanges = 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package yahtzee;
+
+/**
+ * This interface is notified of every change of the state of a game, e.g. to record the game.
+ * The methods are called by YahtzeeGameImpl after the state has been changed, on the thread that changed it,
+ * so replaying the calls in the same order makes the same game.
+ *
+ * @author Yoochul Kim
+ */
+public interface GameEventListener {
+    /**
+     * The game has been made by YahtzeeGame.makeGame().
+     *
+     * @param playerNames all players' names.
+     */
+    public void gameMade(String[] playerNames);
+
+    /**
+     * The dice which are not kept have been rolled.
+     *
+     * @param keptDiceMask bit dieNumber is set if the die has been kept, 0 when all dice have been rolled.
+     * @param diceState    the dice packed by DiceState after the roll.
+     */
+    public void diceRolled(int keptDiceMask, int diceState);
+
+    /**
+     * The dice retry count has been reset to 0.
+     */
+    public void diceRetryCountReset();
+
+    /**
+     * The dice retry count has been increased by 1.
+     */
+    public void diceRetryCountIncreased();
+
+    /**
+     * A category of a player has been filled.
+     *
+     * @param playerNumber   the number of the current player.
+     * @param categoryNumber the category number.
+     * @param score          the score of the category.
+     */
+    public void categoryFilled(int playerNumber, int categoryNumber, int score);
+
+    /**
+     * The turn has been passed to the next player.
+     */
+    public void turnPassed();
+
+    /**
+     * The round has been increased by 1.
+     */
+    public void roundIncreased();
+
+    /**
+     * The total scores of the players have been set by YahtzeeGame.calculateScores().
+     */
+    public void scoresCalculated();
+}
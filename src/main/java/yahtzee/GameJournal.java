@@ -0,0 +1,701 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The append-only journal of the changes of games is implemented here.
+ * A record is the length and the CRC32C of its payload, each a 4-byte int, followed by the payload: log sequence
+ * number (LSN), game ID, type and the data of the type, all little-endian. The records are appended to a memory
+ * buffer, and one committer thread writes all records appended since its last write at once and forces them to
+ * the disk, i.e. group commit, so a move costs an append to the buffer and one fsync is shared by all moves of
+ * the batch. The journal is split into segment files named by the LSN of their first record, and a torn record
+ * at the end of the last segment, e.g. after a crash, is cut off when the journal is opened.
+ *
+ * @author Yoochul Kim
+ */
+public class GameJournal implements AutoCloseable {
+    /**
+     * When the records become durable.
+     */
+    public enum Durability {
+        /**
+         * The records are written to the operating system in the background without fsync,
+         * so they survive a crash of the process but not of the host.
+         */
+        WRITE,
+        /**
+         * The records are written in the background and forced to the disk every commit interval,
+         * so at most the records of one interval are lost by a crash of the host.
+         */
+        PERIODIC_FSYNC,
+        /**
+         * The records are written and forced to the disk as soon as possible, and the callers of whenDurable()
+         * are notified after the fsync of their records.
+         */
+        FSYNC
+    }
+
+    /**
+     * The default interval of fsync of PERIODIC_FSYNC.
+     */
+    public static final long DEFAULT_COMMIT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    /**
+     * The default size of a segment file, which is exceeded only by one batch of records.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    /**
+     * The size of the buffer of the records waiting for the committer, which limits the size of a record.
+     */
+    public static final int BUFFER_SIZE = 1024 * 1024;
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    // Length and checksum.
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    // LSN, game ID and type.
+    private static final int PAYLOAD_HEADER_SIZE = 2 * Long.BYTES + 1;
+
+    private final Path directory;
+    private final Durability durability;
+    private final long commitIntervalNanos;
+    private final long segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // The committer waits for records, and the appenders wait for the space of the buffer.
+    private final Condition hasRecords = lock.newCondition();
+    private final Condition hasSpace = lock.newCondition();
+    private final CRC32C checksum = new CRC32C();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+
+    // The appenders fill the active buffer while the committer writes the other one.
+    private ByteBuffer activeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+    private ByteBuffer committingBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+    private long lastLsn;
+    private long committedLsn;
+    // The start of the record being put into the active buffer.
+    private int recordStart;
+    private IOException failure;
+    private boolean closed;
+
+    // They are used only by the committer after the journal has been opened.
+    private FileChannel segment;
+    private long segmentPosition;
+
+    private final Thread committer;
+
+    /**
+     * Open a journal with the default commit interval and segment size, and create its directory if it does
+     * not exist.
+     *
+     * @param directory  the directory of the segment files.
+     * @param durability when the records become durable.
+     * @return the journal, which continues after the last record.
+     * @throws IOException if the journal cannot be opened.
+     */
+    public static GameJournal open(Path directory, Durability durability) throws IOException {
+        return new GameJournal(directory, durability, DEFAULT_COMMIT_INTERVAL_NANOS, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open a journal, and create its directory if it does not exist.
+     *
+     * @param directory           the directory of the segment files.
+     * @param durability          when the records become durable.
+     * @param commitIntervalNanos the interval of fsync of PERIODIC_FSYNC.
+     * @param segmentSize         the size after which the next segment file is started.
+     * @throws IOException              if the journal cannot be opened.
+     * @throws IllegalArgumentException if the interval or the size is not positive.
+     */
+    public GameJournal(Path directory, Durability durability, long commitIntervalNanos, long segmentSize)
+            throws IOException {
+        if (commitIntervalNanos < 1) {
+            throw new IllegalArgumentException("wrong commit interval");
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("wrong segment size");
+        }
+        this.directory = directory;
+        this.durability = durability;
+        this.commitIntervalNanos = commitIntervalNanos;
+        this.segmentSize = segmentSize;
+
+        Files.createDirectories(directory);
+        List<Path> segmentPaths = listSegments(directory);
+        if (segmentPaths.isEmpty()) {
+            openSegment(1);
+            lastLsn = 0;
+        } else {
+            // Only the last segment can end with a torn record, which is cut off.
+            Path lastSegmentPath = segmentPaths.get(segmentPaths.size() - 1);
+            long firstLsn = firstLsnOf(lastSegmentPath);
+            segment = FileChannel.open(lastSegmentPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer records = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+            records.order(BYTE_ORDER);
+            lastLsn = scanRecords(records, firstLsn, Long.MAX_VALUE, null);
+            segmentPosition = records.position();
+            if (segmentPosition < segment.size()) {
+                segment.truncate(segmentPosition);
+                segment.force(true);
+            }
+        }
+        committedLsn = lastLsn;
+
+        committer = new Thread(this::commitRecords, "game-journal");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Get the LSN of the last appended record, which may not be durable yet.
+     *
+     * @return the LSN, or 0 if there is no record.
+     */
+    public long getLastLsn() {
+        lock.lock();
+        try {
+            return lastLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get a listener that appends the changes of a game, e.g. for YahtzeeGameImpl.setGameEventListener().
+     * Its methods throw UncheckedIOException if the journal has failed to write, IllegalStateException
+     * if the journal has been closed and IllegalArgumentException if a record is larger than the buffer.
+     *
+     * @param gameId the game ID.
+     * @return the listener.
+     */
+    public GameEventListener listenerOf(long gameId) {
+        return new GameListener(gameId);
+    }
+
+    /**
+     * Append the removal of a game.
+     *
+     * @param gameId the game ID.
+     * @return the LSN of the record.
+     * @throws UncheckedIOException  if the journal has failed to write.
+     * @throws IllegalStateException if the journal has been closed.
+     */
+    public long appendGameRemoved(long gameId) {
+        startRecord(gameId, JournalRecord.Type.GAME_REMOVED, 0);
+        return endRecord();
+    }
+
+    /**
+     * Get a future that is completed when a record and all records before it have become durable by the
+     * durability of the journal. The future is completed on the committer thread.
+     *
+     * @param lsn the LSN of the record.
+     * @return the future, which fails with UncheckedIOException if the journal has failed to write, or with
+     * IllegalStateException if the journal has been closed before the record became durable.
+     */
+    public CompletableFuture<Void> whenDurable(long lsn) {
+        lock.lock();
+        try {
+            if (lsn <= committedLsn) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(new UncheckedIOException(failure));
+            }
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("The journal has been closed."));
+            }
+            Waiter waiter = new Waiter(lsn);
+            waiters.add(waiter);
+            hasRecords.signal();
+            return waiter.future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delete the segment files whose records are all up to an LSN, e.g. after a snapshot has covered them.
+     * The segment being appended is never deleted.
+     *
+     * @param lsn the LSN of the last record that is not needed any more.
+     * @return the number of deleted segment files.
+     * @throws IOException if a segment file cannot be deleted.
+     */
+    public int deleteSegmentsUpTo(long lsn) throws IOException {
+        List<Path> segmentPaths = listSegments(directory);
+        int numberOfDeletedSegments = 0;
+        // A segment ends before the first record of the next one, and the last segment is being appended.
+        for (int i = 0; i < segmentPaths.size() - 1; i++) {
+            if (firstLsnOf(segmentPaths.get(i + 1)) > lsn + 1) {
+                break;
+            }
+            Files.delete(segmentPaths.get(i));
+            numberOfDeletedSegments++;
+        }
+        return numberOfDeletedSegments;
+    }
+
+    /**
+     * Write and force all appended records, and stop the committer.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasRecords.signal();
+            hasSpace.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while (committer.isAlive()) {
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read the records of a journal in the order of their LSNs. The reading stops at a torn or corrupted
+     * record at the end of the last segment, which is cut off when the journal is opened.
+     *
+     * @param directory the directory of the segment files.
+     * @param fromLsn   the LSN of the first record to read.
+     * @param consumer  the consumer of the records.
+     * @return the LSN of the last record of the journal, or 0 if there is no record.
+     * @throws IOException if a segment cannot be read, a segment except the last one is corrupted, or the records
+     *                     from fromLsn have been deleted.
+     */
+    public static long read(Path directory, long fromLsn, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segmentPaths = listSegments(directory);
+        long lastLsn = 0;
+        for (int i = 0; i < segmentPaths.size(); i++) {
+            Path segmentPath = segmentPaths.get(i);
+            long firstLsn = firstLsnOf(segmentPath);
+            boolean isLastSegment = i == segmentPaths.size() - 1;
+            // A segment is skipped if all its records are before fromLsn.
+            if (!isLastSegment && firstLsnOf(segmentPaths.get(i + 1)) <= fromLsn) {
+                continue;
+            }
+            if (lastLsn == 0 && firstLsn > Math.max(fromLsn, 1)) {
+                throw new IOException("The records before " + segmentPath + " have been deleted");
+            }
+            if (lastLsn != 0 && firstLsn != lastLsn + 1) {
+                throw new IOException(segmentPath + " does not follow the LSN " + lastLsn);
+            }
+
+            MappedByteBuffer records;
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            records.order(BYTE_ORDER);
+            lastLsn = scanRecords(records, firstLsn, fromLsn, consumer);
+            if (records.hasRemaining() && !isLastSegment) {
+                throw new IOException(segmentPath + " is corrupted after the LSN " + lastLsn);
+            }
+        }
+        return lastLsn;
+    }
+
+    // Scan the valid records from the position of the buffer, and leave the buffer at the end of them.
+    // The consumer gets the records from fromLsn if it is not null. It returns the LSN of the last valid record.
+    private static long scanRecords(ByteBuffer records, long firstLsn, long fromLsn, Consumer<JournalRecord> consumer) {
+        CRC32C checksum = new CRC32C();
+        long expectedLsn = firstLsn;
+        while (records.remaining() >= RECORD_HEADER_SIZE) {
+            int start = records.position();
+            int length = records.getInt(start);
+            int expectedChecksum = records.getInt(start + Integer.BYTES);
+            int payloadStart = start + RECORD_HEADER_SIZE;
+            if (length < PAYLOAD_HEADER_SIZE || length > records.limit() - payloadStart) {
+                break;
+            }
+
+            int limit = records.limit();
+            records.position(payloadStart).limit(payloadStart + length);
+            checksum.reset();
+            checksum.update(records);
+            records.limit(limit);
+            if ((int) checksum.getValue() != expectedChecksum || records.getLong(payloadStart) != expectedLsn) {
+                records.position(start);
+                break;
+            }
+            if (consumer != null && expectedLsn >= fromLsn) {
+                JournalRecord record = decodeRecord(records.duplicate().order(BYTE_ORDER)
+                        .position(payloadStart).limit(payloadStart + length));
+                if (record == null) {
+                    records.position(start);
+                    break;
+                }
+                consumer.accept(record);
+            }
+            expectedLsn++;
+        }
+        return expectedLsn - 1;
+    }
+
+    private static JournalRecord decodeRecord(ByteBuffer payload) {
+        long lsn = payload.getLong();
+        long gameId = payload.getLong();
+        JournalRecord.Type type = JournalRecord.Type.valueOf(Byte.toUnsignedInt(payload.get()));
+        if (type == null) {
+            return null;
+        }
+
+        String[] playerNames = null;
+        int keptDiceMask = 0;
+        int diceState = 0;
+        int playerNumber = 0;
+        int categoryNumber = 0;
+        int score = 0;
+        switch (type) {
+            case GAME_MADE:
+                playerNames = new String[payload.getInt()];
+                for (int i = 0; i < playerNames.length; i++) {
+                    byte[] name = new byte[Short.toUnsignedInt(payload.getShort())];
+                    payload.get(name);
+                    playerNames[i] = new String(name, StandardCharsets.UTF_8);
+                }
+                break;
+            case DICE_ROLLED:
+                keptDiceMask = Byte.toUnsignedInt(payload.get());
+                diceState = payload.getInt();
+                break;
+            case CATEGORY_FILLED:
+                playerNumber = payload.getInt();
+                categoryNumber = Byte.toUnsignedInt(payload.get());
+                score = payload.getInt();
+                break;
+            default:
+                break;
+        }
+        return new JournalRecord(lsn, gameId, type, playerNames, keptDiceMask, diceState,
+                playerNumber, categoryNumber, score);
+    }
+
+    // Lock the journal, and put the header of a record of the given data size into the active buffer.
+    // endRecord() must be called after the data has been put.
+    private ByteBuffer startRecord(long gameId, JournalRecord.Type type, int dataSize) {
+        int recordSize = RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE + dataSize;
+        if (recordSize > BUFFER_SIZE) {
+            throw new IllegalArgumentException("The record is too large.");
+        }
+        lock.lock();
+        try {
+            while (true) {
+                if (failure != null) {
+                    throw new UncheckedIOException("The journal has failed to write.", failure);
+                }
+                if (closed) {
+                    throw new IllegalStateException("The journal has been closed.");
+                }
+                if (activeBuffer.remaining() >= recordSize) {
+                    break;
+                }
+                hasRecords.signal();
+                hasSpace.awaitUninterruptibly();
+            }
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+
+        // The length and the checksum are put by endRecord().
+        recordStart = activeBuffer.position();
+        activeBuffer.position(recordStart + RECORD_HEADER_SIZE);
+        activeBuffer.putLong(lastLsn + 1).putLong(gameId).put((byte) type.getValue());
+        return activeBuffer;
+    }
+
+    private long endRecord() {
+        try {
+            int end = activeBuffer.position();
+            int payloadStart = recordStart + RECORD_HEADER_SIZE;
+            activeBuffer.position(payloadStart).limit(end);
+            checksum.reset();
+            checksum.update(activeBuffer);
+            activeBuffer.limit(activeBuffer.capacity());
+            activeBuffer.putInt(recordStart, end - payloadStart)
+                    .putInt(recordStart + Integer.BYTES, (int) checksum.getValue());
+
+            lastLsn++;
+            // The periodic committer wakes up by itself.
+            if (durability != Durability.PERIODIC_FSYNC) {
+                hasRecords.signal();
+            }
+            return lastLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendGameMade(long gameId, String[] playerNames) {
+        byte[][] names = new byte[playerNames.length][];
+        int dataSize = Integer.BYTES;
+        for (int i = 0; i < playerNames.length; i++) {
+            names[i] = playerNames[i].getBytes(StandardCharsets.UTF_8);
+            if (names[i].length > 0xffff) {
+                throw new IllegalArgumentException("The name of player " + i + " is too long.");
+            }
+            dataSize += Short.BYTES + names[i].length;
+        }
+        ByteBuffer buffer = startRecord(gameId, JournalRecord.Type.GAME_MADE, dataSize);
+        buffer.putInt(names.length);
+        for (byte[] name : names) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        endRecord();
+    }
+
+    private void appendDiceRolled(long gameId, int keptDiceMask, int diceState) {
+        startRecord(gameId, JournalRecord.Type.DICE_ROLLED, 1 + Integer.BYTES)
+                .put((byte) keptDiceMask).putInt(diceState);
+        endRecord();
+    }
+
+    private void appendCategoryFilled(long gameId, int playerNumber, int categoryNumber, int score) {
+        startRecord(gameId, JournalRecord.Type.CATEGORY_FILLED, 2 * Integer.BYTES + 1)
+                .putInt(playerNumber).put((byte) categoryNumber).putInt(score);
+        endRecord();
+    }
+
+    private void append(long gameId, JournalRecord.Type type) {
+        startRecord(gameId, type, 0);
+        endRecord();
+    }
+
+    // The loop of the committer thread.
+    private void commitRecords() {
+        long writtenLsn = committedLsn;
+        while (true) {
+            ByteBuffer batch;
+            long batchLastLsn;
+            boolean isClosing;
+            lock.lock();
+            try {
+                if (durability == Durability.PERIODIC_FSYNC && !closed) {
+                    hasRecords.awaitNanos(commitIntervalNanos);
+                }
+                while (lastLsn == writtenLsn && !closed) {
+                    hasRecords.awaitUninterruptibly();
+                }
+                if (lastLsn == writtenLsn) {
+                    break;
+                }
+                batch = activeBuffer;
+                activeBuffer = committingBuffer;
+                committingBuffer = batch;
+                batchLastLsn = lastLsn;
+                isClosing = closed;
+                hasSpace.signalAll();
+            } catch (InterruptedException e) {
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException exception = null;
+            try {
+                writeBatch(batch.flip(), writtenLsn + 1, isClosing);
+            } catch (IOException e) {
+                exception = e;
+            }
+            batch.clear();
+            writtenLsn = batchLastLsn;
+
+            List<Waiter> durableWaiters = new ArrayList<>();
+            lock.lock();
+            try {
+                if (exception != null) {
+                    failure = exception;
+                    durableWaiters.addAll(waiters);
+                    waiters.clear();
+                    hasSpace.signalAll();
+                } else {
+                    committedLsn = batchLastLsn;
+                    while (!waiters.isEmpty() && waiters.peek().lsn <= committedLsn) {
+                        durableWaiters.add(waiters.poll());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (Waiter waiter : durableWaiters) {
+                if (exception != null) {
+                    waiter.future.completeExceptionally(new UncheckedIOException(exception));
+                } else {
+                    waiter.future.complete(null);
+                }
+            }
+            if (exception != null) {
+                break;
+            }
+        }
+
+        lock.lock();
+        List<Waiter> remainingWaiters = new ArrayList<>(waiters);
+        waiters.clear();
+        lock.unlock();
+        for (Waiter waiter : remainingWaiters) {
+            waiter.future.completeExceptionally(new IllegalStateException("The journal has been closed."));
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            // The records have been forced, so nothing is lost.
+        }
+    }
+
+    private void writeBatch(ByteBuffer batch, long firstLsn, boolean isClosing) throws IOException {
+        // A batch is not split, so a segment starts with the first record of a batch.
+        if (segmentPosition > 0 && segmentPosition + batch.remaining() > segmentSize) {
+            segment.force(true);
+            segment.close();
+            openSegment(firstLsn);
+        }
+        while (batch.hasRemaining()) {
+            segmentPosition += segment.write(batch, segmentPosition);
+        }
+        if (durability != Durability.WRITE || isClosing) {
+            segment.force(false);
+        }
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        segment = FileChannel.open(directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentPosition = 0;
+        forceDirectory(directory);
+    }
+
+    // Make the new file durable. Some platforms cannot open a directory, and then it is left to the file system.
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // It is not supported.
+        }
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            // The LSNs have the same number of digits, so the names are sorted by the LSNs.
+            return paths.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    static long firstLsnOf(Path segmentPath) throws IOException {
+        String name = segmentPath.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException(segmentPath + " is not a segment of a journal");
+        }
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+        private final long lsn;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(long lsn) {
+            this.lsn = lsn;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            return Long.compare(lsn, other.lsn);
+        }
+    }
+
+    private class GameListener implements GameEventListener {
+        private final long gameId;
+
+        GameListener(long gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void gameMade(String[] playerNames) {
+            appendGameMade(gameId, playerNames);
+        }
+
+        @Override
+        public void diceRolled(int keptDiceMask, int diceState) {
+            appendDiceRolled(gameId, keptDiceMask, diceState);
+        }
+
+        @Override
+        public void diceRetryCountReset() {
+            append(gameId, JournalRecord.Type.DICE_RETRY_COUNT_RESET);
+        }
+
+        @Override
+        public void diceRetryCountIncreased() {
+            append(gameId, JournalRecord.Type.DICE_RETRY_COUNT_INCREASED);
+        }
+
+        @Override
+        public void categoryFilled(int playerNumber, int categoryNumber, int score) {
+            appendCategoryFilled(gameId, playerNumber, categoryNumber, score);
+        }
+
+        @Override
+        public void turnPassed() {
+            append(gameId, JournalRecord.Type.TURN_PASSED);
+        }
+
+        @Override
+        public void roundIncreased() {
+            append(gameId, JournalRecord.Type.ROUND_INCREASED);
+        }
+
+        @Override
+        public void scoresCalculated() {
+            append(gameId, JournalRecord.Type.SCORES_CALCULATED);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package yahtzee;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * The recorder of the turns of a game for the archive is implemented here.
+ * It is notified of the changes of the game, directly by YahtzeeGameImpl or by replaying the records of
+ * GameJournal, and packs each turn into ArchivedGame when its category is filled. The first roll of a turn is
+ * the first roll after the previous category was filled, so rerolling all dice with keptDiceMask 0 is a reroll.
+ * The filled score of each turn is recorded as it was given, even if it does not match the dice.
+ *
+ * @author Yoochul Kim
+ */
+public class GameRecorder implements GameEventListener {
+    private final long gameId;
+
+    private String[] playerNames;
+    private long[] turns;
+    private int[] scores;
+    private int numberOfTurns;
+
+    private long currentTurn;
+    private boolean hasRolled;
+    private boolean hasFinished;
+
+    /**
+     * Initialize a recorder of a game.
+     *
+     * @param gameId the game ID.
+     */
+    public GameRecorder(long gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Check if the scores of the game have been calculated, i.e. the game can be archived.
+     *
+     * @return true if the game has finished.
+     */
+    public boolean hasFinished() {
+        return hasFinished;
+    }
+
+    /**
+     * Get the recorded game.
+     *
+     * @return the game with all its turns.
+     * @throws IllegalStateException if the game has not finished.
+     */
+    public ArchivedGame toArchivedGame() {
+        if (!hasFinished) {
+            throw new IllegalStateException("The game has not finished.");
+        }
+        return new ArchivedGame(gameId, playerNames, turns, scores);
+    }
+
+    @Override
+    public void gameMade(String[] playerNames) {
+        this.playerNames = playerNames.clone();
+        turns = new long[playerNames.length * NUMBER_OF_CATEGORIES];
+        scores = new int[turns.length];
+        numberOfTurns = 0;
+        hasRolled = false;
+        hasFinished = false;
+    }
+
+    @Override
+    public void diceRolled(int keptDiceMask, int diceState) {
+        currentTurn = hasRolled ? ArchivedGame.addReroll(currentTurn, keptDiceMask, diceState)
+                : ArchivedGame.startTurn(diceState);
+        hasRolled = true;
+    }
+
+    @Override
+    public void diceRetryCountReset() {
+    }
+
+    @Override
+    public void diceRetryCountIncreased() {
+    }
+
+    @Override
+    public void categoryFilled(int playerNumber, int categoryNumber, int score) {
+        if (playerNames == null) {
+            throw new IllegalStateException("The game has not been made.");
+        }
+        if (!hasRolled) {
+            throw new IllegalStateException("The dice have not been rolled.");
+        }
+        if (numberOfTurns == turns.length) {
+            throw new IllegalStateException("All turns have been recorded.");
+        }
+        scores[numberOfTurns] = score;
+        turns[numberOfTurns++] = ArchivedGame.withCategory(currentTurn, categoryNumber);
+        hasRolled = false;
+    }
+
+    @Override
+    public void turnPassed() {
+    }
+
+    @Override
+    public void roundIncreased() {
+    }
+
+    @Override
+    public void scoresCalculated() {
+        hasFinished = numberOfTurns == turns.length;
+    }
+}
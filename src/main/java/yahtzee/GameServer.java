@@ -0,0 +1,297 @@
+package yahtzee;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * The game server of the local clients is implemented here.
+ * Each connection is served by its own thread with blocking reads and writes, and the games are played in
+ * GameSessionManager, so the players of a game can use different connections. With virtual threads (Java 21
+ * or later) an idle connection costs only a small heap object, so the server holds a very large number of mostly
+ * idle players without a thread pool; with platform threads each connection has a whole thread stack.
+ * <p>
+ * The protocol is a line of ASCII text per request and per response:
+ * <pre>
+ * MAKE name1 name2 ...     OK gameId          (YahtzeeGame.makeGame)
+ * ROLL gameId              OK d1 d2 d3 d4 d5  (YahtzeeGame.rollDice)
+ * KEEP gameId dieNumber... OK d1 d2 d3 d4 d5  (YahtzeeGame.rollCertainDice)
+ * FILL gameId category     OK score           (YahtzeeGame.fillCategory)
+ * PASS gameId              OK PLAYING|FINISHED
+ * WINNERS gameId           OK name1 ...       (YahtzeeGame.getWinners)
+ * REMOVE gameId            OK
+ * QUIT                     BYE
+ * </pre>
+ * A request that fails is answered with ERROR and the message. The responses are flushed when no more
+ * requests have been received, so the requests can be sent without waiting for each response.
+ *
+ * @author Yoochul Kim
+ */
+public class GameServer implements AutoCloseable {
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+    private final GameSessionManager manager;
+    private final ThreadFactory connectionThreadFactory;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    /**
+     * Initialize a server.
+     *
+     * @param manager                 the manager of the games, which is not closed with the server.
+     * @param connectionThreadFactory creates the thread of each connection.
+     */
+    public GameServer(GameSessionManager manager, ThreadFactory connectionThreadFactory) {
+        this.manager = manager;
+        this.connectionThreadFactory = connectionThreadFactory;
+    }
+
+    /**
+     * Check if the virtual threads can be used, which needs Java 21 or later.
+     *
+     * @return true if the virtual threads can be used.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Get the factory of the virtual threads.
+     *
+     * @return the factory that creates a virtual thread for each connection.
+     * @throws UnsupportedOperationException if the virtual threads cannot be used.
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or later.");
+        }
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    /**
+     * Get a factory of the platform threads, which is the baseline of the virtual threads.
+     *
+     * @return the factory that creates a daemon platform thread for each connection.
+     */
+    public static ThreadFactory platformThreadFactory() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "game-connection");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // The virtual threads are found by reflection, so the server is built and run with Java 17 as well.
+    private static ThreadFactory findVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Start accepting connections on the loopback address.
+     *
+     * @param port the port, or 0 for any free port.
+     * @throws IOException if the port cannot be used.
+     */
+    public void start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("The server has been started.");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+
+        Thread acceptor = new Thread(this::accept, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Get the port of the server.
+     *
+     * @return the local port that accepts connections.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Get the number of the open connections.
+     *
+     * @return the number of connections.
+     */
+    public int getNumberOfConnections() {
+        return connections.size();
+    }
+
+    /**
+     * Stop accepting connections and close all open connections.
+     */
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            // The server socket is closed anyway.
+        }
+        for (Socket connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // The connection is closed anyway.
+            }
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+                try {
+                    connectionThreadFactory.newThread(() -> serve(connection)).start();
+                } catch (OutOfMemoryError | RuntimeException e) {
+                    // No more thread can be created, which is the limit of platform threads.
+                    connections.remove(connection);
+                    connection.close();
+                }
+            } catch (IOException e) {
+                // The server has been closed, or the connection failed before it was served.
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), US_ASCII));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), US_ASCII))) {
+            String request;
+            while ((request = reader.readLine()) != null) {
+                if (request.equals("QUIT")) {
+                    writer.write("BYE\n");
+                    break;
+                }
+                writer.write(handle(request));
+                writer.write('\n');
+                if (!reader.ready()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            // The connection has been closed by the client or the server.
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Run a request and make its response.
+     *
+     * @param request the request line.
+     * @return the response line without the line separator.
+     */
+    String handle(String request) {
+        String[] words = request.trim().split(" +");
+        try {
+            switch (words[0]) {
+                case "MAKE": {
+                    String[] playerNames = new String[words.length - 1];
+                    System.arraycopy(words, 1, playerNames, 0, playerNames.length);
+                    return "OK " + manager.createGame(playerNames).join();
+                }
+                case "ROLL":
+                    checkNumberOfWords(words, 2);
+                    return "OK " + facesOf(manager.roll(Long.parseLong(words[1])).join());
+                case "KEEP": {
+                    if (words.length < 2) {
+                        throw new IllegalArgumentException("wrong number of arguments");
+                    }
+                    int[] keptDice = new int[words.length - 2];
+                    for (int i = 0; i < keptDice.length; i++) {
+                        keptDice[i] = Integer.parseInt(words[i + 2]);
+                    }
+                    int keptDiceMask = DiceState.toKeptDiceMask(keptDice);
+                    return "OK " + facesOf(manager.keep(Long.parseLong(words[1]), keptDiceMask).join());
+                }
+                case "FILL":
+                    checkNumberOfWords(words, 3);
+                    return "OK " + manager.fill(Long.parseLong(words[1]), Integer.parseInt(words[2])).join();
+                case "PASS":
+                    checkNumberOfWords(words, 2);
+                    return manager.passTurn(Long.parseLong(words[1])).join() ? "OK FINISHED" : "OK PLAYING";
+                case "WINNERS":
+                    checkNumberOfWords(words, 2);
+                    return "OK " + String.join(" ",
+                            manager.execute(Long.parseLong(words[1]), GameSession::getWinnerNames).join());
+                case "REMOVE":
+                    checkNumberOfWords(words, 2);
+                    return manager.removeGame(Long.parseLong(words[1])).join() ? "OK" : "ERROR no such game";
+                default:
+                    return "ERROR unknown request";
+            }
+        } catch (CompletionException e) {
+            return "ERROR " + e.getCause().getMessage();
+        } catch (RuntimeException e) {
+            // e.g. a wrong number or dice selection.
+            return "ERROR " + e.getMessage();
+        }
+    }
+
+    private static void checkNumberOfWords(String[] words, int numberOfWords) {
+        if (words.length != numberOfWords) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+    }
+
+    private static String facesOf(int diceState) {
+        StringBuilder faces = new StringBuilder();
+        for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+            if (dieNumber > 0) {
+                faces.append(' ');
+            }
+            faces.append(DiceState.getFace(diceState, dieNumber));
+        }
+        return faces.toString();
+    }
+
+    /**
+     * Run a server on the loopback address from the command line, e.g.
+     * java -cp target/classes yahtzee.GameServer 7777 virtual
+     *
+     * @param args the port, and virtual or platform threads (virtual if it is supported by default).
+     * @throws IOException if the port cannot be used.
+     * @throws InterruptedException if the server is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: java yahtzee.GameServer <port> [virtual|platform]");
+            System.exit(1);
+        }
+        boolean virtual = args.length < 2 ? isVirtualThreadSupported() : args[1].equals("virtual");
+
+        GameSessionManager manager = new GameSessionManager();
+        GameServer server = new GameServer(manager, virtual ? virtualThreadFactory() : platformThreadFactory());
+        server.start(Integer.parseInt(args[0]));
+        System.out.printf("Serving on port %d with %s threads%n", server.getPort(), virtual ? "virtual" : "platform");
+        Thread.currentThread().join();
+    }
+}
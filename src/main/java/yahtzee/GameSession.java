@@ -0,0 +1,280 @@
+package yahtzee;
+
+import java.util.random.RandomGenerator;
+
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+import static yahtzee.YahtzeeGameImpl.TOTAL_NUMBER_OF_ROUNDS;
+
+/**
+ * A game with its identity and the turn rules is implemented here.
+ * YahtzeeGameImpl leaves the order of the calls to its caller, so a session checks each command against the
+ * turn, i.e. roll once, keep dice up to twice, fill a category and pass the turn, and finishes the game
+ * after the 13th round. It is not thread-safe, so GameSessionManager lets only one thread touch a session.
+ *
+ * @author Yoochul Kim
+ */
+public class GameSession {
+    private final long gameId;
+    private final YahtzeeGameImpl game;
+
+    // The state of the current turn.
+    private boolean hasRolled;
+    private boolean hasFilled;
+
+    private boolean hasFinished;
+
+    // It applies the changes read from a journal, and is created by the first replay().
+    private GameEventListener replayer;
+
+    /**
+     * Initialize a session of a new game.
+     *
+     * @param gameId          the identity of the game.
+     * @param playerNames     all players' names.
+     * @param randomGenerator the generator for rolling the dice, which is used only by this game.
+     * @throws IllegalArgumentException if the number of players is not enough.
+     */
+    public GameSession(long gameId, String[] playerNames, RandomGenerator randomGenerator) {
+        this(gameId, playerNames, randomGenerator, null);
+    }
+
+    /**
+     * Initialize a session of a new game whose changes are notified from the start, e.g. to GameJournal.
+     *
+     * @param gameId            the identity of the game.
+     * @param playerNames       all players' names.
+     * @param randomGenerator   the generator for rolling the dice, which is used only by this game.
+     * @param gameEventListener the listener of the changes of the game, or null.
+     * @throws IllegalArgumentException if the number of players is not enough.
+     */
+    public GameSession(long gameId, String[] playerNames, RandomGenerator randomGenerator,
+                       GameEventListener gameEventListener) {
+        this.gameId = gameId;
+        game = new YahtzeeGameImpl(randomGenerator);
+        game.setGameEventListener(gameEventListener);
+        game.makeGame(playerNames);
+    }
+
+    /**
+     * Initialize a session of a restored game, e.g. by GameSnapshot.
+     *
+     * @param gameId      the identity of the game.
+     * @param game        the restored game.
+     * @param hasRolled   true if the dice have been rolled in the current turn.
+     * @param hasFilled   true if a category has been filled in the current turn.
+     * @param hasFinished true if the game has finished.
+     */
+    GameSession(long gameId, YahtzeeGameImpl game, boolean hasRolled, boolean hasFilled, boolean hasFinished) {
+        this.gameId = gameId;
+        this.game = game;
+        this.hasRolled = hasRolled;
+        this.hasFilled = hasFilled;
+        this.hasFinished = hasFinished;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Get the game of the session. Changing the game directly skips the checks of the turn rules.
+     *
+     * @return the game.
+     */
+    public YahtzeeGameImpl getGame() {
+        return game;
+    }
+
+    /**
+     * Roll all five dice at the start of the turn.
+     *
+     * @return the dice state packed by DiceState.
+     * @throws IllegalStateException if the game has finished or the dice have been rolled in the turn.
+     */
+    public int roll() {
+        checkNotFinished();
+        if (hasRolled) {
+            throw new IllegalStateException("The dice have been rolled in this turn.");
+        }
+        game.rollDice();
+        hasRolled = true;
+        return game.getDiceState();
+    }
+
+    /**
+     * Roll the dice which are not kept.
+     *
+     * @param keptDiceMask bit dieNumber is set if the player does not want to roll the die.
+     * @return the dice state packed by DiceState.
+     * @throws IllegalArgumentException when a player choose wrong dice numbers.
+     * @throws IllegalStateException    if the dice have not been rolled, a category has been filled or no retry is left.
+     */
+    public int keep(int keptDiceMask) {
+        checkCanChoose();
+        if (game.getDiceRetryCount() >= NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+            throw new IllegalStateException("No retry is left.");
+        }
+        game.rollDice(keptDiceMask);
+        game.increaseDiceRetryCount();
+        return game.getDiceState();
+    }
+
+    /**
+     * Fill a category of the current player with the score of the current dice.
+     *
+     * @param categoryNumber the category number.
+     * @return the score of the category.
+     * @throws IllegalArgumentException if the category is wrong or has been already filled.
+     * @throws IllegalStateException    if the dice have not been rolled or a category has been filled.
+     */
+    public int fill(int categoryNumber) {
+        checkCanChoose();
+        Player player = game.getPlayers()[game.getCurrentPlayerNumber()];
+        int score = player.calculateCategoryScore(categoryNumber, game.getDiceState());
+        game.fillCategory(categoryNumber, score);
+        hasFilled = true;
+        return score;
+    }
+
+    /**
+     * Pass the turn to the next player, and finish the game with the scores calculated after the last turn.
+     *
+     * @return true if the game has finished.
+     * @throws IllegalStateException if no category has been filled in the turn.
+     */
+    public boolean passTurn() {
+        checkNotFinished();
+        if (!hasFilled) {
+            throw new IllegalStateException("A category must be filled before passing the turn.");
+        }
+        hasRolled = false;
+        hasFilled = false;
+        game.resetDiceRetryCount();
+
+        if (game.getCurrentPlayerNumber() == game.getTotalNumberOfPlayers() - 1) {
+            game.increaseRound();
+        }
+        game.passTurnToNextPlayer();
+
+        if (game.getCurrentRound() >= TOTAL_NUMBER_OF_ROUNDS) {
+            game.calculateScores();
+            hasFinished = true;
+        }
+        return hasFinished;
+    }
+
+    public boolean hasFinished() {
+        return hasFinished;
+    }
+
+    boolean hasRolled() {
+        return hasRolled;
+    }
+
+    boolean hasFilled() {
+        return hasFilled;
+    }
+
+    /**
+     * Apply a change of the game read from GameJournal, e.g. to recover the game after a crash.
+     * The game must not have a listener that appends to the same journal during the replay.
+     * GAME_MADE and GAME_REMOVED do not change a session, so they are ignored.
+     *
+     * @param record the record of the change.
+     * @throws IllegalArgumentException if the change cannot be applied to the game, e.g. a filled category.
+     * @throws IllegalStateException    if the change was made by another player than the current one.
+     */
+    public void replay(JournalRecord record) {
+        if (replayer == null) {
+            replayer = new Replayer();
+        }
+        record.replayTo(replayer);
+    }
+
+    /**
+     * Get the names of the winners.
+     *
+     * @return the names of the players of the highest score.
+     * @throws IllegalStateException if the game has not finished.
+     */
+    public String[] getWinnerNames() {
+        if (!hasFinished) {
+            throw new IllegalStateException("The game has not finished.");
+        }
+        Player[] winners = game.getWinners();
+        String[] winnerNames = new String[winners.length];
+        for (int i = 0; i < winners.length; i++) {
+            winnerNames[i] = winners[i].getName();
+        }
+        return winnerNames;
+    }
+
+    // The changes are applied in the same way as the commands made them, so the turn state follows them.
+    private class Replayer implements GameEventListener {
+        @Override
+        public void gameMade(String[] playerNames) {
+        }
+
+        @Override
+        public void diceRolled(int keptDiceMask, int diceState) {
+            if (keptDiceMask == 0) {
+                hasRolled = true;
+            }
+            game.restoreState(game.getCurrentRound(), game.getCurrentPlayerNumber(), game.getDiceRetryCount(),
+                    diceState);
+        }
+
+        @Override
+        public void diceRetryCountReset() {
+            game.resetDiceRetryCount();
+            hasRolled = false;
+            hasFilled = false;
+        }
+
+        @Override
+        public void diceRetryCountIncreased() {
+            game.increaseDiceRetryCount();
+        }
+
+        @Override
+        public void categoryFilled(int playerNumber, int categoryNumber, int score) {
+            if (playerNumber != game.getCurrentPlayerNumber()) {
+                throw new IllegalStateException("Player " + playerNumber + " does not have the turn.");
+            }
+            game.fillCategory(categoryNumber, score);
+            hasFilled = true;
+        }
+
+        @Override
+        public void turnPassed() {
+            game.passTurnToNextPlayer();
+        }
+
+        @Override
+        public void roundIncreased() {
+            game.increaseRound();
+        }
+
+        @Override
+        public void scoresCalculated() {
+            game.calculateScores();
+            hasFinished = true;
+        }
+    }
+
+    private void checkCanChoose() {
+        checkNotFinished();
+        if (!hasRolled) {
+            throw new IllegalStateException("The dice have not been rolled.");
+        }
+        if (hasFilled) {
+            throw new IllegalStateException("A category has been filled in this turn.");
+        }
+    }
+
+    private void checkNotFinished() {
+        if (hasFinished) {
+            throw new IllegalStateException("The game has finished.");
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Many games played at the same time are managed here.
+ * The games are spread over shards by their game IDs, and each shard has one thread that owns its games and its
+ * random generator, so the commands of a shard run one by one without any lock, and the shards run in parallel.
+ * A command is queued to the shard of its game and its result is given through a future. The commands of a game
+ * sent by one thread run in the order they are sent, so a client can send the commands of a turn without waiting
+ * for the results of the previous ones. The queue of a shard
+ * is bounded, so a command to a full shard fails at once with RejectedExecutionException instead of waiting
+ * behind an unbounded backlog. The futures are completed on the shard threads, so the dependent actions that
+ * take time should be run with the async methods of CompletableFuture.
+ * If a journal is given, every change of the games is appended to it, and with Durability.FSYNC the future of a
+ * command that has changed a game is completed only after its records have been forced to the disk, on the thread
+ * of the journal. The commands of a shard do not wait for the fsync, so many moves share one fsync.
+ * A snapshot of the live games can be written at any time, or periodically, and after a restart the games are
+ * recovered from the latest snapshot and the records of the journal after it, so the recovery reads only the
+ * changes since the snapshot.
+ *
+ * @author Yoochul Kim
+ */
+public class GameSessionManager implements AutoCloseable {
+    /**
+     * The default number of commands that can wait in a shard.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+
+    private final Shard[] shards;
+    private final AtomicLong nextGameId = new AtomicLong(1);
+    private final GameJournal journal;
+    // The generators of the recovered games are split from it.
+    private final SplittableRandom recoveryRandom;
+    private ScheduledThreadPoolExecutor snapshotScheduler;
+    // It observes the rolls of the games created after it is set, if it is set.
+    private volatile FairnessMonitor fairnessMonitor;
+    // It receives the total scores of the games finished after it is set, if it is set.
+    private volatile Leaderboard leaderboard;
+
+    /**
+     * Initialize a manager with a shard for each available processor.
+     */
+    public GameSessionManager() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Initialize a manager.
+     *
+     * @param numberOfShards the number of shards, i.e. the number of threads.
+     * @param queueCapacity  the number of commands that can wait in a shard.
+     * @param seed           the seed of the random generators of the games.
+     * @throws IllegalArgumentException if the number of shards or the capacity is not positive.
+     */
+    public GameSessionManager(int numberOfShards, int queueCapacity, long seed) {
+        this(numberOfShards, queueCapacity, seed, null);
+    }
+
+    /**
+     * Initialize a manager that appends the changes of the games to a journal. The journal is not closed
+     * by the manager.
+     *
+     * @param numberOfShards the number of shards, i.e. the number of threads.
+     * @param queueCapacity  the number of commands that can wait in a shard.
+     * @param seed           the seed of the random generators of the games.
+     * @param journal        the journal, or null.
+     * @throws IllegalArgumentException if the number of shards or the capacity is not positive.
+     */
+    public GameSessionManager(int numberOfShards, int queueCapacity, long seed, GameJournal journal) {
+        if (numberOfShards < 1) {
+            throw new IllegalArgumentException("wrong number of shards");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("wrong queue capacity");
+        }
+
+        this.journal = journal;
+        SplittableRandom random = new SplittableRandom(seed);
+        shards = new Shard[numberOfShards];
+        for (int i = 0; i < numberOfShards; i++) {
+            shards[i] = new Shard(i, queueCapacity, random.split(), journal);
+        }
+        recoveryRandom = random.split();
+    }
+
+    public int getNumberOfShards() {
+        return shards.length;
+    }
+
+    /**
+     * Set the monitor of the fairness of the dice, of which node numbers are the shard numbers. The rolls of
+     * the games that are created or recovered after it is set are observed.
+     *
+     * @param fairnessMonitor the monitor, or null to stop observing new games.
+     * @throws IllegalArgumentException if the monitor has fewer nodes than the shards.
+     */
+    public void setFairnessMonitor(FairnessMonitor fairnessMonitor) {
+        if (fairnessMonitor != null && fairnessMonitor.getNumberOfNodes() < shards.length) {
+            throw new IllegalArgumentException("The monitor has fewer nodes than the shards.");
+        }
+        this.fairnessMonitor = fairnessMonitor;
+    }
+
+    /**
+     * Set the leaderboard to which the total scores of the players are submitted when their game finishes.
+     *
+     * @param leaderboard the leaderboard, or null to stop submitting the scores.
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Create a game. The game stays in the manager after it has finished until it is removed.
+     *
+     * @param playerNames all players' names.
+     * @return the future of the game ID, which fails with IllegalArgumentException if the number of players
+     * is not enough.
+     */
+    public CompletableFuture<Long> createGame(String[] playerNames) {
+        long gameId = nextGameId.getAndIncrement();
+        String[] names = playerNames.clone();
+        Shard shard = shardOf(gameId);
+        return shard.submit(() -> {
+            GameEventListener listener = journal == null ? null : journal.listenerOf(gameId);
+            GameSession session = new GameSession(gameId, names, shard.random.split(), listener);
+            observeRolls(shard, session);
+            shard.games.put(gameId, session);
+            return gameId;
+        });
+    }
+
+    /**
+     * Remove a game.
+     *
+     * @param gameId the game ID.
+     * @return the future of true if the game has been removed, or false if there is no such game.
+     */
+    public CompletableFuture<Boolean> removeGame(long gameId) {
+        Shard shard = shardOf(gameId);
+        return shard.submit(() -> {
+            if (shard.games.remove(gameId) == null) {
+                return false;
+            }
+            if (journal != null) {
+                journal.appendGameRemoved(gameId);
+            }
+            FairnessMonitor monitor = fairnessMonitor;
+            if (monitor != null) {
+                monitor.removeGame(gameId);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Roll all five dice at the start of the turn of a game.
+     *
+     * @param gameId the game ID.
+     * @return the future of the dice state packed by DiceState.
+     * @see GameSession#roll()
+     */
+    public CompletableFuture<Integer> roll(long gameId) {
+        return execute(gameId, GameSession::roll);
+    }
+
+    /**
+     * Roll the dice of a game which are not kept.
+     *
+     * @param gameId       the game ID.
+     * @param keptDiceMask bit dieNumber is set if the player does not want to roll the die.
+     * @return the future of the dice state packed by DiceState.
+     * @see GameSession#keep(int)
+     */
+    public CompletableFuture<Integer> keep(long gameId, int keptDiceMask) {
+        return execute(gameId, session -> session.keep(keptDiceMask));
+    }
+
+    /**
+     * Fill a category of the current player of a game.
+     *
+     * @param gameId         the game ID.
+     * @param categoryNumber the category number.
+     * @return the future of the score of the category.
+     * @see GameSession#fill(int)
+     */
+    public CompletableFuture<Integer> fill(long gameId, int categoryNumber) {
+        return execute(gameId, session -> session.fill(categoryNumber));
+    }
+
+    /**
+     * Pass the turn of a game to the next player.
+     *
+     * @param gameId the game ID.
+     * @return the future of true if the game has finished.
+     * @see GameSession#passTurn()
+     */
+    public CompletableFuture<Boolean> passTurn(long gameId) {
+        return execute(gameId, session -> {
+            boolean hasFinished = session.passTurn();
+            Leaderboard board = leaderboard;
+            if (hasFinished && board != null) {
+                board.submitAll(session.getGame().getPlayers());
+            }
+            return hasFinished;
+        });
+    }
+
+    /**
+     * Run a command on the thread of the shard of a game. The command must not keep or return the session or
+     * the objects of its game, e.g. Player, as they may be changed by the next commands at any time.
+     *
+     * @param gameId  the game ID.
+     * @param command the command.
+     * @return the future of the result of the command, which fails with IllegalArgumentException if there is no
+     * such game, with the exception of the command or with RejectedExecutionException if the shard is full.
+     */
+    public <T> CompletableFuture<T> execute(long gameId, Function<GameSession, T> command) {
+        Shard shard = shardOf(gameId);
+        return shard.submit(() -> {
+            GameSession session = shard.games.get(gameId);
+            if (session == null) {
+                throw new IllegalArgumentException("There is no game " + gameId);
+            }
+            return command.apply(session);
+        });
+    }
+
+    /**
+     * Count the games in all shards.
+     *
+     * @return the future of the number of games.
+     */
+    public CompletableFuture<Integer> countGames() {
+        CompletableFuture<Integer> count = CompletableFuture.completedFuture(0);
+        for (Shard shard : shards) {
+            count = count.thenCombine(shard.submit(shard.games::size), Integer::sum);
+        }
+        return count;
+    }
+
+    /**
+     * Write a snapshot of all games to a file, and delete the segments of the journal that are covered by it.
+     * Each shard captures its games between its commands with the LSN of the journal at the capture, so the
+     * shards are not stopped at the same time. The file is written after the records up to the LSNs are durable.
+     *
+     * @param path the path of the file, which is replaced atomically.
+     * @return the smallest LSN of the shards, after which the journal is replayed by recover().
+     * @throws IOException if the file cannot be written.
+     */
+    public long writeSnapshot(Path path) throws IOException {
+        List<CompletableFuture<GameSnapshot.Section>> futures = new ArrayList<>();
+        for (Shard shard : shards) {
+            futures.add(shard.submit(() -> GameSnapshot.capture(journal == null ? 0 : journal.getLastLsn(),
+                    shard.games.values())));
+        }
+        List<GameSnapshot.Section> sections = new ArrayList<>();
+        long firstLsn = Long.MAX_VALUE;
+        long lastLsn = 0;
+        try {
+            for (CompletableFuture<GameSnapshot.Section> future : futures) {
+                GameSnapshot.Section section = future.join();
+                sections.add(section);
+                firstLsn = Math.min(firstLsn, section.getLsn());
+                lastLsn = Math.max(lastLsn, section.getLsn());
+            }
+            // The snapshot must not be ahead of the journal, or the records appended after a crash would be
+            // taken as the records covered by the snapshot.
+            if (journal != null) {
+                journal.whenDurable(lastLsn).join();
+            }
+        } catch (CompletionException e) {
+            throw new IOException("The games cannot be captured.", e.getCause());
+        }
+
+        // The games created after the captures have larger IDs, and are recovered from the journal.
+        GameSnapshot.write(path, nextGameId.get(), sections);
+        if (journal != null) {
+            journal.deleteSegmentsUpTo(firstLsn);
+        }
+        return firstLsn;
+    }
+
+    /**
+     * Write a snapshot periodically until the manager is closed.
+     *
+     * @param path   the path of the file.
+     * @param period the period between the end of a snapshot and the start of the next one.
+     * @param unit   the time unit of the period.
+     * @return the future of the periodic snapshots, which fails with UncheckedIOException and stops them if a
+     * snapshot cannot be written.
+     */
+    public synchronized ScheduledFuture<?> scheduleSnapshots(Path path, long period, TimeUnit unit) {
+        if (snapshotScheduler == null) {
+            snapshotScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "game-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeSnapshot(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Recover the games from a snapshot and the records of the journal after it. It must be called before
+     * any game is created, and the recovered games continue to be appended to the journal.
+     *
+     * @param snapshotPath the path of the snapshot file, which may not exist, e.g. before the first snapshot.
+     * @return the number of recovered games.
+     * @throws IOException           if the snapshot or the journal cannot be read or does not match the other.
+     * @throws IllegalStateException if a game has been created.
+     */
+    public int recover(Path snapshotPath) throws IOException {
+        if (nextGameId.get() != 1) {
+            throw new IllegalStateException("The games must be recovered before any game is created.");
+        }
+        GameSnapshot snapshot = null;
+        Map<Long, GameSession> sessions = new HashMap<>();
+        long lastGameId = 0;
+        if (Files.exists(snapshotPath)) {
+            snapshot = GameSnapshot.read(snapshotPath, recoveryRandom);
+            sessions = snapshot.getSessions();
+            lastGameId = snapshot.getNextGameId() - 1;
+        }
+
+        if (journal != null) {
+            if (snapshot != null && journal.getLastLsn() < snapshot.getLastLsn()) {
+                throw new IOException("The journal ends at " + journal.getLastLsn() + " before the snapshot.");
+            }
+            Recovery recovery = new Recovery(sessions, snapshot, recoveryRandom);
+            try {
+                GameJournal.read(journal.getDirectory(), snapshot == null ? 1 : snapshot.getFirstLsn() + 1,
+                        recovery);
+            } catch (RuntimeException e) {
+                throw new IOException("The journal cannot be replayed: " + e.getMessage(), e);
+            }
+            lastGameId = Math.max(lastGameId, recovery.lastGameId);
+        }
+
+        // The games are put by the threads of their shards, which own them.
+        List<List<GameSession>> sessionsOfShards = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            sessionsOfShards.add(new ArrayList<>());
+        }
+        for (GameSession session : sessions.values()) {
+            if (journal != null) {
+                session.getGame().setGameEventListener(journal.listenerOf(session.getGameId()));
+            }
+            sessionsOfShards.get((int) Long.remainderUnsigned(session.getGameId(), shards.length)).add(session);
+        }
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            List<GameSession> sessionsOfShard = sessionsOfShards.get(i);
+            futures.add(shard.submit(() -> {
+                for (GameSession session : sessionsOfShard) {
+                    observeRolls(shard, session);
+                    shard.games.put(session.getGameId(), session);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        nextGameId.set(lastGameId + 1);
+        return sessions.size();
+    }
+
+    /**
+     * Stop accepting commands, and wait until the queued commands have run.
+     */
+    @Override
+    public void close() {
+        ScheduledThreadPoolExecutor scheduler;
+        synchronized (this) {
+            scheduler = snapshotScheduler;
+        }
+        if (scheduler != null) {
+            // A running snapshot is finished before the shards stop.
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Shard shardOf(long gameId) {
+        // The game IDs are sequential, so the games are spread evenly.
+        return shards[(int) Long.remainderUnsigned(gameId, shards.length)];
+    }
+
+    // It applies the records of the journal after a snapshot to the games being recovered.
+    private static class Recovery implements Consumer<JournalRecord> {
+        private final Map<Long, GameSession> sessions;
+        private final GameSnapshot snapshot;
+        private final SplittableRandom random;
+        private long lastGameId;
+
+        Recovery(Map<Long, GameSession> sessions, GameSnapshot snapshot, SplittableRandom random) {
+            this.sessions = sessions;
+            this.snapshot = snapshot;
+            this.random = random;
+        }
+
+        @Override
+        public void accept(JournalRecord record) {
+            long gameId = record.getGameId();
+            lastGameId = Math.max(lastGameId, gameId);
+            // The shards were captured at different LSNs, so a game skips the records its section has covered.
+            if (snapshot != null && record.getLsn() <= snapshot.getLsn(gameId)) {
+                return;
+            }
+            switch (record.getType()) {
+                case GAME_MADE:
+                    sessions.put(gameId, new GameSession(gameId, record.getPlayerNames(), random.split()));
+                    break;
+                case GAME_REMOVED:
+                    sessions.remove(gameId);
+                    break;
+                default:
+                    // The game was made before the snapshot and removed before its capture.
+                    GameSession session = sessions.get(gameId);
+                    if (session != null) {
+                        session.replay(record);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void observeRolls(Shard shard, GameSession session) {
+        FairnessMonitor monitor = fairnessMonitor;
+        if (monitor != null) {
+            session.getGame().setRollObserver(monitor.observerOf(shard.shardNumber, session.getGameId()));
+        }
+    }
+
+    // The fields except executor are used only by the thread of the shard.
+    private static class Shard {
+        private final int shardNumber;
+        private final ThreadPoolExecutor executor;
+        private final Map<Long, GameSession> games = new HashMap<>();
+        private final SplittableRandom random;
+        private final GameJournal journal;
+
+        Shard(int shardNumber, int queueCapacity, SplittableRandom random, GameJournal journal) {
+            this.shardNumber = shardNumber;
+            this.random = random;
+            this.journal = journal;
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.NANOSECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "game-shard-" + shardNumber);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<T> command) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    try {
+                        if (journal == null || journal.getDurability() != GameJournal.Durability.FSYNC) {
+                            future.complete(command.get());
+                            return;
+                        }
+                        // The last LSN may include the records of the other shards, which only makes it wait
+                        // a little longer.
+                        long lsnBefore = journal.getLastLsn();
+                        T result = command.get();
+                        long lsnAfter = journal.getLastLsn();
+                        if (lsnAfter == lsnBefore) {
+                            future.complete(result);
+                        } else {
+                            journal.whenDurable(lsnAfter).whenComplete((ignored, exception) -> {
+                                if (exception == null) {
+                                    future.complete(result);
+                                } else {
+                                    future.completeExceptionally(exception);
+                                }
+                            });
+                        }
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package yahtzee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * The snapshot file of the live games is implemented here.
+ * The file is magic number, format version, next game ID and number of sections, followed by the sections and
+ * the CRC32 of everything before it, all big-endian. A section holds the games captured at once, e.g. the games
+ * of a shard, with the LSN of GameJournal at the capture, so the changes of its games after the LSN are replayed
+ * from the journal. A game is stored by its state, i.e. the filled categories of the players and the state of
+ * the turn, not by its history.
+ *
+ * @author Yoochul Kim
+ */
+public class GameSnapshot {
+    /**
+     * "YZSN" in ASCII.
+     */
+    public static final int MAGIC_NUMBER = 0x595A534E;
+    /**
+     * Version of the file format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HAS_ROLLED = 1;
+    private static final int HAS_FILLED = 1 << 1;
+    private static final int HAS_FINISHED = 1 << 2;
+
+    private final long nextGameId;
+    private final Map<Long, GameSession> sessions;
+    private final Map<Long, Long> lsns;
+    private final long firstLsn;
+    private final long lastLsn;
+
+    private GameSnapshot(long nextGameId, Map<Long, GameSession> sessions, Map<Long, Long> lsns, long firstLsn,
+                         long lastLsn) {
+        this.nextGameId = nextGameId;
+        this.sessions = sessions;
+        this.lsns = lsns;
+        this.firstLsn = firstLsn;
+        this.lastLsn = lastLsn;
+    }
+
+    /**
+     * Get the game ID that had not been used yet when the snapshot was written.
+     *
+     * @return the next game ID.
+     */
+    public long getNextGameId() {
+        return nextGameId;
+    }
+
+    /**
+     * Get the restored games. They have no listener.
+     *
+     * @return the sessions by the game IDs.
+     */
+    public Map<Long, GameSession> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Get the LSN of the capture of a game, after which its changes must be replayed.
+     *
+     * @param gameId the game ID.
+     * @return the LSN, or -1 if the game is not in the snapshot.
+     */
+    public long getLsn(long gameId) {
+        Long lsn = lsns.get(gameId);
+        return lsn == null ? -1 : lsn;
+    }
+
+    /**
+     * Get the smallest LSN of the sections. The journal is replayed after it, and the records up to it are not
+     * needed any more.
+     *
+     * @return the LSN, or 0 if there is no section.
+     */
+    public long getFirstLsn() {
+        return firstLsn;
+    }
+
+    /**
+     * Get the largest LSN of the sections. The journal must have all records up to it.
+     *
+     * @return the LSN, or 0 if there is no section.
+     */
+    public long getLastLsn() {
+        return lastLsn;
+    }
+
+    /**
+     * A section of the games captured at once.
+     */
+    static class Section {
+        private final long lsn;
+        private final int numberOfGames;
+        private final byte[] games;
+
+        private Section(long lsn, int numberOfGames, byte[] games) {
+            this.lsn = lsn;
+            this.numberOfGames = numberOfGames;
+            this.games = games;
+        }
+
+        long getLsn() {
+            return lsn;
+        }
+    }
+
+    /**
+     * Capture the states of games. It must be called on the thread that owns the games, and the games must not
+     * change until it returns.
+     *
+     * @param lsn      the LSN of the last change of the games in the journal, or 0 without journal.
+     * @param sessions the games.
+     * @return the section of the games.
+     */
+    static Section capture(long lsn, Collection<GameSession> sessions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(sessions.size() * 64);
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            for (GameSession session : sessions) {
+                writeSession(output, session);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new Section(lsn, sessions.size(), bytes.toByteArray());
+    }
+
+    private static void writeSession(DataOutputStream output, GameSession session) throws IOException {
+        YahtzeeGameImpl game = session.getGame();
+        int flags = (session.hasRolled() ? HAS_ROLLED : 0)
+                | (session.hasFilled() ? HAS_FILLED : 0)
+                | (session.hasFinished() ? HAS_FINISHED : 0);
+        output.writeLong(session.getGameId());
+        output.writeByte(flags);
+        output.writeByte(game.getCurrentRound());
+        output.writeInt(game.getCurrentPlayerNumber());
+        output.writeByte(game.getDiceRetryCount());
+        output.writeInt(game.getDiceState());
+
+        Player[] players = game.getPlayers();
+        output.writeInt(players.length);
+        for (Player player : players) {
+            output.writeUTF(player.getName());
+            int filledCategoriesMask = player.getFilledCategoriesMask();
+            output.writeShort(filledCategoriesMask);
+            int[] categoriesScores = player.getCategoriesScores();
+            for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                if ((filledCategoriesMask & 1 << categoryNumber) != 0) {
+                    output.writeInt(categoriesScores[categoryNumber]);
+                }
+            }
+        }
+    }
+
+    private static GameSession readSession(DataInputStream input, RandomGenerator randomGenerator)
+            throws IOException {
+        long gameId = input.readLong();
+        int flags = input.readUnsignedByte();
+        int currentRound = input.readUnsignedByte();
+        int currentPlayerNumber = input.readInt();
+        int diceRetryCount = input.readUnsignedByte();
+        int diceState = input.readInt();
+
+        int numberOfPlayers = input.readInt();
+        if (numberOfPlayers <= YahtzeeGameImpl.MINIMUM_NUMBER_OF_PLAYERS || numberOfPlayers > 1 << 20) {
+            throw new IOException("Game " + gameId + " has a wrong number of players.");
+        }
+        String[] playerNames = new String[numberOfPlayers];
+        int[] filledCategoriesMasks = new int[numberOfPlayers];
+        int[][] categoriesScores = new int[numberOfPlayers][NUMBER_OF_CATEGORIES];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            playerNames[i] = input.readUTF();
+            filledCategoriesMasks[i] = input.readUnsignedShort();
+            for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                if ((filledCategoriesMasks[i] & 1 << categoryNumber) != 0) {
+                    categoriesScores[i][categoryNumber] = input.readInt();
+                }
+            }
+        }
+
+        YahtzeeGameImpl game = new YahtzeeGameImpl(randomGenerator);
+        try {
+            game.makeGame(playerNames);
+            Player[] players = game.getPlayers();
+            for (int i = 0; i < numberOfPlayers; i++) {
+                for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                    if ((filledCategoriesMasks[i] & 1 << categoryNumber) != 0) {
+                        players[i].fillCategory(categoryNumber, categoriesScores[i][categoryNumber]);
+                    }
+                }
+            }
+            game.restoreState(currentRound, currentPlayerNumber, diceRetryCount, diceState);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Game " + gameId + " cannot be restored: " + e.getMessage());
+        }
+        boolean hasFinished = (flags & HAS_FINISHED) != 0;
+        if (hasFinished) {
+            game.calculateScores();
+        }
+        return new GameSession(gameId, game, (flags & HAS_ROLLED) != 0, (flags & HAS_FILLED) != 0, hasFinished);
+    }
+
+    /**
+     * Write a snapshot to a file. The file is replaced atomically after it has been forced to the disk,
+     * so a crash leaves either the previous snapshot or the new one.
+     *
+     * @param path       the path of the file.
+     * @param nextGameId the game ID that has not been used yet.
+     * @param sections   the sections captured by capture().
+     * @throws IOException if the file cannot be written.
+     */
+    static void write(Path path, long nextGameId, List<Section> sections) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temporaryPath.toFile())) {
+                CRC32 checksum = new CRC32();
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(file, checksum), 64 * 1024));
+                output.writeInt(MAGIC_NUMBER);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(nextGameId);
+                output.writeInt(sections.size());
+                for (Section section : sections) {
+                    output.writeLong(section.lsn);
+                    output.writeInt(section.numberOfGames);
+                    output.write(section.games);
+                }
+                output.flush();
+                output.writeInt((int) checksum.getValue());
+                output.flush();
+                file.getChannel().force(true);
+            }
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Read a snapshot from a file.
+     *
+     * @param path            the path of the file.
+     * @param randomGenerator the generator for rolling the dice, which is split for each game.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be read, is not a snapshot file, has another version or is corrupted.
+     */
+    public static GameSnapshot read(Path path, RandomGenerator.SplittableGenerator randomGenerator)
+            throws IOException {
+        CRC32 checksum = new CRC32();
+        try (DataInputStream input = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 64 * 1024), checksum))) {
+            if (input.readInt() != MAGIC_NUMBER) {
+                throw new IOException(path + " is not a snapshot file");
+            }
+            int formatVersion = input.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException(path + " has format version " + formatVersion + ", not " + FORMAT_VERSION);
+            }
+            long nextGameId = input.readLong();
+
+            Map<Long, GameSession> sessions = new HashMap<>();
+            Map<Long, Long> lsns = new HashMap<>();
+            long firstLsn = Long.MAX_VALUE;
+            long lastLsn = 0;
+            int numberOfSections = input.readInt();
+            for (int i = 0; i < numberOfSections; i++) {
+                long lsn = input.readLong();
+                firstLsn = Math.min(firstLsn, lsn);
+                lastLsn = Math.max(lastLsn, lsn);
+                int numberOfGames = input.readInt();
+                for (int j = 0; j < numberOfGames; j++) {
+                    GameSession session = readSession(input, randomGenerator.split());
+                    sessions.put(session.getGameId(), session);
+                    lsns.put(session.getGameId(), lsn);
+                }
+            }
+
+            int expectedChecksum = (int) checksum.getValue();
+            if (input.readInt() != expectedChecksum) {
+                throw new IOException(path + " is corrupted");
+            }
+            return new GameSnapshot(nextGameId, sessions, lsns, numberOfSections == 0 ? 0 : firstLsn, lastLsn);
+        } catch (EOFException e) {
+            throw new IOException(path + " is truncated", e);
+        }
+    }
+}
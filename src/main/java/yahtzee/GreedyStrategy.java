@@ -0,0 +1,61 @@
+package yahtzee;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+
+/**
+ * A simple strategy as the baseline of simulations is implemented here.
+ * It fills the category with the highest score of the dice, and it keeps the dice of the most common face
+ * (the higher face on ties) unless the dice already score a full house, a straight or a yahtzee.
+ *
+ * @author Yoochul Kim
+ */
+public class GreedyStrategy implements Strategy {
+    // The scores of the categories of the dice.
+    private final int[] scores = new int[NUMBER_OF_CATEGORIES];
+
+    @Override
+    public int chooseKeptDiceMask(Player player, int diceState, int rerollsLeft) {
+        int bestCategory = chooseCategory(player, diceState);
+        if (bestCategory >= Category.Type.FULL_HOUSE.value && bestCategory != Category.Type.CHANCE.value
+                && scores[bestCategory] > 0) {
+            return DiceState.ALL_DICE_MASK;
+        }
+
+        // The last face of the sorted hand is the highest, so it wins the ties.
+        int hand = DiceState.getHand(diceState);
+        int mostCommonFace = 0;
+        int mostCommonCount = 0;
+        int count = 0;
+        for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+            int face = ScoreTable.getHandFace(hand, position);
+            count = position > 0 && face == ScoreTable.getHandFace(hand, position - 1) ? count + 1 : 1;
+            if (count >= mostCommonCount) {
+                mostCommonFace = face;
+                mostCommonCount = count;
+            }
+        }
+
+        int keptDiceMask = 0;
+        for (int dieNumber = 0; dieNumber < TOTAL_NUMBER_OF_DICE; dieNumber++) {
+            if (DiceState.getFace(diceState, dieNumber) == mostCommonFace) {
+                keptDiceMask |= 1 << dieNumber;
+            }
+        }
+        return keptDiceMask;
+    }
+
+    @Override
+    public int chooseCategory(Player player, int diceState) {
+        int availableCategoriesMask = player.getScoresOfAvailableCombinations(diceState, scores);
+
+        int bestCategory = -1;
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            if ((availableCategoriesMask & 1 << categoryNumber) != 0
+                    && (bestCategory < 0 || scores[categoryNumber] > scores[bestCategory])) {
+                bestCategory = categoryNumber;
+            }
+        }
+        return bestCategory;
+    }
+}
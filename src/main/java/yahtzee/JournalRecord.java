@@ -0,0 +1,151 @@
+package yahtzee;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A record of GameJournal is implemented here, i.e. one change of the state of a game with its log sequence
+ * number (LSN). Only the fields of its type are set, and the others are 0 or null.
+ *
+ * @author Yoochul Kim
+ */
+public class JournalRecord {
+    public enum Type {
+        GAME_MADE(0),
+        DICE_ROLLED(1),
+        DICE_RETRY_COUNT_RESET(2),
+        DICE_RETRY_COUNT_INCREASED(3),
+        CATEGORY_FILLED(4),
+        TURN_PASSED(5),
+        ROUND_INCREASED(6),
+        SCORES_CALCULATED(7),
+        GAME_REMOVED(8);
+
+        public final int value;
+        private static Map<Integer, Type> map = new HashMap<>();
+
+        Type(int value) {
+            this.value = value;
+        }
+
+        static {
+            for (Type type : Type.values()) {
+                map.put(type.value, type);
+            }
+        }
+
+        public static Type valueOf(int value) {
+            return map.get(value);
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private final long lsn;
+    private final long gameId;
+    private final Type type;
+
+    private final String[] playerNames;
+    private final int keptDiceMask;
+    private final int diceState;
+    private final int playerNumber;
+    private final int categoryNumber;
+    private final int score;
+
+    JournalRecord(long lsn, long gameId, Type type, String[] playerNames, int keptDiceMask, int diceState,
+                  int playerNumber, int categoryNumber, int score) {
+        this.lsn = lsn;
+        this.gameId = gameId;
+        this.type = type;
+        this.playerNames = playerNames;
+        this.keptDiceMask = keptDiceMask;
+        this.diceState = diceState;
+        this.playerNumber = playerNumber;
+        this.categoryNumber = categoryNumber;
+        this.score = score;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the players' names of GAME_MADE.
+     *
+     * @return all players' names, or null for the other types.
+     */
+    public String[] getPlayerNames() {
+        return playerNames == null ? null : playerNames.clone();
+    }
+
+    public int getKeptDiceMask() {
+        return keptDiceMask;
+    }
+
+    public int getDiceState() {
+        return diceState;
+    }
+
+    public int getPlayerNumber() {
+        return playerNumber;
+    }
+
+    public int getCategoryNumber() {
+        return categoryNumber;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Call the method of a listener for the change of this record. GAME_REMOVED has no method, so it is ignored.
+     *
+     * @param listener the listener.
+     */
+    public void replayTo(GameEventListener listener) {
+        switch (type) {
+            case GAME_MADE:
+                listener.gameMade(getPlayerNames());
+                break;
+            case DICE_ROLLED:
+                listener.diceRolled(keptDiceMask, diceState);
+                break;
+            case DICE_RETRY_COUNT_RESET:
+                listener.diceRetryCountReset();
+                break;
+            case DICE_RETRY_COUNT_INCREASED:
+                listener.diceRetryCountIncreased();
+                break;
+            case CATEGORY_FILLED:
+                listener.categoryFilled(playerNumber, categoryNumber, score);
+                break;
+            case TURN_PASSED:
+                listener.turnPassed();
+                break;
+            case ROUND_INCREASED:
+                listener.roundIncreased();
+                break;
+            case SCORES_CALCULATED:
+                listener.scoresCalculated();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return lsn + " " + gameId + " " + type;
+    }
+}
@@ -0,0 +1,279 @@
+package yahtzee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static yahtzee.RankingEngine.NUMBER_OF_SCORES;
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * The global leaderboard of the best total scores of all players is implemented here.
+ * A score is between 0 and 414, so the players are kept in a bucket for each score, and a Fenwick tree over the
+ * 415 buckets counts the players of the higher scores, so the rank of a player and the bucket of a position are
+ * found in O(log 415) time however many players there are. A bucket is an array in which a removed player is
+ * replaced by the last one, so a player is moved to the bucket of a new best score in O(1) time.
+ * The scores of the players are submitted from many threads at the same time: a player is updated in its bin of
+ * ConcurrentHashMap and each bucket is locked only while a player is added or removed, so the submissions of
+ * different scores do not wait for each other. The queries need no lock except the buckets of the listed players.
+ * They are weakly consistent like the iterators of ConcurrentHashMap, i.e. a player that is moving to another
+ * bucket may be listed twice or not at all, but they are exact when no score is being submitted.
+ *
+ * @author Yoochul Kim
+ */
+public class Leaderboard {
+    // The Fenwick tree is highest score first, i.e. the index of a score is MAXIMUM_POSSIBLE_SCORE - score + 1.
+    private static final int HIGHEST_POWER_OF_TWO = Integer.highestOneBit(NUMBER_OF_SCORES);
+
+    private final ConcurrentHashMap<String, Slot> players = new ConcurrentHashMap<>();
+    private final Bucket[] buckets = new Bucket[NUMBER_OF_SCORES];
+    private final AtomicIntegerArray tree = new AtomicIntegerArray(NUMBER_OF_SCORES + 1);
+
+    public Leaderboard() {
+        for (int score = 0; score < NUMBER_OF_SCORES; score++) {
+            buckets[score] = new Bucket();
+        }
+    }
+
+    /**
+     * Submit the total score of a player, which is kept if it is the best score of the player.
+     *
+     * @param playerName the name of the player.
+     * @param score      the total score.
+     * @return true if it is the new best score of the player.
+     * @throws IllegalArgumentException if the score is out of range.
+     */
+    public boolean submit(String playerName, int score) {
+        if (score < 0 || MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME < score) {
+            throw new IllegalArgumentException("wrong score: " + score);
+        }
+        boolean[] isBest = new boolean[1];
+        // The bin of the player is locked while it is moved, so the submissions of a player run one by one.
+        players.compute(playerName, (name, slot) -> {
+            if (slot != null && slot.score >= score) {
+                return slot;
+            }
+            Slot newSlot = new Slot(name, score);
+            buckets[score].add(newSlot);
+            add(score, 1);
+            if (slot != null) {
+                buckets[slot.score].remove(slot);
+                add(slot.score, -1);
+            }
+            isBest[0] = true;
+            return newSlot;
+        });
+        return isBest[0];
+    }
+
+    /**
+     * Submit the total scores of the players of a finished game, which are set by YahtzeeGame.calculateScores().
+     *
+     * @param players the players of the game.
+     */
+    public void submitAll(Player[] players) {
+        for (Player player : players) {
+            submit(player.getName(), player.getTotalScore());
+        }
+    }
+
+    /**
+     * Get the number of the players on the leaderboard.
+     *
+     * @return the number of players.
+     */
+    public int getNumberOfPlayers() {
+        return countHigherPlayers(-1);
+    }
+
+    /**
+     * Get the best score of a player.
+     *
+     * @param playerName the name of the player.
+     * @return the best score, or -1 if the player is not on the leaderboard.
+     */
+    public int getScore(String playerName) {
+        Slot slot = players.get(playerName);
+        return slot == null ? -1 : slot.score;
+    }
+
+    /**
+     * Get the competition rank of a player, e.g. the ranks of the scores 120, 110, 110 and 100 are 1, 2, 2 and 4.
+     *
+     * @param playerName the name of the player.
+     * @return 1 + the number of the players who have higher scores, or -1 if the player is not on the leaderboard.
+     */
+    public int getRank(String playerName) {
+        Slot slot = players.get(playerName);
+        return slot == null ? -1 : countHigherPlayers(slot.score) + 1;
+    }
+
+    /**
+     * Get the players of the k highest scores, i.e. the first k players of the leaderboard.
+     *
+     * @param k the number of players.
+     * @return the first k players, or all players if there are less than k players.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public List<Entry> getTopEntries(int k) {
+        return getEntries(0, k);
+    }
+
+    /**
+     * Get the players around a position of the leaderboard, e.g. to show the neighbours of a player.
+     *
+     * @param position the position, where 0 is the first.
+     * @param radius   the number of players before and after the position.
+     * @return the players from position - radius to position + radius that are on the leaderboard.
+     * @throws IllegalArgumentException if the position or the radius is negative.
+     */
+    public List<Entry> getEntriesAround(int position, int radius) {
+        if (position < 0 || radius < 0) {
+            throw new IllegalArgumentException("wrong position or radius");
+        }
+        int fromPosition = Math.max(0, position - radius);
+        int toPosition = (int) Math.min((long) position + radius, Integer.MAX_VALUE - 1);
+        return getEntries(fromPosition, toPosition + 1 - fromPosition);
+    }
+
+    /**
+     * Get the players from a position of the leaderboard. The players of the same score are in no particular order,
+     * and they have the same rank.
+     *
+     * @param fromPosition the first position, where 0 is the first.
+     * @param count        the number of players.
+     * @return the players from the position, which are less than count at the end of the leaderboard.
+     * @throws IllegalArgumentException if the position or the count is negative.
+     */
+    public List<Entry> getEntries(int fromPosition, int count) {
+        if (fromPosition < 0 || count < 0) {
+            throw new IllegalArgumentException("wrong position or count");
+        }
+        List<Entry> entries = new ArrayList<>(Math.min(count, 1024));
+        if (count == 0) {
+            return entries;
+        }
+
+        // Find the bucket of the position by descending the tree.
+        int index = 0;
+        int numberOfHigherPlayers = 0;
+        for (int step = HIGHEST_POWER_OF_TWO; step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= NUMBER_OF_SCORES) {
+                int numberOfPlayers = tree.get(next);
+                if (numberOfHigherPlayers + numberOfPlayers <= fromPosition) {
+                    index = next;
+                    numberOfHigherPlayers += numberOfPlayers;
+                }
+            }
+        }
+        int offset = fromPosition - numberOfHigherPlayers;
+        for (int score = MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME - index;
+             score >= 0 && entries.size() < count; score--) {
+            Bucket bucket = buckets[score];
+            if (bucket.size == 0) {
+                continue;
+            }
+            int rank = countHigherPlayers(score) + 1;
+            synchronized (bucket) {
+                for (int i = offset; i < bucket.size && entries.size() < count; i++) {
+                    entries.add(new Entry(bucket.slots[i].playerName, score, rank));
+                }
+            }
+            offset = 0;
+        }
+        return entries;
+    }
+
+    // The number of the players of higher scores than the score.
+    private int countHigherPlayers(int score) {
+        int count = 0;
+        for (int i = MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME - score; i > 0; i -= i & -i) {
+            count += tree.get(i);
+        }
+        return count;
+    }
+
+    private void add(int score, int delta) {
+        for (int i = MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME - score + 1; i <= NUMBER_OF_SCORES;
+             i += i & -i) {
+            tree.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * A player at a position of the leaderboard.
+     */
+    public static final class Entry {
+        private final String playerName;
+        private final int score;
+        private final int rank;
+
+        Entry(String playerName, int score, int rank) {
+            this.playerName = playerName;
+            this.score = score;
+            this.rank = rank;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Get the competition rank of the player when it was listed.
+         *
+         * @return 1 + the number of the players who had higher scores.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        @Override
+        public String toString() {
+            return rank + ". " + playerName + " " + score;
+        }
+    }
+
+    // The best score of a player, and its index in the bucket of the score.
+    private static final class Slot {
+        private final String playerName;
+        private final int score;
+        private int index;
+
+        Slot(String playerName, int score) {
+            this.playerName = playerName;
+            this.score = score;
+        }
+    }
+
+    // The players of a score, which are guarded by the bucket. The size is read without the lock to skip empty
+    // buckets.
+    private static final class Bucket {
+        private Slot[] slots = new Slot[4];
+        private volatile int size;
+
+        synchronized void add(Slot slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slot.index = size;
+            slots[size] = slot;
+            size++;
+        }
+
+        synchronized void remove(Slot slot) {
+            int last = size - 1;
+            Slot lastSlot = slots[last];
+            slots[slot.index] = lastSlot;
+            lastSlot.index = slot.index;
+            slots[last] = null;
+            size = last;
+        }
+    }
+}
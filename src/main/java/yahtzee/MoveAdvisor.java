@@ -0,0 +1,112 @@
+package yahtzee;
+
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * The hints of the optimal play are implemented here.
+ * The decisions of a turn are evaluated once when the first hint of the turn is asked, and the other hints
+ * of the turn are only looked up, without creating any object.
+ * It is not thread-safe, so each game needs its own advisor, while they can share the strategy table.
+ *
+ * @author Yoochul Kim
+ */
+public class MoveAdvisor {
+    private final TurnEvaluator turnEvaluator;
+
+    // The state index of the turn evaluated by the turn evaluator, or -1 before any hint.
+    private int evaluatedStateIndex = -1;
+
+    /**
+     * Initialize an advisor.
+     *
+     * @param strategyTable the expected scores of the optimal play.
+     */
+    public MoveAdvisor(StrategyTable strategyTable) {
+        this.turnEvaluator = new TurnEvaluator(strategyTable);
+    }
+
+    /**
+     * Get the best dice to keep before rerolling, and put the expected final score of keeping each dice
+     * combination into the specified array.
+     *
+     * @param player         the player who has the turn.
+     * @param diceState      the rolled dice packed by DiceState.
+     * @param rerollsLeft    the number of rerolls left, 1 or 2.
+     * @param expectedScores the array of which length is at least 32, expectedScores[keptDiceMask] will be
+     *                       the expected final score when the dice of keptDiceMask are kept, where
+     *                       keeping all dice means not rerolling.
+     * @return the best kept dice mask, bit dieNumber is set if the die should be kept.
+     * @throws IllegalArgumentException if the dice have not been rolled or no reroll is left.
+     * @throws IllegalStateException    if all categories of the player are filled.
+     */
+    public int getBestKeptDiceMask(Player player, int diceState, int rerollsLeft, double[] expectedScores) {
+        if (rerollsLeft < 1 || NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS < rerollsLeft) {
+            throw new IllegalArgumentException("wrong number of rerolls left");
+        }
+        evaluate(player, diceState);
+
+        int runningTotalScore = player.getRunningTotalScore();
+        int bestKeptDiceMask = 0;
+        for (int keptDiceMask = 0; keptDiceMask <= DiceState.ALL_DICE_MASK; keptDiceMask++) {
+            int keptHand = RerollTable.keptHandOfDiceState(diceState, keptDiceMask);
+            expectedScores[keptDiceMask] = runningTotalScore + turnEvaluator.getKeptValue(keptHand, rerollsLeft);
+            // The smallest mask is kept on ties.
+            if (expectedScores[keptDiceMask] > expectedScores[bestKeptDiceMask]) {
+                bestKeptDiceMask = keptDiceMask;
+            }
+        }
+        return bestKeptDiceMask;
+    }
+
+    /**
+     * Get the best category to fill with the dice, and put the expected final score of filling each category
+     * into the specified array.
+     *
+     * @param player         the player who has the turn.
+     * @param diceState      the rolled dice packed by DiceState.
+     * @param expectedScores the array of which length is at least 13, expectedScores[categoryNumber] will be
+     *                       the expected final score when the category is filled, or negative infinity
+     *                       if the category has been filled.
+     * @return the best category number.
+     * @throws IllegalArgumentException if the dice have not been rolled.
+     * @throws IllegalStateException    if all categories of the player are filled.
+     */
+    public int getBestCategory(Player player, int diceState, double[] expectedScores) {
+        evaluate(player, diceState);
+
+        int runningTotalScore = player.getRunningTotalScore();
+        int hand = DiceState.getHand(diceState);
+        int availableCategoriesMask = player.getAvailableCategoriesMask();
+        int bestCategory = -1;
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            if ((availableCategoriesMask & 1 << categoryNumber) == 0) {
+                expectedScores[categoryNumber] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            expectedScores[categoryNumber] = runningTotalScore + turnEvaluator.getCategoryValue(hand, categoryNumber);
+            if (bestCategory < 0 || expectedScores[categoryNumber] > expectedScores[bestCategory]) {
+                bestCategory = categoryNumber;
+            }
+        }
+        return bestCategory;
+    }
+
+    // Evaluate the turn of the player unless it has been evaluated.
+    private void evaluate(Player player, int diceState) {
+        if (!DiceState.isRolled(diceState)) {
+            throw new IllegalArgumentException("The dice have not been rolled.");
+        }
+        int filledCategoriesMask = player.getFilledCategoriesMask();
+        if (filledCategoriesMask == ALL_CATEGORIES_MASK) {
+            throw new IllegalStateException("All categories have been filled.");
+        }
+
+        int stateIndex = StrategyTable.stateIndex(filledCategoriesMask, player.getUpperSectionScore());
+        if (stateIndex != evaluatedStateIndex) {
+            turnEvaluator.evaluate(filledCategoriesMask, player.getUpperSectionScore());
+            evaluatedStateIndex = stateIndex;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package yahtzee;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * The strategy that maximizes the expected final score is implemented here with the move advisor.
+ *
+ * @author Yoochul Kim
+ */
+public class OptimalStrategy implements Strategy {
+    private final MoveAdvisor moveAdvisor;
+
+    // The expected scores of the alternatives, which are not used by the simulation.
+    private final double[] keptDiceExpectedScores = new double[DiceState.ALL_DICE_MASK + 1];
+    private final double[] categoryExpectedScores = new double[NUMBER_OF_CATEGORIES];
+
+    /**
+     * Initialize an optimal strategy.
+     *
+     * @param strategyTable the expected scores of the optimal play, which can be shared by strategies.
+     */
+    public OptimalStrategy(StrategyTable strategyTable) {
+        this.moveAdvisor = new MoveAdvisor(strategyTable);
+    }
+
+    @Override
+    public int chooseKeptDiceMask(Player player, int diceState, int rerollsLeft) {
+        return moveAdvisor.getBestKeptDiceMask(player, diceState, rerollsLeft, keptDiceExpectedScores);
+    }
+
+    @Override
+    public int chooseCategory(Player player, int diceState) {
+        return moveAdvisor.getBestCategory(player, diceState, categoryExpectedScores);
+    }
+}
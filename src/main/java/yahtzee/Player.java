@@ -13,7 +13,12 @@ public class Player {
     // 0: Ones, 1: Twos, 2: Threes, 3: Fours, 4: Fives, 5: Sixes, 6: Three of a kind,
     // 7: Four of a kind, 8: Full House, 9: Small straight, 10: Large straight, 11: Chance, 12: YAHTZEE
     private int[] categoriesScores;
-    private boolean[] areCategoriesFilled;
+    // Bit categoryNumber is set when the category is filled.
+    private int filledCategoriesMask;
+
+    // The running totals, which are updated whenever a category is filled.
+    private int upperSectionScore;
+    private int lowerSectionScore;
 
     private String name;
 
@@ -34,10 +39,27 @@ public class Player {
         this.name = name;
 
         categoriesScores = new int[NUMBER_OF_CATEGORIES];
-        areCategoriesFilled = new boolean[NUMBER_OF_CATEGORIES];
 
         Arrays.fill(categoriesScores, 0);
-        Arrays.fill(areCategoriesFilled, false);
+        filledCategoriesMask = 0;
+
+        upperSectionScore = 0;
+        lowerSectionScore = 0;
+
+        totalScore = 0;
+
+        hasWon = false;
+    }
+
+    /**
+     * Clear the score sheet for a new game, so a player can be reused without creating any object.
+     */
+    public void resetScores() {
+        Arrays.fill(categoriesScores, 0);
+        filledCategoriesMask = 0;
+
+        upperSectionScore = 0;
+        lowerSectionScore = 0;
 
         totalScore = 0;
 
@@ -106,7 +128,13 @@ public class Player {
     public void fillCategory(int categoryNumber, int score) {
         if (canChooseThisCategory(categoryNumber)) {
             categoriesScores[categoryNumber] = score;
-            areCategoriesFilled[categoryNumber] = true;
+            filledCategoriesMask |= 1 << categoryNumber;
+
+            if (categoryNumber <= LAST_NUMBER_OF_THE_UPPER_SECTION) {
+                upperSectionScore += score;
+            } else {
+                lowerSectionScore += score;
+            }
         } else {
             throw new IllegalArgumentException("The Category has been already filled");
         }
@@ -120,30 +148,17 @@ public class Player {
      * @return isCategoryAvailable true if the category can be chosen.
      */
     public boolean canChooseThisCategory(int categoryNumber) {
-        return !areCategoriesFilled[categoryNumber];
+        return (filledCategoriesMask & 1 << categoryNumber) == 0;
     }
 
     /**
-     * Get the available categories.
+     * Get the available categories. The array is shared by all players
+     * who have filled the same categories, so it must not be modified.
      *
      * @return availableCategoriesArray
      */
     public int[] getAvailableCategories() {
-        List<Integer> availableCategoriesList = new ArrayList<>();
-
-        for (int i = 0; i < areCategoriesFilled.length; i++) {
-            if (!areCategoriesFilled[i]) {
-                availableCategoriesList.add(i);
-            }
-        }
-
-        int[] availableCategoriesArray = new int[availableCategoriesList.size()];
-
-        for (int i = 0; i < availableCategoriesList.size(); i++) {
-            availableCategoriesArray[i] = availableCategoriesList.get(i);
-        }
-
-        return availableCategoriesArray;
+        return Category.getAvailableCategories(filledCategoriesMask);
     }
 
     /**
@@ -151,16 +166,95 @@ public class Player {
      * If only 0 and 1 in the areCategoriesFilled array are filled,
      * and the value of dice are 2, 2, 2, 3, and 3,
      * [ 2=6, 3=6, 4=0, ...] would be returned.
+     * It wraps getScoresOfAvailableCombinations(Die[], int[]), which does not create any object.
      *
      * @param dice to be used for finding combinations.
      * @return map of scores of all available combinations.
      */
     public Map<Integer, Integer> getScoresOfAvailableCombinations(Die[] dice) {
+        int[] scores = new int[NUMBER_OF_CATEGORIES];
+        int availableCategoriesMask = getScoresOfAvailableCombinations(dice, scores);
+
+        return toAvailableCombinationsMap(availableCategoriesMask, scores);
+    }
+
+    /**
+     * Get scores of all available combinations of the packed dice.
+     * It wraps getScoresOfAvailableCombinations(int, int[]), which does not create any object.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @return map of scores of all available combinations.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public Map<Integer, Integer> getScoresOfAvailableCombinations(int diceState) {
+        int[] scores = new int[NUMBER_OF_CATEGORIES];
+        int availableCategoriesMask = getScoresOfAvailableCombinations(diceState, scores);
+
+        return toAvailableCombinationsMap(availableCategoriesMask, scores);
+    }
+
+    /**
+     * Put scores of all categories into the specified array and get the available categories.
+     * The scores of the filled categories are also put, so check the returned mask.
+     *
+     * @param dice   to be used for finding combinations.
+     * @param scores the array of which length is at least 13, scores[categoryNumber] will be the score.
+     * @return the bit mask of available categories, bit categoryNumber is set if the category can be chosen.
+     */
+    public int getScoresOfAvailableCombinations(Die[] dice, int[] scores) {
+        int hand = ScoreTable.handIndexOf(dice);
+
+        for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+            // The dice that have not been rolled yet are not in the table.
+            scores[i] = hand < 0 ? Category.score(i, dice) : ScoreTable.score(hand, i);
+        }
+
+        return getAvailableCategoriesMask();
+    }
+
+    /**
+     * Put scores of all categories of the packed dice into the specified array and get the available categories.
+     * The scores of the filled categories are also put, so check the returned mask.
+     *
+     * @param diceState the rolled dice packed by DiceState.
+     * @param scores    the array of which length is at least 13, scores[categoryNumber] will be the score.
+     * @return the bit mask of available categories, bit categoryNumber is set if the category can be chosen.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public int getScoresOfAvailableCombinations(int diceState, int[] scores) {
+        int hand = DiceState.getRolledHand(diceState);
+
+        for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+            scores[i] = ScoreTable.score(hand, i);
+        }
+
+        return getAvailableCategoriesMask();
+    }
+
+    /**
+     * Get the available categories as a bit mask.
+     *
+     * @return the bit mask of available categories, bit categoryNumber is set if the category can be chosen.
+     */
+    public int getAvailableCategoriesMask() {
+        return ~filledCategoriesMask & ALL_CATEGORIES_MASK;
+    }
+
+    /**
+     * Get the filled categories as a bit mask.
+     *
+     * @return the bit mask of filled categories, bit categoryNumber is set if the category is filled.
+     */
+    public int getFilledCategoriesMask() {
+        return filledCategoriesMask;
+    }
+
+    private Map<Integer, Integer> toAvailableCombinationsMap(int availableCategoriesMask, int[] scores) {
         Map<Integer, Integer> availableCombinationsMap = new HashMap<>();
 
         for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
-            if (!areCategoriesFilled[i]) {
-                availableCombinationsMap.put(i, calculateCategoryScore(i, dice));
+            if ((availableCategoriesMask & 1 << i) != 0) {
+                availableCombinationsMap.put(i, scores[i]);
             }
         }
 
@@ -179,51 +273,30 @@ public class Player {
             throw new IllegalArgumentException("wrong categories selection");
         }
 
-        int result = 0;
-
-        switch (Type.valueOf(categoryNumber)) {
-            case ACE:
-                result = Category.aces(dice);
-                break;
-            case TWOS:
-                result = Category.twos(dice);
-                break;
-            case THREES:
-                result = Category.threes(dice);
-                break;
-            case FOURS:
-                result = Category.fours(dice);
-                break;
-            case FIVES:
-                result = Category.fives(dice);
-                break;
-            case SIXES:
-                result = Category.sixes(dice);
-                break;
-            case THREE_OF_A_KIND:
-                result = Category.threeOfAKind(dice);
-                break;
-            case FOUR_OF_A_KIND:
-                result = Category.fourOfAKind(dice);
-                break;
-            case FULL_HOUSE:
-                result = Category.fullHouse(dice);
-                break;
-            case SMALL_STRAIGHT:
-                result = Category.smallStraight(dice);
-                break;
-            case LARGE_STRAIGHT:
-                result = Category.largeStraight(dice);
-                break;
-            case CHANCE:
-                result = Category.chance(dice);
-                break;
-            case YAHTZEE:
-                result = Category.yahtzee(dice);
-                break;
+        int hand = ScoreTable.handIndexOf(dice);
+
+        // The dice that have not been rolled yet are not in the table.
+        if (hand < 0) {
+            return Category.score(categoryNumber, dice);
+        }
+
+        return ScoreTable.score(hand, categoryNumber);
+    }
+
+    /**
+     * Calculate the score of a certain category of the packed dice.
+     *
+     * @param categoryNumber the certain number of category. e.g, Aces = 0, Twos = 1, ... .
+     * @param diceState      the rolled dice packed by DiceState.
+     * @return the score of a certain category.
+     * @throws IllegalStateException if the dice have not been rolled.
+     */
+    public int calculateCategoryScore(int categoryNumber, int diceState) {
+        if (categoryNumber < CATEGORY_RANGE[0] || CATEGORY_RANGE[1] < categoryNumber) {
+            throw new IllegalArgumentException("wrong categories selection");
         }
 
-        return result;
+        return ScoreTable.score(DiceState.getRolledHand(diceState), categoryNumber);
     }
 
     /**
@@ -237,36 +310,67 @@ public class Player {
 
     /**
      * Check if the categories are filled.
+     * It is created from getFilledCategoriesMask(), so modifying it does not fill any category.
      *
      * @return areCategoriesFilled boolean list of the categories.
      */
     public boolean[] areCategoriesFilled() {
+        boolean[] areCategoriesFilled = new boolean[NUMBER_OF_CATEGORIES];
+
+        for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+            areCategoriesFilled[i] = (filledCategoriesMask & 1 << i) != 0;
+        }
+
         return areCategoriesFilled;
     }
 
+    /**
+     * Get the total score of the upper section (Aces to Sixes) filled so far.
+     *
+     * @return upperSectionScore the total score of the upper section.
+     */
+    public int getUpperSectionScore() {
+        return upperSectionScore;
+    }
+
+    /**
+     * Get the total score of the lower section (Three of a kind to Yahtzee) filled so far.
+     *
+     * @return lowerSectionScore the total score of the lower section.
+     */
+    public int getLowerSectionScore() {
+        return lowerSectionScore;
+    }
+
+    /**
+     * Check if the upper section has already gone over 63, i.e. the bonus is obtained.
+     *
+     * @return true if the upper section bonus is obtained.
+     */
+    public boolean hasUpperSectionBonus() {
+        return hasUpperSectionGoneOver63(upperSectionScore);
+    }
+
+    /**
+     * Get the total score of the categories filled so far including the upper section bonus.
+     * Unlike getTotalScore(), it can be used in the middle of the game.
+     *
+     * @return the live total score.
+     */
+    public int getRunningTotalScore() {
+        return upperSectionScore + lowerSectionScore + (hasUpperSectionBonus() ? UPPER_SECTION_BONUS : 0);
+    }
+
     /**
      * Calculate total score in the categories, if one succeed in
      * Yahtzee and getting over 63 score in upper section, they
-     * would have extra bonus.
+     * would have extra bonus. It can be called more than once.
      */
     public void calculateTotalScore() {
-        for (boolean isCategoryFilled : areCategoriesFilled) {
-            if (!isCategoryFilled)
-                throw new IllegalStateException("The game has not finished, please fill all the categories");
-        }
-
-        int sum = 0;
-        int upperSectionTotalScore = 0;
+        if (filledCategoriesMask != ALL_CATEGORIES_MASK)
+            throw new IllegalStateException("The game has not finished, please fill all the categories");
 
-        for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
-            if (i <= LAST_NUMBER_OF_THE_UPPER_SECTION) {
-                upperSectionTotalScore += categoriesScores[i];
-            }
-            sum += categoriesScores[i];
-        }
-
-        if (hasUpperSectionGoneOver63(upperSectionTotalScore)) increaseTotalScoreBy(UPPER_SECTION_BONUS);
-        increaseTotalScoreBy(sum);
+        totalScore = getRunningTotalScore();
     }
 
     /**
@@ -278,8 +382,4 @@ public class Player {
     private boolean hasUpperSectionGoneOver63(int upperSectionTotalScore) {
         return upperSectionTotalScore >= UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
     }
-
-    private void increaseTotalScoreBy(int plusScore){
-        totalScore += plusScore;
-    }
-}
\ No newline at end of file
+}
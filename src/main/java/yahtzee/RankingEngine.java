@@ -0,0 +1,229 @@
+package yahtzee;
+
+import java.util.Arrays;
+
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * The ranking of the players of a game is implemented here.
+ * A score is between 0 and 414, so the players are sorted by counting the players of each score,
+ * and the ranks come from the counts of the higher scores, i.e. ranking n players takes O(n + 415) time
+ * without comparing any two players. YahtzeeGame.fillCategory() accepts any score, so if a score is out of the
+ * range the players are sorted by comparison in O(n log n) time instead, with the same ranks and order.
+ * It reuses its arrays for every ranking, so it is not thread-safe.
+ *
+ * @author Yoochul Kim
+ */
+public class RankingEngine {
+    /**
+     * Number of possible scores (0 to 414).
+     */
+    public static final int NUMBER_OF_SCORES = MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1;
+
+    private final int[] scoreCounts = new int[NUMBER_OF_SCORES];
+    // competitionRanksOfScore[score] is 1 + the number of players of higher scores.
+    private final int[] competitionRanksOfScore = new int[NUMBER_OF_SCORES];
+    // denseRanksOfScore[score] is 1 + the number of higher scores that some players have.
+    private final int[] denseRanksOfScore = new int[NUMBER_OF_SCORES];
+    private final int[] nextPositionsOfScore = new int[NUMBER_OF_SCORES];
+
+    private Player[] players;
+    private int numberOfPlayers;
+    private int[] scores = new int[0];
+    private boolean hasScoresOutOfRange;
+    private int[] competitionRanks = new int[0];
+    private int[] denseRanks = new int[0];
+    // The player numbers ordered by descending score, the players of the same score are in the player number order.
+    private int[] rankedPlayerNumbers = new int[0];
+    private int numberOfWinners;
+
+    /**
+     * Rank the players by their total scores, which are set by YahtzeeGame.calculateScores().
+     *
+     * @param players the players to be ranked.
+     */
+    public void rankByTotalScore(Player[] players) {
+        prepare(players);
+        for (int i = 0; i < numberOfPlayers; i++) {
+            scores[i] = checkScore(players[i].getTotalScore());
+        }
+        rank();
+    }
+
+    /**
+     * Rank the players by the scores of their categories filled so far, so it can be used in the middle of the game.
+     *
+     * @param players the players to be ranked.
+     */
+    public void rankByRunningTotalScore(Player[] players) {
+        prepare(players);
+        for (int i = 0; i < numberOfPlayers; i++) {
+            scores[i] = checkScore(players[i].getRunningTotalScore());
+        }
+        rank();
+    }
+
+    private void prepare(Player[] players) {
+        this.players = players;
+        numberOfPlayers = players.length;
+        hasScoresOutOfRange = false;
+        if (scores.length < numberOfPlayers) {
+            scores = new int[numberOfPlayers];
+            rankedPlayerNumbers = new int[numberOfPlayers];
+            competitionRanks = new int[numberOfPlayers];
+            denseRanks = new int[numberOfPlayers];
+        }
+    }
+
+    private int checkScore(int score) {
+        if (score < 0 || MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME < score) {
+            hasScoresOutOfRange = true;
+        }
+        return score;
+    }
+
+    private void rank() {
+        if (hasScoresOutOfRange) {
+            rankByComparison();
+            return;
+        }
+
+        Arrays.fill(scoreCounts, 0);
+        for (int i = 0; i < numberOfPlayers; i++) {
+            scoreCounts[scores[i]]++;
+        }
+
+        numberOfWinners = 0;
+        int numberOfHigherPlayers = 0;
+        int numberOfHigherScores = 0;
+        for (int score = MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME; score >= 0; score--) {
+            competitionRanksOfScore[score] = numberOfHigherPlayers + 1;
+            denseRanksOfScore[score] = numberOfHigherScores + 1;
+            nextPositionsOfScore[score] = numberOfHigherPlayers;
+            if (scoreCounts[score] != 0) {
+                if (numberOfWinners == 0) {
+                    numberOfWinners = scoreCounts[score];
+                }
+                numberOfHigherPlayers += scoreCounts[score];
+                numberOfHigherScores++;
+            }
+        }
+
+        // The players are put in the player number order, so the players of the same score stay in the order.
+        for (int i = 0; i < numberOfPlayers; i++) {
+            rankedPlayerNumbers[nextPositionsOfScore[scores[i]]++] = i;
+            competitionRanks[i] = competitionRanksOfScore[scores[i]];
+            denseRanks[i] = denseRanksOfScore[scores[i]];
+        }
+    }
+
+    // The sort of objects is stable, so the players of the same score stay in the player number order.
+    private void rankByComparison() {
+        Integer[] playerNumbers = new Integer[numberOfPlayers];
+        for (int i = 0; i < numberOfPlayers; i++) {
+            playerNumbers[i] = i;
+        }
+        Arrays.sort(playerNumbers, (a, b) -> Integer.compare(scores[b], scores[a]));
+
+        numberOfWinners = 0;
+        int competitionRank = 0;
+        int denseRank = 0;
+        for (int position = 0; position < numberOfPlayers; position++) {
+            int playerNumber = playerNumbers[position];
+            rankedPlayerNumbers[position] = playerNumber;
+            if (position == 0 || scores[playerNumber] != scores[playerNumbers[position - 1]]) {
+                competitionRank = position + 1;
+                denseRank++;
+            }
+            competitionRanks[playerNumber] = competitionRank;
+            denseRanks[playerNumber] = denseRank;
+            if (denseRank == 1) {
+                numberOfWinners++;
+            }
+        }
+    }
+
+    /**
+     * Get the number of the ranked players.
+     *
+     * @return the number of players, or 0 before the first ranking.
+     */
+    public int getNumberOfPlayers() {
+        return numberOfPlayers;
+    }
+
+    /**
+     * Get the score by which a player is ranked.
+     *
+     * @param playerNumber the array number of the player in the ranked players.
+     * @return the score of the player.
+     */
+    public int getScore(int playerNumber) {
+        return scores[checkPlayerNumber(playerNumber)];
+    }
+
+    /**
+     * Get the competition rank of a player, e.g. the ranks of the scores 120, 110, 110 and 100 are 1, 2, 2 and 4.
+     *
+     * @param playerNumber the array number of the player in the ranked players.
+     * @return 1 + the number of the players who have higher scores.
+     */
+    public int getCompetitionRank(int playerNumber) {
+        return competitionRanks[checkPlayerNumber(playerNumber)];
+    }
+
+    /**
+     * Get the dense rank of a player, e.g. the ranks of the scores 120, 110, 110 and 100 are 1, 2, 2 and 3.
+     *
+     * @param playerNumber the array number of the player in the ranked players.
+     * @return 1 + the number of the distinct higher scores.
+     */
+    public int getDenseRank(int playerNumber) {
+        return denseRanks[checkPlayerNumber(playerNumber)];
+    }
+
+    /**
+     * Get the array number of the player at a position of the ranking.
+     *
+     * @param position the position between 0 and the number of players - 1, where 0 is the first.
+     * @return the array number of the player, the players of the same score are in the array order.
+     */
+    public int getRankedPlayerNumber(int position) {
+        return rankedPlayerNumbers[checkPlayerNumber(position)];
+    }
+
+    /**
+     * Get the players of the highest score in the array order.
+     *
+     * @return the winners, which are empty if there is no player.
+     */
+    public Player[] getWinners() {
+        return getTopPlayers(numberOfWinners);
+    }
+
+    /**
+     * Get the players of the k highest scores, i.e. the first k players of the ranking.
+     * The players of the same score are in the array order, so a tie at the k-th position is not broken by score.
+     *
+     * @param k the number of players.
+     * @return the first k players, or all players if there are less than k players.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public Player[] getTopPlayers(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("wrong number of players: " + k);
+        }
+        Player[] topPlayers = new Player[Math.min(k, numberOfPlayers)];
+        for (int i = 0; i < topPlayers.length; i++) {
+            topPlayers[i] = players[rankedPlayerNumbers[i]];
+        }
+        return topPlayers;
+    }
+
+    private int checkPlayerNumber(int playerNumber) {
+        if (playerNumber < 0 || numberOfPlayers <= playerNumber) {
+            throw new IllegalArgumentException("wrong player number: " + playerNumber);
+        }
+        return playerNumber;
+    }
+}
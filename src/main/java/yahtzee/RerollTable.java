@@ -0,0 +1,321 @@
+package yahtzee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+import static yahtzee.ScoreTable.NUMBER_OF_FACES;
+import static yahtzee.ScoreTable.NUMBER_OF_HANDS;
+
+/**
+ * The exact outcomes of rerolling dice are implemented here.
+ * The dice kept from a hand are a kept hand, a sorted combination of 0 to 5 dice. The 32 keep masks of a hand
+ * are mapped to kept hands, so the masks that keep the same faces share one kept hand, and the outcomes of
+ * each kept hand are stored once in flat arrays:
+ * the outcome i of a kept hand is getOutcomeHand(i) with getOutcomeProbability(i), for i from
+ * getOutcomeStart(keptHand) to getOutcomeStart(keptHand + 1) - 1.
+ *
+ * @author Yoochul Kim
+ */
+public final class RerollTable {
+    /**
+     * Number of sorted combinations of 0 to 5 kept dice.
+     */
+    public static final int NUMBER_OF_KEPT_HANDS = 462;
+    /**
+     * The kept hand of no dice, i.e. rolling all dice.
+     */
+    public static final int EMPTY_KEPT_HAND = 0;
+    /**
+     * Number of keep masks of five dice.
+     */
+    public static final int NUMBER_OF_KEEP_MASKS = 1 << TOTAL_NUMBER_OF_DICE;
+
+    // keyOf(counts) is the sum of KEY_OF_FACE[face - 1] of the dice.
+    private static final int[] KEY_OF_FACE = {7776, 1296, 216, 36, 6, 1};
+
+    // The kept hand of the counts of the faces, indexed by keyOf(counts).
+    private static final short[] KEPT_HAND_OF_KEY = new short[KEY_OF_FACE[0] * NUMBER_OF_FACES];
+
+    // KEPT_HAND_OF_HAND[hand * 32 + keptDiceMask] is the kept hand, where keptDiceMask is over the sorted faces.
+    private static final short[] KEPT_HAND_OF_HAND = new short[NUMBER_OF_HANDS * NUMBER_OF_KEEP_MASKS];
+
+    private static final int[] NUMBER_OF_KEPT_DICE = new int[NUMBER_OF_KEPT_HANDS];
+    private static final int[] NUMBER_OF_ROLLS = new int[NUMBER_OF_KEPT_HANDS];
+
+    private static final int[] OUTCOME_STARTS = new int[NUMBER_OF_KEPT_HANDS + 1];
+    private static final short[] OUTCOME_HANDS;
+    private static final short[] OUTCOME_COUNTS;
+    private static final short[] OUTCOME_ROLLED_FACES;
+    private static final double[] OUTCOME_PROBABILITIES;
+
+    // The distinct kept hands of each hand, in the same layout as the outcomes.
+    private static final int[] SUBHAND_STARTS = new int[NUMBER_OF_HANDS + 1];
+    private static final short[] SUBHANDS;
+
+    static {
+        // Kept hands are enumerated by the number of kept dice, so the empty kept hand comes first.
+        int[][] keptCounts = new int[NUMBER_OF_KEPT_HANDS][];
+        int keptHand = 0;
+        for (int numberOfKeptDice = 0; numberOfKeptDice <= TOTAL_NUMBER_OF_DICE; numberOfKeptDice++) {
+            for (int[] counts : countsOf(numberOfKeptDice)) {
+                keptCounts[keptHand] = counts;
+                KEPT_HAND_OF_KEY[keyOf(counts)] = (short) keptHand;
+                NUMBER_OF_KEPT_DICE[keptHand] = numberOfKeptDice;
+                NUMBER_OF_ROLLS[keptHand] = (int) Math.pow(NUMBER_OF_FACES, TOTAL_NUMBER_OF_DICE - numberOfKeptDice);
+                keptHand++;
+            }
+        }
+
+        int outcomeSize = 0;
+        List<Map<Integer, Integer>> outcomes = new ArrayList<>();
+        for (keptHand = 0; keptHand < NUMBER_OF_KEPT_HANDS; keptHand++) {
+            int numberOfRolledDice = TOTAL_NUMBER_OF_DICE - NUMBER_OF_KEPT_DICE[keptHand];
+            int numberOfRolls = getNumberOfRolls(keptHand);
+
+            Map<Integer, Integer> outcomesOfKeptHand = new TreeMap<>();
+            for (int roll = 0; roll < numberOfRolls; roll++) {
+                int[] counts = keptCounts[keptHand].clone();
+                int rest = roll;
+                for (int i = 0; i < numberOfRolledDice; i++) {
+                    counts[rest % NUMBER_OF_FACES]++;
+                    rest /= NUMBER_OF_FACES;
+                }
+                outcomesOfKeptHand.merge(ScoreTable.handIndexOfCounts(counts), 1, Integer::sum);
+            }
+            outcomes.add(outcomesOfKeptHand);
+            outcomeSize += outcomesOfKeptHand.size();
+        }
+
+        OUTCOME_HANDS = new short[outcomeSize];
+        OUTCOME_COUNTS = new short[outcomeSize];
+        OUTCOME_ROLLED_FACES = new short[outcomeSize];
+        OUTCOME_PROBABILITIES = new double[outcomeSize];
+        int index = 0;
+        for (keptHand = 0; keptHand < NUMBER_OF_KEPT_HANDS; keptHand++) {
+            OUTCOME_STARTS[keptHand] = index;
+            for (Map.Entry<Integer, Integer> outcome : outcomes.get(keptHand).entrySet()) {
+                OUTCOME_HANDS[index] = (short) (int) outcome.getKey();
+                OUTCOME_COUNTS[index] = (short) (int) outcome.getValue();
+                OUTCOME_PROBABILITIES[index] = (double) outcome.getValue() / getNumberOfRolls(keptHand);
+
+                // The faces of the outcome that are not kept, in ascending order.
+                int[] remainingKeptCounts = keptCounts[keptHand].clone();
+                int rolledFaces = 0;
+                int numberOfRolledFaces = 0;
+                for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+                    int face = ScoreTable.getHandFace(outcome.getKey(), position);
+                    if (remainingKeptCounts[face - Die.MIN_DIE_VALUE] > 0) {
+                        remainingKeptCounts[face - Die.MIN_DIE_VALUE]--;
+                    } else {
+                        rolledFaces |= face << DiceState.BITS_PER_FACE * numberOfRolledFaces++;
+                    }
+                }
+                OUTCOME_ROLLED_FACES[index] = (short) rolledFaces;
+                index++;
+            }
+        }
+        OUTCOME_STARTS[NUMBER_OF_KEPT_HANDS] = index;
+
+        short[] subhands = new short[NUMBER_OF_HANDS * NUMBER_OF_KEEP_MASKS];
+        index = 0;
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            SUBHAND_STARTS[hand] = index;
+            boolean[] isAdded = new boolean[NUMBER_OF_KEPT_HANDS];
+            for (int keptDiceMask = 0; keptDiceMask < NUMBER_OF_KEEP_MASKS; keptDiceMask++) {
+                int key = 0;
+                for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+                    if ((keptDiceMask & 1 << position) != 0) {
+                        key += KEY_OF_FACE[ScoreTable.getHandFace(hand, position) - Die.MIN_DIE_VALUE];
+                    }
+                }
+                short subhand = KEPT_HAND_OF_KEY[key];
+                KEPT_HAND_OF_HAND[hand * NUMBER_OF_KEEP_MASKS + keptDiceMask] = subhand;
+                if (!isAdded[subhand]) {
+                    isAdded[subhand] = true;
+                    subhands[index++] = subhand;
+                }
+            }
+        }
+        SUBHAND_STARTS[NUMBER_OF_HANDS] = index;
+        SUBHANDS = Arrays.copyOf(subhands, index);
+    }
+
+    private RerollTable() {
+    }
+
+    /**
+     * Get the kept hand of the dice kept from a hand.
+     *
+     * @param hand         the hand index.
+     * @param keptDiceMask bit position is set if the die at the position of the sorted faces is kept.
+     * @return the kept hand index.
+     */
+    public static int keptHandOf(int hand, int keptDiceMask) {
+        return KEPT_HAND_OF_HAND[hand * NUMBER_OF_KEEP_MASKS + keptDiceMask];
+    }
+
+    /**
+     * Get the kept hand of the packed dice that are kept, e.g. by rollCertainDice().
+     *
+     * @param diceState    the rolled dice packed by DiceState.
+     * @param keptDiceMask bit dieNumber is set if the die is kept.
+     * @return the kept hand index.
+     */
+    public static int keptHandOfDiceState(int diceState, int keptDiceMask) {
+        int key = 0;
+        for (int dieNumber = 0; dieNumber < TOTAL_NUMBER_OF_DICE; dieNumber++) {
+            // The masks have no branch, as the kept dice are random in simulations.
+            int isKept = -(keptDiceMask >>> dieNumber & 1);
+            key += KEY_OF_FACE[DiceState.getFace(diceState, dieNumber) - Die.MIN_DIE_VALUE] & isKept;
+        }
+        return KEPT_HAND_OF_KEY[key];
+    }
+
+    /**
+     * Get the number of dice in a kept hand.
+     *
+     * @param keptHand the kept hand index.
+     * @return the number of kept dice.
+     */
+    public static int getNumberOfKeptDice(int keptHand) {
+        return NUMBER_OF_KEPT_DICE[keptHand];
+    }
+
+    /**
+     * Get the number of equally likely rolls of the dice that are not kept, i.e. 6 to the power of the number.
+     *
+     * @param keptHand the kept hand index.
+     * @return the number of rolls.
+     */
+    public static int getNumberOfRolls(int keptHand) {
+        return NUMBER_OF_ROLLS[keptHand];
+    }
+
+    /**
+     * Get the index of the first outcome of a kept hand.
+     * The outcomes of the kept hand end before getOutcomeStart(keptHand + 1).
+     *
+     * @param keptHand the kept hand index, or 462 for the end of the last kept hand.
+     * @return the index of the first outcome.
+     */
+    public static int getOutcomeStart(int keptHand) {
+        return OUTCOME_STARTS[keptHand];
+    }
+
+    /**
+     * Get the hand of an outcome.
+     *
+     * @param outcome the outcome index.
+     * @return the hand index.
+     */
+    public static int getOutcomeHand(int outcome) {
+        return OUTCOME_HANDS[outcome];
+    }
+
+    /**
+     * Get the number of rolls that make an outcome, i.e. the exact probability is the count divided by
+     * getNumberOfRolls() of the kept hand.
+     *
+     * @param outcome the outcome index.
+     * @return the number of rolls.
+     */
+    public static int getOutcomeCount(int outcome) {
+        return OUTCOME_COUNTS[outcome];
+    }
+
+    /**
+     * Get the faces of an outcome that are not kept, i.e. the faces of the rerolled dice in ascending order.
+     *
+     * @param outcome the outcome index.
+     * @return the faces packed by 3 bits for each face, the lowest face at the lowest bits.
+     */
+    public static int getOutcomeRolledFaces(int outcome) {
+        return OUTCOME_ROLLED_FACES[outcome];
+    }
+
+    /**
+     * Get the probability of an outcome.
+     *
+     * @param outcome the outcome index.
+     * @return the probability.
+     */
+    public static double getOutcomeProbability(int outcome) {
+        return OUTCOME_PROBABILITIES[outcome];
+    }
+
+    /**
+     * Get the total number of outcomes of all kept hands.
+     *
+     * @return the number of outcomes.
+     */
+    public static int getNumberOfOutcomes() {
+        return OUTCOME_HANDS.length;
+    }
+
+    /**
+     * Get the index of the first distinct kept hand of a hand.
+     * The distinct kept hands of the hand end before getSubhandStart(hand + 1).
+     *
+     * @param hand the hand index, or 252 for the end of the last hand.
+     * @return the index of the first distinct kept hand.
+     */
+    public static int getSubhandStart(int hand) {
+        return SUBHAND_STARTS[hand];
+    }
+
+    /**
+     * Get a distinct kept hand.
+     *
+     * @param subhand the index of the distinct kept hand.
+     * @return the kept hand index.
+     */
+    public static int getSubhand(int subhand) {
+        return SUBHANDS[subhand];
+    }
+
+    /**
+     * Get the expected value of the hands after rerolling the dice that are not kept.
+     *
+     * @param keptHand   the kept hand index.
+     * @param handValues the values indexed by hand.
+     * @return the expected value.
+     */
+    public static double expectationOf(int keptHand, double[] handValues) {
+        double expectation = 0;
+        for (int i = OUTCOME_STARTS[keptHand]; i < OUTCOME_STARTS[keptHand + 1]; i++) {
+            expectation += OUTCOME_PROBABILITIES[i] * handValues[OUTCOME_HANDS[i]];
+        }
+        return expectation;
+    }
+
+    // All counts of the faces of the number of dice, from the most dice of the lowest face.
+    private static int[][] countsOf(int numberOfDice) {
+        List<int[]> result = new ArrayList<>();
+        addCounts(new int[NUMBER_OF_FACES], 0, numberOfDice, result);
+        return result.toArray(new int[0][]);
+    }
+
+    private static void addCounts(int[] counts, int face, int remainingDice, List<int[]> result) {
+        if (face == NUMBER_OF_FACES - 1) {
+            counts[face] = remainingDice;
+            result.add(counts.clone());
+            return;
+        }
+        for (int count = remainingDice; count >= 0; count--) {
+            counts[face] = count;
+            addCounts(counts, face + 1, remainingDice - count, result);
+        }
+    }
+
+    private static int keyOf(int[] counts) {
+        int key = 0;
+        for (int count : counts) {
+            key = key * NUMBER_OF_FACES + count;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,28 @@
+package yahtzee;
+
+/**
+ * The observer of every roll of the dice of a game is declared here, e.g. to monitor the fairness of the dice.
+ * It is called on the thread that rolls the dice, so it must be fast.
+ *
+ * @author Yoochul Kim
+ */
+public interface RollObserver {
+    /**
+     * The dice have been rolled.
+     *
+     * @param keptDiceMask bit dieNumber is set if the die was kept, i.e. the other dice were rolled.
+     * @param diceState    the dice after the roll, packed by DiceState.
+     */
+    void diceRolled(int keptDiceMask, int diceState);
+
+    /**
+     * The dice have been rolled in the fast roll mode of YahtzeeGameImpl, i.e. the hand is random but the rerolled
+     * faces are put on the dice in ascending order. It is diceRolled() by default.
+     *
+     * @param keptDiceMask bit dieNumber is set if the die was kept, i.e. the other dice were rolled.
+     * @param diceState    the dice after the roll, packed by DiceState.
+     */
+    default void handRolled(int keptDiceMask, int diceState) {
+        diceRolled(keptDiceMask, diceState);
+    }
+}
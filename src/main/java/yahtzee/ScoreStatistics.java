@@ -0,0 +1,277 @@
+package yahtzee;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Category.YAHTZEE_SCORE;
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * The statistics of the scores of finished players are implemented here.
+ * It keeps histograms instead of the players, i.e. the count of each total score and of each score of
+ * each category, so the statistics are exact and accumulators of threads or processes are merged by adding
+ * the counts. It is not thread-safe, so each thread adds to its own accumulator and merges it at the end.
+ *
+ * @author Yoochul Kim
+ */
+public class ScoreStatistics {
+    /**
+     * The highest score of a category, which is the yahtzee.
+     */
+    public static final int MAXIMUM_CATEGORY_SCORE = YAHTZEE_SCORE;
+
+    // "YZSS" in ASCII and the version of the serialized form.
+    private static final int MAGIC_NUMBER = 0x595A5353;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final long[] totalScoreCounts = new long[MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1];
+    private final long[][] categoryScoreCounts = new long[NUMBER_OF_CATEGORIES][MAXIMUM_CATEGORY_SCORE + 1];
+    private long numberOfGames;
+    private long numberOfBonuses;
+
+    /**
+     * Add the scores of a player whose categories are all filled.
+     *
+     * @param player the finished player with the total score calculated.
+     * @throws IllegalArgumentException if a score is out of range.
+     */
+    public void add(Player player) {
+        int totalScore = player.getTotalScore();
+        int[] categoriesScores = player.getCategoriesScores();
+        checkScore(totalScore, MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME);
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            checkScore(categoriesScores[categoryNumber], MAXIMUM_CATEGORY_SCORE);
+        }
+
+        totalScoreCounts[totalScore]++;
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            categoryScoreCounts[categoryNumber][categoriesScores[categoryNumber]]++;
+        }
+        if (player.hasUpperSectionBonus()) {
+            numberOfBonuses++;
+        }
+        numberOfGames++;
+    }
+
+    /**
+     * Add the counts of other statistics.
+     *
+     * @param other the statistics to be merged, which is not changed.
+     */
+    public void merge(ScoreStatistics other) {
+        for (int score = 0; score < totalScoreCounts.length; score++) {
+            totalScoreCounts[score] += other.totalScoreCounts[score];
+        }
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            for (int score = 0; score <= MAXIMUM_CATEGORY_SCORE; score++) {
+                categoryScoreCounts[categoryNumber][score] += other.categoryScoreCounts[categoryNumber][score];
+            }
+        }
+        numberOfGames += other.numberOfGames;
+        numberOfBonuses += other.numberOfBonuses;
+    }
+
+    public long getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    /**
+     * Get the number of games of a total score.
+     *
+     * @param totalScore the total score between 0 and 414.
+     * @return the number of games.
+     */
+    public long getTotalScoreCount(int totalScore) {
+        return totalScoreCounts[totalScore];
+    }
+
+    /**
+     * Get the number of games in which a category has a score.
+     *
+     * @param categoryNumber the category number.
+     * @param score          the score between 0 and 50.
+     * @return the number of games.
+     */
+    public long getCategoryScoreCount(int categoryNumber, int score) {
+        return categoryScoreCounts[categoryNumber][score];
+    }
+
+    /**
+     * Get the mean score of a category.
+     *
+     * @param categoryNumber the category number.
+     * @return the mean score.
+     */
+    public double getCategoryMeanScore(int categoryNumber) {
+        checkGames();
+        long sum = 0;
+        for (int score = 0; score <= MAXIMUM_CATEGORY_SCORE; score++) {
+            sum += score * categoryScoreCounts[categoryNumber][score];
+        }
+        return (double) sum / numberOfGames;
+    }
+
+    /**
+     * Get the rate of games in which the upper section bonus is made.
+     *
+     * @return the bonus hit rate between 0 and 1.
+     */
+    public double getBonusRate() {
+        checkGames();
+        return (double) numberOfBonuses / numberOfGames;
+    }
+
+    /**
+     * Get the mean of the total scores.
+     *
+     * @return the mean score.
+     */
+    public double getMeanScore() {
+        checkGames();
+        long sum = 0;
+        for (int score = 0; score < totalScoreCounts.length; score++) {
+            sum += score * totalScoreCounts[score];
+        }
+        return (double) sum / numberOfGames;
+    }
+
+    /**
+     * Get the variance of the total scores.
+     *
+     * @return the population variance.
+     */
+    public double getVariance() {
+        double mean = getMeanScore();
+        double sum = 0;
+        for (int score = 0; score < totalScoreCounts.length; score++) {
+            sum += (score - mean) * (score - mean) * totalScoreCounts[score];
+        }
+        return sum / numberOfGames;
+    }
+
+    /**
+     * Get a quantile of the total scores with the nearest rank, e.g. 0.5 for the median.
+     *
+     * @param quantile the quantile between 0 and 1.
+     * @return the lowest total score of which at least the quantile of the games have the score or lower.
+     * @throws IllegalArgumentException if the quantile is out of range.
+     */
+    public int getQuantile(double quantile) {
+        if (!(0 <= quantile && quantile <= 1)) {
+            throw new IllegalArgumentException("wrong quantile: " + quantile);
+        }
+        checkGames();
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * numberOfGames));
+        long count = 0;
+        for (int score = 0; score < totalScoreCounts.length; score++) {
+            count += totalScoreCounts[score];
+            if (count >= rank) {
+                return score;
+            }
+        }
+        return MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+    }
+
+    public int getMinimumScore() {
+        return getQuantile(0);
+    }
+
+    public int getMaximumScore() {
+        return getQuantile(1);
+    }
+
+    /**
+     * Serialize the statistics for other processes. The counts are variable-length integers,
+     * so the empty buckets take a byte each.
+     *
+     * @return the serialized form.
+     */
+    public byte[] toByteArray() {
+        int numberOfCounts = totalScoreCounts.length + NUMBER_OF_CATEGORIES * (MAXIMUM_CATEGORY_SCORE + 1) + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 1 + numberOfCounts * 10);
+        buffer.putInt(MAGIC_NUMBER).put(FORMAT_VERSION);
+
+        for (long count : totalScoreCounts) {
+            putVariableLong(buffer, count);
+        }
+        for (long[] counts : categoryScoreCounts) {
+            for (long count : counts) {
+                putVariableLong(buffer, count);
+            }
+        }
+        putVariableLong(buffer, numberOfBonuses);
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Deserialize statistics serialized by toByteArray().
+     *
+     * @param bytes the serialized form.
+     * @return the statistics.
+     * @throws IllegalArgumentException if the bytes are not serialized statistics.
+     */
+    public static ScoreStatistics fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ScoreStatistics statistics = new ScoreStatistics();
+        try {
+            if (buffer.getInt() != MAGIC_NUMBER || buffer.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("The bytes are not score statistics.");
+            }
+
+            for (int score = 0; score < statistics.totalScoreCounts.length; score++) {
+                statistics.totalScoreCounts[score] = getVariableLong(buffer);
+                statistics.numberOfGames += statistics.totalScoreCounts[score];
+            }
+            for (long[] counts : statistics.categoryScoreCounts) {
+                for (int score = 0; score <= MAXIMUM_CATEGORY_SCORE; score++) {
+                    counts[score] = getVariableLong(buffer);
+                }
+            }
+            statistics.numberOfBonuses = getVariableLong(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The score statistics are truncated.", e);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("The score statistics have extra bytes.");
+        }
+
+        return statistics;
+    }
+
+    // 7 bits in each byte from the lowest bits, and the highest bit is set if more bytes follow.
+    private static void putVariableLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVariableLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("The score statistics have a wrong count.");
+    }
+
+    private static void checkScore(int score, int maximumScore) {
+        if (score < 0 || maximumScore < score) {
+            throw new IllegalArgumentException("wrong score: " + score);
+        }
+    }
+
+    private void checkGames() {
+        if (numberOfGames == 0) {
+            throw new IllegalStateException("There is no game.");
+        }
+    }
+}
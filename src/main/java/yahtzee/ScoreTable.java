@@ -0,0 +1,164 @@
+package yahtzee;
+
+/**
+ * The precomputed scores of every dice combination are implemented here.
+ * The order of dice does not matter for scoring, so a roll of five dice
+ * is one of 252 sorted hands (multisets). All 13 category scores of each
+ * hand are calculated once with the Category methods and then just read.
+ *
+ * @author Yoochul Kim
+ */
+public class ScoreTable {
+    /**
+     * Total number of sorted hands of five dice.
+     */
+    public static final int NUMBER_OF_HANDS = 252;
+    /**
+     * Total number of ordered rolls of five dice (6^5).
+     */
+    public static final int NUMBER_OF_ORDERED_ROLLS = 7776;
+    /**
+     * Number of faces of a die.
+     */
+    public static final int NUMBER_OF_FACES = Die.MAX_DIE_VALUE - Die.MIN_DIE_VALUE + 1;
+
+    // The sorted faces of each hand, e.g. {1, 1, 2, 5, 6}.
+    private static final int[][] HAND_FACES = new int[NUMBER_OF_HANDS][Die.TOTAL_NUMBER_OF_DICE];
+
+    // The hand of each ordered roll. The index of the roll is sum of (face - 1) * 6^position.
+    private static final short[] HAND_OF_ORDERED_ROLL = new short[NUMBER_OF_ORDERED_ROLLS];
+
+    // The scores of the categories, hand * NUMBER_OF_CATEGORIES + categoryNumber.
+    private static final byte[] SCORES = new byte[NUMBER_OF_HANDS * Category.NUMBER_OF_CATEGORIES];
+
+    static {
+        Die[] dice = new Die[Die.TOTAL_NUMBER_OF_DICE];
+        for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+            dice[i] = new Die();
+        }
+
+        // Hands are enumerated in lexicographic order of their sorted faces.
+        int hand = 0;
+        int[] faces = {1, 1, 1, 1, 1};
+        while (true) {
+            HAND_FACES[hand] = faces.clone();
+            for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                dice[i].setValue(faces[i]);
+            }
+            for (int categoryNumber = 0; categoryNumber < Category.NUMBER_OF_CATEGORIES; categoryNumber++) {
+                SCORES[hand * Category.NUMBER_OF_CATEGORIES + categoryNumber] =
+                        (byte) Category.score(categoryNumber, dice);
+            }
+            hand++;
+
+            // Next non-decreasing combination.
+            int position = Die.TOTAL_NUMBER_OF_DICE - 1;
+            while (position >= 0 && faces[position] == Die.MAX_DIE_VALUE) {
+                position--;
+            }
+            if (position < 0) {
+                break;
+            }
+            int nextFace = faces[position] + 1;
+            for (int i = position; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                faces[i] = nextFace;
+            }
+        }
+
+        for (int roll = 0; roll < NUMBER_OF_ORDERED_ROLLS; roll++) {
+            int[] counts = new int[NUMBER_OF_FACES];
+            int rest = roll;
+            for (int i = 0; i < Die.TOTAL_NUMBER_OF_DICE; i++) {
+                counts[rest % NUMBER_OF_FACES]++;
+                rest /= NUMBER_OF_FACES;
+            }
+            HAND_OF_ORDERED_ROLL[roll] = (short) handIndexOfCounts(counts);
+        }
+    }
+
+    private ScoreTable() {
+    }
+
+    /**
+     * Get the score of a category for a hand.
+     *
+     * @param hand           the hand index between 0 and 251.
+     * @param categoryNumber the category number between 0 and 12.
+     * @return the score of the category.
+     */
+    public static int score(int hand, int categoryNumber) {
+        return SCORES[hand * Category.NUMBER_OF_CATEGORIES + categoryNumber];
+    }
+
+    /**
+     * Get the hand index of the dice.
+     *
+     * @param dice the 5 dice with each value.
+     * @return the hand index, or -1 if any die has not a value between 1 and 6 (e.g. not rolled yet).
+     */
+    public static int handIndexOf(Die[] dice) {
+        int roll = 0;
+        for (int i = Die.TOTAL_NUMBER_OF_DICE - 1; i >= 0; i--) {
+            int face = dice[i].getValue();
+            if (face < Die.MIN_DIE_VALUE || Die.MAX_DIE_VALUE < face) {
+                return -1;
+            }
+            roll = roll * NUMBER_OF_FACES + face - Die.MIN_DIE_VALUE;
+        }
+        return HAND_OF_ORDERED_ROLL[roll];
+    }
+
+    /**
+     * Get the hand index of an ordered roll.
+     *
+     * @param orderedRoll sum of (face - 1) * 6^position of the five dice.
+     * @return the hand index.
+     */
+    public static int handIndexOfOrderedRoll(int orderedRoll) {
+        return HAND_OF_ORDERED_ROLL[orderedRoll];
+    }
+
+    /**
+     * Get a face of a hand.
+     *
+     * @param hand     the hand index.
+     * @param position the position between 0 and 4 in the sorted faces.
+     * @return the face.
+     */
+    public static int getHandFace(int hand, int position) {
+        return HAND_FACES[hand][position];
+    }
+
+    /**
+     * Get the hand index from the number of dice of each face.
+     *
+     * @param counts the number of dice of faces 1 to 6 (counts[0] is the number of aces).
+     * @return the hand index.
+     */
+    public static int handIndexOfCounts(int[] counts) {
+        // Hands are in lexicographic order, so count the hands which are smaller than this one.
+        int hand = 0;
+        int remainingDice = Die.TOTAL_NUMBER_OF_DICE;
+        for (int face = 0; face < NUMBER_OF_FACES && remainingDice > 0; face++) {
+            // Hands that have fewer dice of this face come later, hands with more come earlier.
+            for (int more = remainingDice; more > counts[face]; more--) {
+                hand += numberOfHands(remainingDice - more, NUMBER_OF_FACES - face - 1);
+            }
+            remainingDice -= counts[face];
+        }
+        return hand;
+    }
+
+    // The number of sorted hands of the dice with the faces.
+    private static int numberOfHands(int numberOfDice, int numberOfFaces) {
+        if (numberOfFaces == 0) {
+            return numberOfDice == 0 ? 1 : 0;
+        }
+        // (numberOfDice + numberOfFaces - 1) choose numberOfDice
+        long result = 1;
+        for (int i = 1; i <= numberOfDice; i++) {
+            result = result * (numberOfFaces - 1 + i) / i;
+        }
+        return (int) result;
+    }
+}
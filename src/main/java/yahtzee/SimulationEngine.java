@@ -0,0 +1,165 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+import static yahtzee.YahtzeeGameImpl.TOTAL_NUMBER_OF_ROUNDS;
+
+/**
+ * The headless simulation of complete solitaire games is implemented here.
+ * The games are split across worker threads, and each worker has its own strategy and its own random
+ * generator split from the seed, so the result depends only on the seed and the number of threads.
+ * The games are scored by Player and rolled by DiceState like YahtzeeGameImpl, so they follow the game rules.
+ *
+ * @author Yoochul Kim
+ */
+public class SimulationEngine {
+    private final int numberOfThreads;
+
+    /**
+     * Initialize an engine that uses all available processors.
+     */
+    public SimulationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initialize an engine.
+     *
+     * @param numberOfThreads the number of worker threads.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public SimulationEngine(int numberOfThreads) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("wrong number of threads");
+        }
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * Simulate games.
+     *
+     * @param numberOfGames    the number of games.
+     * @param strategySupplier creates a strategy for each worker thread.
+     * @param seed             the seed of the random generators.
+     * @return the result of the games.
+     */
+    public SimulationResult run(long numberOfGames, Supplier<? extends Strategy> strategySupplier, long seed) {
+        if (numberOfGames < 1) {
+            throw new IllegalArgumentException("wrong number of games");
+        }
+
+        SplittableRandom seedGenerator = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        long start = System.nanoTime();
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int i = 0; i < numberOfThreads; i++) {
+                long numberOfWorkerGames = numberOfGames / numberOfThreads + (i < numberOfGames % numberOfThreads ? 1 : 0);
+                Worker worker = new Worker(strategySupplier.get(), seedGenerator.split(), numberOfWorkerGames);
+                futures.add(executor.submit(worker, worker));
+            }
+
+            ScoreStatistics statistics = new ScoreStatistics();
+            for (Future<Worker> future : futures) {
+                statistics.merge(future.get().statistics);
+            }
+
+            return new SimulationResult(statistics, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The simulation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Play a complete solitaire game.
+     *
+     * @param player          the player, whose scores are reset.
+     * @param strategy        the strategy of the player.
+     * @param randomGenerator the random generator for rolling the dice.
+     * @return the final score.
+     */
+    public static int playGame(Player player, Strategy strategy, SplittableRandom randomGenerator) {
+        player.resetScores();
+
+        for (int round = 0; round < TOTAL_NUMBER_OF_ROUNDS; round++) {
+            int diceState = DiceState.roll(DiceState.NOT_ROLLED, 0, randomGenerator);
+            for (int rerollsLeft = NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS; rerollsLeft > 0; rerollsLeft--) {
+                int keptDiceMask = strategy.chooseKeptDiceMask(player, diceState, rerollsLeft);
+                if (keptDiceMask == DiceState.ALL_DICE_MASK) {
+                    break;
+                }
+                diceState = DiceState.roll(diceState, keptDiceMask, randomGenerator);
+            }
+
+            int categoryNumber = strategy.chooseCategory(player, diceState);
+            player.fillCategory(categoryNumber, player.calculateCategoryScore(categoryNumber, diceState));
+        }
+
+        player.calculateTotalScore();
+        return player.getTotalScore();
+    }
+
+    // Plays the games of a worker thread.
+    private static class Worker implements Runnable {
+        private final Strategy strategy;
+        private final SplittableRandom randomGenerator;
+        private final long numberOfGames;
+
+        private final ScoreStatistics statistics = new ScoreStatistics();
+
+        Worker(Strategy strategy, SplittableRandom randomGenerator, long numberOfGames) {
+            this.strategy = strategy;
+            this.randomGenerator = randomGenerator;
+            this.numberOfGames = numberOfGames;
+        }
+
+        @Override
+        public void run() {
+            Player player = new Player("simulation");
+            for (long game = 0; game < numberOfGames; game++) {
+                playGame(player, strategy, randomGenerator);
+                statistics.add(player);
+            }
+        }
+    }
+
+    /**
+     * Simulate games from the command line, e.g.
+     * java -cp target/classes yahtzee.SimulationEngine 1000000 optimal strategy-table.bin
+     *
+     * @param args the number of games, greedy or optimal, and the strategy table file for the optimal strategy.
+     * @throws IOException if the strategy table file cannot be used.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[1].equals("optimal") && args.length < 3) {
+            System.err.println("Usage: java yahtzee.SimulationEngine <games> greedy|optimal [<strategy table file>]");
+            System.exit(1);
+        }
+
+        long numberOfGames = Long.parseLong(args[0]);
+        Supplier<? extends Strategy> strategySupplier;
+        if (args[1].equals("optimal")) {
+            StrategyTable strategyTable = StrategyTableFile.loadOrSolve(Paths.get(args[2]));
+            strategySupplier = () -> new OptimalStrategy(strategyTable);
+        } else {
+            strategySupplier = GreedyStrategy::new;
+        }
+
+        System.out.println(new SimulationEngine().run(numberOfGames, strategySupplier, System.nanoTime()));
+    }
+}
@@ -0,0 +1,59 @@
+package yahtzee;
+
+/**
+ * The result of simulated games is implemented here.
+ *
+ * @author Yoochul Kim
+ */
+public class SimulationResult {
+    private final ScoreStatistics statistics;
+    private final long elapsedNanos;
+
+    /**
+     * Initialize a result.
+     *
+     * @param statistics   the statistics of the scores of the games.
+     * @param elapsedNanos the wall-clock time of the simulation in nanoseconds.
+     */
+    public SimulationResult(ScoreStatistics statistics, long elapsedNanos) {
+        this.statistics = statistics;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public ScoreStatistics getStatistics() {
+        return statistics;
+    }
+
+    public long getNumberOfGames() {
+        return statistics.getNumberOfGames();
+    }
+
+    public double getMeanScore() {
+        return statistics.getMeanScore();
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(statistics.getVariance());
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the throughput of the simulation.
+     *
+     * @return the number of games per second.
+     */
+    public double getGamesPerSecond() {
+        return getNumberOfGames() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games, mean %.2f, sd %.2f, min %d, median %d, max %d, bonus %.1f%%, %.0f games/s",
+                getNumberOfGames(), getMeanScore(), getStandardDeviation(), statistics.getMinimumScore(),
+                statistics.getQuantile(0.5), statistics.getMaximumScore(), statistics.getBonusRate() * 100,
+                getGamesPerSecond());
+    }
+}
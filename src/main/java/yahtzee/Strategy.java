@@ -0,0 +1,28 @@
+package yahtzee;
+
+/**
+ * The decisions of a player in a simulated game are implemented by this interface.
+ * A strategy is used by one simulation thread, so it does not need to be thread-safe.
+ *
+ * @author Yoochul Kim
+ */
+public interface Strategy {
+    /**
+     * Choose the dice to keep before rerolling.
+     *
+     * @param player      the player who has the turn.
+     * @param diceState   the rolled dice packed by DiceState.
+     * @param rerollsLeft the number of rerolls left, 1 or 2.
+     * @return the kept dice mask, bit dieNumber is set if the die is kept, or DiceState.ALL_DICE_MASK to stop rolling.
+     */
+    public int chooseKeptDiceMask(Player player, int diceState, int rerollsLeft);
+
+    /**
+     * Choose the category to fill with the dice.
+     *
+     * @param player    the player who has the turn.
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the category number, which must not be filled.
+     */
+    public int chooseCategory(Player player, int diceState);
+}
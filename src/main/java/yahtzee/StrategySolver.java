@@ -0,0 +1,172 @@
+package yahtzee;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.LAST_NUMBER_OF_THE_UPPER_SECTION;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Category.UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+
+/**
+ * The optimal solitaire strategy is calculated here.
+ * The expected score of a turn-start state depends only on the states with one more filled category,
+ * so the states are solved layer by layer from 12 filled categories down to none, and the states
+ * in a layer are solved in parallel with fork/join.
+ * A state has no Yahtzee-scored flag, because this game has no Yahtzee bonus, i.e. the flag
+ * would never change an expected score.
+ *
+ * @author Yoochul Kim
+ */
+public class StrategySolver {
+    // Number of filled categories masks that a fork/join task solves without splitting.
+    private static final int MASKS_PER_TASK = 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Initialize a solver that runs in the common fork/join pool.
+     */
+    public StrategySolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialize a solver.
+     *
+     * @param pool the fork/join pool that runs the solver.
+     */
+    public StrategySolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calculate the expected scores of all turn-start states.
+     *
+     * @return the table of the expected scores.
+     */
+    public StrategyTable solve() {
+        return solve(0);
+    }
+
+    /**
+     * Calculate the expected scores of the turn-start states of which at least the specified number of
+     * categories are filled. The other states are left as 0, e.g. solve(12) solves only the last turn.
+     *
+     * @param minimumNumberOfFilledCategories the smallest number of filled categories to be solved.
+     * @return the table of the expected scores.
+     */
+    public StrategyTable solve(int minimumNumberOfFilledCategories) {
+        if (minimumNumberOfFilledCategories < 0 || NUMBER_OF_CATEGORIES < minimumNumberOfFilledCategories) {
+            throw new IllegalArgumentException("wrong number of filled categories");
+        }
+
+        float[] expectedScores = new float[StrategyTable.NUMBER_OF_STATES];
+        StrategyTable strategyTable = new StrategyTable(FloatBuffer.wrap(expectedScores));
+        long[] reachableUpperSectionScores = reachableUpperSectionScores();
+
+        for (int numberOfFilledCategories = NUMBER_OF_CATEGORIES - 1;
+             numberOfFilledCategories >= minimumNumberOfFilledCategories; numberOfFilledCategories--) {
+            int[] masks = masksOf(numberOfFilledCategories);
+            pool.invoke(new LayerTask(masks, 0, masks.length, strategyTable, expectedScores,
+                    reachableUpperSectionScores));
+        }
+
+        return strategyTable;
+    }
+
+    /**
+     * Get the upper section scores that can be made with the filled upper categories.
+     *
+     * @return bit score (capped at 63) of element upperMask is set if the score can be made,
+     * where bit categoryNumber of upperMask is set if the category is filled.
+     */
+    static long[] reachableUpperSectionScores() {
+        int numberOfUpperCategories = LAST_NUMBER_OF_THE_UPPER_SECTION + 1;
+        long[] reachable = new long[1 << numberOfUpperCategories];
+
+        for (int upperMask = 0; upperMask < reachable.length; upperMask++) {
+            long scores = 1;
+            for (int categoryNumber = 0; categoryNumber < numberOfUpperCategories; categoryNumber++) {
+                if ((upperMask & 1 << categoryNumber) == 0) {
+                    continue;
+                }
+                int face = categoryNumber + Die.MIN_DIE_VALUE;
+                long nextScores = 0;
+                for (int score = 0; score <= UPPER_SECTION_LEAST_SCORE_FOR_BONUS; score++) {
+                    if ((scores & 1L << score) == 0) {
+                        continue;
+                    }
+                    for (int count = 0; count <= TOTAL_NUMBER_OF_DICE; count++) {
+                        nextScores |= 1L << Math.min(score + count * face, UPPER_SECTION_LEAST_SCORE_FOR_BONUS);
+                    }
+                }
+                scores = nextScores;
+            }
+            reachable[upperMask] = scores;
+        }
+
+        return reachable;
+    }
+
+    private static int[] masksOf(int numberOfFilledCategories) {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 0; mask < ALL_CATEGORIES_MASK; mask++) {
+            if (Integer.bitCount(mask) == numberOfFilledCategories) {
+                masks.add(mask);
+            }
+        }
+        return masks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Solves the states of the masks between from and to in a layer.
+    private static class LayerTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] masks;
+        private final int from;
+        private final int to;
+        private final StrategyTable strategyTable;
+        private final float[] expectedScores;
+        private final long[] reachableUpperSectionScores;
+
+        LayerTask(int[] masks, int from, int to, StrategyTable strategyTable, float[] expectedScores,
+                  long[] reachableUpperSectionScores) {
+            this.masks = masks;
+            this.from = from;
+            this.to = to;
+            this.strategyTable = strategyTable;
+            this.expectedScores = expectedScores;
+            this.reachableUpperSectionScores = reachableUpperSectionScores;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MASKS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LayerTask(masks, from, middle, strategyTable, expectedScores, reachableUpperSectionScores),
+                        new LayerTask(masks, middle, to, strategyTable, expectedScores, reachableUpperSectionScores));
+                return;
+            }
+
+            TurnEvaluator turnEvaluator = new TurnEvaluator(strategyTable);
+            int upperMask = (1 << LAST_NUMBER_OF_THE_UPPER_SECTION + 1) - 1;
+            for (int i = from; i < to; i++) {
+                int mask = masks[i];
+                long reachable = reachableUpperSectionScores[mask & upperMask];
+                for (int upperSectionScore = 0; upperSectionScore <= UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
+                     upperSectionScore++) {
+                    if ((reachable & 1L << upperSectionScore) != 0) {
+                        turnEvaluator.evaluate(mask, upperSectionScore);
+                        expectedScores[StrategyTable.stateIndex(mask, upperSectionScore)] =
+                                (float) turnEvaluator.getTurnStartValue();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package yahtzee;
+
+import java.nio.FloatBuffer;
+
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
+
+/**
+ * The expected scores of the optimal play are implemented here.
+ * A turn-start state of a player is the filled categories mask and the upper section score
+ * (capped at 63, as only reaching 63 matters for the bonus). For each state the table has the
+ * expected score of the categories that are not filled yet, including the upper section bonus.
+ *
+ * @author Yoochul Kim
+ */
+public class StrategyTable {
+    /**
+     * Number of upper section scores in a state (0 to 63).
+     */
+    public static final int NUMBER_OF_UPPER_SCORES = UPPER_SECTION_LEAST_SCORE_FOR_BONUS + 1;
+    /**
+     * Number of turn-start states.
+     */
+    public static final int NUMBER_OF_STATES = (ALL_CATEGORIES_MASK + 1) * NUMBER_OF_UPPER_SCORES;
+
+    private final FloatBuffer expectedScores;
+
+    /**
+     * Initialize a table with the expected scores of all states.
+     *
+     * @param expectedScores the expected scores indexed by stateIndex().
+     * @throws IllegalArgumentException if the number of expected scores is wrong.
+     */
+    public StrategyTable(FloatBuffer expectedScores) {
+        if (expectedScores.capacity() != NUMBER_OF_STATES) {
+            throw new IllegalArgumentException("The table must have " + NUMBER_OF_STATES + " states");
+        }
+        this.expectedScores = expectedScores;
+    }
+
+    /**
+     * Get the index of a state.
+     *
+     * @param filledCategoriesMask bit mask of filled categories.
+     * @param upperSectionScore    the upper section score, which is capped at 63.
+     * @return the state index.
+     */
+    public static int stateIndex(int filledCategoriesMask, int upperSectionScore) {
+        return filledCategoriesMask * NUMBER_OF_UPPER_SCORES
+                + Math.min(upperSectionScore, UPPER_SECTION_LEAST_SCORE_FOR_BONUS);
+    }
+
+    /**
+     * Get the expected score of the categories that are not filled yet with the optimal play.
+     *
+     * @param filledCategoriesMask bit mask of filled categories.
+     * @param upperSectionScore    the upper section score so far.
+     * @return the expected score of the rest of the game.
+     */
+    public double getExpectedScore(int filledCategoriesMask, int upperSectionScore) {
+        return expectedScores.get(stateIndex(filledCategoriesMask, upperSectionScore));
+    }
+
+    /**
+     * Get the expected final score of a player at the start of their turn with the optimal play.
+     *
+     * @param player the player.
+     * @return the running total score plus the expected score of the rest of the game.
+     */
+    public double getExpectedFinalScore(Player player) {
+        return player.getRunningTotalScore()
+                + getExpectedScore(player.getFilledCategoriesMask(), player.getUpperSectionScore());
+    }
+
+    /**
+     * Get the expected scores of all states.
+     *
+     * @return the read-only expected scores indexed by stateIndex().
+     */
+    public FloatBuffer getExpectedScores() {
+        return expectedScores.asReadOnlyBuffer();
+    }
+}
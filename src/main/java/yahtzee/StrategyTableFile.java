@@ -0,0 +1,198 @@
+package yahtzee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Category.UPPER_SECTION_BONUS;
+import static yahtzee.Category.UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * The strategy table file is implemented here.
+ * The file is a header followed by the expected scores of all states as little-endian floats:
+ * magic number, format version, scoring fingerprint, number of states and CRC32 of the expected scores,
+ * each a 4-byte int. A loaded table is memory-mapped, so the processes on a host share its pages.
+ *
+ * @author Yoochul Kim
+ */
+public class StrategyTableFile {
+    /**
+     * "YZST" in ASCII.
+     */
+    public static final int MAGIC_NUMBER = 0x595A5354;
+    /**
+     * Version of the file format.
+     */
+    public static final int FORMAT_VERSION = 1;
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int SCORING_FINGERPRINT = calculateScoringFingerprint();
+
+    private StrategyTableFile() {
+    }
+
+    /**
+     * Write a strategy table to a file. The file is replaced atomically, so a process loading it
+     * never sees a half-written table.
+     *
+     * @param strategyTable the strategy table.
+     * @param path          the path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(StrategyTable strategyTable, Path path) throws IOException {
+        ByteBuffer expectedScores = ByteBuffer.allocate(StrategyTable.NUMBER_OF_STATES * Float.BYTES).order(BYTE_ORDER);
+        expectedScores.asFloatBuffer().put(strategyTable.getExpectedScores());
+
+        CRC32 checksum = new CRC32();
+        checksum.update(expectedScores.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        header.putInt(MAGIC_NUMBER)
+                .putInt(FORMAT_VERSION)
+                .putInt(SCORING_FINGERPRINT)
+                .putInt(StrategyTable.NUMBER_OF_STATES)
+                .putInt((int) checksum.getValue())
+                .flip();
+
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = {header, expectedScores};
+                while (expectedScores.hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Load a strategy table from a file by mapping it into memory.
+     *
+     * @param path the path of the file.
+     * @return the strategy table backed by the mapped file.
+     * @throws IOException if the file cannot be read, is not a strategy table file, has another version,
+     *                     was built with other scoring rules or is corrupted.
+     */
+    public static StrategyTable load(Path path) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long expectedSize = HEADER_SIZE + (long) StrategyTable.NUMBER_OF_STATES * Float.BYTES;
+            if (channel.size() != expectedSize) {
+                throw new IOException(path + " has " + channel.size() + " bytes, not " + expectedSize);
+            }
+            // The mapping stays valid after the channel is closed.
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+        }
+        file.order(BYTE_ORDER);
+
+        if (file.getInt() != MAGIC_NUMBER) {
+            throw new IOException(path + " is not a strategy table file");
+        }
+        int formatVersion = file.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException(path + " has format version " + formatVersion + ", not " + FORMAT_VERSION);
+        }
+        if (file.getInt() != SCORING_FINGERPRINT) {
+            throw new IOException(path + " was built with other scoring rules");
+        }
+        if (file.getInt() != StrategyTable.NUMBER_OF_STATES) {
+            throw new IOException(path + " has a wrong number of states");
+        }
+        int expectedChecksum = file.getInt();
+
+        ByteBuffer expectedScores = file.slice().order(BYTE_ORDER);
+        CRC32 checksum = new CRC32();
+        checksum.update(expectedScores.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException(path + " is corrupted");
+        }
+
+        return new StrategyTable(expectedScores.asFloatBuffer());
+    }
+
+    /**
+     * Load a strategy table from a file, or solve it and write the file if the file is missing or
+     * cannot be used.
+     *
+     * @param path the path of the file.
+     * @return the strategy table.
+     * @throws IOException if the solved table cannot be written.
+     */
+    public static StrategyTable loadOrSolve(Path path) throws IOException {
+        if (Files.exists(path)) {
+            try {
+                return load(path);
+            } catch (IOException e) {
+                // The file is solved and written again.
+            }
+        }
+        StrategyTable strategyTable = new StrategySolver().solve();
+        write(strategyTable, path);
+        return strategyTable;
+    }
+
+    /**
+     * Get the fingerprint of the scoring rules that the expected scores depend on: the scores of all
+     * hands in all categories, the upper section bonus and the number of rerolls.
+     *
+     * @return the fingerprint written in the header.
+     */
+    public static int getScoringFingerprint() {
+        return SCORING_FINGERPRINT;
+    }
+
+    private static int calculateScoringFingerprint() {
+        ByteBuffer rules = ByteBuffer.allocate(ScoreTable.NUMBER_OF_HANDS * NUMBER_OF_CATEGORIES + 4 * Integer.BYTES);
+        for (int hand = 0; hand < ScoreTable.NUMBER_OF_HANDS; hand++) {
+            for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                rules.put((byte) ScoreTable.score(hand, categoryNumber));
+            }
+        }
+        rules.putInt(NUMBER_OF_CATEGORIES)
+                .putInt(UPPER_SECTION_LEAST_SCORE_FOR_BONUS)
+                .putInt(UPPER_SECTION_BONUS)
+                .putInt(NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS)
+                .flip();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(rules);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Solve the strategy table and write it to a file, e.g.
+     * java -cp target/classes yahtzee.StrategyTableFile strategy-table.bin
+     *
+     * @param args the path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java yahtzee.StrategyTableFile <file>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        StrategyTable strategyTable = new StrategySolver().solve();
+        write(strategyTable, Paths.get(args[0]));
+        System.out.printf("Wrote %s in %.1f s%n", args[0], (System.nanoTime() - start) / 1e9);
+    }
+}
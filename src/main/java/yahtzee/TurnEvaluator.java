@@ -0,0 +1,139 @@
+package yahtzee;
+
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.LAST_NUMBER_OF_THE_UPPER_SECTION;
+import static yahtzee.Category.UPPER_SECTION_BONUS;
+import static yahtzee.Category.UPPER_SECTION_LEAST_SCORE_FOR_BONUS;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+import static yahtzee.RerollTable.EMPTY_KEPT_HAND;
+import static yahtzee.RerollTable.NUMBER_OF_KEPT_HANDS;
+import static yahtzee.ScoreTable.NUMBER_OF_HANDS;
+
+/**
+ * The expected scores of all decisions in a turn are implemented here.
+ * For a turn-start state it calculates, with the expected scores of the later turns in the strategy table,
+ * the expected score of every hand with 0, 1 and 2 rerolls left and of every kept dice combination.
+ * It is not thread-safe, as it reuses its arrays for every state.
+ *
+ * @author Yoochul Kim
+ */
+public class TurnEvaluator {
+    private final StrategyTable strategyTable;
+
+    // handValues[rerollsLeft][hand] is the expected score of the rest of the game with the hand.
+    private final double[][] handValues = new double[NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS + 1][NUMBER_OF_HANDS];
+    // keptValues[rerollsLeft - 1][keptHand] is the expected score of rerolling the dice that are not kept.
+    private final double[][] keptValues = new double[NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS][NUMBER_OF_KEPT_HANDS];
+
+    private int filledCategoriesMask;
+    private int upperSectionScore;
+    private double turnStartValue;
+
+    /**
+     * Initialize an evaluator.
+     *
+     * @param strategyTable the expected scores of the later turns.
+     */
+    public TurnEvaluator(StrategyTable strategyTable) {
+        this.strategyTable = strategyTable;
+    }
+
+    /**
+     * Calculate the expected scores of all decisions in the turn of a state.
+     *
+     * @param filledCategoriesMask bit mask of filled categories, which must not be all categories.
+     * @param upperSectionScore    the upper section score so far.
+     */
+    public void evaluate(int filledCategoriesMask, int upperSectionScore) {
+        if (filledCategoriesMask == ALL_CATEGORIES_MASK) {
+            throw new IllegalArgumentException("All categories have been filled");
+        }
+        this.filledCategoriesMask = filledCategoriesMask;
+        this.upperSectionScore = Math.min(upperSectionScore, UPPER_SECTION_LEAST_SCORE_FOR_BONUS);
+
+        int[] availableCategories = Category.getAvailableCategories(filledCategoriesMask);
+        double[] categoryHandValues = handValues[0];
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int categoryNumber : availableCategories) {
+                bestValue = Math.max(bestValue, getCategoryValue(hand, categoryNumber));
+            }
+            categoryHandValues[hand] = bestValue;
+        }
+
+        for (int rerollsLeft = 1; rerollsLeft <= NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS; rerollsLeft++) {
+            double[] nextHandValues = handValues[rerollsLeft - 1];
+            double[] currentKeptValues = keptValues[rerollsLeft - 1];
+            for (int keptHand = 0; keptHand < NUMBER_OF_KEPT_HANDS; keptHand++) {
+                currentKeptValues[keptHand] = RerollTable.expectationOf(keptHand, nextHandValues);
+            }
+
+            double[] currentHandValues = handValues[rerollsLeft];
+            for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+                double bestValue = Double.NEGATIVE_INFINITY;
+                for (int i = RerollTable.getSubhandStart(hand); i < RerollTable.getSubhandStart(hand + 1); i++) {
+                    bestValue = Math.max(bestValue, currentKeptValues[RerollTable.getSubhand(i)]);
+                }
+                currentHandValues[hand] = bestValue;
+            }
+        }
+
+        turnStartValue = RerollTable.expectationOf(EMPTY_KEPT_HAND, handValues[NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS]);
+    }
+
+    /**
+     * Get the expected score of the rest of the game at the start of the turn.
+     *
+     * @return the expected score of the evaluated state.
+     */
+    public double getTurnStartValue() {
+        return turnStartValue;
+    }
+
+    /**
+     * Get the expected score of the rest of the game with a hand.
+     *
+     * @param hand        the hand index.
+     * @param rerollsLeft the number of rerolls left between 0 and 2.
+     * @return the expected score when the best decision is made.
+     */
+    public double getHandValue(int hand, int rerollsLeft) {
+        return handValues[rerollsLeft][hand];
+    }
+
+    /**
+     * Get the expected score of the rest of the game when the kept dice are kept and the others are rerolled.
+     *
+     * @param keptHand    the kept hand index.
+     * @param rerollsLeft the number of rerolls left before rerolling, between 1 and 2.
+     * @return the expected score of rerolling.
+     */
+    public double getKeptValue(int keptHand, int rerollsLeft) {
+        return keptValues[rerollsLeft - 1][keptHand];
+    }
+
+    /**
+     * Get the expected score of the rest of the game when a category is filled with a hand.
+     *
+     * @param hand           the hand index.
+     * @param categoryNumber the category number, which must not be filled.
+     * @return the score of the category, the bonus it makes and the expected score of the later turns.
+     */
+    public double getCategoryValue(int hand, int categoryNumber) {
+        int score = ScoreTable.score(hand, categoryNumber);
+        int nextUpperSectionScore = upperSectionScore;
+        if (categoryNumber <= LAST_NUMBER_OF_THE_UPPER_SECTION) {
+            nextUpperSectionScore = Math.min(upperSectionScore + score, UPPER_SECTION_LEAST_SCORE_FOR_BONUS);
+            if (upperSectionScore < UPPER_SECTION_LEAST_SCORE_FOR_BONUS
+                    && nextUpperSectionScore == UPPER_SECTION_LEAST_SCORE_FOR_BONUS) {
+                score += UPPER_SECTION_BONUS;
+            }
+        }
+
+        int nextFilledCategoriesMask = filledCategoriesMask | 1 << categoryNumber;
+        if (nextFilledCategoriesMask == ALL_CATEGORIES_MASK) {
+            return score;
+        }
+        return score + strategyTable.getExpectedScore(nextFilledCategoriesMask, nextUpperSectionScore);
+    }
+}
@@ -28,6 +28,13 @@ public interface YahtzeeGame {
      */
     public Die[] getDice();
 
+    /**
+     * Get the five dice in the game packed into one int.
+     *
+     * @return the dice state packed by DiceState, or DiceState.NOT_ROLLED before the first roll.
+     */
+    public int getDiceState();
+
     /**
      * Get the all players' objects in the game.
      *
@@ -50,15 +57,16 @@ public interface YahtzeeGame {
     public int getTotalNumberOfPlayers();
 
     /**
-     * Send messages to the players' objects to calculate their own categories' scores.
-     * This must be called before calling the getWinners() method.
+     * Set the players' total scores to the scores of their categories filled so far.
+     * It can be called in the middle of the game for live standings,
+     * and it must be called before calling the getWinners() method.
      */
     public void calculateScores();
 
     /**
      * Get an array of winner players.
      * If there are two winners, the two objects will be returned.
-     * In the end of game, the calculateScores() method must be called before this method.
+     * The calculateScores() method must be called before this method.
      *
      * @return winners an array of winner players.
      */
@@ -77,6 +85,14 @@ public interface YahtzeeGame {
      */
     public void rollCertainDice(int[] keptDice);
 
+    /**
+     * Roll the dice which are not kept, i.e. rollCertainDice() without creating any object.
+     *
+     * @param keptDiceMask bit dieNumber is set if the player does not want to roll the die.
+     * @throws IllegalArgumentException when a player choose wrong dice numbers.
+     */
+    public void rollDice(int keptDiceMask);
+
     /**
      * Reset the dice retry count.
      */
@@ -103,10 +119,52 @@ public interface YahtzeeGame {
      */
     public Map<Integer,Integer> getScoresOfAvailableCombinations(Player player, Die[] dice);
 
+    /**
+     * Get the available combinations of the packed dice.
+     *
+     * @param player who want to calculate the combinations of their dice.
+     * @param diceState the rolled dice packed by DiceState.
+     * @return the available combinations of the current dice.
+     */
+    public Map<Integer,Integer> getScoresOfAvailableCombinations(Player player, int diceState);
+
+    /**
+     * Put scores of all categories of the packed dice into the specified array without creating any object.
+     *
+     * @param player who want to calculate the combinations of their dice.
+     * @param diceState the rolled dice packed by DiceState.
+     * @param scores the array of which length is at least 13, scores[categoryNumber] will be the score.
+     * @return the bit mask of available categories, bit categoryNumber is set if the category can be chosen.
+     */
+    public int getScoresOfAvailableCombinations(Player player, int diceState, int[] scores);
+
+    /**
+     * Get the best dice for the current player to keep before rerolling, with the current dice and
+     * dice retry count, and put the expected final score of keeping each dice combination into the specified array.
+     *
+     * @param expectedScores the array of which length is at least 32, expectedScores[keptDiceMask] will be
+     *                       the expected final score when the dice of keptDiceMask are kept.
+     * @return the best kept dice mask, bit dieNumber is set if the die should be kept.
+     * @throws IllegalStateException if there is no move advisor, the dice have not been rolled or no retry is left.
+     */
+    public int getBestKeptDiceMask(double[] expectedScores);
+
+    /**
+     * Get the best category for the current player to fill with the current dice, and put the expected
+     * final score of filling each category into the specified array.
+     *
+     * @param expectedScores the array of which length is at least 13, expectedScores[categoryNumber] will be
+     *                       the expected final score, or negative infinity if the category has been filled.
+     * @return the best category number.
+     * @throws IllegalStateException if there is no move advisor or the dice have not been rolled.
+     */
+    public int getBestCategory(double[] expectedScores);
+
     /**
      * Get the array numbers of available categories of the current player.
+     * The array may be shared by every player who has filled the same categories, so it must not be modified.
      *
-     * @return the array numbers of available categories of the current player.
+     * @return the array numbers of available categories of the current player in ascending order.
      */
     public int[] getAvailableCategoriesOfCurrentPlayer();
 
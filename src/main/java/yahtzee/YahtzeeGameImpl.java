@@ -1,9 +1,8 @@
 package yahtzee;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
 
@@ -27,9 +26,12 @@ public class YahtzeeGameImpl implements YahtzeeGame {
 
     private Player[] players;
 
-    // the five dices
+    // the five dices, which mirror the diceState for the callers of getDice().
     private Die[] dice;
 
+    // the five dices packed by DiceState.
+    private int diceState;
+
     private int totalNumberOfPlayers;
 
     // There are 13 rounds in the game, so it will be increased by
@@ -44,11 +46,96 @@ public class YahtzeeGameImpl implements YahtzeeGame {
 
     private Player[] winners;
 
+    // The players are ranked with it without comparing every two players.
+    private final RankingEngine rankingEngine = new RankingEngine();
+
     // If there are 3 players, the last number should 2 as the array starts at zero.
     private int lastPlayerNumber;
 
     public static int MINIMUM_NUMBER_OF_PLAYERS = 1;
 
+    // The dice of this game are rolled only with this generator, so games do not share a generator.
+    private final RandomGenerator randomGenerator;
+
+    // The rerolled hands are drawn from the alias tables instead of rolling each die, if it is true.
+    private boolean fastRollMode;
+
+    // It gives the hints of the optimal play, if it is set.
+    private MoveAdvisor moveAdvisor;
+
+    // It is notified of every change of the state, if it is set.
+    private GameEventListener gameEventListener;
+
+    // It observes every roll of the dice, if it is set.
+    private RollObserver rollObserver;
+
+    /**
+     * Initialize a game that has its own randomly seeded generator.
+     */
+    public YahtzeeGameImpl() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Initialize a game of which rolls are reproducible with the seed.
+     *
+     * @param seed the seed of the generator of the game.
+     */
+    public YahtzeeGameImpl(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Initialize a game that rolls the dice with the specified generator.
+     * The game is not thread-safe, so the generator does not need to be either.
+     *
+     * @param randomGenerator the generator for rolling the dice.
+     */
+    public YahtzeeGameImpl(RandomGenerator randomGenerator) {
+        if (randomGenerator == null) {
+            throw new IllegalArgumentException("The random generator is required.");
+        }
+        this.randomGenerator = randomGenerator;
+    }
+
+    /**
+     * Set the advisor that gives the hints of the optimal play.
+     *
+     * @param moveAdvisor the advisor, which must not be shared with other games.
+     */
+    public void setMoveAdvisor(MoveAdvisor moveAdvisor) {
+        this.moveAdvisor = moveAdvisor;
+    }
+
+    /**
+     * Set the listener that is notified of every change of the state of the game, e.g. to record the game.
+     *
+     * @param gameEventListener the listener, or null to stop notifying.
+     */
+    public void setGameEventListener(GameEventListener gameEventListener) {
+        this.gameEventListener = gameEventListener;
+    }
+
+    /**
+     * Set the observer of every roll of the dice, e.g. to monitor the fairness of the dice.
+     *
+     * @param rollObserver the observer, or null to stop observing.
+     */
+    public void setRollObserver(RollObserver rollObserver) {
+        this.rollObserver = rollObserver;
+    }
+
+    /**
+     * Set the fast roll mode for simulations. In the mode the hand after a roll is drawn directly from
+     * the exact reroll probabilities of AliasSampler, and the rerolled faces are put on the dice in ascending order,
+     * so the hands have the same distribution but the order of the rerolled dice is not random. The roll observer
+     * is notified by RollObserver.handRolled() in the mode.
+     *
+     * @param fastRollMode true to draw the hands directly.
+     */
+    public void setFastRollMode(boolean fastRollMode) {
+        this.fastRollMode = fastRollMode;
+    }
 
     @Override
     public void makeGame(String[] playerNames) {
@@ -68,14 +155,20 @@ public class YahtzeeGameImpl implements YahtzeeGame {
         // Five dice are created.
         dice = new Die[TOTAL_NUMBER_OF_DICE];
         for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
-            dice[i] = new Die();
+            dice[i] = new Die(randomGenerator);
         }
 
+        diceState = DiceState.NOT_ROLLED;
+
         // It goes up by 1 till 13.
         currentRound = 0;
         diceRetryCount = 0;
         currentPlayerNumber = 0;
         lastPlayerNumber = totalNumberOfPlayers - 1;
+
+        if (gameEventListener != null) {
+            gameEventListener.gameMade(playerNames);
+        }
     }
 
     @Override
@@ -96,49 +189,110 @@ public class YahtzeeGameImpl implements YahtzeeGame {
     @Override
     public void increaseRound() {
         currentRound++;
+        if (gameEventListener != null) {
+            gameEventListener.roundIncreased();
+        }
     }
 
+    /**
+     * Get the five dice in the game. The dice are set whenever the game rolls them,
+     * so setting a value of a die does not change the dice state of the game.
+     *
+     * @return dice the five dice in the game.
+     */
     @Override
     public Die[] getDice() {
         return dice;
     }
 
+    @Override
+    public int getDiceState() {
+        return diceState;
+    }
+
     public void rollDice() {
-        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
-            dice[i].roll();
-        }
+        rollDice(0);
     }
 
     @Override
     public void rollCertainDice(int[] keptDice) {
-        for (int ketpDie : keptDice) {
-            if (ketpDie < Die.FIRST_DIE_NUMBER_IN_THE_ARRAY || Die.LAST_DIE_NUMBER_IN_THE_ARRAY < ketpDie) {
-                throw new IllegalArgumentException("wrong dice selection");
-            }
-        }
-
-        boolean[] areDiceKept = new boolean[TOTAL_NUMBER_OF_DICE];
-        Arrays.fill(areDiceKept, false);
+        rollDice(DiceState.toKeptDiceMask(keptDice));
+    }
 
-        for (int keptDieNumber : keptDice) {
-            areDiceKept[keptDieNumber] = true;
+    @Override
+    public void rollDice(int keptDiceMask) {
+        if ((keptDiceMask & ~DiceState.ALL_DICE_MASK) != 0) {
+            throw new IllegalArgumentException("wrong dice selection");
         }
 
-        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
-            if (!areDiceKept[i]) {
-                dice[i].roll();
+        setDiceState(fastRollMode
+                ? AliasSampler.roll(diceState, keptDiceMask, randomGenerator)
+                : DiceState.roll(diceState, keptDiceMask, randomGenerator));
+        if (rollObserver != null) {
+            if (fastRollMode) {
+                rollObserver.handRolled(keptDiceMask, diceState);
+            } else {
+                rollObserver.diceRolled(keptDiceMask, diceState);
             }
         }
+        if (gameEventListener != null) {
+            gameEventListener.diceRolled(keptDiceMask, diceState);
+        }
+    }
+
+    /**
+     * Restore the state of the turn, e.g. from a snapshot or a journal of the game, without notifying the listener.
+     * The scores of the players are restored with Player.fillCategory().
+     *
+     * @param currentRound        the current round.
+     * @param currentPlayerNumber the number of the player who has the turn.
+     * @param diceRetryCount      the number of retries used in the turn.
+     * @param diceState           the dice packed by DiceState, or DiceState.NOT_ROLLED.
+     * @throws IllegalArgumentException if a value is out of its range.
+     * @throws IllegalStateException    if the game has not been made.
+     */
+    public void restoreState(int currentRound, int currentPlayerNumber, int diceRetryCount, int diceState) {
+        if (players == null) {
+            throw new IllegalStateException("The game has not been made.");
+        }
+        if (currentRound < 0 || currentRound > TOTAL_NUMBER_OF_ROUNDS) {
+            throw new IllegalArgumentException("wrong round");
+        }
+        if (currentPlayerNumber < 0 || currentPlayerNumber >= totalNumberOfPlayers) {
+            throw new IllegalArgumentException("wrong player number");
+        }
+        if (diceRetryCount < 0 || diceRetryCount > Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+            throw new IllegalArgumentException("wrong dice retry count");
+        }
+        if (DiceState.isRolled(diceState) && DiceState.of(DiceState.toFaces(diceState)) != diceState) {
+            throw new IllegalArgumentException("wrong dice state");
+        }
+
+        this.currentRound = currentRound;
+        this.currentPlayerNumber = currentPlayerNumber;
+        this.diceRetryCount = diceRetryCount;
+        setDiceState(diceState);
+    }
+
+    private void setDiceState(int diceState) {
+        this.diceState = diceState;
+        DiceState.toDice(diceState, dice);
     }
 
     @Override
     public void resetDiceRetryCount() {
         diceRetryCount = 0;
+        if (gameEventListener != null) {
+            gameEventListener.diceRetryCountReset();
+        }
     }
 
     @Override
     public void increaseDiceRetryCount() {
         diceRetryCount++;
+        if (gameEventListener != null) {
+            gameEventListener.diceRetryCountIncreased();
+        }
     }
 
     @Override
@@ -149,55 +303,69 @@ public class YahtzeeGameImpl implements YahtzeeGame {
     @Override
     public void calculateScores() {
         for (Player playerTemp : players) {
-            playerTemp.calculateTotalScore();
+            playerTemp.setTotalScore(playerTemp.getRunningTotalScore());
+        }
+        if (gameEventListener != null) {
+            gameEventListener.scoresCalculated();
         }
     }
 
     @Override
     public Player[] getWinners() {
-        int[] totalScores = new int[totalNumberOfPlayers];
-
-        for (int i = 0; i < totalNumberOfPlayers; i++) {
-//            System.out.println(players[i].getName() + "'s total score: " + players[i].getTotalScore());
-            totalScores[i] = players[i].getTotalScore();
-        }
-
-        int[] rank = new int[totalNumberOfPlayers];
-        Arrays.fill(rank, 1);
+        rankingEngine.rankByTotalScore(players);
+        winners = rankingEngine.getWinners();
+        return winners;
+    }
 
-        for (int i = 0; i < totalNumberOfPlayers; i++) {
-            int standardScore = totalScores[i];
+    /**
+     * Rank the players by the scores of their categories filled so far, e.g. for the live standings.
+     * The ranking is overwritten by the next call of this method or getWinners().
+     *
+     * @return the ranking of the players.
+     */
+    public RankingEngine getLiveRanking() {
+        rankingEngine.rankByRunningTotalScore(players);
+        return rankingEngine;
+    }
 
-            for (int j = i + 1; j < totalNumberOfPlayers; j++) {
-                int comparisonScore = totalScores[j];
+    @Override
+    public Map<Integer, Integer> getScoresOfAvailableCombinations(Player player, Die[] dice) {
+        return player.getScoresOfAvailableCombinations(dice);
+    }
 
-                if (standardScore < comparisonScore) {
-                    rank[i]++;
-                } else if (standardScore > comparisonScore) {
-                    rank[j]++;
-                }
-            }
-        }
-        List<Integer> winnerList = new ArrayList<>();
+    @Override
+    public Map<Integer, Integer> getScoresOfAvailableCombinations(Player player, int diceState) {
+        return player.getScoresOfAvailableCombinations(diceState);
+    }
 
-        for (int i = 0; i < rank.length; i++) {
-            if (rank[i] == 1) {
-                winnerList.add(i);
-            }
-        }
+    @Override
+    public int getScoresOfAvailableCombinations(Player player, int diceState, int[] scores) {
+        return player.getScoresOfAvailableCombinations(diceState, scores);
+    }
 
-        int numberOfWinners = winnerList.size();
-        winners = new Player[numberOfWinners];
-        for (int i = 0; i < numberOfWinners; i++) {
-            winners[i] = players[winnerList.get(i)];
+    @Override
+    public int getBestKeptDiceMask(double[] expectedScores) {
+        checkHintCanBeGiven();
+        if (diceRetryCount >= Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS) {
+            throw new IllegalStateException("No retry is left.");
         }
-
-        return winners;
+        return moveAdvisor.getBestKeptDiceMask(players[currentPlayerNumber], diceState,
+                Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS - diceRetryCount, expectedScores);
     }
 
     @Override
-    public Map<Integer, Integer> getScoresOfAvailableCombinations(Player player, Die[] dice) {
-        return player.getScoresOfAvailableCombinations(dice);
+    public int getBestCategory(double[] expectedScores) {
+        checkHintCanBeGiven();
+        return moveAdvisor.getBestCategory(players[currentPlayerNumber], diceState, expectedScores);
+    }
+
+    private void checkHintCanBeGiven() {
+        if (moveAdvisor == null) {
+            throw new IllegalStateException("There is no move advisor.");
+        }
+        if (!DiceState.isRolled(diceState)) {
+            throw new IllegalStateException("The dice have not been rolled.");
+        }
     }
 
     @Override
@@ -217,6 +385,9 @@ public class YahtzeeGameImpl implements YahtzeeGame {
         } else {
             currentPlayerNumber++;
         }
+        if (gameEventListener != null) {
+            gameEventListener.turnPassed();
+        }
     }
 
     @Override
@@ -227,5 +398,8 @@ public class YahtzeeGameImpl implements YahtzeeGame {
     @Override
     public void fillCategory(int categoryNumber, int score) {
         players[currentPlayerNumber].fillCategory(categoryNumber, score);
+        if (gameEventListener != null) {
+            gameEventListener.categoryFilled(currentPlayerNumber, categoryNumber, score);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+import static yahtzee.RerollTable.*;
+import static yahtzee.ScoreTable.NUMBER_OF_HANDS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class AliasSamplerTests {
+
+    @Test
+    public void aliasTablesShouldHaveExactProbabilities() {
+        for (int keptHand = 0; keptHand < NUMBER_OF_KEPT_HANDS; keptHand++) {
+            int start = getOutcomeStart(keptHand);
+            int numberOfOutcomes = getOutcomeStart(keptHand + 1) - start;
+            int capacity = getNumberOfRolls(keptHand);
+
+            // The weight of each hand in all buckets, out of numberOfOutcomes * capacity.
+            long[] weights = new long[NUMBER_OF_HANDS];
+            for (int i = start; i < start + numberOfOutcomes; i++) {
+                int threshold = AliasSampler.getAliasThreshold(i);
+                assertTrue(0 <= threshold && threshold <= capacity);
+                weights[getOutcomeHand(i)] += threshold;
+                weights[getOutcomeHand(AliasSampler.getAliasOutcome(i))] += capacity - threshold;
+            }
+            for (int i = start; i < start + numberOfOutcomes; i++) {
+                assertEquals((long) getOutcomeCount(i) * numberOfOutcomes, weights[getOutcomeHand(i)]);
+            }
+        }
+    }
+
+    @Test
+    public void sampledHandsShouldFollowProbabilities() {
+        SplittableRandom random = new SplittableRandom(13);
+        int diceState = DiceState.of(new int[]{6, 2, 6, 3, 1});
+        // Keep two sixes, so 216 rolls make 56 hands.
+        int keptHand = keptHandOfDiceState(diceState, 0b00101);
+        int numberOfSamples = 1_000_000;
+
+        long[] counts = new long[NUMBER_OF_HANDS];
+        for (int i = 0; i < numberOfSamples; i++) {
+            counts[AliasSampler.sample(keptHand, random)]++;
+        }
+
+        double chiSquare = 0;
+        for (int i = getOutcomeStart(keptHand); i < getOutcomeStart(keptHand + 1); i++) {
+            double expectedCount = numberOfSamples * getOutcomeProbability(i);
+            chiSquare += (counts[getOutcomeHand(i)] - expectedCount) * (counts[getOutcomeHand(i)] - expectedCount)
+                    / expectedCount;
+            counts[getOutcomeHand(i)] = 0;
+        }
+        assertEquals(0, Arrays.stream(counts).sum());
+        // The critical value of 55 degrees of freedom at p = 0.0001 is 104.
+        assertTrue(chiSquare < 104);
+    }
+
+    @Test
+    public void rolledDiceShouldKeepTheKeptDice() {
+        SplittableRandom random = new SplittableRandom(17);
+        int state = AliasSampler.roll(DiceState.NOT_ROLLED, DiceState.ALL_DICE_MASK, random);
+        assertTrue(DiceState.isRolled(state));
+
+        for (int i = 0; i < 10000; i++) {
+            int keptDiceMask = random.nextInt(DiceState.ALL_DICE_MASK + 1);
+            int rolledState = AliasSampler.roll(state, keptDiceMask, random);
+
+            // The packed hand is the hand of the faces.
+            assertEquals(DiceState.ofOrderedRoll(DiceState.toOrderedRoll(rolledState)), rolledState);
+
+            int previousRolledFace = Die.MIN_DIE_VALUE;
+            for (int dieNumber = 0; dieNumber < TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                int face = DiceState.getFace(rolledState, dieNumber);
+                if ((keptDiceMask & 1 << dieNumber) != 0) {
+                    assertEquals(DiceState.getFace(state, dieNumber), face);
+                } else {
+                    assertTrue(previousRolledFace <= face);
+                    previousRolledFace = face;
+                }
+            }
+            state = rolledState;
+        }
+    }
+}
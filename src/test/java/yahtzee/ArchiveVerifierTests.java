@@ -0,0 +1,182 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class ArchiveVerifierTests {
+    private static final String[] PLAYER_NAMES = {"anyName1", "anyName2"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void legalGamesShouldHaveNoViolation() throws IOException {
+        Path path = directory.resolve("games.archive");
+        SplittableRandom random = new SplittableRandom(37);
+        try (ArchiveWriter writer = new ArchiveWriter(Files.newOutputStream(path), 2048)) {
+            for (long gameId = 1; gameId <= 500; gameId++) {
+                GameRecorder recorder = new GameRecorder(gameId);
+                ArchivedGameTests.playRandomGame(gameId, PLAYER_NAMES, random, recorder);
+                writer.write(recorder.toArchivedGame());
+            }
+        }
+
+        List<ArchiveVerifier.Violation> violations = new ArrayList<>();
+        ArchiveVerifier.Report report = new ArchiveVerifier(3).verify(path, violations::add);
+        assertEquals(List.of(), violations);
+        assertEquals(500, report.getNumberOfGames());
+        assertTrue(report.getNumberOfBlocks() > 10);
+        assertEquals(0, report.getNumberOfIllegalGames());
+        assertEquals(0, report.getNumberOfViolations());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ArchiveVerifier(0));
+    }
+
+    @Test
+    public void violationsShouldBeReportedInTheOrderOfTheArchive() throws IOException {
+        long legalTurn = ArchivedGame.withCategory(ArchivedGame.startTurn(DiceState.of(new int[]{1, 2, 3, 4, 5})), 0);
+
+        // A kept die changes its face, a score is tampered with, and a category is filled twice.
+        long[] turns = legalTurns(legalTurn);
+        turns[2] = ArchivedGame.withCategory(ArchivedGame.addReroll(ArchivedGame.startTurn(
+                DiceState.of(new int[]{1, 2, 3, 4, 5})), 0b00100, DiceState.of(new int[]{6, 6, 6, 6, 6})), 1);
+        turns[5] = ArchivedGame.withCategory(legalTurn, 0);
+        ByteBuffer firstBlock = ByteBuffer.allocate(4096);
+        int[] scores = scoresOf(turns);
+        scores[7] += 10;
+        ArchiveFormat.putGame(firstBlock, new ArchivedGame(10, PLAYER_NAMES, turns, scores), names(PLAYER_NAMES), 0);
+
+        // Too many rerolls, a category out of range, and too few players can only be written by hand.
+        ByteBuffer secondBlock = ByteBuffer.allocate(4096);
+        turns = legalTurns(legalTurn);
+        long tooManyRerolls = legalTurn | 3;
+        putRawGame(secondBlock, 3, PLAYER_NAMES, turns, 7, tooManyRerolls);
+        putRawGame(secondBlock, 1, PLAYER_NAMES, turns, 8, legalTurn | 13 << 2);
+        long[] solitaireTurns = new long[NUMBER_OF_CATEGORIES];
+        for (int turnNumber = 0; turnNumber < solitaireTurns.length; turnNumber++) {
+            solitaireTurns[turnNumber] = ArchivedGame.withCategory(legalTurn, turnNumber);
+        }
+        putRawGame(secondBlock, 1, new String[]{"anyName1"}, solitaireTurns, -1, 0);
+        ByteBuffer thirdBlock = ByteBuffer.allocate(4096);
+        turns = legalTurns(legalTurn);
+        ArchiveFormat.putGame(thirdBlock, new ArchivedGame(20, PLAYER_NAMES, turns, scoresOf(turns)),
+                names(PLAYER_NAMES), 0);
+
+        Path path = directory.resolve("illegal.archive");
+        writeRawArchive(path, new ByteBuffer[]{firstBlock, secondBlock, thirdBlock, thirdBlock}, new int[]{1, 3, 1, 1},
+                3);
+        List<String> violations = new ArrayList<>();
+        ArchiveVerifier.Report report = new ArchiveVerifier(2).verify(path, violation -> {
+            assertTrue(violation.getDetail().length() > 0);
+            violations.add(violation.getBlockNumber() + " " + violation.getGameId() + " " + violation.getTurnNumber()
+                    + " " + violation.getType());
+        });
+        assertEquals(List.of(
+                "1 10 2 KEPT_DIE_CHANGED",
+                "1 10 5 CATEGORY_FILLED_TWICE",
+                "1 10 7 SCORE_MISMATCH",
+                "2 3 7 TOO_MANY_REROLLS",
+                "2 4 8 INVALID_TURN",
+                "2 5 -1 TOO_FEW_PLAYERS",
+                "3 -1 -1 CORRUPTED_BLOCK"), violations);
+        assertEquals(6, report.getNumberOfGames());
+        assertEquals(4, report.getNumberOfBlocks());
+        assertEquals(4, report.getNumberOfIllegalGames());
+        assertEquals(7, report.getNumberOfViolations());
+
+        // The header of a block is needed to find the next block.
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        Assertions.assertThrows(IOException.class, () -> new ArchiveVerifier(2).verify(path, violation -> {
+        }));
+    }
+
+    // Each player fills the categories in order.
+    private static long[] legalTurns(long legalTurn) {
+        long[] turns = new long[PLAYER_NAMES.length * NUMBER_OF_CATEGORIES];
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            turns[turnNumber] = ArchivedGame.withCategory(legalTurn, turnNumber / PLAYER_NAMES.length);
+        }
+        return turns;
+    }
+
+    // The scores of the final dice of the turns.
+    private static int[] scoresOf(long[] turns) {
+        int[] scores = new int[turns.length];
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            scores[turnNumber] = scoreOf(turns[turnNumber]);
+        }
+        return scores;
+    }
+
+    private static int scoreOf(long turn) {
+        return new Player().calculateCategoryScore(ArchivedGame.getCategoryNumber(turn),
+                ArchivedGame.getFinalDiceState(turn));
+    }
+
+    private static byte[][] names(String[] playerNames) {
+        return ArchiveFormat.encodeNames(playerNames);
+    }
+
+    private static void putRawGame(ByteBuffer block, int gameIdDifference, String[] playerNames, long[] turns,
+                                   int illegalTurnNumber, long illegalTurn) {
+        block.put((byte) (gameIdDifference << 1));
+        block.put((byte) playerNames.length);
+        for (byte[] name : names(playerNames)) {
+            block.put((byte) name.length).put(name);
+        }
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            long turn = turnNumber == illegalTurnNumber ? illegalTurn : turns[turnNumber];
+            for (int i = 0; i < ArchivedGame.getTurnSize(turn); i++) {
+                block.put((byte) (i < Long.BYTES ? turn >>> Byte.SIZE * i : 0));
+            }
+            // The scores are small, so the zigzag varint is one byte.
+            block.put((byte) (turnNumber == illegalTurnNumber ? 0 : scoreOf(turn) << 1));
+        }
+    }
+
+    private static void writeRawArchive(Path path, ByteBuffer[] blocks, int[] numbersOfGames, int corruptedBlockNumber)
+            throws IOException {
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(path))) {
+            output.writeInt(ArchiveFormat.MAGIC_NUMBER);
+            output.writeInt(ArchiveFormat.FORMAT_VERSION);
+            for (int i = 0; i < blocks.length; i++) {
+                byte[] uncompressedBlock = Arrays.copyOf(blocks[i].array(), blocks[i].position());
+                CRC32 checksum = new CRC32();
+                checksum.update(uncompressedBlock);
+                Deflater deflater = new Deflater();
+                deflater.setInput(uncompressedBlock);
+                deflater.finish();
+                byte[] compressedBlock = new byte[uncompressedBlock.length + 64];
+                int compressedSize = deflater.deflate(compressedBlock);
+                deflater.end();
+
+                output.writeInt(numbersOfGames[i]);
+                output.writeInt(uncompressedBlock.length);
+                output.writeInt(compressedSize);
+                output.writeInt((int) checksum.getValue() ^ (i + 1 == corruptedBlockNumber ? 1 : 0));
+                output.write(compressedBlock, 0, compressedSize);
+            }
+            output.write(new byte[ArchiveFormat.BLOCK_HEADER_SIZE]);
+        }
+    }
+}
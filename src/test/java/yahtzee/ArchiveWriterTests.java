@@ -0,0 +1,146 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class ArchiveWriterTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void gamesShouldBeReadInTheOrderTheyWereWritten() throws IOException {
+        Path path = directory.resolve("games.archive");
+        SplittableRandom random = new SplittableRandom(23);
+        List<ArchivedGame> games = new ArrayList<>();
+        try (ArchiveWriter writer = new ArchiveWriter(Files.newOutputStream(path), 4096)) {
+            for (int i = 0; i < 300; i++) {
+                GameRecorder recorder = new GameRecorder(1000 - 3 * i);
+                String[] playerNames = i % 2 == 0 ? new String[]{"anyName1", "anyName2"}
+                        : new String[]{"\uC774\uB9841", "anyName2", "anyName3", ""};
+                ArchivedGameTests.playRandomGame(recorder.getGameId(), playerNames, random, recorder);
+                games.add(recorder.toArchivedGame());
+                writer.write(recorder.toArchivedGame());
+            }
+            assertEquals(300, writer.getNumberOfGames());
+            assertTrue(writer.getNumberOfBlocks() > 1);
+        }
+        // A game is a few bytes for each turn before the compression.
+        assertTrue(Files.size(path) < 300 * 3 * NUMBER_OF_CATEGORIES * 7);
+
+        try (ArchiveReader reader = ArchiveReader.open(path)) {
+            for (ArchivedGame game : games) {
+                assertSameGame(game, reader.read());
+            }
+            assertNull(reader.read());
+            assertNull(reader.read());
+            assertTrue(reader.getNumberOfBlocks() > 1);
+        }
+    }
+
+    @Test
+    public void finishedGamesOfJournalShouldBeWritten() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        SplittableRandom random = new SplittableRandom(29);
+        List<GameSession> sessions = new ArrayList<>();
+        try (GameJournal journal = GameJournal.open(journalDirectory, GameJournal.Durability.WRITE)) {
+            for (long gameId = 0; gameId < 5; gameId++) {
+                sessions.add(ArchivedGameTests.playRandomGame(gameId, new String[]{"anyName1", "anyName2"}, random,
+                        journal.listenerOf(gameId)));
+            }
+            // A finished game is archived even if it is removed later.
+            journal.appendGameRemoved(0);
+
+            // An unfinished game is not archived.
+            GameSession removedSession = new GameSession(5, new String[]{"anyName1", "anyName2"}, random,
+                    journal.listenerOf(5));
+            removedSession.roll();
+            removedSession.fill(0);
+            journal.appendGameRemoved(5);
+            GameSession unfinishedSession = new GameSession(6, new String[]{"anyName1", "anyName2"}, random,
+                    journal.listenerOf(6));
+            unfinishedSession.roll();
+            unfinishedSession.fill(0);
+        }
+
+        Path path = directory.resolve("games.archive");
+        try (ArchiveWriter writer = ArchiveWriter.create(path)) {
+            assertEquals(5, writer.writeFinishedGames(journalDirectory, 1));
+        }
+        try (ArchiveReader reader = ArchiveReader.open(path)) {
+            for (GameSession session : sessions) {
+                ArchivedGame game = reader.read();
+                assertEquals(session.getGameId(), game.getGameId());
+                assertEquals(ArchivedGameTests.describe(session.getGame().getPlayers()),
+                        ArchivedGameTests.describe(game.replayPlayers()));
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void closedWriterShouldNotBeWritten() throws IOException {
+        GameRecorder recorder = new GameRecorder(3);
+        ArchivedGameTests.playRandomGame(3, new String[]{"anyName1", "anyName2"}, new SplittableRandom(31), recorder);
+        ArchiveWriter writer = ArchiveWriter.create(directory.resolve("games.archive"));
+        writer.write(recorder.toArchivedGame());
+        writer.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> writer.write(recorder.toArchivedGame()));
+    }
+
+    @Test
+    public void corruptedArchiveShouldNotBeRead() throws IOException {
+        Path path = directory.resolve("games.archive");
+        try (ArchiveWriter writer = ArchiveWriter.create(path)) {
+            GameRecorder recorder = new GameRecorder(3);
+            ArchivedGameTests.playRandomGame(3, new String[]{"anyName1", "anyName2"}, new SplittableRandom(31),
+                    recorder);
+            writer.write(recorder.toArchivedGame());
+        }
+        byte[] bytes = Files.readAllBytes(path);
+
+        // The end of the archive is lost.
+        Path truncatedPath = directory.resolve("truncated.archive");
+        Files.write(truncatedPath, Arrays.copyOf(bytes, bytes.length - ArchiveFormat.BLOCK_HEADER_SIZE));
+        try (ArchiveReader reader = ArchiveReader.open(truncatedPath)) {
+            assertEquals(3, reader.read().getGameId());
+            Assertions.assertThrows(IOException.class, reader::read);
+        }
+
+        // A compressed byte of the block is flipped.
+        Path corruptedPath = directory.resolve("corrupted.archive");
+        byte[] corruptedBytes = bytes.clone();
+        corruptedBytes[ArchiveFormat.HEADER_SIZE + ArchiveFormat.BLOCK_HEADER_SIZE + 5] ^= 0x10;
+        Files.write(corruptedPath, corruptedBytes);
+        try (ArchiveReader reader = ArchiveReader.open(corruptedPath)) {
+            Assertions.assertThrows(IOException.class, reader::read);
+        }
+
+        Files.write(corruptedPath, new byte[]{'Y', 'Z'});
+        Assertions.assertThrows(IOException.class, () -> ArchiveReader.open(corruptedPath));
+    }
+
+    private static void assertSameGame(ArchivedGame expectedGame, ArchivedGame actualGame) {
+        assertEquals(expectedGame.getGameId(), actualGame.getGameId());
+        assertArrayEquals(expectedGame.getPlayerNames(), actualGame.getPlayerNames());
+        assertEquals(expectedGame.getNumberOfTurns(), actualGame.getNumberOfTurns());
+        for (int turnNumber = 0; turnNumber < expectedGame.getNumberOfTurns(); turnNumber++) {
+            assertEquals(expectedGame.getTurn(turnNumber), actualGame.getTurn(turnNumber));
+            assertEquals(expectedGame.getScore(turnNumber), actualGame.getScore(turnNumber));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class ArchivedGameTests {
+    @Test
+    public void turnShouldBePackedAndUnpacked() {
+        int firstDiceState = DiceState.of(new int[]{1, 2, 3, 4, 5});
+        int secondDiceState = DiceState.of(new int[]{1, 2, 6, 6, 5});
+        int thirdDiceState = DiceState.of(new int[]{6, 6, 6, 6, 5});
+
+        long turn = ArchivedGame.startTurn(firstDiceState);
+        assertEquals(0, ArchivedGame.getNumberOfRerolls(turn));
+        assertEquals(ArchivedGame.TURN_SIZE, ArchivedGame.getTurnSize(turn));
+        assertTrue(turn < 1L << Byte.SIZE * ArchivedGame.TURN_SIZE);
+
+        turn = ArchivedGame.addReroll(turn, 0b10011, secondDiceState);
+        turn = ArchivedGame.addReroll(turn, 0b01111, thirdDiceState);
+        Assertions.assertThrows(IllegalStateException.class, () -> ArchivedGame.addReroll(0b11, 0, firstDiceState));
+        turn = ArchivedGame.withCategory(turn, 11);
+        assertTrue(turn < 1L << Byte.SIZE * (ArchivedGame.TURN_SIZE + 2 * ArchivedGame.REROLL_SIZE));
+
+        ArchivedGame.checkTurn(turn);
+        assertEquals(2, ArchivedGame.getNumberOfRerolls(turn));
+        assertEquals(11, ArchivedGame.getCategoryNumber(turn));
+        assertEquals(ArchivedGame.TURN_SIZE + 2 * ArchivedGame.REROLL_SIZE, ArchivedGame.getTurnSize(turn));
+        assertEquals(firstDiceState, ArchivedGame.getDiceState(turn, 0));
+        assertEquals(secondDiceState, ArchivedGame.getDiceState(turn, 1));
+        assertEquals(thirdDiceState, ArchivedGame.getDiceState(turn, 2));
+        assertEquals(0b10011, ArchivedGame.getKeptDiceMask(turn, 1));
+        assertEquals(0b01111, ArchivedGame.getKeptDiceMask(turn, 2));
+        assertEquals(thirdDiceState, ArchivedGame.getFinalDiceState(turn));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArchivedGame.withCategory(0, NUMBER_OF_CATEGORIES));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArchivedGame.checkTurn(0b11));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArchivedGame.checkTurn(13 << 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArchivedGame.checkTurn(7776L << 6));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ArchivedGame.checkTurn(1L << 19));
+    }
+
+    @Test
+    public void recordedGameShouldReplayTheSameScores() {
+        GameRecorder recorder = new GameRecorder(5);
+        GameSession session = playRandomGame(5, new String[]{"anyName1", "anyName2", "anyName3"},
+                new SplittableRandom(11), recorder);
+        assertTrue(recorder.hasFinished());
+
+        ArchivedGame archivedGame = recorder.toArchivedGame();
+        assertEquals(5, archivedGame.getGameId());
+        assertArrayEquals(new String[]{"anyName1", "anyName2", "anyName3"}, archivedGame.getPlayerNames());
+        assertEquals(3 * NUMBER_OF_CATEGORIES, archivedGame.getNumberOfTurns());
+        assertEquals(describe(session.getGame().getPlayers()), describe(archivedGame.replayPlayers()));
+    }
+
+    @Test
+    public void filledScoresShouldBeRecordedEvenIfTheyDoNotMatchTheDice() {
+        GameRecorder recorder = new GameRecorder(7);
+        YahtzeeGameImpl game = new YahtzeeGameImpl(13);
+        game.setGameEventListener(recorder);
+        game.makeGame(new String[]{"anyName1", "anyName2"});
+        for (int turnNumber = 0; turnNumber < 2 * NUMBER_OF_CATEGORIES; turnNumber++) {
+            game.rollDice();
+            // YahtzeeGame.fillCategory() accepts any score.
+            game.fillCategory(turnNumber / 2, turnNumber == 5 ? -7 : 99);
+            game.passTurnToNextPlayer();
+        }
+        game.calculateScores();
+
+        ArchivedGame archivedGame = recorder.toArchivedGame();
+        assertEquals(-7, archivedGame.getScore(5));
+        assertEquals(99, archivedGame.getScore(6));
+        assertEquals(describe(game.getPlayers()), describe(archivedGame.replayPlayers()));
+    }
+
+    @Test
+    public void unfinishedGameShouldNotBeArchived() {
+        GameRecorder recorder = new GameRecorder(5);
+        GameSession session = new GameSession(5, new String[]{"anyName1", "anyName2"}, new SplittableRandom(11),
+                recorder);
+        session.roll();
+        session.fill(0);
+        assertFalse(recorder.hasFinished());
+        Assertions.assertThrows(IllegalStateException.class, recorder::toArchivedGame);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ArchivedGame(5, new String[]{"anyName1"}, new long[NUMBER_OF_CATEGORIES],
+                        new int[NUMBER_OF_CATEGORIES]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ArchivedGame(5, new String[]{"anyName1", "anyName2"}, new long[NUMBER_OF_CATEGORIES],
+                        new int[NUMBER_OF_CATEGORIES]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ArchivedGame(5, new String[]{"anyName1", "anyName2"}, new long[2 * NUMBER_OF_CATEGORIES],
+                        new int[NUMBER_OF_CATEGORIES]));
+
+        // The second player chose the category of the first turn twice.
+        long[] turns = new long[2 * NUMBER_OF_CATEGORIES];
+        for (int turnNumber = 0; turnNumber < turns.length; turnNumber++) {
+            turns[turnNumber] = ArchivedGame.withCategory(0, turnNumber == 3 ? 0 : turnNumber / 2);
+        }
+        ArchivedGame archivedGame = new ArchivedGame(5, new String[]{"anyName1", "anyName2"}, turns,
+                new int[turns.length]);
+        Assertions.assertThrows(IllegalArgumentException.class, archivedGame::replayPlayers);
+    }
+
+    /**
+     * Play a game to its end with random rerolls and categories.
+     */
+    static GameSession playRandomGame(long gameId, String[] playerNames, SplittableRandom random,
+                                      GameEventListener listener) {
+        GameSession session = new GameSession(gameId, playerNames, random.split(), listener);
+        do {
+            session.roll();
+            int numberOfRerolls = random.nextInt(Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS + 1);
+            for (int i = 0; i < numberOfRerolls; i++) {
+                session.keep(random.nextInt(DiceState.ALL_DICE_MASK + 1));
+            }
+            YahtzeeGameImpl game = session.getGame();
+            int filledCategoriesMask = game.getPlayers()[game.getCurrentPlayerNumber()].getFilledCategoriesMask();
+            int categoryNumber;
+            do {
+                categoryNumber = random.nextInt(NUMBER_OF_CATEGORIES);
+            } while ((filledCategoriesMask & 1 << categoryNumber) != 0);
+            session.fill(categoryNumber);
+        } while (!session.passTurn());
+        return session;
+    }
+
+    static String describe(Player[] players) {
+        StringBuilder description = new StringBuilder();
+        for (Player player : players) {
+            description.append(player.getName()).append(' ').append(player.getFilledCategoriesMask())
+                    .append(Arrays.toString(player.getCategoriesScores())).append(' ')
+                    .append(player.getTotalScore()).append('\n');
+        }
+        return description.toString();
+    }
+}
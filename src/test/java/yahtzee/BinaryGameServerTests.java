@@ -0,0 +1,177 @@
+package yahtzee;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class BinaryGameServerTests {
+    private GameSessionManager manager;
+    private BinaryGameServer server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        manager = new GameSessionManager(2, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 17);
+        server = new BinaryGameServer(manager, 0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        manager.close();
+    }
+
+    @Test
+    public void pipelinedGameShouldBePlayed() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(server.getPort())) {
+            client.sendMakeGame("anyName1", "anyName2");
+            client.flush();
+            long gameId = client.readGameId();
+
+            // All requests of the game are sent at once, as each player fills the category of the round number.
+            for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+                for (int playerNumber = 0; playerNumber < 2; playerNumber++) {
+                    client.sendRollDice(gameId);
+                    client.sendRollDice(gameId, 0b00110);
+                    client.sendFillCategory(gameId, round);
+                    client.sendPassTurn(gameId);
+                }
+            }
+            client.sendGetWinners(gameId);
+            client.flush();
+
+            int totalScore = 0;
+            for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+                for (int playerNumber = 0; playerNumber < 2; playerNumber++) {
+                    int faces = client.readFaces();
+                    int keptFaces = client.readFaces();
+                    for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                        assertTrue(Die.AVAILABLE_DICE_VALUES.contains(DiceState.getFace(keptFaces, dieNumber)));
+                    }
+                    assertEquals(DiceState.getFace(faces, 1), DiceState.getFace(keptFaces, 1));
+                    assertEquals(DiceState.getFace(faces, 2), DiceState.getFace(keptFaces, 2));
+
+                    int score = client.readScore();
+                    assertEquals(new Player("anyName").calculateCategoryScore(round, DiceState.of(
+                            DiceState.toFaces(keptFaces))), score);
+                    if (playerNumber == 0) {
+                        totalScore += score;
+                    }
+                    assertEquals(round == NUMBER_OF_CATEGORIES - 1 && playerNumber == 1, client.readBoolean());
+                }
+            }
+            assertTrue(client.readWinnerNames().length >= 1);
+
+            int upperSectionScore = manager.execute(gameId,
+                    session -> session.getGame().getPlayers()[0].getUpperSectionScore()).join();
+            int expectedTotalScore = totalScore
+                    + (upperSectionScore >= Category.UPPER_SECTION_LEAST_SCORE_FOR_BONUS ? Category.UPPER_SECTION_BONUS : 0);
+            assertEquals(expectedTotalScore,
+                    manager.execute(gameId, session -> session.getGame().getPlayers()[0].getTotalScore()).join());
+
+            client.sendRemoveGame(gameId);
+            client.sendRemoveGame(gameId);
+            client.flush();
+            assertTrue(client.readBoolean());
+            assertFalse(client.readBoolean());
+        }
+    }
+
+    @Test
+    public void errorsShouldBeAnsweredInOrder() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(server.getPort())) {
+            client.sendMakeGame("anyName");
+            client.sendRollDice(12345);
+            client.sendMakeGame("anyName1", "anyName2");
+            client.flush();
+
+            Assertions.assertThrows(IllegalStateException.class, client::readGameId);
+            IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, client::readFaces);
+            assertTrue(exception.getMessage().contains("12345"));
+            long gameId = client.readGameId();
+
+            client.sendFillCategory(gameId, 0);
+            client.sendRollDice(gameId);
+            client.sendRollDice(gameId, 0b100000);
+            client.sendFillCategory(gameId, 0);
+            client.flush();
+            Assertions.assertThrows(IllegalStateException.class, client::readScore);
+            client.readFaces();
+            Assertions.assertThrows(IllegalStateException.class, client::readFaces);
+            client.readScore();
+        }
+    }
+
+    @Test
+    public void manyRequestsShouldBePipelinedBeyondTheLimit() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(server.getPort())) {
+            client.sendMakeGame("anyName1", "anyName2");
+            client.flush();
+            long gameId = client.readGameId();
+
+            // The server stops reading the connection at the limit, and continues after sending the responses.
+            int numberOfRequests = BinaryGameServer.MAXIMUM_PIPELINED_REQUESTS * 10;
+            client.sendRollDice(gameId);
+            for (int i = 1; i < numberOfRequests; i++) {
+                client.sendRollDice(gameId);
+            }
+            client.flush();
+
+            client.readFaces();
+            for (int i = 1; i < numberOfRequests; i++) {
+                Assertions.assertThrows(IllegalStateException.class, client::readFaces);
+            }
+        }
+    }
+
+    @Test
+    public void wrongFramesShouldCloseOnlyTheirConnection() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(server.getPort());
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            // A body that ends too early and an unknown operation are errors, but the next frames are still found.
+            OutputStream output = socket.getOutputStream();
+            output.write(new byte[]{0, 2, BinaryProtocol.ROLL, 1, 0, 1, 99});
+            output.flush();
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+            for (int i = 0; i < 2; i++) {
+                byte[] body = new byte[input.readUnsignedShort()];
+                input.readFully(body);
+                assertEquals(BinaryProtocol.ERROR, body[0]);
+            }
+
+            // A frame larger than the maximum closes the connection.
+            output.write(new byte[]{(byte) 0xff, (byte) 0xff});
+            output.flush();
+            assertEquals(-1, input.read());
+
+            client.sendMakeGame("anyName1", "anyName2");
+            client.flush();
+            long gameId = client.readGameId();
+            client.sendRollDice(gameId);
+            client.flush();
+            client.readFaces();
+        }
+
+        // The connection is accepted before the server closes, or the listening socket would reset it.
+        BinaryGameClient client = new BinaryGameClient(server.getPort());
+        client.sendMakeGame("anyName1", "anyName2");
+        client.flush();
+        client.readGameId();
+        server.close();
+        Assertions.assertThrows(EOFException.class, client::readFaces);
+        client.close();
+    }
+}
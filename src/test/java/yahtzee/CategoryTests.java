@@ -243,6 +243,21 @@ public class CategoryTests {
         }
     }
 
+    @Test
+    public void testAvailableCategories() {
+        for (int filledCategoriesMask = 0; filledCategoriesMask <= ALL_CATEGORIES_MASK; filledCategoriesMask++) {
+            int[] availableCategories = getAvailableCategories(filledCategoriesMask);
+
+            Assertions.assertEquals(NUMBER_OF_CATEGORIES - Integer.bitCount(filledCategoriesMask), availableCategories.length);
+            for (int i = 0; i < availableCategories.length; i++) {
+                Assertions.assertEquals(0, filledCategoriesMask & 1 << availableCategories[i]);
+                if (i > 0) {
+                    Assertions.assertTrue(availableCategories[i - 1] < availableCategories[i]);
+                }
+            }
+        }
+    }
+
     @Test
     public void testYahtzee() {
         for (int i = 0; i < yahtzeeTestArray.length; i++) {
@@ -252,4 +267,18 @@ public class CategoryTests {
             Assertions.assertEquals(yahtzeeCorrectResult[i], Category.yahtzee(dice));
         }
     }
+
+    @Test
+    public void testUnrolledPackedDice() {
+        // The Die[] overloads score unrolled dice as 0, but the hand of NOT_ROLLED would score as 1-1-1-1-1.
+        Assertions.assertEquals(0, Category.chance(dice));
+        Assertions.assertThrows(IllegalStateException.class, () -> Category.aces(DiceState.NOT_ROLLED));
+        Assertions.assertThrows(IllegalStateException.class, () -> Category.chance(DiceState.NOT_ROLLED));
+        Assertions.assertThrows(IllegalStateException.class, () -> Category.yahtzee(DiceState.NOT_ROLLED));
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            int finalCategoryNumber = categoryNumber;
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> Category.score(finalCategoryNumber, DiceState.NOT_ROLLED));
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+import static yahtzee.ScoreTable.NUMBER_OF_ORDERED_ROLLS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class DiceStateTests {
+    private Die[] dice;
+
+    @BeforeEach
+    public void setup() {
+        dice = new Die[TOTAL_NUMBER_OF_DICE];
+        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+            dice[i] = new Die();
+        }
+    }
+
+    @Test
+    public void everyOrderedRollShouldBePackedAndUnpacked() {
+        Die[] unpackedDice = new Die[TOTAL_NUMBER_OF_DICE];
+        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+            unpackedDice[i] = new Die();
+        }
+
+        for (int roll = 0; roll < NUMBER_OF_ORDERED_ROLLS; roll++) {
+            int rest = roll;
+            for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+                dice[i].setValue(rest % ScoreTable.NUMBER_OF_FACES + 1);
+                rest /= ScoreTable.NUMBER_OF_FACES;
+            }
+
+            int state = DiceState.of(dice);
+            assertEquals(DiceState.ofOrderedRoll(roll), state);
+            assertEquals(roll, DiceState.toOrderedRoll(state));
+            assertEquals(ScoreTable.handIndexOf(dice), DiceState.getHand(state));
+            assertTrue(DiceState.isRolled(state));
+
+            int[] faces = DiceState.toFaces(state);
+            assertEquals(state, DiceState.of(faces));
+
+            DiceState.toDice(state, unpackedDice);
+            for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+                assertEquals(dice[i].getValue(), DiceState.getFace(state, i));
+                assertEquals(dice[i].getValue(), unpackedDice[i].getValue());
+            }
+        }
+    }
+
+    @Test
+    public void packedDiceShouldHaveSameScoresAsDice() {
+        Player player = new Player("anyName");
+
+        for (int roll = 0; roll < NUMBER_OF_ORDERED_ROLLS; roll++) {
+            int state = DiceState.ofOrderedRoll(roll);
+            DiceState.toDice(state, dice);
+
+            assertEquals(Category.aces(dice), Category.aces(state));
+            assertEquals(Category.twos(dice), Category.twos(state));
+            assertEquals(Category.threes(dice), Category.threes(state));
+            assertEquals(Category.fours(dice), Category.fours(state));
+            assertEquals(Category.fives(dice), Category.fives(state));
+            assertEquals(Category.sixes(dice), Category.sixes(state));
+            assertEquals(Category.threeOfAKind(dice), Category.threeOfAKind(state));
+            assertEquals(Category.fourOfAKind(dice), Category.fourOfAKind(state));
+            assertEquals(Category.fullHouse(dice), Category.fullHouse(state));
+            assertEquals(Category.smallStraight(dice), Category.smallStraight(state));
+            assertEquals(Category.largeStraight(dice), Category.largeStraight(state));
+            assertEquals(Category.chance(dice), Category.chance(state));
+            assertEquals(Category.yahtzee(dice), Category.yahtzee(state));
+
+            for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                assertEquals(player.calculateCategoryScore(categoryNumber, dice),
+                        player.calculateCategoryScore(categoryNumber, state));
+            }
+            assertEquals(player.getScoresOfAvailableCombinations(dice), player.getScoresOfAvailableCombinations(state));
+        }
+    }
+
+    @Test
+    public void allOrderedRollsShouldBeRolledUniformly() {
+        SplittableRandom random = new SplittableRandom(7);
+        int expectedCount = 100;
+        long[] counts = new long[NUMBER_OF_ORDERED_ROLLS];
+
+        int state = DiceState.NOT_ROLLED;
+        for (int i = 0; i < NUMBER_OF_ORDERED_ROLLS * expectedCount; i++) {
+            state = DiceState.roll(state, 0, random);
+            counts[DiceState.toOrderedRoll(state)]++;
+        }
+
+        // The chi-square statistic has a mean of 7775 and a standard deviation of about 125.
+        assertTrue(chiSquare(counts, expectedCount) < NUMBER_OF_ORDERED_ROLLS - 1 + 5 * 125);
+    }
+
+    @Test
+    public void rerolledDiceShouldHaveUniformFacesAndKeptDiceShouldNotChange() {
+        SplittableRandom random = new SplittableRandom(11);
+        int expectedCount = 10000;
+
+        for (int keptDiceMask = 0; keptDiceMask < DiceState.ALL_DICE_MASK; keptDiceMask++) {
+            long[][] counts = new long[TOTAL_NUMBER_OF_DICE][ScoreTable.NUMBER_OF_FACES];
+            int state = DiceState.roll(DiceState.NOT_ROLLED, 0, random);
+
+            for (int i = 0; i < ScoreTable.NUMBER_OF_FACES * expectedCount; i++) {
+                int rolledState = DiceState.roll(state, keptDiceMask, random);
+                for (int dieNumber = 0; dieNumber < TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                    int face = DiceState.getFace(rolledState, dieNumber);
+                    if ((keptDiceMask & 1 << dieNumber) != 0) {
+                        assertEquals(DiceState.getFace(state, dieNumber), face);
+                    }
+                    counts[dieNumber][face - 1]++;
+                }
+                state = rolledState;
+            }
+
+            for (int dieNumber = 0; dieNumber < TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                if ((keptDiceMask & 1 << dieNumber) == 0) {
+                    // The critical value of 5 degrees of freedom at p = 0.0001 is 25.7.
+                    assertTrue(chiSquare(counts[dieNumber], expectedCount) < 25.7);
+                }
+            }
+        }
+
+        // Keeping all dice does not roll.
+        int state = DiceState.roll(DiceState.NOT_ROLLED, 0, random);
+        assertEquals(state, DiceState.roll(state, DiceState.ALL_DICE_MASK, random));
+    }
+
+    @Test
+    public void wrongDiceShouldNotBeKept() {
+        assertEquals(0b10101, DiceState.toKeptDiceMask(new int[]{0, 2, 4}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiceState.toKeptDiceMask(new int[]{5}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiceState.toKeptDiceMask(new int[]{-1}));
+    }
+
+    @Test
+    public void wrongDiceShouldNotBePacked() {
+        // The dice have not been rolled.
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiceState.of(dice));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiceState.of(new int[]{1, 2, 3, 4, 7}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiceState.of(new int[]{1, 2, 3, 4}));
+    }
+
+    private double chiSquare(long[] counts, double expectedCount) {
+        double chiSquare = 0;
+        for (long count : counts) {
+            chiSquare += (count - expectedCount) * (count - expectedCount) / expectedCount;
+        }
+        return chiSquare;
+    }
+}
@@ -2,8 +2,10 @@ package yahtzee;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import yahtzee.Die;
 
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static yahtzee.Die.AVAILABLE_DICE_VALUES;
 import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
@@ -31,4 +33,18 @@ public class DieTests {
             assertTrue(AVAILABLE_DICE_VALUES.contains(dice[i].getValue()));
         }
     }
+
+    @Test
+    public void diceWithSameSeedShouldRollSameValues() {
+        long anySeed = 42;
+        Die die1 = new Die(new SplittableRandom(anySeed));
+        Die die2 = new Die(new SplittableRandom(anySeed));
+
+        for (int i = 0; i < 100; i++) {
+            die1.roll();
+            die2.roll();
+            assertTrue(AVAILABLE_DICE_VALUES.contains(die1.getValue()));
+            assertEquals(die1.getValue(), die2.getValue());
+        }
+    }
 }
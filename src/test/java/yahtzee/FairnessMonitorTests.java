@@ -0,0 +1,188 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Yoochul Kim
+ */
+public class FairnessMonitorTests {
+    @Test
+    public void onlyRolledDiceShouldBeCounted() {
+        FairnessMonitor monitor = new FairnessMonitor(2, null);
+        YahtzeeGameImpl game = new YahtzeeGameImpl(3);
+        game.makeGame(new String[]{"anyName1", "anyName2"});
+        RollObserver observer = monitor.observerOf(1, 7);
+        game.setRollObserver(observer);
+
+        game.rollDice();
+        int firstDiceState = game.getDiceState();
+        game.rollDice(0b00011);
+        int secondDiceState = game.getDiceState();
+
+        long[] expectedFaceCounts = new long[ScoreTable.NUMBER_OF_FACES];
+        for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+            expectedFaceCounts[DiceState.getFace(firstDiceState, dieNumber) - 1]++;
+            if (dieNumber >= 2) {
+                expectedFaceCounts[DiceState.getFace(secondDiceState, dieNumber) - 1]++;
+            }
+        }
+        // The counts are added every few turns, and when the game is removed.
+        assertArrayEquals(new long[ScoreTable.NUMBER_OF_FACES], monitor.getGameFaceCounts(7));
+        assertArrayEquals(new long[ScoreTable.NUMBER_OF_FACES], monitor.getNodeFaceCounts(1));
+        // No die is rolled when all dice are kept, but the roll is counted until the counts are added.
+        for (int roll = 2; roll <= 24; roll++) {
+            observer.diceRolled(DiceState.ALL_DICE_MASK, secondDiceState);
+        }
+        assertArrayEquals(expectedFaceCounts, monitor.getGameFaceCounts(7));
+        assertArrayEquals(expectedFaceCounts, monitor.getNodeFaceCounts(1));
+
+        monitor.removeGame(7);
+        assertNull(monitor.getGameFaceCounts(7));
+        assertArrayEquals(expectedFaceCounts, monitor.getNodeFaceCounts(1));
+        assertArrayEquals(new long[ScoreTable.NUMBER_OF_FACES], monitor.getNodeFaceCounts(0));
+        assertArrayEquals(expectedFaceCounts, monitor.getFaceCounts());
+        // Only the roll of all dice has a hand.
+        assertEquals(1, monitor.getHandCounts()[DiceState.getHand(firstDiceState)]);
+        assertEquals(1, Arrays.stream(monitor.getHandCounts()).sum());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> monitor.observerOf(2, 8));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FairnessMonitor(0, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FairnessMonitor(1, 0, 0.01, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FairnessMonitor(1, 1, 1, null));
+    }
+
+    @Test
+    public void facesOfEveryKeepMaskShouldBeCounted() {
+        FairnessMonitor monitor = new FairnessMonitor(1, null);
+        RollObserver observer = monitor.observerOf(0, 1);
+        SplittableRandom random = new SplittableRandom(67);
+        long[] expectedFaceCounts = new long[ScoreTable.NUMBER_OF_FACES];
+        int diceState = DiceState.NOT_ROLLED;
+        for (int roll = 0; roll < 1000; roll++) {
+            int keptDiceMask = roll % (DiceState.ALL_DICE_MASK + 1);
+            diceState = DiceState.roll(diceState, keptDiceMask, random);
+            observer.diceRolled(keptDiceMask, diceState);
+            for (int dieNumber = 0; dieNumber < Die.TOTAL_NUMBER_OF_DICE; dieNumber++) {
+                if ((keptDiceMask & 1 << dieNumber) == 0) {
+                    expectedFaceCounts[DiceState.getFace(diceState, dieNumber) - 1]++;
+                }
+            }
+        }
+        monitor.removeGame(1);
+        assertArrayEquals(expectedFaceCounts, monitor.getFaceCounts());
+    }
+
+    @Test
+    public void fairDiceShouldRaiseNoAlert() {
+        List<FairnessMonitor.Alert> alerts = new ArrayList<>();
+        FairnessMonitor monitor = new FairnessMonitor(2, 3, FairnessMonitor.DEFAULT_SIGNIFICANCE_LEVEL, alerts::add);
+        YahtzeeGameImpl[] games = new YahtzeeGameImpl[2];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new YahtzeeGameImpl(new SplittableRandom(41 + i));
+            games[i].makeGame(new String[]{"anyName1", "anyName2"});
+            games[i].setRollObserver(monitor.observerOf(i, i));
+        }
+        SplittableRandom random = new SplittableRandom(43);
+        for (int check = 0; check < 3; check++) {
+            for (int roll = 0; roll < 30000; roll++) {
+                YahtzeeGameImpl game = games[roll % games.length];
+                game.rollDice();
+                game.rollDice(random.nextInt(DiceState.ALL_DICE_MASK + 1));
+            }
+            assertEquals(List.of(), monitor.check());
+        }
+        assertEquals(List.of(), alerts);
+    }
+
+    @Test
+    public void orderOfFastRollsShouldNotBeTested() {
+        List<FairnessMonitor.Alert> alerts = new ArrayList<>();
+        FairnessMonitor monitor = new FairnessMonitor(1, 1, FairnessMonitor.DEFAULT_SIGNIFICANCE_LEVEL, alerts::add);
+        YahtzeeGameImpl game = new YahtzeeGameImpl(new SplittableRandom(59));
+        game.makeGame(new String[]{"anyName1", "anyName2"});
+        game.setFastRollMode(true);
+        game.setRollObserver(monitor.observerOf(0, 1));
+
+        // The rerolled faces are in ascending order, so the low and high faces change less than half the time.
+        SplittableRandom random = new SplittableRandom(61);
+        for (int roll = 0; roll < 30000; roll++) {
+            game.rollDice();
+            game.rollDice(random.nextInt(1, DiceState.ALL_DICE_MASK + 1));
+        }
+        monitor.removeGame(1);
+        assertEquals(List.of(), monitor.check());
+        assertEquals(List.of(), alerts);
+        // The faces and the hands are tested.
+        assertTrue(Arrays.stream(monitor.getFaceCounts()).sum() > 150000);
+        assertEquals(30000, Arrays.stream(monitor.getHandCounts()).sum());
+    }
+
+    @Test
+    public void unfairDiceShouldRaiseAlertsUntilTheyLeaveTheWindow() {
+        List<FairnessMonitor.Alert> alerts = new ArrayList<>();
+        FairnessMonitor monitor = new FairnessMonitor(2, 2, FairnessMonitor.DEFAULT_SIGNIFICANCE_LEVEL, alerts::add);
+        RollObserver fairObserver = monitor.observerOf(0, 1);
+        RollObserver unfairObserver = monitor.observerOf(1, 2);
+        SplittableRandom random = new SplittableRandom(47);
+
+        // The faces are uniform, but the low and high faces alternate, and few hands are rolled.
+        for (int roll = 0; roll < 60000; roll++) {
+            int[] faces = new int[Die.TOTAL_NUMBER_OF_DICE];
+            for (int dieNumber = 0; dieNumber < faces.length; dieNumber++) {
+                faces[dieNumber] = (roll + dieNumber) % 2 * 3 + (roll / 2 + dieNumber / 2) % 3 + 1;
+            }
+            unfairObserver.diceRolled(0, DiceState.of(faces));
+            fairObserver.diceRolled(0, DiceState.roll(DiceState.NOT_ROLLED, 0, random));
+        }
+        monitor.check();
+        List<String> raisedAlerts = new ArrayList<>();
+        for (FairnessMonitor.Alert alert : alerts) {
+            assertTrue(alert.getPValue() < FairnessMonitor.DEFAULT_SIGNIFICANCE_LEVEL);
+            // The last few rolls of each game are not added to the node yet.
+            assertTrue(alert.getNumberOfSamples() >= 59900);
+            assertFalse(alert.toString().isEmpty());
+            raisedAlerts.add(alert.getNodeNumber() + " " + alert.getType());
+        }
+        assertEquals(List.of("1 HANDS", "1 RUNS", "-1 HANDS", "-1 RUNS"), raisedAlerts);
+
+        // The unfair rolls are in the window of the next check, and leave it at the check after that.
+        for (int check = 0; check < 2; check++) {
+            for (int roll = 0; roll < 60000; roll++) {
+                unfairObserver.diceRolled(0, DiceState.roll(DiceState.NOT_ROLLED, 0, random));
+            }
+            assertEquals(check == 0, !monitor.check().isEmpty());
+        }
+    }
+
+    @Test
+    public void checksShouldBeScheduled() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        try (FairnessMonitor monitor = new FairnessMonitor(1, 1, 0.5, alert -> latch.countDown())) {
+            RollObserver observer = monitor.observerOf(0, 1);
+            for (int roll = 0; roll < 100; roll++) {
+                observer.diceRolled(0, DiceState.of(new int[]{6, 6, 6, 6, 6}));
+            }
+            monitor.scheduleChecks(10, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void pValuesShouldMatchTheChiSquareDistribution() {
+        assertEquals(0.05, FairnessMonitor.upperTailProbability(11.0705, 5), 1e-5);
+        assertEquals(0.05, FairnessMonitor.upperTailProbability(1.95996 * 1.95996, 1), 1e-5);
+        assertEquals(0.5, FairnessMonitor.upperTailProbability(250.334, 251), 1e-4);
+        assertEquals(1, FairnessMonitor.upperTailProbability(0, 5));
+        assertTrue(FairnessMonitor.upperTailProbability(100, 5) < 1e-15);
+    }
+}
@@ -0,0 +1,192 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class GameJournalTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void changesOfGamesShouldBeJournaled() throws Exception {
+        List<Integer> diceStates = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        long gameId;
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.FSYNC);
+             GameSessionManager manager = new GameSessionManager(2, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 17,
+                     journal)) {
+            gameId = manager.createGame(new String[]{"anyName1", "anyName2"}).get();
+            for (int turn = 0; turn < NUMBER_OF_CATEGORIES * 2; turn++) {
+                diceStates.add(manager.roll(gameId).get());
+                diceStates.add(manager.keep(gameId, 0b00101).get());
+                scores.add(manager.fill(gameId, turn / 2).get());
+                manager.passTurn(gameId).get();
+            }
+            assertTrue(manager.removeGame(gameId).get());
+            // The commands have waited for the fsync of their records.
+            assertTrue(journal.whenDurable(journal.getLastLsn()).isDone());
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        long lastLsn = GameJournal.read(directory, 1, records::add);
+        assertEquals(records.size(), lastLsn);
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getLsn());
+            assertEquals(gameId, records.get(i).getGameId());
+        }
+
+        assertEquals(JournalRecord.Type.GAME_MADE, records.get(0).getType());
+        assertArrayEquals(new String[]{"anyName1", "anyName2"}, records.get(0).getPlayerNames());
+        assertEquals(JournalRecord.Type.GAME_REMOVED, records.get(records.size() - 1).getType());
+
+        List<Integer> journaledDiceStates = new ArrayList<>();
+        List<Integer> journaledScores = new ArrayList<>();
+        int numberOfTurnsPassed = 0;
+        int numberOfRoundsIncreased = 0;
+        for (JournalRecord record : records) {
+            if (record.getType() == JournalRecord.Type.DICE_ROLLED) {
+                assertEquals(journaledDiceStates.size() % 2 == 0 ? 0 : 0b00101, record.getKeptDiceMask());
+                journaledDiceStates.add(record.getDiceState());
+            } else if (record.getType() == JournalRecord.Type.CATEGORY_FILLED) {
+                assertEquals(journaledScores.size() % 2, record.getPlayerNumber());
+                assertEquals(journaledScores.size() / 2, record.getCategoryNumber());
+                journaledScores.add(record.getScore());
+            } else if (record.getType() == JournalRecord.Type.TURN_PASSED) {
+                numberOfTurnsPassed++;
+            } else if (record.getType() == JournalRecord.Type.ROUND_INCREASED) {
+                numberOfRoundsIncreased++;
+            }
+        }
+        assertEquals(diceStates, journaledDiceStates);
+        assertEquals(scores, journaledScores);
+        assertEquals(NUMBER_OF_CATEGORIES * 2, numberOfTurnsPassed);
+        assertEquals(NUMBER_OF_CATEGORIES, numberOfRoundsIncreased);
+        assertEquals(JournalRecord.Type.SCORES_CALCULATED, records.get(records.size() - 2).getType());
+    }
+
+    @Test
+    public void tornRecordShouldBeCutOffWhenReopened() throws IOException {
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.WRITE)) {
+            GameEventListener listener = journal.listenerOf(1);
+            listener.gameMade(new String[]{"anyName1", "anyName2"});
+            listener.diceRolled(0, DiceState.of(new int[]{1, 2, 3, 4, 5}));
+            listener.categoryFilled(0, 10, 40);
+        }
+
+        Path segmentPath = GameJournal.listSegments(directory).get(0);
+        long validSize = Files.size(segmentPath);
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath.toFile(), "rw")) {
+            // The last record is cut in the middle, as by a crash during its write.
+            file.setLength(validSize - 3);
+        }
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(2, GameJournal.read(directory, 1, records::add));
+        assertEquals(2, records.size());
+        assertEquals(DiceState.of(new int[]{1, 2, 3, 4, 5}), records.get(1).getDiceState());
+
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.FSYNC)) {
+            assertEquals(2, journal.getLastLsn());
+            assertEquals(3, journal.appendGameRemoved(1));
+            journal.whenDurable(3).join();
+        }
+        records.clear();
+        assertEquals(3, GameJournal.read(directory, 1, records::add));
+        assertEquals(JournalRecord.Type.GAME_REMOVED, records.get(2).getType());
+    }
+
+    @Test
+    public void readingShouldStopAtCorruptedRecord() throws IOException {
+        long sizeAfterFirstRecord;
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.FSYNC)) {
+            journal.appendGameRemoved(1);
+            journal.whenDurable(1).join();
+            sizeAfterFirstRecord = Files.size(GameJournal.listSegments(directory).get(0));
+            journal.appendGameRemoved(2);
+            journal.appendGameRemoved(3);
+        }
+
+        Path segmentPath = GameJournal.listSegments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath.toFile(), "rw")) {
+            file.seek(sizeAfterFirstRecord + 12);
+            int value = file.read();
+            file.seek(sizeAfterFirstRecord + 12);
+            file.write(value ^ 1);
+        }
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(1, GameJournal.read(directory, 1, records::add));
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).getGameId());
+
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.WRITE)) {
+            assertEquals(1, journal.getLastLsn());
+        }
+        assertEquals(sizeAfterFirstRecord, Files.size(segmentPath));
+    }
+
+    @Test
+    public void segmentsShouldBeRotated() throws IOException {
+        try (GameJournal journal = new GameJournal(directory, GameJournal.Durability.FSYNC,
+                GameJournal.DEFAULT_COMMIT_INTERVAL_NANOS, 100)) {
+            for (int gameId = 1; gameId <= 20; gameId++) {
+                journal.whenDurable(journal.appendGameRemoved(gameId)).join();
+            }
+        }
+        List<Path> segmentPaths = GameJournal.listSegments(directory);
+        assertTrue(segmentPaths.size() > 1);
+        assertEquals(1, GameJournal.firstLsnOf(segmentPaths.get(0)));
+
+        // The segments before the first LSN are skipped.
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(20, GameJournal.read(directory, 15, records::add));
+        assertEquals(6, records.size());
+        assertEquals(15, records.get(0).getLsn());
+
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.WRITE)) {
+            assertEquals(20, journal.getLastLsn());
+        }
+    }
+
+    @Test
+    public void periodicFsyncShouldMakeRecordsDurable() throws IOException {
+        try (GameJournal journal = new GameJournal(directory, GameJournal.Durability.PERIODIC_FSYNC,
+                1_000_000, GameJournal.DEFAULT_SEGMENT_SIZE)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int gameId = 1; gameId <= 1000; gameId++) {
+                futures.add(journal.whenDurable(journal.appendGameRemoved(gameId)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+        assertEquals(1000, GameJournal.read(directory, 1, record -> {
+        }));
+    }
+
+    @Test
+    public void closedJournalShouldNotBeAppended() throws IOException {
+        GameJournal journal = GameJournal.open(directory, GameJournal.Durability.WRITE);
+        GameEventListener listener = journal.listenerOf(1);
+        listener.turnPassed();
+        journal.close();
+
+        assertTrue(journal.whenDurable(1).isDone());
+        Assertions.assertThrows(IllegalStateException.class, listener::turnPassed);
+        Assertions.assertThrows(IllegalStateException.class, () -> journal.appendGameRemoved(1));
+        assertTrue(journal.whenDurable(2).isCompletedExceptionally());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> listener.gameMade(new String[]{"a".repeat(70000)}));
+    }
+}
@@ -0,0 +1,131 @@
+package yahtzee;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.ThreadFactory;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class GameServerTests {
+    private GameSessionManager manager;
+    private GameServer server;
+
+    @BeforeEach
+    public void setup() {
+        manager = new GameSessionManager(2, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 17);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+        manager.close();
+    }
+
+    @Test
+    public void gameShouldBePlayedWithPlatformThreads() throws IOException {
+        playGameOnServer(GameServer.platformThreadFactory());
+    }
+
+    @Test
+    public void gameShouldBePlayedWithVirtualThreads() throws IOException {
+        Assumptions.assumeTrue(GameServer.isVirtualThreadSupported());
+        playGameOnServer(GameServer.virtualThreadFactory());
+    }
+
+    @Test
+    public void virtualThreadFactoryShouldNeedJava21() {
+        if (!GameServer.isVirtualThreadSupported()) {
+            assertThrows(UnsupportedOperationException.class, GameServer::virtualThreadFactory);
+        }
+    }
+
+    @Test
+    public void wrongRequestsShouldBeAnsweredWithErrors() {
+        server = new GameServer(manager, GameServer.platformThreadFactory());
+        assertTrue(server.handle("HELLO").startsWith("ERROR"));
+        assertTrue(server.handle("MAKE anyName").startsWith("ERROR"));
+        assertTrue(server.handle("ROLL notNumber").startsWith("ERROR"));
+        assertTrue(server.handle("ROLL 12345").startsWith("ERROR"));
+        assertTrue(server.handle("KEEP").startsWith("ERROR"));
+
+        String gameId = server.handle("MAKE anyName1 anyName2").substring("OK ".length());
+        assertTrue(server.handle("FILL " + gameId + " 0").startsWith("ERROR"));
+        assertTrue(server.handle("ROLL " + gameId).startsWith("OK "));
+        assertTrue(server.handle("KEEP " + gameId + " 0 7").startsWith("ERROR"));
+        assertTrue(server.handle("WINNERS " + gameId).startsWith("ERROR"));
+        assertEquals("OK", server.handle("REMOVE " + gameId));
+        assertTrue(server.handle("REMOVE " + gameId).startsWith("ERROR"));
+    }
+
+    private void playGameOnServer(ThreadFactory connectionThreadFactory) throws IOException {
+        server = new GameServer(manager, connectionThreadFactory);
+        server.start(0);
+
+        try (Socket player1 = connect(); Socket player2 = connect()) {
+            BufferedReader reader1 = readerOf(player1);
+            Writer writer1 = writerOf(player1);
+            BufferedReader reader2 = readerOf(player2);
+            Writer writer2 = writerOf(player2);
+
+            writer1.write("MAKE anyName1 anyName2\n");
+            writer1.flush();
+            String gameId = reader1.readLine().substring("OK ".length());
+
+            // The players play the game with their own connections, and send the requests of a turn at once.
+            String lastResponse = null;
+            for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+                for (int playerNumber = 0; playerNumber < 2; playerNumber++) {
+                    BufferedReader reader = playerNumber == 0 ? reader1 : reader2;
+                    Writer writer = playerNumber == 0 ? writer1 : writer2;
+                    writer.write("ROLL " + gameId + "\nKEEP " + gameId + " 0 1\nFILL " + gameId + " " + round
+                            + "\nPASS " + gameId + "\n");
+                    writer.flush();
+
+                    String[] faces = reader.readLine().split(" ");
+                    assertEquals(6, faces.length);
+                    String[] keptFaces = reader.readLine().split(" ");
+                    assertEquals(faces[1], keptFaces[1]);
+                    assertEquals(faces[2], keptFaces[2]);
+                    assertTrue(reader.readLine().startsWith("OK "));
+                    lastResponse = reader.readLine();
+                }
+            }
+            assertEquals("OK FINISHED", lastResponse);
+
+            writer2.write("WINNERS " + gameId + "\nQUIT\n");
+            writer2.flush();
+            assertTrue(reader2.readLine().matches("OK anyName[12]( anyName2)?"));
+            assertEquals("BYE", reader2.readLine());
+            assertNull(reader2.readLine());
+        }
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private static BufferedReader readerOf(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), US_ASCII));
+    }
+
+    private static Writer writerOf(Socket socket) throws IOException {
+        return new OutputStreamWriter(socket.getOutputStream(), US_ASCII);
+    }
+}
@@ -0,0 +1,293 @@
+package yahtzee;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.GameSessionManager.DEFAULT_QUEUE_CAPACITY;
+
+/**
+ * @author Yoochul Kim
+ */
+public class GameSessionManagerTests {
+    private static final String[] PLAYER_NAMES = {"anyName1", "anyName2"};
+
+    private GameSessionManager manager;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        manager = new GameSessionManager(4, GameSessionManager.DEFAULT_QUEUE_CAPACITY, 17);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    public void gamesShouldBePlayedFromManyThreads() throws Exception {
+        int numberOfClients = 8;
+        int gamesPerClient = 25;
+        List<Thread> clients = new ArrayList<>();
+        List<Long> gameIds = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int i = 0; i < numberOfClients; i++) {
+            Thread client = new Thread(() -> {
+                try {
+                    for (int j = 0; j < gamesPerClient; j++) {
+                        long gameId = manager.createGame(PLAYER_NAMES).get();
+                        assertTrue(playPipelinedGame(manager, gameId).get());
+                        synchronized (gameIds) {
+                            gameIds.add(gameId);
+                        }
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        assertEquals(List.of(), errors);
+        assertEquals(numberOfClients * gamesPerClient, gameIds.size());
+        assertEquals(numberOfClients * gamesPerClient, manager.countGames().get());
+
+        for (long gameId : gameIds) {
+            int[] filledCategoriesMasks = manager.execute(gameId, session -> {
+                Player[] players = session.getGame().getPlayers();
+                return new int[]{players[0].getFilledCategoriesMask(), players[1].getFilledCategoriesMask()};
+            }).get();
+            assertArrayEquals(new int[]{ALL_CATEGORIES_MASK, ALL_CATEGORIES_MASK}, filledCategoriesMasks);
+            assertTrue(manager.removeGame(gameId).get());
+        }
+        assertEquals(0, manager.countGames().get());
+    }
+
+    @Test
+    public void gamesShouldBeReproducibleWithSeed() throws Exception {
+        int[] diceStates = new int[2];
+        for (int i = 0; i < diceStates.length; i++) {
+            try (GameSessionManager seededManager = new GameSessionManager(2, 16, 5)) {
+                long gameId = seededManager.createGame(PLAYER_NAMES).get();
+                diceStates[i] = seededManager.roll(gameId).get();
+            }
+        }
+        assertEquals(diceStates[0], diceStates[1]);
+    }
+
+    @Test
+    public void rollsShouldBeObservedByFairnessMonitor() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> manager.setFairnessMonitor(new FairnessMonitor(3, null)));
+        FairnessMonitor monitor = new FairnessMonitor(manager.getNumberOfShards(), null);
+        manager.setFairnessMonitor(monitor);
+
+        long gameId = manager.createGame(PLAYER_NAMES).get();
+        manager.roll(gameId).get();
+        manager.keep(gameId, 0b00111).get();
+        int shardNumber = (int) (gameId % manager.getNumberOfShards());
+        // The last rolls of a game are added to it and to its node every few turns, and when it is removed.
+        assertEquals(0, Arrays.stream(monitor.getGameFaceCounts(gameId)).sum());
+
+        assertTrue(manager.removeGame(gameId).get());
+        assertNull(monitor.getGameFaceCounts(gameId));
+        assertEquals(7, Arrays.stream(monitor.getNodeFaceCounts(shardNumber)).sum());
+        assertEquals(7, Arrays.stream(monitor.getFaceCounts()).sum());
+    }
+
+    @Test
+    public void finishedGamesShouldBeSubmittedToLeaderboard() throws Exception {
+        Leaderboard leaderboard = new Leaderboard();
+        manager.setLeaderboard(leaderboard);
+        long gameId = manager.createGame(PLAYER_NAMES).get();
+        playTurns(manager, gameId, NUMBER_OF_CATEGORIES * PLAYER_NAMES.length - 1);
+        assertEquals(0, leaderboard.getNumberOfPlayers());
+
+        playTurns(manager, gameId, 1);
+        int[] totalScores = manager.execute(gameId, session -> {
+            Player[] players = session.getGame().getPlayers();
+            return new int[]{players[0].getTotalScore(), players[1].getTotalScore()};
+        }).get();
+        assertEquals(2, leaderboard.getNumberOfPlayers());
+        assertEquals(totalScores[0], leaderboard.getScore(PLAYER_NAMES[0]));
+        assertEquals(totalScores[1], leaderboard.getScore(PLAYER_NAMES[1]));
+    }
+
+    @Test
+    public void failedCommandsShouldCompleteFuturesExceptionally() throws Exception {
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> manager.roll(12345).get());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+
+        long gameId = manager.createGame(PLAYER_NAMES).get();
+        exception = Assertions.assertThrows(ExecutionException.class, () -> manager.fill(gameId, 0).get());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+
+        exception = Assertions.assertThrows(ExecutionException.class,
+                () -> manager.createGame(new String[]{"anyName"}).get());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+
+        // The game is still playable after the failures.
+        manager.roll(gameId).get();
+    }
+
+    @Test
+    public void commandsToFullShardShouldBeRejected() throws Exception {
+        try (GameSessionManager smallManager = new GameSessionManager(1, 1, 5)) {
+            long gameId = smallManager.createGame(PLAYER_NAMES).get();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Object> blocking = smallManager.execute(gameId, session -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+            started.await();
+
+            CompletableFuture<Integer> queued = smallManager.roll(gameId);
+            CompletableFuture<Integer> rejected = smallManager.roll(gameId);
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, rejected::get);
+            assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+            release.countDown();
+            blocking.get();
+            queued.get();
+        }
+    }
+
+    @Test
+    public void commandsAfterCloseShouldBeRejected() {
+        manager.close();
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> manager.createGame(PLAYER_NAMES).get());
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @Test
+    public void gamesShouldBeRecoveredFromSnapshotAndJournal() throws Exception {
+        Path journalDirectory = directory.resolve("journal");
+        Path snapshotPath = directory.resolve("games.snapshot");
+        Map<Long, String> descriptions = new HashMap<>();
+        long removedGameId;
+        try (GameJournal journal = new GameJournal(journalDirectory, GameJournal.Durability.WRITE,
+                GameJournal.DEFAULT_COMMIT_INTERVAL_NANOS, 4096);
+             GameSessionManager journaledManager = new GameSessionManager(4, DEFAULT_QUEUE_CAPACITY, 17, journal)) {
+            List<Long> gameIds = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                long gameId = journaledManager.createGame(PLAYER_NAMES).get();
+                gameIds.add(gameId);
+                playTurns(journaledManager, gameId, i % 7);
+            }
+            assertTrue(GameJournal.listSegments(journalDirectory).size() > 1);
+            long snapshotLsn = journaledManager.writeSnapshot(snapshotPath);
+            assertEquals(journal.getLastLsn(), snapshotLsn);
+            // The segments before the snapshot have been deleted.
+            assertEquals(1, GameJournal.listSegments(journalDirectory).size());
+
+            // The changes after the snapshot are only in the journal.
+            for (long gameId : gameIds) {
+                playTurns(journaledManager, gameId, 3);
+            }
+            playTurns(journaledManager, gameIds.get(0), NUMBER_OF_CATEGORIES * 2 - 3);
+            assertTrue(journaledManager.execute(gameIds.get(0), GameSession::hasFinished).get());
+            removedGameId = gameIds.get(1);
+            assertTrue(journaledManager.removeGame(removedGameId).get());
+            long newGameId = journaledManager.createGame(PLAYER_NAMES).get();
+            gameIds.add(newGameId);
+            playTurns(journaledManager, newGameId, 2);
+            journaledManager.roll(newGameId).get();
+
+            for (long gameId : gameIds) {
+                if (gameId != removedGameId) {
+                    descriptions.put(gameId, journaledManager.execute(gameId, GameSnapshotTests::describe).get());
+                }
+            }
+        }
+
+        try (GameJournal journal = GameJournal.open(journalDirectory, GameJournal.Durability.WRITE);
+             GameSessionManager recoveredManager = new GameSessionManager(3, DEFAULT_QUEUE_CAPACITY, 5, journal)) {
+            assertEquals(descriptions.size(), recoveredManager.recover(snapshotPath));
+            assertEquals(descriptions.size(), recoveredManager.countGames().get());
+            for (Map.Entry<Long, String> entry : descriptions.entrySet()) {
+                assertEquals(entry.getValue(),
+                        recoveredManager.execute(entry.getKey(), GameSnapshotTests::describe).get());
+            }
+            Assertions.assertThrows(ExecutionException.class, () -> recoveredManager.roll(removedGameId).get());
+            Assertions.assertThrows(IllegalStateException.class, () -> recoveredManager.recover(snapshotPath));
+
+            // The recovered games go on, and their changes are journaled again.
+            long gameId = recoveredManager.createGame(PLAYER_NAMES).get();
+            assertTrue(gameId > descriptions.keySet().stream().mapToLong(Long::longValue).max().getAsLong());
+            long lastLsn = journal.getLastLsn();
+            recoveredManager.fill(gameId - 1, NUMBER_OF_CATEGORIES - 1).get();
+            assertTrue(journal.getLastLsn() > lastLsn);
+            recoveredManager.writeSnapshot(snapshotPath);
+        }
+
+        // Without the snapshot, all games are recovered from the beginning of the journal, which has been deleted.
+        Files.delete(snapshotPath);
+        try (GameJournal journal = GameJournal.open(journalDirectory, GameJournal.Durability.WRITE);
+             GameSessionManager recoveredManager = new GameSessionManager(2, DEFAULT_QUEUE_CAPACITY, 5, journal)) {
+            Assertions.assertThrows(IOException.class, () -> recoveredManager.recover(snapshotPath));
+        }
+    }
+
+    private static void playTurns(GameSessionManager manager, long gameId, int numberOfTurns) throws Exception {
+        for (int turn = 0; turn < numberOfTurns; turn++) {
+            int round = manager.execute(gameId, session -> session.getGame().getCurrentRound()).get();
+            manager.roll(gameId).get();
+            manager.keep(gameId, 0b00011).get();
+            manager.fill(gameId, round).get();
+            manager.passTurn(gameId).get();
+        }
+    }
+
+    /**
+     * Send all commands of a game without waiting for their results, which is possible as each player
+     * fills the category of the round number.
+     */
+    private static CompletableFuture<Boolean> playPipelinedGame(GameSessionManager manager, long gameId) {
+        CompletableFuture<Boolean> hasFinished = null;
+        for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+            for (int playerNumber = 0; playerNumber < PLAYER_NAMES.length; playerNumber++) {
+                manager.roll(gameId);
+                manager.keep(gameId, 0b00011);
+                manager.fill(gameId, round);
+                hasFinished = manager.passTurn(gameId);
+            }
+        }
+        return hasFinished;
+    }
+}
@@ -0,0 +1,122 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class GameSessionTests {
+    private GameSession session;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        session = new GameSession(7, new String[]{"anyName1", "anyName2"}, new SplittableRandom(17));
+    }
+
+    @Test
+    public void gameShouldFinishAfterAllRounds() {
+        assertEquals(7, session.getGameId());
+        YahtzeeGameImpl game = session.getGame();
+
+        for (int round = 0; round < NUMBER_OF_CATEGORIES; round++) {
+            for (int playerNumber = 0; playerNumber < 2; playerNumber++) {
+                assertEquals(round, game.getCurrentRound());
+                assertEquals(playerNumber, game.getCurrentPlayerNumber());
+                assertFalse(session.hasFinished());
+
+                session.roll();
+                int diceState = session.keep(0b10101);
+                assertEquals(1, game.getDiceRetryCount());
+
+                Player player = game.getPlayers()[playerNumber];
+                int score = session.fill(round);
+                assertEquals(player.calculateCategoryScore(round, diceState), score);
+                assertEquals(score, player.getCategoriesScores()[round]);
+
+                assertEquals(round == NUMBER_OF_CATEGORIES - 1 && playerNumber == 1, session.passTurn());
+                assertEquals(0, game.getDiceRetryCount());
+            }
+        }
+
+        assertTrue(session.hasFinished());
+        for (Player player : game.getPlayers()) {
+            assertEquals(ALL_CATEGORIES_MASK, player.getFilledCategoriesMask());
+            assertEquals(player.getRunningTotalScore(), player.getTotalScore());
+        }
+        assertTrue(session.getWinnerNames().length >= 1);
+    }
+
+    @Test
+    public void commandsOutOfTurnShouldThrowException() {
+        Assertions.assertThrows(IllegalStateException.class, () -> session.keep(0));
+        Assertions.assertThrows(IllegalStateException.class, () -> session.fill(0));
+        Assertions.assertThrows(IllegalStateException.class, () -> session.passTurn());
+        Assertions.assertThrows(IllegalStateException.class, () -> session.getWinnerNames());
+
+        session.roll();
+        Assertions.assertThrows(IllegalStateException.class, () -> session.roll());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> session.keep(0b100000));
+        for (int i = 0; i < NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS; i++) {
+            session.keep(0);
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> session.keep(0));
+
+        session.fill(0);
+        Assertions.assertThrows(IllegalStateException.class, () -> session.fill(1));
+        Assertions.assertThrows(IllegalStateException.class, () -> session.keep(0));
+        session.passTurn();
+
+        // The second player has not filled the category yet, but the first player cannot fill it again.
+        session.roll();
+        session.fill(0);
+        session.passTurn();
+        session.roll();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> session.fill(0));
+    }
+
+    @Test
+    public void replayedChangesShouldMakeTheSameSession() throws IOException {
+        String[] playerNames = {"anyName1", "anyName2"};
+        GameSession journaledSession;
+        try (GameJournal journal = GameJournal.open(directory, GameJournal.Durability.WRITE)) {
+            journaledSession = new GameSession(7, playerNames, new SplittableRandom(17), journal.listenerOf(7));
+            for (int turn = 0; turn < 5; turn++) {
+                journaledSession.roll();
+                journaledSession.keep(0b01010);
+                journaledSession.fill(turn);
+                journaledSession.passTurn();
+            }
+            journaledSession.roll();
+            journaledSession.keep(0b00001);
+        }
+
+        GameSession replayedSession = new GameSession(7, playerNames, new SplittableRandom(3));
+        GameJournal.read(directory, 1, replayedSession::replay);
+        assertEquals(GameSnapshotTests.describe(journaledSession), GameSnapshotTests.describe(replayedSession));
+
+        // The turn goes on with one retry left.
+        Assertions.assertThrows(IllegalStateException.class, replayedSession::roll);
+        replayedSession.keep(0);
+        Assertions.assertThrows(IllegalStateException.class, () -> replayedSession.keep(0));
+        replayedSession.fill(NUMBER_OF_CATEGORIES - 1);
+
+        // A change of another player does not match the game.
+        JournalRecord wrongRecord = new JournalRecord(1, 7, JournalRecord.Type.CATEGORY_FILLED, null, 0, 0, 1, 0, 0);
+        Assertions.assertThrows(IllegalStateException.class, () -> session.replay(wrongRecord));
+    }
+}
@@ -0,0 +1,117 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class GameSnapshotTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void gamesShouldBeRestoredFromSnapshot() throws IOException {
+        SplittableRandom random = new SplittableRandom(17);
+        GameSession newGame = new GameSession(1, new String[]{"anyName1", "anyName2"}, random.split());
+        GameSession rolledGame = new GameSession(2, new String[]{"anyName1", "anyName2", "anyName3"}, random.split());
+        rolledGame.roll();
+        rolledGame.keep(0b10001);
+        GameSession filledGame = new GameSession(3, new String[]{"anyName1", "anyName2"}, random.split());
+        filledGame.roll();
+        filledGame.fill(Category.Type.CHANCE.getValue());
+        GameSession finishedGame = new GameSession(4, new String[]{"anyName1", "anyName2"}, random.split());
+        for (int turn = 0; turn < NUMBER_OF_CATEGORIES * 2; turn++) {
+            finishedGame.roll();
+            finishedGame.fill(turn / 2);
+            finishedGame.passTurn();
+        }
+
+        Path path = directory.resolve("games.snapshot");
+        GameSnapshot.write(path, 5, List.of(
+                GameSnapshot.capture(10, List.of(newGame, rolledGame)),
+                GameSnapshot.capture(7, List.of(filledGame, finishedGame)),
+                GameSnapshot.capture(12, List.of())));
+
+        GameSnapshot snapshot = GameSnapshot.read(path, new SplittableRandom(5));
+        assertEquals(5, snapshot.getNextGameId());
+        assertEquals(7, snapshot.getFirstLsn());
+        assertEquals(12, snapshot.getLastLsn());
+        assertEquals(10, snapshot.getLsn(2));
+        assertEquals(7, snapshot.getLsn(4));
+        assertEquals(-1, snapshot.getLsn(5));
+        assertEquals(4, snapshot.getSessions().size());
+        for (GameSession session : List.of(newGame, rolledGame, filledGame, finishedGame)) {
+            assertEquals(describe(session), describe(snapshot.getSessions().get(session.getGameId())));
+        }
+
+        // The restored games continue from their turns.
+        GameSession restoredGame = snapshot.getSessions().get(2L);
+        Assertions.assertThrows(IllegalStateException.class, restoredGame::roll);
+        restoredGame.keep(0b00001);
+        Assertions.assertThrows(IllegalStateException.class, () -> restoredGame.keep(0));
+        restoredGame.fill(0);
+        assertFalse(restoredGame.passTurn());
+        assertEquals(1, restoredGame.getGame().getCurrentPlayerNumber());
+        assertArrayEquals(finishedGame.getWinnerNames(), snapshot.getSessions().get(4L).getWinnerNames());
+    }
+
+    @Test
+    public void corruptedSnapshotShouldNotBeRead() throws IOException {
+        Path path = directory.resolve("games.snapshot");
+        GameSession session = new GameSession(1, new String[]{"anyName1", "anyName2"}, new SplittableRandom(17));
+        GameSnapshot.write(path, 2, List.of(GameSnapshot.capture(0, List.of(session))));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() / 2);
+            int value = file.read();
+            file.seek(file.length() / 2);
+            file.write(value ^ 1);
+        }
+        Assertions.assertThrows(IOException.class, () -> GameSnapshot.read(path, new SplittableRandom()));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        Assertions.assertThrows(IOException.class, () -> GameSnapshot.read(path, new SplittableRandom()));
+
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        Assertions.assertThrows(IOException.class, () -> GameSnapshot.read(path, new SplittableRandom()));
+    }
+
+    /**
+     * Describe the whole state of a session, so two sessions are compared by their descriptions.
+     */
+    static String describe(GameSession session) {
+        YahtzeeGameImpl game = session.getGame();
+        StringBuilder description = new StringBuilder();
+        description.append(session.getGameId()).append(' ')
+                .append(session.hasRolled()).append(' ')
+                .append(session.hasFilled()).append(' ')
+                .append(session.hasFinished()).append(' ')
+                .append(game.getCurrentRound()).append(' ')
+                .append(game.getCurrentPlayerNumber()).append(' ')
+                .append(game.getDiceRetryCount()).append(' ')
+                .append(game.getDiceState());
+        for (Player player : game.getPlayers()) {
+            description.append(' ').append(player.getName())
+                    .append(' ').append(player.getFilledCategoriesMask())
+                    .append(' ').append(Arrays.toString(player.getCategoriesScores()))
+                    .append(' ').append(player.getRunningTotalScore())
+                    .append(' ').append(player.getTotalScore());
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * @author Yoochul Kim
+ */
+public class LeaderboardTests {
+    @Test
+    public void playersShouldBeRankedByTheirBestScores() {
+        Leaderboard leaderboard = new Leaderboard();
+        assertTrue(leaderboard.submit("anyName1", 120));
+        assertTrue(leaderboard.submit("anyName2", 110));
+        assertTrue(leaderboard.submit("anyName3", 100));
+        assertTrue(leaderboard.submit("anyName4", 90));
+        // Only a better score is kept.
+        assertFalse(leaderboard.submit("anyName1", 50));
+        assertTrue(leaderboard.submit("anyName3", 110));
+        assertTrue(leaderboard.submit("anyName5", MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME));
+        assertTrue(leaderboard.submit("anyName6", 0));
+
+        assertEquals(6, leaderboard.getNumberOfPlayers());
+        assertEquals(120, leaderboard.getScore("anyName1"));
+        assertEquals(110, leaderboard.getScore("anyName3"));
+        assertEquals(-1, leaderboard.getScore("unknownName"));
+        assertEquals(1, leaderboard.getRank("anyName5"));
+        assertEquals(2, leaderboard.getRank("anyName1"));
+        assertEquals(3, leaderboard.getRank("anyName2"));
+        assertEquals(3, leaderboard.getRank("anyName3"));
+        assertEquals(5, leaderboard.getRank("anyName4"));
+        assertEquals(6, leaderboard.getRank("anyName6"));
+        assertEquals(-1, leaderboard.getRank("unknownName"));
+
+        assertEquals(List.of("1. anyName5 414", "2. anyName1 120"), describe(leaderboard.getTopEntries(2)));
+        assertEquals(6, leaderboard.getTopEntries(100).size());
+        List<String> around = describe(leaderboard.getEntriesAround(3, 1));
+        assertEquals(3, around.size());
+        assertTrue(around.containsAll(List.of("3. anyName2 110", "3. anyName3 110")));
+        assertEquals("5. anyName4 90", around.get(2));
+        assertEquals(List.of("1. anyName5 414", "2. anyName1 120"), describe(leaderboard.getEntriesAround(0, 1)));
+        assertEquals(List.of("6. anyName6 0"), describe(leaderboard.getEntries(5, Integer.MAX_VALUE)));
+        assertEquals(List.of(), leaderboard.getEntries(6, 10));
+        assertEquals(List.of(), leaderboard.getEntries(0, 0));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> leaderboard.submit("anyName1", -1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> leaderboard.submit("anyName1", MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> leaderboard.getEntries(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> leaderboard.getEntriesAround(0, -1));
+    }
+
+    @Test
+    public void finishedGameShouldBeSubmitted() {
+        Leaderboard leaderboard = new Leaderboard();
+        Player[] players = {new Player("anyName1"), new Player("anyName2")};
+        players[0].setTotalScoreForUnitTest(200);
+        players[1].setTotalScoreForUnitTest(150);
+        leaderboard.submitAll(players);
+        assertEquals(List.of("1. anyName1 200", "2. anyName2 150"), describe(leaderboard.getTopEntries(10)));
+    }
+
+    @Test
+    public void concurrentSubmissionsShouldKeepTheBestScores() throws InterruptedException {
+        int numberOfWriters = 8;
+        int submissionsPerWriter = 50000;
+        int numberOfNames = 20000;
+        Leaderboard leaderboard = new Leaderboard();
+        List<Map<String, Integer>> bestScoresOfWriters = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < numberOfWriters; i++) {
+            Map<String, Integer> bestScores = new HashMap<>();
+            bestScoresOfWriters.add(bestScores);
+            SplittableRandom random = new SplittableRandom(53 + i);
+            writers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < submissionsPerWriter; j++) {
+                        String name = "player" + random.nextInt(numberOfNames);
+                        int score = random.nextInt(MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1);
+                        leaderboard.submit(name, score);
+                        bestScores.merge(name, score, Math::max);
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        // The reader sees the scores in order while the players are moving.
+        Thread reader = new Thread(() -> {
+            try {
+                start.await();
+                while (isWriting.get()) {
+                    List<Leaderboard.Entry> entries = leaderboard.getTopEntries(100);
+                    for (int i = 1; i < entries.size(); i++) {
+                        assertTrue(entries.get(i - 1).getScore() >= entries.get(i).getScore());
+                    }
+                    int rank = leaderboard.getRank("player0");
+                    assertTrue(rank == -1 || rank >= 1);
+                }
+            } catch (Throwable e) {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            }
+        });
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        reader.start();
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        isWriting.set(false);
+        reader.join();
+        assertEquals(List.of(), errors);
+
+        Map<String, Integer> bestScores = new HashMap<>();
+        for (Map<String, Integer> bestScoresOfWriter : bestScoresOfWriters) {
+            bestScoresOfWriter.forEach((name, score) -> bestScores.merge(name, score, Math::max));
+        }
+        assertEquals(bestScores.size(), leaderboard.getNumberOfPlayers());
+
+        // Every player is listed once, in the order of the scores, with the rank of its score.
+        List<Leaderboard.Entry> entries = leaderboard.getEntries(0, Integer.MAX_VALUE);
+        assertEquals(bestScores.size(), entries.size());
+        Set<String> listedNames = new HashSet<>();
+        int numberOfHigherPlayers = 0;
+        for (int position = 0; position < entries.size(); position++) {
+            Leaderboard.Entry entry = entries.get(position);
+            assertTrue(listedNames.add(entry.getPlayerName()));
+            assertEquals((int) bestScores.get(entry.getPlayerName()), entry.getScore());
+            if (position > 0 && entries.get(position - 1).getScore() != entry.getScore()) {
+                assertTrue(entries.get(position - 1).getScore() > entry.getScore());
+                numberOfHigherPlayers = position;
+            }
+            assertEquals(numberOfHigherPlayers + 1, entry.getRank());
+            assertEquals(entry.getRank(), leaderboard.getRank(entry.getPlayerName()));
+        }
+        for (int position = 0; position < entries.size(); position += 997) {
+            assertEquals(entries.get(position).getScore(), leaderboard.getEntries(position, 1).get(0).getScore());
+        }
+    }
+
+    private static List<String> describe(List<Leaderboard.Entry> entries) {
+        List<String> descriptions = new ArrayList<>();
+        for (Leaderboard.Entry entry : entries) {
+            descriptions.add(entry.toString());
+        }
+        return descriptions;
+    }
+}
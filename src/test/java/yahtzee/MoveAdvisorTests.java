@@ -0,0 +1,139 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.*;
+import static yahtzee.Category.Type.*;
+import static yahtzee.Die.NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class MoveAdvisorTests {
+    private static StrategyTable strategyTable;
+
+    private MoveAdvisor moveAdvisor;
+    private Player player;
+
+    @BeforeAll
+    public static void setupTable() {
+        strategyTable = new StrategySolver().solve(NUMBER_OF_CATEGORIES - 2);
+    }
+
+    @BeforeEach
+    public void setup() {
+        moveAdvisor = new MoveAdvisor(strategyTable);
+        player = new Player("anyName");
+    }
+
+    @Test
+    public void diceForYahtzeeShouldBeKept() {
+        fillAllCategoriesExcept(YAHTZEE.value);
+        int diceState = DiceState.of(new int[]{6, 2, 6, 3, 6});
+        double[] expectedScores = new double[DiceState.ALL_DICE_MASK + 1];
+
+        assertEquals(0b10101, moveAdvisor.getBestKeptDiceMask(player, diceState, 2, expectedScores));
+
+        // Keeping the same faces of other dice is as good.
+        assertEquals(expectedScores[0b00101], expectedScores[0b10100]);
+        // With one reroll left, keeping three sixes makes a yahtzee with probability 1/36.
+        assertEquals(YAHTZEE_SCORE / 36.0,
+                expectedScores[moveAdvisor.getBestKeptDiceMask(player, diceState, 1, expectedScores)], 1e-9);
+        for (double expectedScore : expectedScores) {
+            assertTrue(expectedScore <= YAHTZEE_SCORE / 36.0 + 1e-9);
+        }
+    }
+
+    @Test
+    public void bestCategoryShouldBeChosen() {
+        fillAllCategoriesExcept(CHANCE.value, YAHTZEE.value);
+        double[] expectedScores = new double[NUMBER_OF_CATEGORIES];
+
+        assertEquals(YAHTZEE.value, moveAdvisor.getBestCategory(player, DiceState.of(new int[]{6, 6, 6, 6, 6}), expectedScores));
+        assertEquals(Double.NEGATIVE_INFINITY, expectedScores[ACE.value]);
+        // Chance is filled next turn.
+        assertEquals(YAHTZEE_SCORE + strategyTable.getExpectedScore(ALL_CATEGORIES_MASK & ~(1 << CHANCE.value), 0),
+                expectedScores[YAHTZEE.value], 1e-4);
+
+        assertEquals(CHANCE.value, moveAdvisor.getBestCategory(player, DiceState.of(new int[]{6, 6, 5, 5, 4}), expectedScores));
+        assertEquals(26 + strategyTable.getExpectedScore(ALL_CATEGORIES_MASK & ~(1 << YAHTZEE.value), 0),
+                expectedScores[CHANCE.value], 1e-4);
+    }
+
+    @Test
+    public void expectedScoresShouldIncludeRunningTotal() {
+        player.fillCategory(TWOS.value, 8);
+        player.fillCategory(THREES.value, 12);
+        player.fillCategory(FOURS.value, 16);
+        player.fillCategory(FIVES.value, 20);
+        player.fillCategory(SIXES.value, 6);
+        player.fillCategory(CHANCE.value, 20);
+        fillAllCategoriesExcept(ACE.value, TWOS.value, THREES.value, FOURS.value, FIVES.value, SIXES.value, CHANCE.value);
+        double[] expectedScores = new double[NUMBER_OF_CATEGORIES];
+
+        // Two aces make 64 in the upper section.
+        moveAdvisor.getBestCategory(player, DiceState.of(new int[]{1, 1, 2, 3, 4}), expectedScores);
+        assertEquals(82 + 2 + UPPER_SECTION_BONUS, expectedScores[ACE.value], 1e-9);
+    }
+
+    @Test
+    public void wrongHintsShouldNotBeGiven() {
+        double[] expectedScores = new double[DiceState.ALL_DICE_MASK + 1];
+        int diceState = DiceState.of(new int[]{1, 2, 3, 4, 5});
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> moveAdvisor.getBestCategory(player, DiceState.NOT_ROLLED, expectedScores));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> moveAdvisor.getBestKeptDiceMask(player, diceState, 0, expectedScores));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> moveAdvisor.getBestKeptDiceMask(player, diceState, NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS + 1,
+                        expectedScores));
+
+        fillAllCategoriesExcept();
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> moveAdvisor.getBestCategory(player, diceState, expectedScores));
+    }
+
+    @Test
+    public void gameShouldGiveHintsOfCurrentPlayer() {
+        YahtzeeGameImpl game = new YahtzeeGameImpl(1);
+        game.makeGame(new String[]{"anyName1", "anyName2"});
+        double[] expectedScores = new double[DiceState.ALL_DICE_MASK + 1];
+
+        // There is no advisor.
+        game.rollDice();
+        Assertions.assertThrows(IllegalStateException.class, () -> game.getBestCategory(expectedScores));
+
+        game.setMoveAdvisor(moveAdvisor);
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES - 1; categoryNumber++) {
+            game.fillCategory(categoryNumber, 0);
+        }
+
+        int keptDiceMask = game.getBestKeptDiceMask(expectedScores);
+        assertEquals(moveAdvisor.getBestKeptDiceMask(game.getPlayers()[0], game.getDiceState(),
+                NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS, new double[DiceState.ALL_DICE_MASK + 1]), keptDiceMask);
+        assertEquals(YAHTZEE.value, game.getBestCategory(expectedScores));
+
+        for (int i = 0; i < NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS; i++) {
+            game.rollDice(keptDiceMask);
+            game.increaseDiceRetryCount();
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> game.getBestKeptDiceMask(expectedScores));
+    }
+
+    private void fillAllCategoriesExcept(int... openCategories) {
+        int openCategoriesMask = 0;
+        for (int categoryNumber : openCategories) {
+            openCategoriesMask |= 1 << categoryNumber;
+        }
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            if ((openCategoriesMask & 1 << categoryNumber) == 0) {
+                player.fillCategory(categoryNumber, 0);
+            }
+        }
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
 import static yahtzee.Category.NUMBER_OF_CATEGORIES;
 
 /**
@@ -123,6 +125,68 @@ public class PlayerTests {
         assertEquals(NUMBER_OF_CATEGORIES - 3, mockPlayer3.getAvailableCategories().length);
     }
 
+    @Test
+    public void filledCategoriesShouldBeKeptAsBitMask() {
+        assertEquals(0, mockPlayer1.getFilledCategoriesMask());
+        assertEquals(ALL_CATEGORIES_MASK, mockPlayer1.getAvailableCategoriesMask());
+
+        int anyScore = 10;
+        mockPlayer1.fillCategory(Category.Type.FOURS.getValue(), anyScore);
+        mockPlayer1.fillCategory(Category.Type.YAHTZEE.getValue(), anyScore);
+
+        int filledCategoriesMask = 1 << Category.Type.FOURS.getValue() | 1 << Category.Type.YAHTZEE.getValue();
+        assertEquals(filledCategoriesMask, mockPlayer1.getFilledCategoriesMask());
+        assertEquals(ALL_CATEGORIES_MASK & ~filledCategoriesMask, mockPlayer1.getAvailableCategoriesMask());
+        assertFalse(mockPlayer1.canChooseThisCategory(Category.Type.FOURS.getValue()));
+        assertTrue(mockPlayer1.canChooseThisCategory(Category.Type.FIVES.getValue()));
+        assertTrue(mockPlayer1.areCategoriesFilled()[Category.Type.YAHTZEE.getValue()]);
+
+        // Players who have filled the same categories share the available categories.
+        mockPlayer2.fillCategory(Category.Type.YAHTZEE.getValue(), anyScore);
+        mockPlayer2.fillCategory(Category.Type.FOURS.getValue(), anyScore);
+        assertSame(mockPlayer1.getAvailableCategories(), mockPlayer2.getAvailableCategories());
+    }
+
+    @Test
+    public void scoresOfAvailableCombinationsShouldBePutIntoTheArray() {
+        int anyScore = 10;
+        int diceState = DiceState.of(new int[]{2, 2, 2, 3, 3});
+        int[] scores = new int[NUMBER_OF_CATEGORIES];
+
+        // None of categories is selected.
+        assertEquals((1 << NUMBER_OF_CATEGORIES) - 1, mockPlayer1.getScoresOfAvailableCombinations(diceState, scores));
+
+        mockPlayer1.fillCategory(Category.Type.ACE.getValue(), anyScore);
+        mockPlayer1.fillCategory(Category.Type.FULL_HOUSE.getValue(), anyScore);
+        int availableCategoriesMask = mockPlayer1.getScoresOfAvailableCombinations(diceState, scores);
+
+        assertEquals(mockPlayer1.getAvailableCategoriesMask(), availableCategoriesMask);
+        assertEquals(0, availableCategoriesMask & 1 << Category.Type.ACE.getValue());
+        assertEquals(0, availableCategoriesMask & 1 << Category.Type.FULL_HOUSE.getValue());
+        assertEquals(NUMBER_OF_CATEGORIES - 2, Integer.bitCount(availableCategoriesMask));
+
+        assertEquals(6, scores[Category.Type.TWOS.getValue()]);
+        assertEquals(6, scores[Category.Type.THREES.getValue()]);
+        assertEquals(12, scores[Category.Type.THREE_OF_A_KIND.getValue()]);
+        assertEquals(Category.FULL_HOUSE_SCORE, scores[Category.Type.FULL_HOUSE.getValue()]);
+
+        // The map has only the available categories.
+        Map<Integer, Integer> availableCombinationsMap = mockPlayer1.getScoresOfAvailableCombinations(diceState);
+        assertEquals(NUMBER_OF_CATEGORIES - 2, availableCombinationsMap.size());
+        availableCombinationsMap.forEach((categoryNumber, score) -> assertEquals(scores[categoryNumber], score));
+    }
+
+    @Test
+    public void unrolledPackedDiceShouldNotBeScored() {
+        int[] scores = new int[NUMBER_OF_CATEGORIES];
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> mockPlayer1.calculateCategoryScore(Category.Type.YAHTZEE.getValue(), DiceState.NOT_ROLLED));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> mockPlayer1.getScoresOfAvailableCombinations(DiceState.NOT_ROLLED, scores));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> mockPlayer1.getScoresOfAvailableCombinations(DiceState.NOT_ROLLED));
+    }
+
     @Test
     public void fillingAllCategoriesShouldBePrecededBeforeCalculationOfTotalScore() {
         Assertions.assertThrows(IllegalStateException.class, () -> {
@@ -147,5 +211,47 @@ public class PlayerTests {
         }
         mockPlayer2.calculateTotalScore();
         assertEquals(98, mockPlayer2.getTotalScore());
+
+        // Calculating again should not count the scores twice.
+        mockPlayer2.calculateTotalScore();
+        assertEquals(98, mockPlayer2.getTotalScore());
+    }
+
+    @Test
+    public void runningTotalsShouldBeUpdatedWhenCategoriesAreFilled() {
+        assertEquals(0, mockPlayer1.getRunningTotalScore());
+
+        mockPlayer1.fillCategory(Category.Type.SIXES.getValue(), 24);
+        mockPlayer1.fillCategory(Category.Type.YAHTZEE.getValue(), Category.YAHTZEE_SCORE);
+        assertEquals(24, mockPlayer1.getUpperSectionScore());
+        assertEquals(Category.YAHTZEE_SCORE, mockPlayer1.getLowerSectionScore());
+        assertFalse(mockPlayer1.hasUpperSectionBonus());
+        assertEquals(74, mockPlayer1.getRunningTotalScore());
+
+        mockPlayer1.fillCategory(Category.Type.FIVES.getValue(), 20);
+        mockPlayer1.fillCategory(Category.Type.FOURS.getValue(), 16);
+        mockPlayer1.fillCategory(Category.Type.THREES.getValue(), 3);
+        assertEquals(63, mockPlayer1.getUpperSectionScore());
+        assertTrue(mockPlayer1.hasUpperSectionBonus());
+        assertEquals(63 + Category.UPPER_SECTION_BONUS + Category.YAHTZEE_SCORE, mockPlayer1.getRunningTotalScore());
+
+        // The total score is set only by calculateTotalScore().
+        assertEquals(0, mockPlayer1.getTotalScore());
+    }
+
+    @Test
+    public void scoresShouldBeResetForNewGame() {
+        for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+            mockPlayer1.fillCategory(i, 10);
+        }
+        mockPlayer1.calculateTotalScore();
+
+        mockPlayer1.resetScores();
+        assertEquals(0, mockPlayer1.getFilledCategoriesMask());
+        assertEquals(0, mockPlayer1.getRunningTotalScore());
+        assertEquals(0, mockPlayer1.getTotalScore());
+        assertEquals(NUMBER_OF_CATEGORIES, mockPlayer1.getAvailableCategories().length);
+        mockPlayer1.fillCategory(0, 3);
+        assertEquals(3, mockPlayer1.getUpperSectionScore());
     }
 }
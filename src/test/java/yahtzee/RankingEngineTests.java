@@ -0,0 +1,168 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.Type;
+import static yahtzee.Category.UPPER_SECTION_BONUS;
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * @author Yoochul Kim
+ */
+public class RankingEngineTests {
+    private RankingEngine rankingEngine;
+
+    @BeforeEach
+    public void setup() {
+        rankingEngine = new RankingEngine();
+    }
+
+    @Test
+    public void ranksShouldBeCorrect() {
+        // 110 120 100 110 -> competition ranks: 2 1 4 2, dense ranks: 2 1 3 2
+        Player[] players = playersOf(110, 120, 100, 110);
+        rankingEngine.rankByTotalScore(players);
+
+        assertEquals(4, rankingEngine.getNumberOfPlayers());
+        int[] competitionRanks = {2, 1, 4, 2};
+        int[] denseRanks = {2, 1, 3, 2};
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(players[i].getTotalScore(), rankingEngine.getScore(i));
+            assertEquals(competitionRanks[i], rankingEngine.getCompetitionRank(i));
+            assertEquals(denseRanks[i], rankingEngine.getDenseRank(i));
+        }
+
+        // The players of the same score are in the array order.
+        int[] rankedPlayerNumbers = {1, 0, 3, 2};
+        for (int position = 0; position < players.length; position++) {
+            assertEquals(rankedPlayerNumbers[position], rankingEngine.getRankedPlayerNumber(position));
+        }
+
+        assertArrayEquals(new Player[]{players[1]}, rankingEngine.getWinners());
+        assertArrayEquals(new Player[]{players[1], players[0]}, rankingEngine.getTopPlayers(2));
+        assertArrayEquals(new Player[]{players[1], players[0], players[3], players[2]},
+                rankingEngine.getTopPlayers(10));
+        assertEquals(0, rankingEngine.getTopPlayers(0).length);
+    }
+
+    @Test
+    public void allPlayersShouldWinWithSameScore() {
+        Player[] players = playersOf(0, 0, 0);
+        rankingEngine.rankByTotalScore(players);
+
+        assertArrayEquals(players, rankingEngine.getWinners());
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(1, rankingEngine.getCompetitionRank(i));
+            assertEquals(1, rankingEngine.getDenseRank(i));
+        }
+    }
+
+    @Test
+    public void ranksShouldBeSameAsComparingEveryTwoPlayers() {
+        SplittableRandom random = new SplittableRandom(16);
+        for (int numberOfPlayers : new int[]{1, 2, 7, 1000, 3}) {
+            int[] scores = new int[numberOfPlayers];
+            for (int i = 0; i < numberOfPlayers; i++) {
+                // A narrow range makes many ties.
+                scores[i] = numberOfPlayers == 1000
+                        ? random.nextInt(MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1)
+                        : 100 + random.nextInt(3);
+            }
+            Player[] players = playersOf(scores);
+            rankingEngine.rankByTotalScore(players);
+
+            int numberOfWinners = 0;
+            for (int i = 0; i < numberOfPlayers; i++) {
+                int competitionRank = 1;
+                for (int j = 0; j < numberOfPlayers; j++) {
+                    if (scores[j] > scores[i]) {
+                        competitionRank++;
+                    }
+                }
+                int denseRank = 1;
+                for (int score = scores[i] + 1; score <= MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME; score++) {
+                    for (int j = 0; j < numberOfPlayers; j++) {
+                        if (scores[j] == score) {
+                            denseRank++;
+                            break;
+                        }
+                    }
+                }
+                assertEquals(competitionRank, rankingEngine.getCompetitionRank(i));
+                assertEquals(denseRank, rankingEngine.getDenseRank(i));
+                if (competitionRank == 1) {
+                    numberOfWinners++;
+                }
+            }
+            assertEquals(numberOfWinners, rankingEngine.getWinners().length);
+
+            for (int position = 1; position < numberOfPlayers; position++) {
+                assertTrue(scores[rankingEngine.getRankedPlayerNumber(position - 1)]
+                        >= scores[rankingEngine.getRankedPlayerNumber(position)]);
+            }
+        }
+    }
+
+    @Test
+    public void playersShouldBeRankedInTheMiddleOfGame() {
+        Player[] players = {new Player("anyName1"), new Player("anyName2")};
+        players[0].fillCategory(Type.CHANCE.getValue(), 20);
+        players[1].fillCategory(Type.SIXES.getValue(), 30);
+        players[1].fillCategory(Type.FIVES.getValue(), 25);
+        players[1].fillCategory(Type.FOURS.getValue(), 8);
+
+        rankingEngine.rankByRunningTotalScore(players);
+        assertEquals(63 + UPPER_SECTION_BONUS, rankingEngine.getScore(1));
+        assertArrayEquals(new Player[]{players[1]}, rankingEngine.getWinners());
+        assertEquals(2, rankingEngine.getCompetitionRank(0));
+
+        // The total scores have not been calculated yet.
+        rankingEngine.rankByTotalScore(players);
+        assertArrayEquals(players, rankingEngine.getWinners());
+    }
+
+    @Test
+    public void scoresOutOfRangeShouldBeRankedByComparison() {
+        Player[] players = playersOf(500, -10, 110, 500, 110);
+        rankingEngine.rankByTotalScore(players);
+
+        int[] competitionRanks = {1, 5, 3, 1, 3};
+        int[] denseRanks = {1, 3, 2, 1, 2};
+        int[] rankedPlayerNumbers = {0, 3, 2, 4, 1};
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(competitionRanks[i], rankingEngine.getCompetitionRank(i));
+            assertEquals(denseRanks[i], rankingEngine.getDenseRank(i));
+            assertEquals(rankedPlayerNumbers[i], rankingEngine.getRankedPlayerNumber(i));
+        }
+        assertArrayEquals(new Player[]{players[0], players[3]}, rankingEngine.getWinners());
+
+        // YahtzeeGame.fillCategory() accepts any score.
+        YahtzeeGameImpl game = new YahtzeeGameImpl(1);
+        game.makeGame(new String[]{"anyName1", "anyName2"});
+        game.fillCategory(Type.CHANCE.getValue(), MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME + 1);
+        game.calculateScores();
+        assertArrayEquals(new Player[]{game.getPlayers()[0]}, game.getWinners());
+    }
+
+    @Test
+    public void wrongArgumentsShouldThrowException() {
+        rankingEngine.rankByTotalScore(playersOf(100, 200));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rankingEngine.getCompetitionRank(2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rankingEngine.getRankedPlayerNumber(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rankingEngine.getTopPlayers(-1));
+    }
+
+    private static Player[] playersOf(int... totalScores) {
+        Player[] players = new Player[totalScores.length];
+        for (int i = 0; i < totalScores.length; i++) {
+            players[i] = new Player("anyName" + i);
+            players[i].setTotalScore(totalScores[i]);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,116 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+import static yahtzee.RerollTable.*;
+import static yahtzee.ScoreTable.NUMBER_OF_FACES;
+import static yahtzee.ScoreTable.NUMBER_OF_HANDS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class RerollTableTests {
+
+    @Test
+    public void outcomesShouldBeSameAsAllRerolls() {
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            for (int keptDiceMask = 0; keptDiceMask < NUMBER_OF_KEEP_MASKS; keptDiceMask++) {
+                int numberOfRolledDice = TOTAL_NUMBER_OF_DICE - Integer.bitCount(keptDiceMask);
+                int numberOfRolls = (int) Math.pow(NUMBER_OF_FACES, numberOfRolledDice);
+
+                // Reroll the dice that are not kept in all ways.
+                int[] rerolledCounts = new int[NUMBER_OF_HANDS];
+                for (int roll = 0; roll < numberOfRolls; roll++) {
+                    int[] counts = new int[NUMBER_OF_FACES];
+                    int rest = roll;
+                    for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+                        if ((keptDiceMask & 1 << position) != 0) {
+                            counts[ScoreTable.getHandFace(hand, position) - 1]++;
+                        } else {
+                            counts[rest % NUMBER_OF_FACES]++;
+                            rest /= NUMBER_OF_FACES;
+                        }
+                    }
+                    rerolledCounts[ScoreTable.handIndexOfCounts(counts)]++;
+                }
+
+                int keptHand = keptHandOf(hand, keptDiceMask);
+                assertEquals(numberOfRolls, getNumberOfRolls(keptHand));
+                assertEquals(Integer.bitCount(keptDiceMask), getNumberOfKeptDice(keptHand));
+
+                double totalProbability = 0;
+                for (int i = getOutcomeStart(keptHand); i < getOutcomeStart(keptHand + 1); i++) {
+                    assertEquals(rerolledCounts[getOutcomeHand(i)], getOutcomeCount(i));
+                    assertEquals((double) getOutcomeCount(i) / numberOfRolls, getOutcomeProbability(i));
+                    rerolledCounts[getOutcomeHand(i)] = 0;
+                    totalProbability += getOutcomeProbability(i);
+                }
+                assertEquals(1, totalProbability, 1e-12);
+                // No outcome is missing.
+                assertEquals(0, Arrays.stream(rerolledCounts).sum());
+            }
+        }
+    }
+
+    @Test
+    public void sameKeptFacesShouldShareKeptHand() {
+        Set<Integer> keptHands = new HashSet<>();
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            assertEquals(EMPTY_KEPT_HAND, keptHandOf(hand, 0));
+
+            Set<Integer> subhands = new HashSet<>();
+            for (int i = getSubhandStart(hand); i < getSubhandStart(hand + 1); i++) {
+                subhands.add(getSubhand(i));
+            }
+            Set<Integer> keptHandsOfHand = new HashSet<>();
+            for (int keptDiceMask = 0; keptDiceMask < NUMBER_OF_KEEP_MASKS; keptDiceMask++) {
+                keptHandsOfHand.add(keptHandOf(hand, keptDiceMask));
+            }
+            assertEquals(keptHandsOfHand, subhands);
+            assertEquals(getSubhandStart(hand + 1) - getSubhandStart(hand), subhands.size());
+            keptHands.addAll(subhands);
+        }
+        assertEquals(NUMBER_OF_KEPT_HANDS, keptHands.size());
+
+        // 1, 1, 1, 1, 1 has a kept hand of each number of aces.
+        int hand = ScoreTable.handIndexOfCounts(new int[]{5, 0, 0, 0, 0, 0});
+        assertEquals(TOTAL_NUMBER_OF_DICE + 1, getSubhandStart(hand + 1) - getSubhandStart(hand));
+        assertEquals(keptHandOf(hand, 0b00011), keptHandOf(hand, 0b11000));
+    }
+
+    @Test
+    public void keptDiceOfDiceStateShouldBeFoundByFaces() {
+        int diceState = DiceState.of(new int[]{6, 2, 6, 3, 1});
+        int hand = DiceState.getHand(diceState);
+
+        // The sorted faces are 1, 2, 3, 6, 6.
+        assertEquals(keptHandOf(hand, 0b11000), keptHandOfDiceState(diceState, 0b00101));
+        assertEquals(keptHandOf(hand, 0b01011), keptHandOfDiceState(diceState, 0b10011));
+        assertEquals(keptHandOf(hand, 0b11111), keptHandOfDiceState(diceState, DiceState.ALL_DICE_MASK));
+
+        // Keeping all dice has the hand as the only outcome.
+        int keptHand = keptHandOfDiceState(diceState, DiceState.ALL_DICE_MASK);
+        assertEquals(1, getOutcomeStart(keptHand + 1) - getOutcomeStart(keptHand));
+        assertEquals(hand, getOutcomeHand(getOutcomeStart(keptHand)));
+    }
+
+    @Test
+    public void expectationShouldBeWeightedByProbabilities() {
+        double[] isYahtzee = new double[NUMBER_OF_HANDS];
+        for (int face = 0; face < NUMBER_OF_FACES; face++) {
+            int[] counts = new int[NUMBER_OF_FACES];
+            counts[face] = TOTAL_NUMBER_OF_DICE;
+            isYahtzee[ScoreTable.handIndexOfCounts(counts)] = 1;
+        }
+
+        assertEquals(6 / 7776.0, expectationOf(EMPTY_KEPT_HAND, isYahtzee), 1e-15);
+        int fourSixes = keptHandOfDiceState(DiceState.of(new int[]{6, 6, 6, 6, 1}), 0b01111);
+        assertEquals(1 / 6.0, expectationOf(fourSixes, isYahtzee), 1e-15);
+    }
+}
@@ -0,0 +1,110 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Category.UPPER_SECTION_BONUS;
+
+/**
+ * @author Yoochul Kim
+ */
+public class ScoreStatisticsTests {
+    private ScoreStatistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = new ScoreStatistics();
+    }
+
+    @Test
+    public void statisticsOfPlayersShouldBeCorrect() {
+        // The total scores are 0, 13 * 10 and 13 * 20 + 35, as only 6 * 20 makes the upper section bonus.
+        statistics.add(finishedPlayer(0));
+        statistics.add(finishedPlayer(10));
+        statistics.add(finishedPlayer(20));
+
+        assertEquals(3, statistics.getNumberOfGames());
+        assertEquals(1, statistics.getTotalScoreCount(260 + UPPER_SECTION_BONUS));
+        assertEquals(1, statistics.getCategoryScoreCount(0, 20));
+        assertEquals(10, statistics.getCategoryMeanScore(NUMBER_OF_CATEGORIES - 1), 1e-9);
+        assertEquals(1 / 3.0, statistics.getBonusRate(), 1e-9);
+
+        double mean = (0 + 130 + 295) / 3.0;
+        assertEquals(mean, statistics.getMeanScore(), 1e-9);
+        assertEquals((mean * mean + (130 - mean) * (130 - mean) + (295 - mean) * (295 - mean)) / 3,
+                statistics.getVariance(), 1e-9);
+
+        assertEquals(0, statistics.getMinimumScore());
+        assertEquals(130, statistics.getQuantile(0.5));
+        assertEquals(130, statistics.getQuantile(2 / 3.0));
+        assertEquals(295, statistics.getQuantile(0.7));
+        assertEquals(295, statistics.getMaximumScore());
+    }
+
+    @Test
+    public void mergedStatisticsShouldBeSameAsOneAccumulator() {
+        SplittableRandom random = new SplittableRandom(5);
+        ScoreStatistics[] accumulators = {new ScoreStatistics(), new ScoreStatistics(), new ScoreStatistics()};
+        Player player = new Player("anyName");
+
+        for (int i = 0; i < 300; i++) {
+            SimulationEngine.playGame(player, new GreedyStrategy(), random);
+            statistics.add(player);
+            accumulators[i % accumulators.length].add(player);
+        }
+
+        ScoreStatistics merged = new ScoreStatistics();
+        for (ScoreStatistics accumulator : accumulators) {
+            merged.merge(accumulator);
+        }
+        assertArrayEquals(statistics.toByteArray(), merged.toByteArray());
+        assertEquals(statistics.getMeanScore(), merged.getMeanScore(), 1e-9);
+    }
+
+    @Test
+    public void serializedStatisticsShouldBeSame() {
+        statistics.add(finishedPlayer(3));
+        statistics.add(finishedPlayer(5));
+        for (int i = 0; i < 1000; i++) {
+            statistics.add(finishedPlayer(1));
+        }
+
+        byte[] bytes = statistics.toByteArray();
+        ScoreStatistics deserialized = ScoreStatistics.fromByteArray(bytes);
+        assertArrayEquals(bytes, deserialized.toByteArray());
+        assertEquals(statistics.getNumberOfGames(), deserialized.getNumberOfGames());
+        assertEquals(statistics.getBonusRate(), deserialized.getBonusRate());
+        assertEquals(1000, deserialized.getTotalScoreCount(13));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ScoreStatistics.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ScoreStatistics.fromByteArray(Arrays.copyOf(bytes, bytes.length + 1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ScoreStatistics.fromByteArray(new byte[8]));
+    }
+
+    @Test
+    public void wrongStatisticsShouldNotBeCalculated() {
+        Assertions.assertThrows(IllegalStateException.class, () -> statistics.getMeanScore());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> statistics.getQuantile(1.5));
+
+        Player player = new Player("anyName");
+        player.setTotalScore(-1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> statistics.add(player));
+    }
+
+    private Player finishedPlayer(int categoryScore) {
+        Player player = new Player("anyName");
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            player.fillCategory(categoryNumber, categoryScore);
+        }
+        player.calculateTotalScore();
+        return player;
+    }
+}
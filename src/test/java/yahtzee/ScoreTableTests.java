@@ -0,0 +1,108 @@
+package yahtzee;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.Die.TOTAL_NUMBER_OF_DICE;
+import static yahtzee.ScoreTable.*;
+
+/**
+ * @author Yoochul Kim
+ */
+public class ScoreTableTests {
+    private Die[] dice;
+
+    @BeforeEach
+    public void setup() {
+        dice = new Die[TOTAL_NUMBER_OF_DICE];
+        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+            dice[i] = new Die();
+        }
+    }
+
+    @Test
+    public void everyOrderedRollShouldHaveSameScoresAsCategoryMethods() {
+        Player player = new Player("anyName");
+        Set<Integer> hands = new HashSet<>();
+
+        for (int roll = 0; roll < NUMBER_OF_ORDERED_ROLLS; roll++) {
+            setOrderedRoll(roll);
+
+            int hand = handIndexOf(dice);
+            assertEquals(handIndexOfOrderedRoll(roll), hand);
+            hands.add(hand);
+
+            assertEquals(Category.aces(dice), score(hand, Category.Type.ACE.getValue()));
+            assertEquals(Category.twos(dice), score(hand, Category.Type.TWOS.getValue()));
+            assertEquals(Category.threes(dice), score(hand, Category.Type.THREES.getValue()));
+            assertEquals(Category.fours(dice), score(hand, Category.Type.FOURS.getValue()));
+            assertEquals(Category.fives(dice), score(hand, Category.Type.FIVES.getValue()));
+            assertEquals(Category.sixes(dice), score(hand, Category.Type.SIXES.getValue()));
+            assertEquals(Category.threeOfAKind(dice), score(hand, Category.Type.THREE_OF_A_KIND.getValue()));
+            assertEquals(Category.fourOfAKind(dice), score(hand, Category.Type.FOUR_OF_A_KIND.getValue()));
+            assertEquals(Category.fullHouse(dice), score(hand, Category.Type.FULL_HOUSE.getValue()));
+            assertEquals(Category.smallStraight(dice), score(hand, Category.Type.SMALL_STRAIGHT.getValue()));
+            assertEquals(Category.largeStraight(dice), score(hand, Category.Type.LARGE_STRAIGHT.getValue()));
+            assertEquals(Category.chance(dice), score(hand, Category.Type.CHANCE.getValue()));
+            assertEquals(Category.yahtzee(dice), score(hand, Category.Type.YAHTZEE.getValue()));
+
+            for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+                assertEquals(Category.score(categoryNumber, dice), player.calculateCategoryScore(categoryNumber, dice));
+            }
+        }
+
+        assertEquals(NUMBER_OF_HANDS, hands.size());
+    }
+
+    @Test
+    public void handsShouldBeSortedAndInLexicographicOrder() {
+        for (int hand = 0; hand < NUMBER_OF_HANDS; hand++) {
+            int[] counts = new int[NUMBER_OF_FACES];
+            for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+                int face = getHandFace(hand, position);
+                counts[face - 1]++;
+                dice[position].setValue(face);
+                if (position > 0) {
+                    assertTrue(getHandFace(hand, position - 1) <= face);
+                }
+            }
+            assertEquals(hand, handIndexOfCounts(counts));
+            assertEquals(hand, handIndexOf(dice));
+
+            if (hand > 0) {
+                assertTrue(compareHands(hand - 1, hand) < 0);
+            }
+        }
+    }
+
+    @Test
+    public void diceWhichHaveNotBeenRolledShouldNotHaveHand() {
+        assertEquals(-1, handIndexOf(dice));
+
+        // The player still calculates the scores with the category methods.
+        Player player = new Player("anyName");
+        assertEquals(Category.yahtzee(dice), player.calculateCategoryScore(Category.Type.YAHTZEE.getValue(), dice));
+    }
+
+    private void setOrderedRoll(int roll) {
+        for (int i = 0; i < TOTAL_NUMBER_OF_DICE; i++) {
+            dice[i].setValue(roll % NUMBER_OF_FACES + 1);
+            roll /= NUMBER_OF_FACES;
+        }
+    }
+
+    private int compareHands(int hand1, int hand2) {
+        for (int position = 0; position < TOTAL_NUMBER_OF_DICE; position++) {
+            int difference = getHandFace(hand1, position) - getHandFace(hand2, position);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,72 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.ALL_CATEGORIES_MASK;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+import static yahtzee.YahtzeeGameImpl.MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME;
+
+/**
+ * @author Yoochul Kim
+ */
+public class SimulationEngineTests {
+
+    @Test
+    public void gamesShouldBeCompleted() {
+        Player player = new Player("anyName");
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 100; i++) {
+            int score = SimulationEngine.playGame(player, new GreedyStrategy(), random);
+            assertEquals(ALL_CATEGORIES_MASK, player.getFilledCategoriesMask());
+            assertEquals(player.getRunningTotalScore(), score);
+            assertTrue(0 <= score && score <= MAXIMUM_POSSIBLE_SCORE_ATTAINABLE_IN_YAHTZEE_GAME);
+        }
+    }
+
+    @Test
+    public void gamesShouldBeSplitAcrossThreads() {
+        SimulationResult result = new SimulationEngine(3).run(1000, GreedyStrategy::new, 1);
+
+        assertEquals(1000, result.getNumberOfGames());
+        assertTrue(result.getStatistics().getMinimumScore() <= result.getMeanScore());
+        assertTrue(result.getMeanScore() <= result.getStatistics().getMaximumScore());
+        assertTrue(result.getStandardDeviation() > 0);
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    public void sameSeedShouldGiveSameResult() {
+        SimulationResult result1 = new SimulationEngine(2).run(501, GreedyStrategy::new, 2023);
+        SimulationResult result2 = new SimulationEngine(2).run(501, GreedyStrategy::new, 2023);
+
+        assertArrayEquals(result1.getStatistics().toByteArray(), result2.getStatistics().toByteArray());
+    }
+
+    @Test
+    public void optimalStrategyShouldBeatGreedyStrategyInLastTurn() {
+        // Only the yahtzee is open, where the greedy strategy keeps the most common face too.
+        StrategyTable strategyTable = new StrategySolver().solve(NUMBER_OF_CATEGORIES - 1);
+        OptimalStrategy optimalStrategy = new OptimalStrategy(strategyTable);
+        Player player = new Player("anyName");
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES - 1; categoryNumber++) {
+            player.fillCategory(categoryNumber, 0);
+        }
+
+        int diceState = DiceState.of(new int[]{6, 2, 6, 3, 1});
+        assertEquals(0b00101, optimalStrategy.chooseKeptDiceMask(player, diceState, 2));
+        assertEquals(0b00101, new GreedyStrategy().chooseKeptDiceMask(player, diceState, 2));
+        assertEquals(Category.Type.YAHTZEE.value, optimalStrategy.chooseCategory(player, diceState));
+    }
+
+    @Test
+    public void wrongSimulationShouldNotRun() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SimulationEngine(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SimulationEngine(1).run(0, GreedyStrategy::new, 1));
+    }
+}
@@ -0,0 +1,72 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.*;
+import static yahtzee.Category.Type.*;
+
+/**
+ * @author Yoochul Kim
+ */
+public class StrategySolverTests {
+    private static StrategyTable lastTurnTable;
+
+    @BeforeAll
+    public static void setup() {
+        lastTurnTable = new StrategySolver().solve(NUMBER_OF_CATEGORIES - 1);
+    }
+
+    @Test
+    public void lastTurnOfYahtzeeShouldBeSolved() {
+        int filledCategoriesMask = ALL_CATEGORIES_MASK & ~(1 << YAHTZEE.value);
+
+        // The probability of a yahtzee in three rolls is 2783176 / 6^10.
+        assertEquals(50 * 2783176 / Math.pow(6, 10), lastTurnTable.getExpectedScore(filledCategoriesMask, 0), 1e-5);
+    }
+
+    @Test
+    public void lastTurnOfAcesShouldBeSolved() {
+        int filledCategoriesMask = ALL_CATEGORIES_MASK & ~(1 << ACE.value);
+
+        // All aces are kept, so each die is an ace with probability 1 - (5/6)^3.
+        double probabilityOfAce = 1 - Math.pow(5.0 / 6, 3);
+        assertEquals(5 * probabilityOfAce, lastTurnTable.getExpectedScore(filledCategoriesMask, 0), 1e-5);
+
+        // One ace is enough for the bonus with 62 in the upper section.
+        assertEquals(5 * probabilityOfAce + UPPER_SECTION_BONUS * (1 - Math.pow(5.0 / 6, 15)),
+                lastTurnTable.getExpectedScore(filledCategoriesMask, 62), 1e-5);
+    }
+
+    @Test
+    public void lastTurnOfChanceShouldBeSolved() {
+        int filledCategoriesMask = ALL_CATEGORIES_MASK & ~(1 << CHANCE.value);
+
+        // A die of 1 to 3 is rerolled for 3.5 at the second reroll, so the die is worth 4.25 with one reroll left,
+        // and a die of 1 to 4 is rerolled for 4.25 at the first reroll.
+        double expectedDie = 4 / 6.0 * 4.25 + (5 + 6) / 6.0;
+        assertEquals(5 * expectedDie, lastTurnTable.getExpectedScore(filledCategoriesMask, 0), 1e-5);
+    }
+
+    @Test
+    public void upperSectionScoresShouldBeReachable() {
+        long[] reachable = StrategySolver.reachableUpperSectionScores();
+
+        assertEquals(1, reachable[0]);
+        // Aces are 0 to 5.
+        assertEquals(0b111111, reachable[1 << ACE.value]);
+        // Sixes are 0, 6, 12, ... 30.
+        assertEquals(1L | 1L << 6 | 1L << 12 | 1L << 18 | 1L << 24 | 1L << 30, reachable[1 << SIXES.value]);
+        // Every score of 0 to 63 can be made with all upper categories.
+        assertEquals(-1L, reachable[0b111111]);
+    }
+
+    @Test
+    public void wrongNumberOfFilledCategoriesShouldNotBeSolved() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StrategySolver().solve(-1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new StrategySolver().solve(NUMBER_OF_CATEGORIES + 1));
+    }
+}
@@ -0,0 +1,82 @@
+package yahtzee;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yahtzee.Category.NUMBER_OF_CATEGORIES;
+
+/**
+ * @author Yoochul Kim
+ */
+public class StrategyTableFileTests {
+    private static StrategyTable lastTurnTable;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void setup() {
+        lastTurnTable = new StrategySolver().solve(NUMBER_OF_CATEGORIES - 1);
+    }
+
+    @Test
+    public void writtenTableShouldBeLoaded() throws IOException {
+        Path path = directory.resolve("strategy-table.bin");
+        StrategyTableFile.write(lastTurnTable, path);
+
+        assertEquals(StrategyTableFile.HEADER_SIZE + StrategyTable.NUMBER_OF_STATES * Float.BYTES, Files.size(path));
+        assertEquals(lastTurnTable.getExpectedScores(), StrategyTableFile.load(path).getExpectedScores());
+
+        // Writing again replaces the file.
+        float[] expectedScores = new float[StrategyTable.NUMBER_OF_STATES];
+        expectedScores[StrategyTable.NUMBER_OF_STATES - 1] = 1;
+        StrategyTableFile.write(new StrategyTable(FloatBuffer.wrap(expectedScores)), path);
+        assertEquals(FloatBuffer.wrap(expectedScores), StrategyTableFile.load(path).getExpectedScores());
+    }
+
+    @Test
+    public void corruptedTableShouldNotBeLoaded() throws IOException {
+        Path path = directory.resolve("strategy-table.bin");
+        StrategyTableFile.write(lastTurnTable, path);
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 1);
+        }
+        Assertions.assertThrows(IOException.class, () -> StrategyTableFile.load(path));
+    }
+
+    @Test
+    public void tableOfOtherRulesShouldNotBeLoaded() throws IOException {
+        Path path = directory.resolve("strategy-table.bin");
+        StrategyTableFile.write(lastTurnTable, path);
+
+        // The scoring fingerprint is the third int of the header.
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(2 * Integer.BYTES);
+            int firstByte = file.read();
+            file.seek(2 * Integer.BYTES);
+            file.write(firstByte ^ 1);
+        }
+        Assertions.assertThrows(IOException.class, () -> StrategyTableFile.load(path));
+    }
+
+    @Test
+    public void truncatedTableShouldNotBeLoaded() throws IOException {
+        Path path = directory.resolve("strategy-table.bin");
+        Files.write(path, new byte[StrategyTableFile.HEADER_SIZE]);
+
+        Assertions.assertThrows(IOException.class, () -> StrategyTableFile.load(path));
+    }
+}
@@ -104,6 +104,96 @@ public class YahtzeeGameImplTests {
         }
     }
 
+    @Test
+    public void diceStateShouldFollowTheRolledDice() {
+        assertEquals(DiceState.NOT_ROLLED, mockGame.getDiceState());
+
+        mockGame.rollDice();
+        assertEquals(DiceState.of(mockGame.getDice()), mockGame.getDiceState());
+
+        for (int i = 0; i < 10; i++) {
+            int previousDiceState = mockGame.getDiceState();
+            mockGame.rollCertainDice(new int[]{Die.FIRST_DIE_NUMBER_IN_THE_ARRAY, Die.FIFTH_DIE_NUMBER_IN_THE_ARRAY});
+
+            int currentDiceState = mockGame.getDiceState();
+            assertEquals(DiceState.of(mockGame.getDice()), currentDiceState);
+            assertEquals(DiceState.getFace(previousDiceState, Die.FIRST_DIE_NUMBER_IN_THE_ARRAY),
+                    DiceState.getFace(currentDiceState, Die.FIRST_DIE_NUMBER_IN_THE_ARRAY));
+            assertEquals(DiceState.getFace(previousDiceState, Die.FIFTH_DIE_NUMBER_IN_THE_ARRAY),
+                    DiceState.getFace(currentDiceState, Die.FIFTH_DIE_NUMBER_IN_THE_ARRAY));
+        }
+
+        assertEquals(mockGame.getScoresOfAvailableCombinations(mockPlayers[0], mockDice),
+                mockGame.getScoresOfAvailableCombinations(mockPlayers[0], mockGame.getDiceState()));
+
+        int[] scores = new int[NUMBER_OF_CATEGORIES];
+        int availableCategoriesMask =
+                mockGame.getScoresOfAvailableCombinations(mockPlayers[0], mockGame.getDiceState(), scores);
+        assertEquals(mockPlayers[0].getAvailableCategoriesMask(), availableCategoriesMask);
+        for (int categoryNumber = 0; categoryNumber < NUMBER_OF_CATEGORIES; categoryNumber++) {
+            assertEquals(mockPlayers[0].calculateCategoryScore(categoryNumber, mockDice), scores[categoryNumber]);
+        }
+    }
+
+    @Test
+    public void rollingWithKeptDiceMaskShouldKeepTheDice() {
+        mockGame.rollDice();
+
+        int keptDiceMask = 1 << Die.SECOND_DIE_NUMBER_IN_THE_ARRAY | 1 << Die.THIRD_DIE_NUMBER_IN_THE_ARRAY;
+        for (int i = 0; i < 10; i++) {
+            int previousDiceState = mockGame.getDiceState();
+            mockGame.rollDice(keptDiceMask);
+
+            assertEquals(DiceState.getFace(previousDiceState, Die.SECOND_DIE_NUMBER_IN_THE_ARRAY),
+                    mockDice[Die.SECOND_DIE_NUMBER_IN_THE_ARRAY].getValue());
+            assertEquals(DiceState.getFace(previousDiceState, Die.THIRD_DIE_NUMBER_IN_THE_ARRAY),
+                    mockDice[Die.THIRD_DIE_NUMBER_IN_THE_ARRAY].getValue());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mockGame.rollDice(1 << TOTAL_NUMBER_OF_DICE));
+    }
+
+    @Test
+    public void gamesWithSameSeedShouldRollSameDice() {
+        long anySeed = 2023;
+        YahtzeeGameImpl game1 = new YahtzeeGameImpl(anySeed);
+        YahtzeeGameImpl game2 = new YahtzeeGameImpl(anySeed);
+        game1.makeGame(mockPlayerNames);
+        game2.makeGame(mockPlayerNames);
+
+        for (int i = 0; i < 100; i++) {
+            game1.rollDice();
+            game2.rollDice();
+            assertEquals(game1.getDiceState(), game2.getDiceState());
+
+            int[] anyKeptDice = {Die.THIRD_DIE_NUMBER_IN_THE_ARRAY};
+            game1.rollCertainDice(anyKeptDice);
+            game2.rollCertainDice(anyKeptDice);
+            assertEquals(game1.getDiceState(), game2.getDiceState());
+
+            game1.getDice()[0].roll();
+            game2.getDice()[0].roll();
+            assertEquals(game1.getDice()[0].getValue(), game2.getDice()[0].getValue());
+        }
+    }
+
+    @Test
+    public void fastRollModeShouldKeepTheDice() {
+        mockGame.setFastRollMode(true);
+        mockGame.rollCertainDice(new int[]{Die.FIRST_DIE_NUMBER_IN_THE_ARRAY});
+        assertTrue(DiceState.isRolled(mockGame.getDiceState()));
+
+        for (int i = 0; i < 100; i++) {
+            int anyKeptDiceMask = 0b01010;
+            int diceState = mockGame.getDiceState();
+            mockGame.rollDice(anyKeptDiceMask);
+
+            assertEquals(DiceState.getFace(diceState, 1), mockDice[1].getValue());
+            assertEquals(DiceState.getFace(diceState, 3), mockDice[3].getValue());
+            assertEquals(ScoreTable.handIndexOf(mockDice), DiceState.getHand(mockGame.getDiceState()));
+        }
+    }
+
     @Test
     public void winnerShouldBeReturnedCorrectly() {
         // 100 110 120 -> rank: 3 2 1
@@ -130,10 +220,11 @@ public class YahtzeeGameImplTests {
 
     @Test
     public void calculationOfPlayersScoreShouldBeWorking() {
-        // the categories have not been filled so it throws IllegalArgumentException
-        Assertions.assertThrows(IllegalStateException.class, () -> {
-            mockGame.calculateScores();
-        });
+        // the categories have not been filled, so the live scores are 0.
+        mockGame.calculateScores();
+        for (int i = 0; i < totalNumberOfPlayers; i++) {
+            assertEquals(0, mockPlayers[i].getTotalScore());
+        }
 
         int[] mockScores = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
         int sumOfMockScores = 130;
@@ -151,6 +242,42 @@ public class YahtzeeGameImplTests {
         }
     }
 
+    @Test
+    public void winnersShouldBeReturnedInTheMiddleOfGame() {
+        int anyScore = 10;
+        mockPlayers[0].fillCategory(Type.CHANCE.getValue(), anyScore);
+        mockPlayers[1].fillCategory(Type.CHANCE.getValue(), anyScore + 1);
+        mockPlayers[2].fillCategory(Type.CHANCE.getValue(), anyScore + 1);
+
+        mockGame.calculateScores();
+        Player[] winners = mockGame.getWinners();
+        assertEquals(2, winners.length);
+        assertEquals(anyScore + 1, winners[0].getTotalScore());
+
+        // The upper section bonus is counted as soon as it is obtained.
+        mockPlayers[0].fillCategory(Type.SIXES.getValue(), 30);
+        mockPlayers[0].fillCategory(Type.FIVES.getValue(), 25);
+        mockPlayers[0].fillCategory(Type.FOURS.getValue(), 8);
+
+        mockGame.calculateScores();
+        winners = mockGame.getWinners();
+        assertEquals(1, winners.length);
+        assertSame(mockPlayers[0], winners[0]);
+        assertEquals(anyScore + 63 + UPPER_SECTION_BONUS, winners[0].getTotalScore());
+    }
+
+    @Test
+    public void liveRankingShouldNotNeedCalculationOfScores() {
+        mockPlayers[2].fillCategory(Type.CHANCE.getValue(), 20);
+        mockPlayers[1].fillCategory(Type.CHANCE.getValue(), 10);
+
+        RankingEngine ranking = mockGame.getLiveRanking();
+        assertEquals(2, ranking.getRankedPlayerNumber(0));
+        assertEquals(1, ranking.getRankedPlayerNumber(1));
+        assertEquals(3, ranking.getCompetitionRank(0));
+        assertEquals(0, mockPlayers[2].getTotalScore());
+    }
+
     @Test
     public void turnShouldBeIterative() {
         // In this test, there are three players (anyName1, anyName2, anyName3).
@@ -364,4 +491,92 @@ public class YahtzeeGameImplTests {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void changesShouldBeNotifiedToListener() {
+        List<String> events = new ArrayList<>();
+        YahtzeeGameImpl game = new YahtzeeGameImpl(new SplittableRandom(17));
+        game.setGameEventListener(new GameEventListener() {
+            @Override
+            public void gameMade(String[] playerNames) {
+                events.add("made " + String.join(" ", playerNames));
+            }
+
+            @Override
+            public void diceRolled(int keptDiceMask, int diceState) {
+                events.add("rolled " + keptDiceMask + " " + diceState);
+            }
+
+            @Override
+            public void diceRetryCountReset() {
+                events.add("reset");
+            }
+
+            @Override
+            public void diceRetryCountIncreased() {
+                events.add("increased");
+            }
+
+            @Override
+            public void categoryFilled(int playerNumber, int categoryNumber, int score) {
+                events.add("filled " + playerNumber + " " + categoryNumber + " " + score);
+            }
+
+            @Override
+            public void turnPassed() {
+                events.add("passed");
+            }
+
+            @Override
+            public void roundIncreased() {
+                events.add("round");
+            }
+
+            @Override
+            public void scoresCalculated() {
+                events.add("calculated");
+            }
+        });
+
+        game.makeGame(mockPlayerNames);
+        game.rollDice();
+        int firstDiceState = game.getDiceState();
+        game.rollDice(0b00011);
+        game.increaseDiceRetryCount();
+        game.fillCategory(Type.CHANCE.getValue(), 20);
+        game.resetDiceRetryCount();
+        game.increaseRound();
+        game.passTurnToNextPlayer();
+        game.calculateScores();
+
+        assertEquals(List.of("made anyName1 anyName2 anyName3", "rolled 0 " + firstDiceState,
+                "rolled 3 " + game.getDiceState(), "increased", "filled 0 11 20", "reset", "round", "passed",
+                "calculated"), events);
+
+        // Nothing is notified after the listener is removed.
+        game.setGameEventListener(null);
+        game.rollDice();
+        assertEquals(9, events.size());
+    }
+
+    @Test
+    public void stateShouldBeRestored() {
+        int diceState = DiceState.of(new int[]{6, 6, 6, 2, 2});
+        mockGame.restoreState(4, 2, 1, diceState);
+        assertEquals(4, mockGame.getCurrentRound());
+        assertEquals(2, mockGame.getCurrentPlayerNumber());
+        assertEquals(1, mockGame.getDiceRetryCount());
+        assertEquals(diceState, mockGame.getDiceState());
+        assertEquals(6, mockGame.getDice()[0].getValue());
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> mockGame.restoreState(TOTAL_NUMBER_OF_ROUNDS + 1, 0, 0, diceState));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> mockGame.restoreState(0, totalNumberOfPlayers, 0, diceState));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> mockGame.restoreState(0, 0, NUMBER_OF_AVAILABLE_RETRY_ATTEMPTS + 1, diceState));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mockGame.restoreState(0, 0, 0, diceState + 1));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new YahtzeeGameImpl().restoreState(0, 0, 0, DiceState.NOT_ROLLED));
+    }
+}